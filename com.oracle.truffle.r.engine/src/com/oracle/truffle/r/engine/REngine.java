@@ -82,6 +82,7 @@ import com.oracle.truffle.r.runtime.RCaller;
 import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RErrorHandling;
 import com.oracle.truffle.r.runtime.RInternalError;
+import com.oracle.truffle.r.runtime.RParseCache;
 import com.oracle.truffle.r.runtime.RParserFactory;
 import com.oracle.truffle.r.runtime.RProfile;
 import com.oracle.truffle.r.runtime.RRuntime;
@@ -299,14 +300,14 @@ final class REngine implements Engine, Engine.Timings {
 
     private List<RSyntaxNode> parseSource(Source source) throws ParseException {
         RParserFactory.Parser parser = RParserFactory.getParser();
-        return parser.script(source, new RASTBuilder(true), context.getLanguage());
+        return RParseCache.script(parser, source, new RASTBuilder(true), context.getLanguage());
     }
 
     @Override
     public ParsedExpression parse(Source source, boolean keepSource) throws ParseException {
         RParserFactory.Parser parser = RParserFactory.getParser();
         RASTBuilder builder = new RASTBuilder(true);
-        List<RSyntaxNode> script = parser.script(source, builder, context.getLanguage());
+        List<RSyntaxNode> script = RParseCache.script(parser, source, builder, context.getLanguage());
         Object[] data = new Object[script.size()];
         for (int i = 0; i < script.size(); i++) {
             data[i] = RASTUtils.createLanguageElement(script.get(i));
@@ -1768,7 +1768,7 @@ public abstract class JavaUpCallsRFFIImpl implements UpCallsRFFI {
     public REnvironment R_NewHashedEnv(Object parent, Object initialSize) {
         // We know this is an RIntVector from use site in gramRd.c
         REnvironment env = RDataFactory.createNewEnv(REnvironment.UNNAMED, true, ((RIntVector) initialSize).getDataAt(0));
-        RArguments.initializeEnclosingFrame(env.getFrame(), guaranteeInstanceOf(parent, REnvironment.class).getFrame());
+        RArguments.initializeEnclosingFrame(env.getArgumentsFrame(), guaranteeInstanceOf(parent, REnvironment.class).getFrame());
         return env;
     }
 
@@ -169,14 +169,19 @@ public final class TruffleMixed_Context extends RFFIContext {
 
     @Override
     public Object beforeDowncall(MaterializedFrame frame, Type rffiType) {
+        return beforeDowncall(frame, rffiType, null);
+    }
+
+    @Override
+    public Object beforeDowncall(MaterializedFrame frame, Type rffiType, DLLInfo dllInfo) {
         Type actualRffiType = rffiType == null ? Type.LLVM : rffiType;
         assert rffiType != null;
         switch (rffiType) {
             case LLVM:
-                return llvmContext.beforeDowncall(frame, actualRffiType);
+                return llvmContext.beforeDowncall(frame, actualRffiType, dllInfo);
 
             case NFI:
-                return nfiContext.beforeDowncall(frame, actualRffiType);
+                return nfiContext.beforeDowncall(frame, actualRffiType, dllInfo);
 
             default:
                 throw RInternalError.shouldNotReachHere();
@@ -22,13 +22,16 @@
  */
 package com.oracle.truffle.r.ffi.impl.nfi;
 
+import static com.oracle.truffle.r.runtime.context.FastROptions.ThreadSafeNativeLibraries;
 import static com.oracle.truffle.r.runtime.context.FastROptions.TraceNativeCalls;
 import static com.oracle.truffle.r.runtime.ffi.RFFILog.logDownCall;
 import static com.oracle.truffle.r.runtime.ffi.RFFILog.logDownCallReturn;
 import static com.oracle.truffle.r.runtime.ffi.RFFILog.logEnabled;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.locks.ReentrantLock;
 
 import com.oracle.truffle.api.CompilerAsserts;
@@ -78,8 +81,20 @@ import com.oracle.truffle.r.runtime.ffi.util.NativeMemory;
 
 public class TruffleNFI_Context extends RFFIContext {
 
+    /**
+     * Serializes the down-calls of all the contexts, i.e. threads. The native part of the RFFI keeps
+     * its state (call-backs, error jump buffers, array caches) in thread-local variables, but the
+     * code of most packages assumes, like in GNU-R, that it never runs concurrently. Down-calls into
+     * the libraries listed in {@link #threadSafeLibraries} do not take the lock.
+     */
     private static ReentrantLock accessLock;
 
+    /**
+     * Names of the libraries declared as thread-safe with the
+     * {@link com.oracle.truffle.r.runtime.context.FastROptions#ThreadSafeNativeLibraries} option.
+     */
+    private Set<String> threadSafeLibraries = Collections.emptySet();
+
     public TruffleNFI_Context() {
         this(new RFFIContextState());
     }
@@ -103,11 +118,47 @@ public class TruffleNFI_Context extends RFFIContext {
     private RuntimeException lastException;
 
     /**
-     * Memory allocated using Rf_alloc, which should be reclaimed at every down-call exit. Note:
-     * this is less efficient than GNUR's version, we may need to implement it properly should the
-     * performance be a problem.
+     * The innermost active down-call of this context, the memory allocated by {@code R_alloc}
+     * during an up-call is attributed to it. A context runs on one thread, the down-calls of other
+     * contexts have their own frames.
+     */
+    private DowncallFrame currentDowncallFrame;
+
+    /**
+     * Bookkeeping of one active down-call, which is passed from {@link #beforeDowncall} to
+     * {@link #afterDowncall}. The frames are allocated once per nesting depth and reused, so that
+     * the common down-call does not allocate.
      */
-    public final ArrayDeque<ArrayList<Long>> transientAllocations = new ArrayDeque<>();
+    private static final class DowncallFrame {
+        private Object tokenFromSuper;
+        private long callbacks;
+        private boolean locked;
+        private DowncallFrame parent;
+        /**
+         * Memory allocated using Rf_alloc during this down-call, which is reclaimed at its exit.
+         */
+        private long[] transientAllocations;
+        private int transientAllocationsSize;
+
+        private void addTransientAllocation(long ptr) {
+            if (transientAllocations == null) {
+                transientAllocations = new long[16];
+            } else if (transientAllocationsSize == transientAllocations.length) {
+                transientAllocations = Arrays.copyOf(transientAllocations, transientAllocationsSize * 2);
+            }
+            transientAllocations[transientAllocationsSize++] = ptr;
+        }
+
+        private void freeTransientAllocations() {
+            for (int i = 0; i < transientAllocationsSize; i++) {
+                NativeMemory.free(transientAllocations[i], "Rf_alloc");
+            }
+            transientAllocationsSize = 0;
+        }
+    }
+
+    private DowncallFrame[] downcallFrames = new DowncallFrame[8];
+    private int downcallFramesDepth;
 
     public void setLastUpCallException(RuntimeException ex) {
         assert ex == null || lastException == null : "last up-call exception is already set";
@@ -336,6 +387,7 @@ public class TruffleNFI_Context extends RFFIContext {
                             "NOTE that stdout is problematic for embedded mode, when using this logger, also always specify a log file");
         }
         initializeLock();
+        threadSafeLibraries = parseLibraryNames(context.getOption(ThreadSafeNativeLibraries));
         if (logEnabled()) {
             logDownCall("initialize");
         }
@@ -374,6 +426,20 @@ public class TruffleNFI_Context extends RFFIContext {
         }
     }
 
+    private static Set<String> parseLibraryNames(String names) {
+        if (names.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> result = new HashSet<>();
+        for (String name : names.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                result.add(trimmed);
+            }
+        }
+        return result;
+    }
+
     private static synchronized void initializeLock() {
         if (accessLock == null) {
             accessLock = new ReentrantLock();
@@ -420,15 +486,62 @@ public class TruffleNFI_Context extends RFFIContext {
 
     @Override
     public Object beforeDowncall(MaterializedFrame frame, RFFIFactory.Type rffiType) {
-        Object tokenFromSuper = super.beforeDowncall(frame, RFFIFactory.Type.NFI);
-        addTransientAllocationsFrame();
-        acquireLock();
-        return new Object[]{tokenFromSuper, pushCallbacks()};
+        return beforeDowncall(frame, rffiType, null);
+    }
+
+    @Override
+    public Object beforeDowncall(MaterializedFrame frame, RFFIFactory.Type rffiType, DLLInfo dllInfo) {
+        boolean locked = !isThreadSafe(dllInfo);
+        if (locked) {
+            acquireLock();
+        }
+        DowncallFrame downcallFrame = pushDowncallFrame();
+        downcallFrame.locked = locked;
+        downcallFrame.tokenFromSuper = super.beforeDowncall(frame, RFFIFactory.Type.NFI);
+        downcallFrame.callbacks = pushCallbacks();
+        downcallFrame.parent = currentDowncallFrame;
+        currentDowncallFrame = downcallFrame;
+        return downcallFrame;
+    }
+
+    private DowncallFrame pushDowncallFrame() {
+        if (downcallFramesDepth == downcallFrames.length) {
+            growDowncallFrames();
+        }
+        DowncallFrame result = downcallFrames[downcallFramesDepth];
+        if (result == null) {
+            result = createDowncallFrame(downcallFramesDepth);
+        }
+        downcallFramesDepth++;
+        return result;
+    }
+
+    @TruffleBoundary
+    private void growDowncallFrames() {
+        downcallFrames = Arrays.copyOf(downcallFrames, downcallFrames.length * 2);
+    }
+
+    @TruffleBoundary
+    private DowncallFrame createDowncallFrame(int depth) {
+        DowncallFrame result = new DowncallFrame();
+        downcallFrames[depth] = result;
+        return result;
     }
 
     @TruffleBoundary
-    private void addTransientAllocationsFrame() {
-        transientAllocations.push(new ArrayList<>());
+    private boolean isThreadSafe(DLLInfo dllInfo) {
+        return dllInfo != null && threadSafeLibraries.contains(dllInfo.name);
+    }
+
+    /**
+     * Registers memory allocated by {@code R_alloc}, it is freed when the current down-call exits.
+     * Memory allocated outside of any down-call is never freed.
+     */
+    @TruffleBoundary
+    public void addTransientAllocation(long ptr) {
+        if (currentDowncallFrame != null) {
+            currentDowncallFrame.addTransientAllocation(ptr);
+        }
     }
 
     @Override
@@ -441,13 +554,21 @@ public class TruffleNFI_Context extends RFFIContext {
 
     @Override
     public void afterDowncall(Object beforeValue, Type rffiType, AfterDownCallProfiles profiles) {
-        Object[] tokens = (Object[]) beforeValue;
-        super.afterDowncall(tokens[0], rffiType, profiles);
-        popCallbacks((long) tokens[1]);
-        freeCurrentTransientAllocations();
+        DowncallFrame downcallFrame = (DowncallFrame) beforeValue;
+        super.afterDowncall(downcallFrame.tokenFromSuper, rffiType, profiles);
+        downcallFrame.tokenFromSuper = null;
+        popCallbacks(downcallFrame.callbacks);
+        currentDowncallFrame = downcallFrame.parent;
+        downcallFrame.parent = null;
+        if (downcallFrame.transientAllocationsSize > 0) {
+            freeTransientAllocations(downcallFrame);
+        }
         RuntimeException lastUpCallEx = getLastUpCallException();
         setLastUpCallException(null);
-        releaseLock();
+        downcallFramesDepth--;
+        if (downcallFrame.locked) {
+            releaseLock();
+        }
         if (lastUpCallEx != null) {
             CompilerDirectives.transferToInterpreter();
             throw lastUpCallEx;
@@ -455,10 +576,8 @@ public class TruffleNFI_Context extends RFFIContext {
     }
 
     @TruffleBoundary
-    private void freeCurrentTransientAllocations() {
-        for (Long ptr : transientAllocations.pop()) {
-            NativeMemory.free(ptr, "Rf_alloc");
-        }
+    private static void freeTransientAllocations(DowncallFrame downcallFrame) {
+        downcallFrame.freeTransientAllocations();
     }
 
     public static TruffleNFI_Context getInstance() {
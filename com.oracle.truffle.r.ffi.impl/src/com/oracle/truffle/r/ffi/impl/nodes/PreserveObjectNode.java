@@ -22,15 +22,10 @@
  */
 package com.oracle.truffle.r.ffi.impl.nodes;
 
-import java.util.concurrent.atomic.AtomicInteger;
-
-import org.graalvm.collections.EconomicMap;
-
-import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.GenerateUncached;
 import com.oracle.truffle.api.dsl.Specialization;
-import com.oracle.truffle.api.profiles.ConditionProfile;
-import com.oracle.truffle.r.runtime.Utils;
+import com.oracle.truffle.r.runtime.Collections.IdentityCountMap;
 import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.data.RBaseObject;
 
@@ -46,16 +41,14 @@ public abstract class PreserveObjectNode extends FFIUpCallNode.Arg1 {
     }
 
     @Specialization
-    Object protect(RBaseObject x,
-                    @Cached("createBinaryProfile()") ConditionProfile profile) {
+    Object protect(RBaseObject x) {
         RContext ctx = RContext.getInstance(this);
-        EconomicMap<RBaseObject, AtomicInteger> preserveList = ctx.getStateRFFI().rffiContextState.preserveList;
-        AtomicInteger prevCnt = Utils.get(preserveList, x);
-        if (profile.profile(prevCnt != null)) {
-            prevCnt.incrementAndGet();
-        } else {
-            Utils.put(preserveList, x, new AtomicInteger(1));
-        }
+        increment(ctx.getStateRFFI().rffiContextState.preserveList, x);
         return x;
     }
+
+    @TruffleBoundary
+    private static void increment(IdentityCountMap<RBaseObject> preserveList, RBaseObject x) {
+        preserveList.increment(x);
+    }
 }
@@ -22,15 +22,12 @@
  */
 package com.oracle.truffle.r.ffi.impl.nodes;
 
-import java.util.concurrent.atomic.AtomicInteger;
-
-import org.graalvm.collections.EconomicMap;
-
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateUncached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.r.runtime.Collections.IdentityCountMap;
 import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.data.RBaseObject;
 import com.oracle.truffle.r.runtime.ffi.RFFIContext;
@@ -50,30 +47,17 @@ public abstract class ReleaseObjectNode extends FFIUpCallNode.Arg1 {
     Object protect(RBaseObject x,
                     @Cached("createBinaryProfile()") ConditionProfile profile) {
         RFFIContext ctx = RContext.getInstance(this).getStateRFFI();
-        EconomicMap<RBaseObject, AtomicInteger> preserveList = ctx.rffiContextState.preserveList;
-        AtomicInteger atomicInteger = get(preserveList, x);
-        if (profile.profile(atomicInteger != null)) {
-            int decrementAndGet = atomicInteger.decrementAndGet();
-            if (decrementAndGet == 0) {
-                // remove from "list"
-                // Note: developers expect the "unprotected" references to be still alive until next
-                // GNU-R compatible GC cycle
-                ctx.registerReferenceUsedInNative(x);
-                remove(preserveList, x);
-            }
-        } else {
-            // TODO report ?
+        // decrementing the last count also removes x from the "list"
+        if (profile.profile(decrement(ctx.rffiContextState.preserveList, x) == 0)) {
+            // Note: developers expect the "unprotected" references to be still alive until next
+            // GNU-R compatible GC cycle
+            ctx.registerReferenceUsedInNative(x);
         }
         return null;
     }
 
     @TruffleBoundary
-    private static void remove(EconomicMap<RBaseObject, AtomicInteger> preserveList, RBaseObject x) {
-        preserveList.removeKey(x);
-    }
-
-    @TruffleBoundary
-    private static AtomicInteger get(EconomicMap<RBaseObject, AtomicInteger> preserveList, RBaseObject x) {
-        return preserveList.get(x);
+    private static int decrement(IdentityCountMap<RBaseObject> preserveList, RBaseObject x) {
+        return preserveList.decrement(x);
     }
 }
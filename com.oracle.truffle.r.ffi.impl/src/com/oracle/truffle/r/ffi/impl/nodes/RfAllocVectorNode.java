@@ -29,6 +29,7 @@ import com.oracle.truffle.api.dsl.GenerateUncached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RError.Message;
+import com.oracle.truffle.r.runtime.data.NativeDataAccess;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
 import com.oracle.truffle.r.runtime.gnur.SEXPTYPE;
 
@@ -36,6 +37,12 @@ import com.oracle.truffle.r.runtime.gnur.SEXPTYPE;
 public abstract class RfAllocVectorNode extends FFIUpCallNode.Arg2 {
     protected static final int SEXPTYPE_COUNT = SEXPTYPE.values().length + 1;
 
+    /**
+     * Vectors of atomic types with at least this many elements are allocated directly in native
+     * memory.
+     */
+    private static final int NATIVE_ALLOCATION_THRESHOLD = 64 * 1024;
+
     public abstract Object execute(int mode, long n);
 
     public static RfAllocVectorNode create() {
@@ -65,6 +72,10 @@ public abstract class RfAllocVectorNode extends FFIUpCallNode.Arg2 {
     }
 
     private static Object allocate(SEXPTYPE type, int ni) {
+        if (ni >= NATIVE_ALLOCATION_THRESHOLD && NativeDataAccess.canCreateNativeVector(type)) {
+            // the native code will almost certainly ask for the data pointer
+            return NativeDataAccess.createNativeVector(type, ni);
+        }
         return RDataFactory.createEmptyVectorFromSEXPType(type, ni);
     }
 }
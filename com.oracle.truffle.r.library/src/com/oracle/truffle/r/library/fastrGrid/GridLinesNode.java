@@ -23,6 +23,7 @@ import static com.oracle.truffle.r.library.fastrGrid.GridUtils.asIntVector;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.r.library.fastrGrid.Unit.AxisOrDimension;
 import com.oracle.truffle.r.library.fastrGrid.Unit.UnitConversionContext;
 import com.oracle.truffle.r.library.fastrGrid.device.DrawingContext;
 import com.oracle.truffle.r.library.fastrGrid.device.GridDevice;
@@ -65,11 +66,20 @@ public abstract class GridLinesNode extends Node {
         // the vectors.
         RIntVector[] unitIndexesList = new RIntVector[lengths.getLength()];
         int maxIndexesLen = 0;
+        int maxUnitIndex = -1;
         for (int i = 0; i < lengths.getLength(); i++) {
             unitIndexesList[i] = asIntVector(lengths.getDataAt(i));
             maxIndexesLen = Math.max(maxIndexesLen, unitIndexesList[i].getLength());
+            for (int j = 0; j < unitIndexesList[i].getLength(); j++) {
+                maxUnitIndex = Math.max(maxUnitIndex, unitIndexesList[i].getDataAt(j) - 1);
+            }
         }
 
+        // all the referenced locations are converted and transformed at once
+        double[] locX = Unit.convertAll(x, maxUnitIndex + 1, conversionCtx, AxisOrDimension.X);
+        double[] locY = Unit.convertAll(y, maxUnitIndex + 1, conversionCtx, AxisOrDimension.Y);
+        TransformMatrix.transLocations(locX, locY, maxUnitIndex + 1, vpTransform.transform);
+
         double[] xx = new double[maxIndexesLen + 1];    // plus one for polygons
         double[] yy = new double[maxIndexesLen + 1];
         for (int unitIndexesListIdx = 0; unitIndexesListIdx < unitIndexesList.length; unitIndexesListIdx++) {
@@ -82,11 +92,9 @@ public abstract class GridLinesNode extends Node {
             // such series as a polyline
             for (int i = 0; i < unitIndexesLen; i++) {
                 int unitIndex = unitIndexes.getDataAt(i) - 1;   // converting R's 1-based index
-                Point origLoc = Point.fromUnits(x, y, unitIndex, conversionCtx);
-                Point loc = TransformMatrix.transLocation(origLoc, vpTransform.transform);
-                xx[i] = loc.x;
-                yy[i] = loc.y;
-                boolean currIsFinite = loc.isFinite();
+                xx[i] = locX[unitIndex];
+                yy[i] = locY[unitIndex];
+                boolean currIsFinite = Double.isFinite(xx[i]) && Double.isFinite(yy[i]);
                 boolean lastIter = i == (unitIndexesLen - 1);
                 if (currIsFinite && !oldIsFinite) {
                     start = i; // start a new series
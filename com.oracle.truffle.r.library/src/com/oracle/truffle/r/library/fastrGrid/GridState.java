@@ -46,6 +46,8 @@ public final class GridState {
      */
     private Object currentGrob;
 
+    private ViewPortTransform cachedViewPortTransform;
+
     GridState() {
     }
 
@@ -59,6 +61,14 @@ public final class GridState {
         }
     }
 
+    ViewPortTransform getCachedViewPortTransform() {
+        return cachedViewPortTransform;
+    }
+
+    void setCachedViewPortTransform(ViewPortTransform transform) {
+        cachedViewPortTransform = transform;
+    }
+
     void setDeviceState(GridDeviceState state) {
         devState = state;
     }
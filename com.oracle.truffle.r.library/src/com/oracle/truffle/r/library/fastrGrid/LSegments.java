@@ -23,7 +23,9 @@ import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.abstractVect
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.r.library.fastrGrid.Unit.AxisOrDimension;
 import com.oracle.truffle.r.library.fastrGrid.Unit.UnitConversionContext;
+import com.oracle.truffle.r.library.fastrGrid.device.DrawingContext;
 import com.oracle.truffle.r.library.fastrGrid.device.GridDevice;
 import com.oracle.truffle.r.nodes.builtin.RExternalBuiltinNode;
 import com.oracle.truffle.r.runtime.data.RList;
@@ -66,23 +68,50 @@ public abstract class LSegments extends RExternalBuiltinNode.Arg5 {
         UnitConversionContext conversionCtx = new UnitConversionContext(vpTransform.size, vpContext, dev, gpar);
 
         int length = GridUtils.maxLength(x0, y0, x1, y1);
-        double[] xx = new double[2];
-        double[] yy = new double[2];
-        for (int i = 0; i < length; i++) {
-            Point loc1 = TransformMatrix.transLocation(Point.fromUnits(x0, y0, i, conversionCtx), vpTransform.transform);
-            Point loc2 = TransformMatrix.transLocation(Point.fromUnits(x1, y1, i, conversionCtx), vpTransform.transform);
-            if (!loc1.isFinite() || !loc2.isFinite()) {
-                continue;
+        double[] xx0 = Unit.convertAll(x0, length, conversionCtx, AxisOrDimension.X);
+        double[] yy0 = Unit.convertAll(y0, length, conversionCtx, AxisOrDimension.Y);
+        double[] xx1 = Unit.convertAll(x1, length, conversionCtx, AxisOrDimension.X);
+        double[] yy1 = Unit.convertAll(y1, length, conversionCtx, AxisOrDimension.Y);
+        TransformMatrix.transLocations(xx0, yy0, length, vpTransform.transform);
+        TransformMatrix.transLocations(xx1, yy1, length, vpTransform.transform);
+
+        if (arrow != null) {
+            // each arrow is drawn right after its segment, so that the drawing order is the same
+            // as in GnuR
+            double[] xx = new double[2];
+            double[] yy = new double[2];
+            for (int i = 0; i < length; i++) {
+                if (isFinite(xx0, yy0, xx1, yy1, i)) {
+                    dev.drawSegments(gpar.getDrawingContext(i), xx0, yy0, xx1, yy1, i, 1);
+                    xx[0] = xx0[i];
+                    xx[1] = xx1[i];
+                    yy[0] = yy0[i];
+                    yy[1] = yy1[i];
+                    Arrows.drawArrows(xx, yy, 0, 2, i, arrow, true, true, conversionCtx);
+                }
+            }
+            return RNull.instance;
+        }
+
+        // the segments are handed to the device in runs that share the drawing context
+        int runStart = -1;
+        DrawingContext runCtx = null;
+        for (int i = 0; i <= length; i++) {
+            boolean finite = i < length && isFinite(xx0, yy0, xx1, yy1, i);
+            DrawingContext drawingCtx = finite ? gpar.getDrawingContext(i) : null;
+            if (runStart >= 0 && (!finite || drawingCtx != runCtx)) {
+                dev.drawSegments(runCtx, xx0, yy0, xx1, yy1, runStart, i - runStart);
+                runStart = -1;
             }
-            xx[0] = loc1.x;
-            xx[1] = loc2.x;
-            yy[0] = loc1.y;
-            yy[1] = loc2.y;
-            dev.drawPolyLines(gpar.getDrawingContext(i), xx, yy, 0, 2);
-            if (arrow != null) {
-                Arrows.drawArrows(xx, yy, 0, 2, i, arrow, true, true, conversionCtx);
+            if (finite && runStart < 0) {
+                runStart = i;
+                runCtx = drawingCtx;
             }
         }
         return RNull.instance;
     }
+
+    private static boolean isFinite(double[] xx0, double[] yy0, double[] xx1, double[] yy1, int i) {
+        return Double.isFinite(xx0[i]) && Double.isFinite(yy0[i]) && Double.isFinite(xx1[i]) && Double.isFinite(yy1[i]);
+    }
 }
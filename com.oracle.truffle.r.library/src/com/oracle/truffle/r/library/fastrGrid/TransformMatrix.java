@@ -96,6 +96,25 @@ final class TransformMatrix {
         return new Point(locationX(newLoc), locationY(newLoc));
     }
 
+    /**
+     * Vectorized version of {@link #transLocation(Point, double[][])}, which transforms the first
+     * {@code length} locations given by {@code x} and {@code y} in place.
+     */
+    static void transLocations(double[] x, double[] y, int length, double[][] m) {
+        double m00 = m[0][0];
+        double m01 = m[0][1];
+        double m10 = m[1][0];
+        double m11 = m[1][1];
+        double m20 = m[2][0];
+        double m21 = m[2][1];
+        for (int i = 0; i < length; i++) {
+            double xi = x[i];
+            double yi = y[i];
+            x[i] = xi * m00 + yi * m10 + m20;
+            y[i] = xi * m01 + yi * m11 + m21;
+        }
+    }
+
     private static double locationX(double[] loc) {
         return loc[0];
     }
@@ -33,8 +33,6 @@ import static com.oracle.truffle.r.library.fastrGrid.GridUtils.hasRClass;
 import static com.oracle.truffle.r.library.fastrGrid.GridUtils.sum;
 import static com.oracle.truffle.r.library.fastrGrid.device.DrawingContext.INCH_TO_POINTS_FACTOR;
 
-import java.util.function.BiFunction;
-
 import com.oracle.truffle.r.library.fastrGrid.device.DrawingContext;
 import com.oracle.truffle.r.library.fastrGrid.device.GridDevice;
 import com.oracle.truffle.r.runtime.RError;
@@ -44,6 +42,7 @@ import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.data.RAttributable;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
 import com.oracle.truffle.r.runtime.data.RDoubleVector;
+import com.oracle.truffle.r.runtime.data.RIntVector;
 import com.oracle.truffle.r.runtime.data.RList;
 import com.oracle.truffle.r.runtime.data.RNull;
 import com.oracle.truffle.r.runtime.data.RStringVector;
@@ -183,7 +182,7 @@ public final class Unit {
         }
     }
 
-    private static double convertToInches(double value, int index, int unitId, RList data, UnitConversionContext ctx, AxisOrDimension axisOrDim) {
+    private static double convertToInches(double value, int index, int unitId, RList data, UnitConversionContext ctx, AxisOrDimension axisOrDim, int nullAMode) {
         // Note: grob units are converted in a dedicated node
         double vpSize = ctx.getViewPortSize(axisOrDim);
         String str;
@@ -232,7 +231,7 @@ public final class Unit {
                 }
                 return value * result;
             case NULL:
-                return evaluateNullUnit(value, vpSize, ctx.nullLayoutMode, ctx.nullArithmeticMode);
+                return evaluateNullUnit(value, vpSize, ctx.nullLayoutMode, nullAMode);
             default:
                 throw RInternalError.unimplemented("unit type " + unitId + " in convertToInches");
         }
@@ -529,95 +528,252 @@ public final class Unit {
         }
     }
 
-    private static final class UnitConversionArgs {
-        public final UnitConversionContext ctx;
-        public final AxisOrDimension axisOrDim;
-        public final int index;
+    /**
+     * Unit object compiled into a tree of Java objects, so that the class attributes, the unit ids
+     * and the structure of unit arithmetic and unit lists are examined only once for all the
+     * converted elements. The elements of unit lists are compiled lazily, so that converting a
+     * single element of a long unit list does not compile the whole list.
+     */
+    private abstract static class CompiledUnit {
+        abstract int getLength();
+
+        /**
+         * Converts the element at {@code index} to inches. The {@code nullAMode} replaces the
+         * {@link UnitConversionContext#nullArithmeticMode} of the context, which changes within
+         * unit arithmetic.
+         */
+        abstract double toInches(int index, UnitConversionContext ctx, AxisOrDimension axisOrDim, int nullAMode);
 
-        UnitConversionArgs(int index, UnitConversionContext ctx, AxisOrDimension axisOrDim) {
-            this.ctx = ctx;
-            this.axisOrDim = axisOrDim;
-            this.index = index;
+        /**
+         * Note the catch: the null arithmetic mode of the operation is applied only if the
+         * {@code axisOrDim} is dimension.
+         */
+        static int getNullAMode(AxisOrDimension axisOrDim, int nullAMode, int operationNullAMode) {
+            return axisOrDim.isDimension() ? operationNullAMode : nullAMode;
         }
     }
 
-    private static final class UnitConvertVisitor extends UnitVisitor<Double, UnitConversionArgs> {
-        private static final UnitConvertVisitor INSTANCE = new UnitConvertVisitor();
+    private static final class CompiledSimpleUnit extends CompiledUnit {
+        private final RAbstractVector value;
+        private final RIntVector unitIds;
+        private final RList data;
+
+        CompiledSimpleUnit(RAbstractVector value, boolean v2) {
+            this.value = value;
+            this.unitIds = asIntVector(value.getAttr(v2 ? UNIT_V2_ATTR_UNIT_ID : UNIT_ATTR_UNIT_ID));
+            this.data = asListOrNull(value.getAttr(UNIT_ATTR_DATA));
+        }
+
+        @Override
+        int getLength() {
+            return value.getLength();
+        }
 
         @Override
-        protected Double visitSimpleUnit(RAbstractVector value, UnitConversionArgs args, boolean v2) {
-            String unitAttrName = v2 ? UNIT_V2_ATTR_UNIT_ID : UNIT_ATTR_UNIT_ID;
-            int unitId = getDataAtMod(asIntVector(value.getAttr(unitAttrName)), args.index);
-            double scalarValue = getDoubleAt(value, args.index % value.getLength());
+        double toInches(int index, UnitConversionContext ctx, AxisOrDimension axisOrDim, int nullAMode) {
+            int unitId = getDataAtMod(unitIds, index);
+            double scalarValue = getDoubleAt(value, index % value.getLength());
             if (isGrobUnit(unitId)) {
                 RList grobList = asList(value.getAttr(UNIT_ATTR_DATA));
-                return grobUnitToInches(scalarValue, unitId, grobList.getDataAt(args.index % grobList.getLength()), args.ctx);
+                UnitConversionContext grobCtx = ctx;
+                if (nullAMode != ctx.nullArithmeticMode) {
+                    grobCtx = new UnitConversionContext(ctx.viewPortSize, ctx.viewPortContext, ctx.device, ctx.gpar, ctx.nullLayoutMode, nullAMode);
+                }
+                return grobUnitToInches(scalarValue, unitId, grobList.getDataAt(index % grobList.getLength()), grobCtx);
             }
-            return convertToInches(scalarValue, args.index, unitId, asListOrNull(value.getAttr(UNIT_ATTR_DATA)), args.ctx, args.axisOrDim);
+            return convertToInches(scalarValue, index, unitId, data, ctx, axisOrDim, nullAMode);
+        }
+    }
+
+    private static final class CompiledListUnit extends CompiledUnit {
+        private final RList unit;
+        /**
+         * The first compiled element, the array for all the elements is allocated only once more
+         * elements are needed, so that converting a single element does not allocate it.
+         */
+        private int firstIndex = -1;
+        private CompiledUnit first;
+        private CompiledUnit[] elements;
+
+        CompiledListUnit(RList unit) {
+            this.unit = unit;
         }
 
         @Override
-        protected Double visitListUnit(RList unit, UnitConversionArgs args) {
-            return visit(asAbstractContainer(unit.getDataAt(args.index % unit.getLength())), new UnitConversionArgs(0, args.ctx, args.axisOrDim));
+        int getLength() {
+            return unit.getLength();
         }
 
         @Override
-        protected Double visitArithmeticUnit(ArithmeticUnit expr, UnitConversionArgs args) {
-            BiFunction<RAbstractContainer, Integer, Double> recursive = (x, newNullAMode) -> visit(x,
-                            new UnitConversionArgs(args.index, getNewCtx(args.ctx, args.axisOrDim, newNullAMode), args.axisOrDim));
-            switch (expr.op) {
-                case "+":
-                    return recursive.apply(expr.arg1, L_adding) + recursive.apply(expr.arg2, L_adding);
-                case "-":
-                    return recursive.apply(expr.arg1, L_subtracting) - recursive.apply(expr.arg2, L_subtracting);
-                case "*":
-                    RDoubleVector left = asDoubleVector(expr.arg1);
-                    return left.getDataAt(args.index % left.getLength()) * recursive.apply(expr.arg2, L_multiplying);
+        double toInches(int index, UnitConversionContext ctx, AxisOrDimension axisOrDim, int nullAMode) {
+            return getElement(index % unit.getLength()).toInches(0, ctx, axisOrDim, nullAMode);
+        }
+
+        private CompiledUnit getElement(int index) {
+            if (index == firstIndex) {
+                return first;
+            }
+            if (elements != null && elements[index] != null) {
+                return elements[index];
+            }
+            CompiledUnit result = UnitCompiler.INSTANCE.visit(asAbstractContainer(unit.getDataAt(index)));
+            if (firstIndex < 0) {
+                firstIndex = index;
+                first = result;
+            } else {
+                if (elements == null) {
+                    elements = new CompiledUnit[unit.getLength()];
+                }
+                elements[index] = result;
+            }
+            return result;
+        }
+    }
+
+    private static final class CompiledBinaryUnit extends CompiledUnit {
+        private final char op;
+        /**
+         * The left operand of multiplication is a plain numeric vector.
+         */
+        private final RDoubleVector factor;
+        private final CompiledUnit arg1;
+        private final CompiledUnit arg2;
+
+        CompiledBinaryUnit(char op, RDoubleVector factor, CompiledUnit arg1, CompiledUnit arg2) {
+            this.op = op;
+            this.factor = factor;
+            this.arg1 = arg1;
+            this.arg2 = arg2;
+        }
+
+        @Override
+        int getLength() {
+            return Math.max(factor != null ? factor.getLength() : arg1.getLength(), arg2.getLength());
+        }
+
+        @Override
+        double toInches(int index, UnitConversionContext ctx, AxisOrDimension axisOrDim, int nullAMode) {
+            switch (op) {
+                case '+':
+                    int addMode = getNullAMode(axisOrDim, nullAMode, L_adding);
+                    return arg1.toInches(index, ctx, axisOrDim, addMode) + arg2.toInches(index, ctx, axisOrDim, addMode);
+                case '-':
+                    int subMode = getNullAMode(axisOrDim, nullAMode, L_subtracting);
+                    return arg1.toInches(index, ctx, axisOrDim, subMode) - arg2.toInches(index, ctx, axisOrDim, subMode);
                 default:
-                    break;
+                    assert op == '*';
+                    return factor.getDataAt(index % factor.getLength()) * arg2.toInches(index, ctx, axisOrDim, getNullAMode(axisOrDim, nullAMode, L_multiplying));
             }
+        }
+    }
 
-            // must be aggregate operation
-            UnitConversionContext newCtx = getNewCtx(args.ctx, args.axisOrDim, getNullAMode(expr.op));
-            int len = getLength(expr.arg1);
-            double[] values = new double[len];
-            for (int i = 0; i < len; i++) {
-                values[i] = visit(expr.arg1, new UnitConversionArgs(i, newCtx, args.axisOrDim));
+    private static final class CompiledAggregateUnit extends CompiledUnit {
+        private final String op;
+        private final CompiledUnit arg;
+        /**
+         * The aggregate does not depend on the index, it is computed only once for all the indexes
+         * converted with the same context, axis and null arithmetic mode.
+         */
+        private UnitConversionContext cachedCtx;
+        private AxisOrDimension cachedAxisOrDim;
+        private int cachedNullAMode;
+        private double cachedValue;
+
+        CompiledAggregateUnit(String op, CompiledUnit arg) {
+            this.op = op;
+            this.arg = arg;
+        }
+
+        @Override
+        int getLength() {
+            // length of aggregate functions, max, min, etc. is 1
+            return 1;
+        }
+
+        @Override
+        double toInches(int index, UnitConversionContext ctx, AxisOrDimension axisOrDim, int nullAMode) {
+            if (ctx != cachedCtx || axisOrDim != cachedAxisOrDim || nullAMode != cachedNullAMode) {
+                cachedValue = aggregate(ctx, axisOrDim, nullAMode);
+                cachedCtx = ctx;
+                cachedAxisOrDim = axisOrDim;
+                cachedNullAMode = nullAMode;
             }
+            return cachedValue;
+        }
 
-            switch (expr.op) {
+        private double aggregate(UnitConversionContext ctx, AxisOrDimension axisOrDim, int nullAMode) {
+            int len = arg.getLength();
+            double[] values = new double[len];
+            switch (op) {
                 case "min":
+                    fill(values, ctx, axisOrDim, getNullAMode(axisOrDim, nullAMode, L_minimising));
                     return GridUtils.fmin(Double.MAX_VALUE, values);
                 case "max":
+                    fill(values, ctx, axisOrDim, getNullAMode(axisOrDim, nullAMode, L_maximising));
                     return GridUtils.fmax(-Double.MAX_VALUE, values);
                 case "sum":
+                    fill(values, ctx, axisOrDim, getNullAMode(axisOrDim, nullAMode, L_summing));
                     return GridUtils.sum(values);
                 default:
                     throw RInternalError.shouldNotReachHere("The operation should have been validated in asArithmeticUnit method.");
             }
         }
 
-        // Note the catch: newNullAMode is applied only if the axisOrDim is dimension
-        private static UnitConversionContext getNewCtx(UnitConversionContext ctx, AxisOrDimension axisOrDim, int newNullAMode) {
-            return new UnitConversionContext(ctx.viewPortSize, ctx.viewPortContext, ctx.device, ctx.gpar, ctx.nullLayoutMode,
-                            axisOrDim.isDimension() ? newNullAMode : ctx.nullArithmeticMode);
+        private void fill(double[] values, UnitConversionContext ctx, AxisOrDimension axisOrDim, int nullAMode) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = arg.toInches(i, ctx, axisOrDim, nullAMode);
+            }
         }
+    }
 
-        private static int getNullAMode(String op) {
-            switch (op) {
-                case "min":
-                    return L_minimising;
-                case "max":
-                    return L_maximising;
-                case "sum":
-                    return L_summing;
+    private static final class UnitCompiler extends UnitVisitor<CompiledUnit, Object> {
+        private static final UnitCompiler INSTANCE = new UnitCompiler();
+
+        @Override
+        protected CompiledUnit visitSimpleUnit(RAbstractVector unit, boolean v2) {
+            return new CompiledSimpleUnit(unit, v2);
+        }
+
+        @Override
+        protected CompiledUnit visitListUnit(RList unit) {
+            return new CompiledListUnit(unit);
+        }
+
+        @Override
+        protected CompiledUnit visitArithmeticUnit(ArithmeticUnit expr) {
+            switch (expr.op) {
+                case "+":
+                case "-":
+                    return new CompiledBinaryUnit(expr.op.charAt(0), null, visit(expr.arg1), visit(expr.arg2));
+                case "*":
+                    return new CompiledBinaryUnit('*', asDoubleVector(expr.arg1), null, visit(expr.arg2));
+                default:
+                    // must be aggregate operation
+                    return new CompiledAggregateUnit(expr.op, visit(expr.arg1));
             }
-            return L_plain;
         }
     }
 
+    /**
+     * Converts a single element of the unit. Only the parts of the unit needed for the element are
+     * compiled, callers converting many elements of the same unit should use the bulk
+     * {@link #convertAll}.
+     */
     public static double convert(RAbstractContainer unit, int index, UnitConversionContext ctx, AxisOrDimension axisOrDim) {
-        return UnitConvertVisitor.INSTANCE.visit(unit, new UnitConversionArgs(index, ctx, axisOrDim));
+        return UnitCompiler.INSTANCE.visit(unit).toInches(index, ctx, axisOrDim, ctx.nullArithmeticMode);
+    }
+
+    /**
+     * Converts the first {@code length} elements of the unit (recycled if necessary) at once. The
+     * unit object is compiled only once instead of examining its structure for every element.
+     */
+    public static double[] convertAll(RAbstractContainer unit, int length, UnitConversionContext ctx, AxisOrDimension axisOrDim) {
+        CompiledUnit compiled = UnitCompiler.INSTANCE.visit(unit);
+        double[] result = new double[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = compiled.toInches(i, ctx, axisOrDim, ctx.nullArithmeticMode);
+        }
+        return result;
     }
 
     public static double convertX(RAbstractContainer unit, int index, UnitConversionContext ctx) {
@@ -20,11 +20,13 @@
 package com.oracle.truffle.r.library.fastrGrid;
 
 import com.oracle.truffle.r.library.fastrGrid.device.GridDevice;
-import com.oracle.truffle.r.runtime.data.RDoubleVector;
 import com.oracle.truffle.r.runtime.data.RList;
 
 /**
- * Holds the data of a viewport needed to perform transformations.
+ * Holds the data of a viewport needed to perform transformations. The last transform is cached in
+ * the {@link GridState}, it is reused as long as neither the viewport nor the values it was
+ * computed from were replaced, which is what happens when the viewport transformation is
+ * re-calculated, e.g. because the device size has changed.
  */
 public final class ViewPortTransform {
     /**
@@ -34,10 +36,26 @@ public final class ViewPortTransform {
     public final double[][] transform;
     public final Size size;
 
-    private ViewPortTransform(double width, double height, double rotationAngle, double[][] transform) {
-        this.size = new Size(width, height);
-        this.rotationAngle = rotationAngle;
-        this.transform = transform;
+    // the viewport and its elements this transform was computed from
+    private final RList viewPort;
+    private final Object widthCm;
+    private final Object heightCm;
+    private final Object angle;
+    private final Object trans;
+
+    private ViewPortTransform(RList viewPort, Object widthCm, Object heightCm, Object angle, Object trans) {
+        this.viewPort = viewPort;
+        this.widthCm = widthCm;
+        this.heightCm = heightCm;
+        this.angle = angle;
+        this.trans = trans;
+        this.size = new Size(Unit.cmToInches(GridUtils.asDouble(widthCm)), Unit.cmToInches(GridUtils.asDouble(heightCm)));
+        this.rotationAngle = GridUtils.asDouble(angle);
+        this.transform = TransformMatrix.fromFlat(GridUtils.asDoubleVector(trans));
+    }
+
+    private boolean isComputedFrom(RList vp, Object vpWidthCm, Object vpHeightCm, Object vpAngle, Object vpTrans) {
+        return viewPort == vp && widthCm == vpWidthCm && heightCm == vpHeightCm && angle == vpAngle && trans == vpTrans;
     }
 
     public static ViewPortTransform get(RList viewPort, GridDevice device) {
@@ -46,11 +64,17 @@ public final class ViewPortTransform {
             // the parent(s) as well?
             DoSetViewPort.calcViewportTransform(viewPort, viewPort.getDataAt(ViewPort.PVP_PARENT), true, device, GridState.getInitialGPar(device));
         }
-        double width = Unit.cmToInches(GridUtils.asDouble(viewPort.getDataAt(ViewPort.PVP_WIDTHCM)));
-        double height = Unit.cmToInches(GridUtils.asDouble(viewPort.getDataAt(ViewPort.PVP_HEIGHTCM)));
-        double rotationAngle = GridUtils.asDouble(viewPort.getDataAt(ViewPort.VP_ANGLE));
-        RDoubleVector trans = GridUtils.asDoubleVector(viewPort.getDataAt(ViewPort.PVP_TRANS));
-        double[][] transform = TransformMatrix.fromFlat(trans);
-        return new ViewPortTransform(width, height, rotationAngle, transform);
+        Object widthCm = viewPort.getDataAt(ViewPort.PVP_WIDTHCM);
+        Object heightCm = viewPort.getDataAt(ViewPort.PVP_HEIGHTCM);
+        Object angle = viewPort.getDataAt(ViewPort.VP_ANGLE);
+        Object trans = viewPort.getDataAt(ViewPort.PVP_TRANS);
+        GridState gridState = GridContext.getContext().getGridState();
+        ViewPortTransform cached = gridState.getCachedViewPortTransform();
+        if (cached != null && cached.isComputedFrom(viewPort, widthCm, heightCm, angle, trans)) {
+            return cached;
+        }
+        ViewPortTransform result = new ViewPortTransform(viewPort, widthCm, heightCm, angle, trans);
+        gridState.setCachedViewPortTransform(result);
+        return result;
     }
 }
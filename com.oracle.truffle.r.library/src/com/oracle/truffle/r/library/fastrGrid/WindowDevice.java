@@ -50,7 +50,6 @@ public final class WindowDevice {
     public static GridDevice createWindowDevice(RContext ctx, boolean byGridServer, int width, int height) {
         JFrameDevice frameDevice = new JFrameDevice(width, height);
         if (!byGridServer && ctx != null && ctx.hasExecutor()) {
-            frameDevice.setResizeListener(() -> redrawAll(ctx));
             frameDevice.setCloseListener(() -> devOff(ctx));
         } else {
             if (!byGridServer) {
@@ -64,18 +63,6 @@ public final class WindowDevice {
         throw RError.error(RError.NO_CALLER, Message.GENERIC, "AWT based grid devices are not supported.");
     }
 
-    private static void redrawAll(RContext ctx) {
-        if (!ctx.hasExecutor()) {
-            // to be robust we re-check the executor availability
-            return;
-        }
-        ctx.schedule(() -> {
-            Object prev = ctx.getEnv().getContext().enter(null);
-            GridContext.getContext(ctx).evalInternalRFunction("redrawAll");
-            ctx.getEnv().getContext().leave(null, prev);
-        });
-    }
-
     private static void devOff(RContext ctx) {
         if (!ctx.hasExecutor()) {
             // to be robust we re-check the executor availability
@@ -107,7 +94,6 @@ public final class WindowDevice {
 
     private static void noSchedulingSupportWarning() {
         // Note: the PolyglotEngine was not built with an Executor or we use remote grid device
-        RError.warning(RError.NO_CALLER, Message.GENERIC, "Grid cannot resize the drawings. If you resize the window, the content will be lost. " +
-                        "You can redraw the contents using: 'popViewport(0, recording = FALSE); grid:::draw.all()'.");
+        RError.warning(RError.NO_CALLER, Message.GENERIC, "Grid cannot close the device when the window is closed. Use 'dev.off()' to close the device.");
     }
 }
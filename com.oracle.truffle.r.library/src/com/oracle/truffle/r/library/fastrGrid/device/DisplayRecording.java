@@ -0,0 +1,381 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.library.fastrGrid.device;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.r.library.fastrGrid.device.GridDevice.ImageInterpolation;
+
+/**
+ * Log of the drawing primitives sent to a device in a compact binary form, which can be replayed
+ * onto another device or onto the same device after it was resized without evaluating any R code.
+ *
+ * The operations are encoded as a stream of opcodes with their integer arguments (counts, symbols,
+ * indices into the table of objects) and double arguments (coordinates and sizes in inches).
+ * Drawing contexts, strings and raster images are kept in the table of objects, consecutive
+ * operations with the same drawing context share one entry. The drawing contexts may be views of R
+ * objects, which must not be read when the recording is replayed on another thread, e.g. the AWT
+ * thread, therefore their values are copied into an immutable snapshot when recorded.
+ *
+ * When replayed onto a device of a different size, the coordinates are scaled by the ratio of the
+ * sizes, line widths and font sizes stay the same.
+ */
+public final class DisplayRecording {
+    private static final byte RECT = 1;
+    private static final byte POLYLINES = 2;
+    private static final byte POLYGON = 3;
+    private static final byte CIRCLE = 4;
+    private static final byte POINTS = 5;
+    private static final byte SEGMENTS = 6;
+    private static final byte RASTER = 7;
+    private static final byte STRING = 8;
+
+    private double width;
+    private double height;
+
+    private byte[] ops = new byte[64];
+    private int opsCount;
+    private int[] ints = new int[128];
+    private int intsCount;
+    private double[] doubles = new double[512];
+    private int doublesCount;
+    private Object[] objects = new Object[16];
+    private int objectsCount;
+
+    private DrawingContext lastContext;
+    private int lastContextIndex = -1;
+
+    /**
+     * @param width the width of the recorded device in inches.
+     * @param height the height of the recorded device in inches.
+     */
+    public DisplayRecording(double width, double height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Removes all the recorded operations, the following ones are recorded on a device of given
+     * size.
+     */
+    public void clear(double newWidth, double newHeight) {
+        width = newWidth;
+        height = newHeight;
+        opsCount = 0;
+        intsCount = 0;
+        doublesCount = 0;
+        Arrays.fill(objects, 0, objectsCount, null);
+        objectsCount = 0;
+        lastContext = null;
+        lastContextIndex = -1;
+    }
+
+    public boolean isEmpty() {
+        return opsCount == 0;
+    }
+
+    public void recordRect(DrawingContext ctx, double leftX, double bottomY, double rectWidth, double rectHeight, double rotationAnticlockWise) {
+        addOp(RECT);
+        addContext(ctx);
+        addDoubles(leftX, bottomY, rectWidth, rectHeight, rotationAnticlockWise);
+    }
+
+    public void recordPolyLines(DrawingContext ctx, double[] x, double[] y, int startIndex, int length) {
+        addOp(POLYLINES);
+        addContext(ctx);
+        addInt(length);
+        addCoordinates(x, y, startIndex, length);
+    }
+
+    public void recordPolygon(DrawingContext ctx, double[] x, double[] y, int startIndex, int length) {
+        addOp(POLYGON);
+        addContext(ctx);
+        addInt(length);
+        addCoordinates(x, y, startIndex, length);
+    }
+
+    public void recordCircle(DrawingContext ctx, double centerX, double centerY, double radius) {
+        addOp(CIRCLE);
+        addContext(ctx);
+        addDoubles(centerX, centerY, radius);
+    }
+
+    public void recordPoints(DrawingContext ctx, double[] x, double[] y, int startIndex, int length, int pch, double size) {
+        addOp(POINTS);
+        addContext(ctx);
+        addInt(length);
+        addInt(pch);
+        addDoubles(size);
+        addCoordinates(x, y, startIndex, length);
+    }
+
+    public void recordSegments(DrawingContext ctx, double[] x0, double[] y0, double[] x1, double[] y1, int startIndex, int length) {
+        addOp(SEGMENTS);
+        addContext(ctx);
+        addInt(length);
+        addCoordinates(x0, y0, startIndex, length);
+        addCoordinates(x1, y1, startIndex, length);
+    }
+
+    /**
+     * The pixels are not copied, {@link GridDevice#drawRaster} does not require a defensive copy
+     * either, so the callers do not modify them afterwards.
+     */
+    public void recordRaster(double leftX, double bottomY, double rasterWidth, double rasterHeight, int[] pixels, int pixelsColumnsCount, ImageInterpolation interpolation) {
+        addOp(RASTER);
+        addInt(addObject(pixels));
+        addInt(pixelsColumnsCount);
+        addInt(interpolation.ordinal());
+        addDoubles(leftX, bottomY, rasterWidth, rasterHeight);
+    }
+
+    public void recordString(DrawingContext ctx, double leftX, double bottomY, double rotationAnticlockWise, String text) {
+        addOp(STRING);
+        addContext(ctx);
+        addInt(addObject(text));
+        addDoubles(leftX, bottomY, rotationAnticlockWise);
+    }
+
+    /**
+     * Draws all the recorded operations onto given device, the coordinates are scaled to the size
+     * of the target device.
+     */
+    public void replay(GridDevice target) {
+        double sx = target.getWidth() / width;
+        double sy = target.getHeight() / height;
+        double sr = Math.min(sx, sy);
+        double[] x = new double[16];
+        double[] y = new double[16];
+        double[] x1 = new double[0];
+        double[] y1 = new double[0];
+        int intPos = 0;
+        int doublePos = 0;
+        for (int op = 0; op < opsCount; op++) {
+            byte code = ops[op];
+            if (code == RASTER) {
+                int[] pixels = (int[]) objects[ints[intPos++]];
+                int columns = ints[intPos++];
+                ImageInterpolation interpolation = ImageInterpolation.values()[ints[intPos++]];
+                target.drawRaster(doubles[doublePos] * sx, doubles[doublePos + 1] * sy, doubles[doublePos + 2] * sx, doubles[doublePos + 3] * sy, pixels, columns, interpolation);
+                doublePos += 4;
+                continue;
+            }
+            DrawingContext ctx = (DrawingContext) objects[ints[intPos++]];
+            switch (code) {
+                case RECT:
+                    target.drawRect(ctx, doubles[doublePos] * sx, doubles[doublePos + 1] * sy, doubles[doublePos + 2] * sx, doubles[doublePos + 3] * sy, doubles[doublePos + 4]);
+                    doublePos += 5;
+                    break;
+                case CIRCLE:
+                    target.drawCircle(ctx, doubles[doublePos] * sx, doubles[doublePos + 1] * sy, doubles[doublePos + 2] * sr);
+                    doublePos += 3;
+                    break;
+                case STRING:
+                    String text = (String) objects[ints[intPos++]];
+                    target.drawString(ctx, doubles[doublePos] * sx, doubles[doublePos + 1] * sy, doubles[doublePos + 2], text);
+                    doublePos += 3;
+                    break;
+                case POLYLINES:
+                case POLYGON:
+                case POINTS:
+                case SEGMENTS: {
+                    int length = ints[intPos++];
+                    int pch = 0;
+                    double size = 0;
+                    if (code == POINTS) {
+                        pch = ints[intPos++];
+                        size = doubles[doublePos++] * sr;
+                    }
+                    if (x.length < length) {
+                        x = new double[length];
+                        y = new double[length];
+                    }
+                    doublePos = readCoordinates(doublePos, length, sx, sy, x, y);
+                    if (code == POLYLINES) {
+                        target.drawPolyLines(ctx, x, y, 0, length);
+                    } else if (code == POLYGON) {
+                        target.drawPolygon(ctx, x, y, 0, length);
+                    } else if (code == POINTS) {
+                        target.drawPoints(ctx, x, y, 0, length, pch, size);
+                    } else {
+                        if (x1.length < length) {
+                            x1 = new double[length];
+                            y1 = new double[length];
+                        }
+                        doublePos = readCoordinates(doublePos, length, sx, sy, x1, y1);
+                        target.drawSegments(ctx, x, y, x1, y1, 0, length);
+                    }
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("unexpected operation " + code);
+            }
+        }
+    }
+
+    private int readCoordinates(int start, int length, double sx, double sy, double[] x, double[] y) {
+        for (int i = 0; i < length; i++) {
+            x[i] = doubles[start + i] * sx;
+            y[i] = doubles[start + length + i] * sy;
+        }
+        return start + 2 * length;
+    }
+
+    private void addOp(byte op) {
+        if (opsCount == ops.length) {
+            ops = Arrays.copyOf(ops, ops.length * 2);
+        }
+        ops[opsCount++] = op;
+    }
+
+    private void addInt(int value) {
+        if (intsCount == ints.length) {
+            ints = Arrays.copyOf(ints, ints.length * 2);
+        }
+        ints[intsCount++] = value;
+    }
+
+    private void addDoubles(double... values) {
+        ensureDoublesCapacity(values.length);
+        System.arraycopy(values, 0, doubles, doublesCount, values.length);
+        doublesCount += values.length;
+    }
+
+    private void addCoordinates(double[] x, double[] y, int startIndex, int length) {
+        ensureDoublesCapacity(2 * length);
+        System.arraycopy(x, startIndex, doubles, doublesCount, length);
+        System.arraycopy(y, startIndex, doubles, doublesCount + length, length);
+        doublesCount += 2 * length;
+    }
+
+    private void ensureDoublesCapacity(int count) {
+        if (doublesCount + count > doubles.length) {
+            doubles = Arrays.copyOf(doubles, Math.max(doubles.length * 2, doublesCount + count));
+        }
+    }
+
+    private void addContext(DrawingContext ctx) {
+        // the snapshot of the last context is shared by the following operations with the same
+        // context instance
+        if (ctx != lastContext || lastContextIndex < 0) {
+            lastContext = ctx;
+            lastContextIndex = addObject(ctx == null ? null : new ContextSnapshot(ctx));
+        }
+        addInt(lastContextIndex);
+    }
+
+    private int addObject(Object value) {
+        if (objectsCount == objects.length) {
+            objects = Arrays.copyOf(objects, objects.length * 2);
+        }
+        objects[objectsCount] = value;
+        return objectsCount++;
+    }
+
+    /**
+     * Immutable copy of the values of a {@link DrawingContext}.
+     */
+    private static final class ContextSnapshot implements DrawingContext {
+        private final byte[] lineType;
+        private final double lineWidth;
+        private final GridLineJoin lineJoin;
+        private final GridLineEnd lineEnd;
+        private final double lineMitre;
+        private final GridColor color;
+        private final double fontSize;
+        private final GridFontStyle fontStyle;
+        private final String fontFamily;
+        private final double lineHeight;
+        private final GridColor fillColor;
+
+        ContextSnapshot(DrawingContext ctx) {
+            // the line types are compared by identity with the constants in DrawingContext
+            this.lineType = ctx.getLineType();
+            this.lineWidth = ctx.getLineWidth();
+            this.lineJoin = ctx.getLineJoin();
+            this.lineEnd = ctx.getLineEnd();
+            this.lineMitre = ctx.getLineMitre();
+            this.color = ctx.getColor();
+            this.fontSize = ctx.getFontSize();
+            this.fontStyle = ctx.getFontStyle();
+            this.fontFamily = ctx.getFontFamily();
+            this.lineHeight = ctx.getLineHeight();
+            this.fillColor = ctx.getFillColor();
+        }
+
+        @Override
+        public byte[] getLineType() {
+            return lineType;
+        }
+
+        @Override
+        public double getLineWidth() {
+            return lineWidth;
+        }
+
+        @Override
+        public GridLineJoin getLineJoin() {
+            return lineJoin;
+        }
+
+        @Override
+        public GridLineEnd getLineEnd() {
+            return lineEnd;
+        }
+
+        @Override
+        public double getLineMitre() {
+            return lineMitre;
+        }
+
+        @Override
+        public GridColor getColor() {
+            return color;
+        }
+
+        @Override
+        public double getFontSize() {
+            return fontSize;
+        }
+
+        @Override
+        public GridFontStyle getFontStyle() {
+            return fontStyle;
+        }
+
+        @Override
+        public String getFontFamily() {
+            return fontFamily;
+        }
+
+        @Override
+        public double getLineHeight() {
+            return lineHeight;
+        }
+
+        @Override
+        public GridColor getFillColor() {
+            return fillColor;
+        }
+    }
+}
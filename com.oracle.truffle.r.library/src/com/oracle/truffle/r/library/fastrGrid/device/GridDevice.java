@@ -94,6 +94,34 @@ public interface GridDevice {
 
     void drawCircle(DrawingContext ctx, double centerX, double centerY, double radius);
 
+    /**
+     * Draws the symbol {@code pch} of given size centered at each of the points
+     * {@code startIndex .. startIndex + length - 1}, the points are guaranteed to be finite. Devices
+     * should override this method if they can draw many symbols more efficiently than by drawing
+     * them one by one via the other primitives.
+     *
+     * @see PointSymbols
+     */
+    default void drawPoints(DrawingContext ctx, double[] x, double[] y, int startIndex, int length, int pch, double size) {
+        PointSymbols.draw(this, ctx, x, y, startIndex, length, pch, size);
+    }
+
+    /**
+     * Draws a line from {@code (x0[i], y0[i])} to {@code (x1[i], y1[i])} for each of the indices
+     * {@code startIndex .. startIndex + length - 1}, the points are guaranteed to be finite.
+     */
+    default void drawSegments(DrawingContext ctx, double[] x0, double[] y0, double[] x1, double[] y1, int startIndex, int length) {
+        double[] x = new double[2];
+        double[] y = new double[2];
+        for (int i = startIndex; i < startIndex + length; i++) {
+            x[0] = x0[i];
+            x[1] = x1[i];
+            y[0] = y0[i];
+            y[1] = y1[i];
+            drawPolyLines(ctx, x, y, 0, 2);
+        }
+    }
+
     /**
      * Draws a raster image at specified position. The pixels array shall be treated as by row
      * matrix, the values are values compatible with the internal {@link GridColor} representation,
@@ -44,6 +44,14 @@ public class NullDevice implements GridDevice {
     public void drawCircle(DrawingContext ctx, double centerX, double centerY, double radius) {
     }
 
+    @Override
+    public void drawPoints(DrawingContext ctx, double[] x, double[] y, int startIndex, int length, int pch, double size) {
+    }
+
+    @Override
+    public void drawSegments(DrawingContext ctx, double[] x0, double[] y0, double[] x1, double[] y1, int startIndex, int length) {
+    }
+
     @Override
     public void drawRaster(double leftX, double bottomY, double width, double height, int[] pixels, int pixelsColumnsCount, ImageInterpolation interpolation) {
     }
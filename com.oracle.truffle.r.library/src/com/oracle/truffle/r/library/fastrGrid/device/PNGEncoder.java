@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.library.fastrGrid.device;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Encodes RGB images given as {@code int[]} pixels (the format of
+ * {@code BufferedImage.TYPE_INT_RGB}, the alpha byte is ignored) into PNG.
+ *
+ * The rows are split into chunks, which are filtered and compressed in parallel, each chunk into a
+ * raw deflate stream primed with the last 32KB of the previous chunk as the dictionary. The
+ * streams of all but the last chunk are ended with a sync flush, so that their concatenation is a
+ * valid deflate stream, and the checksum of the whole zlib stream is combined from the checksums
+ * of the chunks.
+ */
+public final class PNGEncoder {
+    private static final byte[] SIGNATURE = {(byte) 137, 'P', 'N', 'G', '\r', '\n', 26, '\n'};
+    private static final int BYTES_PER_PIXEL = 3;
+    private static final int COLOR_TYPE_RGB = 2;
+
+    /**
+     * Minimal size of the filtered data of one chunk, smaller chunks would compress worse and the
+     * parallelism would not pay off.
+     */
+    private static final int MIN_CHUNK_SIZE = 256 * 1024;
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final int ADLER_BASE = 65521;
+
+    private static final int FILTER_NONE = 0;
+    private static final int FILTER_SUB = 1;
+    private static final int FILTER_UP = 2;
+    private static final int FILTER_AVERAGE = 3;
+    private static final int FILTER_PAETH = 4;
+
+    private PNGEncoder() {
+        // only static members
+    }
+
+    /**
+     * @param pixels the pixels by rows.
+     * @param level the deflate compression level, 0 - 9.
+     */
+    public static void encode(int[] pixels, int width, int height, int level, OutputStream out) throws IOException {
+        assert pixels.length >= width * height;
+        if (level < 0 || level > 9) {
+            throw new IllegalArgumentException("compression level must be between 0 and 9");
+        }
+        int rowSize = width * BYTES_PER_PIXEL + 1;
+        int rowsPerChunk = Math.max(1, MIN_CHUNK_SIZE / rowSize);
+        int chunksCount = Math.max(1, (height + rowsPerChunk - 1) / rowsPerChunk);
+
+        byte[][] filtered = new byte[chunksCount][];
+        byte[][] compressed = new byte[chunksCount][];
+        long[] adlers = new long[chunksCount];
+        parallelFor(chunksCount, i -> {
+            int firstRow = i * rowsPerChunk;
+            filtered[i] = filterRows(pixels, width, firstRow, Math.min(height, firstRow + rowsPerChunk));
+            Adler32 adler = new Adler32();
+            adler.update(filtered[i]);
+            adlers[i] = adler.getValue();
+        });
+        parallelFor(chunksCount, i -> compressed[i] = deflate(filtered[i], i == 0 ? null : filtered[i - 1], i == chunksCount - 1, level));
+
+        out.write(SIGNATURE);
+        ByteArrayOutputStream header = new ByteArrayOutputStream(13);
+        writeInt(header, width);
+        writeInt(header, height);
+        header.write(8); // bit depth
+        header.write(COLOR_TYPE_RGB);
+        header.write(0); // compression method
+        header.write(0); // filter method
+        header.write(0); // no interlace
+        writeChunk(out, "IHDR", header.toByteArray());
+
+        // zlib header, the compression level is only informative
+        int cmf = 0x78;
+        int flg = (level < 2 ? 0 : level < 6 ? 1 : level == 6 ? 2 : 3) << 6;
+        flg += 31 - ((cmf << 8) + flg) % 31;
+        long adler = adlers[0];
+        for (int i = 1; i < chunksCount; i++) {
+            adler = combineAdler32(adler, adlers[i], filtered[i].length);
+        }
+        for (int i = 0; i < chunksCount; i++) {
+            ByteArrayOutputStream data = new ByteArrayOutputStream(compressed[i].length + 6);
+            if (i == 0) {
+                data.write(cmf);
+                data.write(flg);
+            }
+            data.write(compressed[i]);
+            if (i == chunksCount - 1) {
+                writeInt(data, (int) adler);
+            }
+            writeChunk(out, "IDAT", data.toByteArray());
+        }
+        writeChunk(out, "IEND", new byte[0]);
+        out.flush();
+    }
+
+    private interface ChunkTask {
+        void run(int index);
+    }
+
+    private static void parallelFor(int count, ChunkTask task) {
+        if (count == 1) {
+            task.run(0);
+        } else {
+            IntStream.range(0, count).parallel().forEach(task::run);
+        }
+    }
+
+    private static byte[] filterRows(int[] pixels, int width, int firstRow, int endRow) {
+        int rowBytes = width * BYTES_PER_PIXEL;
+        byte[] result = new byte[(endRow - firstRow) * (rowBytes + 1)];
+        byte[] previous = new byte[rowBytes];
+        byte[] current = new byte[rowBytes];
+        byte[][] candidates = new byte[FILTER_PAETH + 1][rowBytes];
+        if (firstRow > 0) {
+            toBytes(pixels, width, firstRow - 1, previous);
+        }
+        int offset = 0;
+        for (int row = firstRow; row < endRow; row++) {
+            toBytes(pixels, width, row, current);
+            int filter = filterRow(current, previous, candidates);
+            result[offset++] = (byte) filter;
+            System.arraycopy(candidates[filter], 0, result, offset, rowBytes);
+            offset += rowBytes;
+            byte[] tmp = previous;
+            previous = current;
+            current = tmp;
+        }
+        return result;
+    }
+
+    private static void toBytes(int[] pixels, int width, int row, byte[] result) {
+        int offset = row * width;
+        for (int i = 0, j = 0; i < width; i++) {
+            int pixel = pixels[offset + i];
+            result[j++] = (byte) (pixel >> 16);
+            result[j++] = (byte) (pixel >> 8);
+            result[j++] = (byte) pixel;
+        }
+    }
+
+    /**
+     * Applies all the filters to the row and returns the one with the minimal sum of absolute
+     * values of the filtered bytes (as signed), which is the heuristic recommended by the PNG
+     * specification.
+     */
+    private static int filterRow(byte[] row, byte[] prev, byte[][] candidates) {
+        byte[] none = candidates[FILTER_NONE];
+        byte[] sub = candidates[FILTER_SUB];
+        byte[] up = candidates[FILTER_UP];
+        byte[] average = candidates[FILTER_AVERAGE];
+        byte[] paeth = candidates[FILTER_PAETH];
+        long[] sums = new long[FILTER_PAETH + 1];
+        for (int i = 0; i < row.length; i++) {
+            int x = row[i] & 0xff;
+            int a = i >= BYTES_PER_PIXEL ? row[i - BYTES_PER_PIXEL] & 0xff : 0;
+            int b = prev[i] & 0xff;
+            int c = i >= BYTES_PER_PIXEL ? prev[i - BYTES_PER_PIXEL] & 0xff : 0;
+            none[i] = (byte) x;
+            sub[i] = (byte) (x - a);
+            up[i] = (byte) (x - b);
+            average[i] = (byte) (x - ((a + b) >> 1));
+            paeth[i] = (byte) (x - paethPredictor(a, b, c));
+            sums[FILTER_NONE] += Math.abs(none[i]);
+            sums[FILTER_SUB] += Math.abs(sub[i]);
+            sums[FILTER_UP] += Math.abs(up[i]);
+            sums[FILTER_AVERAGE] += Math.abs(average[i]);
+            sums[FILTER_PAETH] += Math.abs(paeth[i]);
+        }
+        int best = FILTER_NONE;
+        for (int filter = FILTER_SUB; filter <= FILTER_PAETH; filter++) {
+            if (sums[filter] < sums[best]) {
+                best = filter;
+            }
+        }
+        return best;
+    }
+
+    private static int paethPredictor(int a, int b, int c) {
+        int p = a + b - c;
+        int pa = Math.abs(p - a);
+        int pb = Math.abs(p - b);
+        int pc = Math.abs(p - c);
+        if (pa <= pb && pa <= pc) {
+            return a;
+        }
+        return pb <= pc ? b : c;
+    }
+
+    private static byte[] deflate(byte[] data, byte[] previous, boolean last, int level) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            if (previous != null) {
+                int dictionaryLength = Math.min(DICTIONARY_SIZE, previous.length);
+                deflater.setDictionary(previous, previous.length - dictionaryLength, dictionaryLength);
+            }
+            deflater.setInput(data);
+            ByteArrayOutputStream result = new ByteArrayOutputStream(data.length / 4 + 64);
+            byte[] buffer = new byte[64 * 1024];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    result.write(buffer, 0, deflater.deflate(buffer));
+                }
+            } else {
+                int length;
+                do {
+                    length = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    result.write(buffer, 0, length);
+                } while (length == buffer.length);
+            }
+            return result.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Computes the Adler-32 checksum of two concatenated sequences from their checksums, the
+     * second sequence having given length. Transcribed from {@code adler32_combine} in zlib.
+     */
+    static long combineAdler32(long adler1, long adler2, long length2) {
+        long rem = length2 % ADLER_BASE;
+        long sum1 = adler1 & 0xffff;
+        long sum2 = (rem * sum1) % ADLER_BASE;
+        sum1 += (adler2 & 0xffff) + ADLER_BASE - 1;
+        sum2 += ((adler1 >> 16) & 0xffff) + ((adler2 >> 16) & 0xffff) + ADLER_BASE - rem;
+        if (sum1 >= ADLER_BASE) {
+            sum1 -= ADLER_BASE;
+        }
+        if (sum1 >= ADLER_BASE) {
+            sum1 -= ADLER_BASE;
+        }
+        if (sum2 >= (ADLER_BASE << 1)) {
+            sum2 -= (ADLER_BASE << 1);
+        }
+        if (sum2 >= ADLER_BASE) {
+            sum2 -= ADLER_BASE;
+        }
+        return sum1 | (sum2 << 16);
+    }
+
+    private static void writeChunk(OutputStream out, String type, byte[] data) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+        writeInt(out, data.length);
+        out.write(typeBytes);
+        out.write(data);
+        writeInt(out, (int) crc.getValue());
+    }
+
+    private static void writeInt(OutputStream out, int value) throws IOException {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright (C) 2001-3 Paul Murrell
+ * Copyright (c) 1998-2015, The R Core Team
+ * Copyright (c) 2026, Oracle and/or its affiliates
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, a copy is available at
+ * https://www.R-project.org/Licenses/
+ */
+package com.oracle.truffle.r.library.fastrGrid.device;
+
+/**
+ * Draws the point symbols ({@code pch}) of grid using the primitive drawing operations of a
+ * {@link GridDevice}. This is the default implementation of
+ * {@link GridDevice#drawPoints(DrawingContext, double[], double[], int, int, int, double)}, devices
+ * may draw the simple symbols, like circles or squares, directly and leave the rest to this class.
+ */
+public final class PointSymbols {
+    private static final double TRC0 = 1.55512030155621416073; /* sqrt(4 * pi/(3 * sqrt(3))) */
+    private static final double TRC1 = 1.34677368708859836060; /* TRC0 * sqrt(3) / 2 */
+    private static final double TRC2 = 0.77756015077810708036; /* TRC0 / 2 */
+
+    // empiracally chosen to match GNU R look better
+    private static final double TRIANGLE_SIZE_FACTOR = 1.15;
+
+    // empirically chosen factor to visually approx match GNU R
+    private static final double SIZE_FACTOR = 0.375;
+
+    // we assume at leat 72 points per inch
+    public static final double PIXEL_SIZE = 1. / 72.;
+
+    /**
+     * Ratio of the radius of the smaller filled circle ({@code pch = 20}) and the other circles.
+     */
+    public static final double SMALL_CIRCLE_FACTOR = .6;
+
+    private PointSymbols() {
+        // only static members
+    }
+
+    /**
+     * Returns half of the width of a symbol of given size, which is e.g. the radius of a circle.
+     */
+    public static double getHalfSize(double size) {
+        return size * SIZE_FACTOR;
+    }
+
+    /**
+     * Draws the symbol {@code pch} with given size centered at each of the given points.
+     */
+    public static void draw(GridDevice dev, DrawingContext ctx, double[] x, double[] y, int startIndex, int length, int pch, double size) {
+        ContextCache ctxCache = new ContextCache(ctx);
+        double halfSize = getHalfSize(size);
+        for (int i = startIndex; i < startIndex + length; i++) {
+            drawSymbol(ctxCache, dev, pch, halfSize, x[i], y[i]);
+        }
+    }
+
+    private static void drawSymbol(ContextCache ctxCache, GridDevice dev, int pch, double halfSize, double x, double y) {
+        // pch 0 - 25 are interpreted as geometrical shapes, pch from ascii code of ' ' are
+        // interpreted as corresponding ascii character, which should be drawn
+        // the coordinates should be interpreted as the center of the symbol
+        double fullSize = halfSize * 2;
+        DrawingContext emptyFill = ctxCache.getTransparentFill();
+        switch (pch) {
+            case 0:
+                drawSquare(emptyFill, dev, halfSize, x, y);
+                break;
+            case 1:
+                dev.drawCircle(emptyFill, x, y, halfSize);
+                break;
+            case 2: // triangle up
+                triangleUp(emptyFill, dev, halfSize * TRIANGLE_SIZE_FACTOR, x, y);
+                break;
+            case 3: /* S plus */
+                drawPlus(emptyFill, dev, halfSize, x, y);
+                break;
+            case 4: // S times
+                drawTimes(emptyFill, dev, halfSize, x, y);
+                break;
+            case 5: // S diamond
+                drawDiamond(emptyFill, dev, halfSize, fullSize, x, y);
+                break;
+            case 6: // S triangle point down
+                triangleDown(emptyFill, dev, halfSize * TRIANGLE_SIZE_FACTOR, x, y);
+                break;
+            case 7: // S square and times superimposed
+                drawSquare(emptyFill, dev, halfSize, x, y);
+                drawTimes(emptyFill, dev, halfSize, x, y);
+                break;
+            case 8: // S times and plus superimposed
+                drawPlus(emptyFill, dev, halfSize, x, y);
+                drawTimes(emptyFill, dev, halfSize, x, y);
+                break;
+            case 9: // S diamond and plus superimposed
+                drawPlus(emptyFill, dev, halfSize, x, y);
+                drawDiamond(emptyFill, dev, halfSize, fullSize, x, y);
+                break;
+            case 10: // S circle and plus
+                dev.drawCircle(emptyFill, x, y, halfSize);
+                drawPlus(emptyFill, dev, halfSize, x, y);
+                break;
+            case 11: // S superimposed triangles
+                triangleUp(emptyFill, dev, halfSize * TRIANGLE_SIZE_FACTOR, x, y);
+                triangleDown(emptyFill, dev, halfSize * TRIANGLE_SIZE_FACTOR, x, y);
+                break;
+            case 12: // S square and plus superimposed
+                drawSquare(emptyFill, dev, halfSize, x, y);
+                drawPlus(emptyFill, dev, halfSize, x, y);
+                break;
+            case 13: // S circle and times
+                dev.drawCircle(emptyFill, x, y, halfSize);
+                drawTimes(ctxCache.original, dev, halfSize, x, y);
+                break;
+            case 14: // S rectangle with triangle up
+                dev.drawRect(emptyFill, x - halfSize, y - halfSize, fullSize, fullSize, 0);
+                drawConnected(ctxCache.getTransparentFill(), dev, x - halfSize, y - halfSize, x + halfSize, y - halfSize, x, y + halfSize);
+                break;
+            case 15: // S filled square
+                dev.drawRect(ctxCache.getFilled(), x - halfSize, y - halfSize, fullSize, fullSize, 0);
+                break;
+            case 22: // S filled (with different color) square
+                dev.drawRect(ctxCache.original, x - halfSize, y - halfSize, fullSize, fullSize, 0);
+                break;
+            case 16: // S filled circle (should be 'octagon')
+            case 19: // S filled circle
+                dev.drawCircle(ctxCache.getFilled(), x, y, halfSize);
+                break;
+            case 21: // S filled (with different color) circle
+                dev.drawCircle(ctxCache.original, x, y, halfSize);
+                break;
+            case 17: // S filled triangle up
+                triangleUp(ctxCache.getFilled(), dev, halfSize * TRIANGLE_SIZE_FACTOR, x, y);
+                break;
+            case 24: // S filled (with different color) triangle up
+                triangleUp(ctxCache.original, dev, halfSize * TRIANGLE_SIZE_FACTOR, x, y);
+                break;
+            case 18: // S filled diamond
+                drawDiamond(ctxCache.getFilled(), dev, halfSize, fullSize, x, y);
+                break;
+            case 23: // S filled (with different color) diamond
+                drawDiamond(ctxCache.original, dev, halfSize, fullSize, x, y);
+                break;
+            case 20: // S smaller filled circle
+                dev.drawCircle(ctxCache.getFilled(), x, y, halfSize * SMALL_CIRCLE_FACTOR);
+                break;
+            case 25: // S triangle down filled (with different color)
+                triangleDown(ctxCache.original, dev, halfSize * TRIANGLE_SIZE_FACTOR, x, y);
+                break;
+            case 46: // small dot
+                // we assume at leat 72 points per inch
+                dev.drawRect(ctxCache.getFilled(), x - PIXEL_SIZE / 2, y - PIXEL_SIZE / 2, PIXEL_SIZE, PIXEL_SIZE, 0);
+                break;
+            default:
+                drawTextSymbol(ctxCache, dev, x, y, new String(new char[]{(char) pch}));
+        }
+    }
+
+    private static void drawDiamond(DrawingContext ctx, GridDevice dev, double halfSize, double fullSize, double x, double y) {
+        dev.drawRect(ctx, x - halfSize, y - halfSize, fullSize, fullSize, 1.75 * Math.PI);
+    }
+
+    private static void drawSquare(DrawingContext ctx, GridDevice dev, double halfSize, double x, double y) {
+        double fullSize = halfSize * 2.;
+        dev.drawRect(ctx, x - halfSize, y - halfSize, fullSize, fullSize, 0);
+    }
+
+    private static void drawTimes(DrawingContext ctx, GridDevice dev, double halfSize, double x, double y) {
+        drawLine(ctx, dev, x - halfSize, y + halfSize, x + halfSize, y - halfSize);
+        drawLine(ctx, dev, x + halfSize, y + halfSize, x - halfSize, y - halfSize);
+    }
+
+    private static void drawPlus(DrawingContext ctx, GridDevice dev, double halfSize, double x, double y) {
+        drawLine(ctx, dev, x - halfSize, y, x + halfSize, y);
+        drawLine(ctx, dev, x, y + halfSize, x, y - halfSize);
+    }
+
+    private static void triangleDown(DrawingContext ctx, GridDevice dev, double halfSize, double x, double y) {
+        double yc = halfSize * TRC2;
+        double xc = halfSize * TRC1;
+        drawConnected(ctx, dev, x, y - halfSize * TRC0, x - xc, y + yc, x + xc, y + yc);
+    }
+
+    private static void triangleUp(DrawingContext ctx, GridDevice dev, double halfSize, double x, double y) {
+        double yc = halfSize * TRC2;
+        double xc = halfSize * TRC1;
+        drawConnected(ctx, dev, x, y + halfSize * TRC0, x - xc, y - yc, x + xc, y - yc);
+    }
+
+    private static void drawTextSymbol(ContextCache ctxCache, GridDevice dev, double x, double y, String symbols) {
+        double height = dev.getStringHeight(ctxCache.getSymbol(), symbols);
+        double width = dev.getStringWidth(ctxCache.getSymbol(), symbols);
+        dev.drawString(ctxCache.getSymbol(), x - width / 2, y - height / 2, 0, symbols);
+    }
+
+    /**
+     * Simpler to use by hand version of drawPolyline. Points are expected to be in format [x1, y1,
+     * x2, y2, ...].
+     */
+    private static void drawConnected(DrawingContext ctx, GridDevice dev, double... points) {
+        assert points.length % 2 == 0 && points.length > 0;
+        double[] x = new double[(points.length / 2) + 1];
+        double[] y = new double[(points.length / 2) + 1];
+        x[x.length - 1] = points[0];
+        y[y.length - 1] = points[1];
+        for (int i = 0; i < x.length - 1; i++) {
+            x[i] = points[i * 2];
+            y[i] = points[(i * 2) + 1];
+        }
+        dev.drawPolygon(ctx, x, y, 0, y.length);
+    }
+
+    private static void drawLine(DrawingContext ctx, GridDevice dev, double x1, double y1, double x2, double y2) {
+        dev.drawPolyLines(ctx, new double[]{x1, x2}, new double[]{y1, y2}, 0, 2);
+    }
+
+    private static final class ContextCache {
+        public final DrawingContext original;
+        private DrawingContext filled;
+        private DrawingContext transprentFill;
+        private DrawingContext symbol;
+
+        private ContextCache(DrawingContext original) {
+            this.original = original;
+        }
+
+        /**
+         * Context with fill color set to the normal color of the original context.
+         */
+        DrawingContext getFilled() {
+            if (filled == null) {
+                filled = new PointDrawingContext(original, original.getColor(), original.getColor(), 1);
+            }
+            return filled;
+        }
+
+        DrawingContext getTransparentFill() {
+            if (transprentFill == null) {
+                transprentFill = new PointDrawingContext(original, original.getColor(), GridColor.TRANSPARENT, 1);
+            }
+            return transprentFill;
+        }
+
+        DrawingContext getSymbol() {
+            if (symbol == null) {
+                symbol = new PointDrawingContext(original, original.getColor(), original.getFillColor(), 1.4);
+            }
+            return symbol;
+        }
+    }
+
+    /**
+     * Context that has the same parameters as the given context except for the color and fill color
+     * and multiplication factor for font size, which are given explicitly.
+     */
+    private static final class PointDrawingContext implements DrawingContext {
+        private final DrawingContext inner;
+        private final GridColor color;
+        private final GridColor fillColor;
+        private final double fontsizeFactor;
+
+        private PointDrawingContext(DrawingContext inner, GridColor color, GridColor fillColor, double fontsizeFactor) {
+            this.inner = inner;
+            this.color = color;
+            this.fillColor = fillColor;
+            this.fontsizeFactor = fontsizeFactor;
+        }
+
+        @Override
+        public byte[] getLineType() {
+            return inner.getLineType();
+        }
+
+        @Override
+        public double getLineWidth() {
+            return inner.getLineWidth();
+        }
+
+        @Override
+        public GridLineJoin getLineJoin() {
+            return inner.getLineJoin();
+        }
+
+        @Override
+        public GridLineEnd getLineEnd() {
+            return inner.getLineEnd();
+        }
+
+        @Override
+        public double getLineMitre() {
+            return inner.getLineMitre();
+        }
+
+        @Override
+        public GridColor getColor() {
+            return color;
+        }
+
+        @Override
+        public double getFontSize() {
+            return inner.getFontSize() * fontsizeFactor;
+        }
+
+        @Override
+        public GridFontStyle getFontStyle() {
+            return inner.getFontStyle();
+        }
+
+        @Override
+        public String getFontFamily() {
+            return inner.getFontFamily();
+        }
+
+        @Override
+        public double getLineHeight() {
+            return inner.getLineHeight();
+        }
+
+        @Override
+        public GridColor getFillColor() {
+            return fillColor;
+        }
+    }
+}
@@ -27,10 +27,12 @@ import static com.oracle.truffle.r.library.fastrGrid.device.DrawingContext.INCH_
 import static java.lang.Math.round;
 
 import java.io.IOException;
-import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
-import java.text.DecimalFormat;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.TruffleFile;
@@ -38,35 +40,89 @@ import com.oracle.truffle.r.library.fastrGrid.GridColorUtils;
 import com.oracle.truffle.r.library.fastrGrid.device.DrawingContext.GridFontStyle;
 import com.oracle.truffle.r.library.fastrGrid.device.DrawingContext.GridLineEnd;
 import com.oracle.truffle.r.library.fastrGrid.device.DrawingContext.GridLineJoin;
+import com.oracle.truffle.r.runtime.RError;
+import com.oracle.truffle.r.runtime.RError.Message;
 import com.oracle.truffle.r.runtime.RInternalError;
-import com.oracle.truffle.r.runtime.Utils;
 import com.oracle.truffle.r.runtime.context.RContext;
 
+/**
+ * Device that produces SVG code. The code is streamed into the file as the drawing happens, unless
+ * the file is {@code /dev/null}, in which case it is kept in memory, so that it can be retrieved
+ * via {@link #getContents()}. The style attributes shared by many elements are defined only once
+ * as CSS classes.
+ */
 public class SVGDevice implements GridDevice, FileGridDevice {
-    private static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("0.000");
     private static final double COORD_FACTOR = INCH_TO_POINTS_FACTOR;
+    private static final String DEV_NULL = "/dev/null";
+
+    /**
+     * Number of pages opened by this device, used to give the CSS classes of each page unique
+     * names, so that the pages do not interfere when embedded in one HTML document. The counter is
+     * per device, so that the same drawing always produces the same SVG code.
+     */
+    private int pageCounter;
 
-    private final StringBuilder data = new StringBuilder(1024);
     private String filename;
     private final double width;
     private final double height;
 
+    /**
+     * Output of the current page, {@code null} if there is no open page.
+     */
+    private SVGWriter data;
+    /**
+     * The file the current page is written to, {@code null} if it is kept in {@link #inMemory}.
+     */
+    private TruffleFile outputFile;
+    private StringWriter inMemory;
+
     private DrawingContext cachedCtx;
 
+    /**
+     * Maps style declarations to the names of the CSS classes defined for them on the current page.
+     */
+    private final Map<String, String> styleClasses = new HashMap<>();
+    private final StringBuilder styleBuilder = new StringBuilder();
+    private String styleClassPrefix;
+
     public SVGDevice(String filename, double width, double height) {
         this.filename = filename;
         this.width = width;
         this.height = height;
     }
 
+    /**
+     * Returns the SVG code and closes the device without saving the code to the file.
+     */
+    @TruffleBoundary
     public String closeAndGetContents() {
-        closeSVGDocument(data);
-        return data.toString();
+        String result = getContents();
+        discardOutput();
+        return result;
     }
 
+    /**
+     * Returns the SVG code of the current page. If the code is streamed into a file, the whole
+     * file is read back, so the cost is proportional to the size of the page and the method is
+     * meant to be called once per page, e.g. by {@code svgstring} or when the device is closed.
+     */
+    @TruffleBoundary
     public String getContents() {
-        StringBuilder result = new StringBuilder(data);
-        closeSVGDocument(result);
+        if (data == null) {
+            return "";
+        }
+        data.flush();
+        StringBuilder result = new StringBuilder();
+        if (inMemory != null) {
+            result.append(inMemory.getBuffer());
+        } else if (outputFile != null) {
+            try {
+                result.append(new String(outputFile.readAllBytes(), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw RError.error(RError.NO_CALLER, Message.GENERIC, "Cannot read the SVG code from '" + filename + "'. Details: " + e.getMessage());
+            }
+        }
+        result.append(getDocumentEnd());
         return result.toString();
     }
 
@@ -74,13 +130,15 @@ public class SVGDevice implements GridDevice, FileGridDevice {
     public void openNewPage() {
         // We stay compatible with GnuR: opening new page wipes out what has been drawn without
         // saving it anywhere.
-        data.setLength(0);
+        discardOutput();
+        data = openOutput();
         cachedCtx = null;
+        styleClasses.clear();
+        styleClassPrefix = "p" + (++pageCounter) + "s";
         data.append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n");
         data.append("<!DOCTYPE svg PUBLIC \"-//W3C//DTD SVG 1.1//EN\" \"http://www.w3.org/Graphics/SVG/1.1/DTD/svg11.dtd\">\n");
-        append("<svg xmlns='http://www.w3.org/2000/svg' xmlns:xlink='http://www.w3.org/1999/xlink' version='1.1' viewBox='0 0 %d %d' style='fill:transparent'>\n",
-                        trRound(width),
-                        trRound(height));
+        data.append("<svg xmlns='http://www.w3.org/2000/svg' xmlns:xlink='http://www.w3.org/1999/xlink' version='1.1' viewBox='0 0 ");
+        data.append(trRound(width)).append(' ').append(trRound(height)).append("' style='fill:transparent'>\n");
     }
 
     @Override
@@ -98,12 +156,12 @@ public class SVGDevice implements GridDevice, FileGridDevice {
     @Override
     public void drawRect(DrawingContext ctx, double leftX, double bottomY, double newWidth, double newHeight, double rotationAnticlockWise) {
         appendStyle(ctx);
-        data.append("<rect x='").append(trRound(leftX)).append("' y='").append(trRound(transY(bottomY + newHeight))).append("' width='").append(trRound(newWidth)).append("' height='").append(
-                        trRound(newHeight)).append('\'');
+        String colorClass = getColorClass(ctx, ctx.getFillColor());
+        data.append("<rect class='").append(colorClass).append("' x='").append(trRound(leftX)).append("' y='").append(trRound(transY(bottomY + newHeight)));
+        data.append("' width='").append(trRound(newWidth)).append("' height='").append(trRound(newHeight)).append('\'');
         if (rotationAnticlockWise != 0) {
             appendTransform((int) round(toDegrees(rotationAnticlockWise)), trRound(leftX + newWidth / 2.), trRound(transY(bottomY + newHeight / 2.)));
         }
-        appendColorStyle(ctx);
         data.append("/>\n"); // end of 'rect' tag
     }
 
@@ -120,9 +178,57 @@ public class SVGDevice implements GridDevice, FileGridDevice {
     @Override
     public void drawCircle(DrawingContext ctx, double centerX, double centerY, double radius) {
         appendStyle(ctx);
-        data.append("<circle cx='").append(trRound(centerX)).append("' cy='").append(trRound(transY(centerY))).append("' r='").append(trRound(radius)).append('\'');
-        appendColorStyle(ctx);
-        data.append("/>\n");
+        String colorClass = getColorClass(ctx, ctx.getFillColor());
+        data.append("<circle class='").append(colorClass).append("' cx='").append(trRound(centerX)).append("' cy='").append(trRound(transY(centerY)));
+        data.append("' r='").append(trRound(radius)).append("'/>\n");
+    }
+
+    @Override
+    public void drawPoints(DrawingContext ctx, double[] x, double[] y, int startIndex, int length, int pch, double size) {
+        // the simple symbols share one group with the color style, see PointSymbols for the
+        // meaning of the pch values
+        double halfSize = PointSymbols.getHalfSize(size);
+        switch (pch) {
+            case 0:
+                appendSquares(ctx, x, y, startIndex, length, halfSize, GridColor.TRANSPARENT);
+                break;
+            case 1:
+                appendCircles(ctx, x, y, startIndex, length, halfSize, GridColor.TRANSPARENT);
+                break;
+            case 15:
+                appendSquares(ctx, x, y, startIndex, length, halfSize, ctx.getColor());
+                break;
+            case 22:
+                appendSquares(ctx, x, y, startIndex, length, halfSize, ctx.getFillColor());
+                break;
+            case 16:
+            case 19:
+                appendCircles(ctx, x, y, startIndex, length, halfSize, ctx.getColor());
+                break;
+            case 21:
+                appendCircles(ctx, x, y, startIndex, length, halfSize, ctx.getFillColor());
+                break;
+            case 20:
+                appendCircles(ctx, x, y, startIndex, length, halfSize * PointSymbols.SMALL_CIRCLE_FACTOR, ctx.getColor());
+                break;
+            case 46:
+                appendSquares(ctx, x, y, startIndex, length, PointSymbols.PIXEL_SIZE / 2, ctx.getColor());
+                break;
+            default:
+                PointSymbols.draw(this, ctx, x, y, startIndex, length, pch, size);
+        }
+    }
+
+    @Override
+    public void drawSegments(DrawingContext ctx, double[] x0, double[] y0, double[] x1, double[] y1, int startIndex, int length) {
+        appendStyle(ctx);
+        String colorClass = getColorClass(ctx, GridColor.TRANSPARENT);
+        data.append("<path class='").append(colorClass).append("' d='");
+        for (int i = startIndex; i < startIndex + length; i++) {
+            data.append('M').append(trRound(x0[i])).append(',').append(trRound(transY(y0[i])));
+            data.append('L').append(trRound(x1[i])).append(',').append(trRound(transY(y1[i])));
+        }
+        data.append("'/>\n");
     }
 
     @Override
@@ -137,9 +243,9 @@ public class SVGDevice implements GridDevice, FileGridDevice {
     @Override
     public void drawString(DrawingContext ctx, double leftX, double bottomY, double rotationAnticlockWise, String text) {
         closeStyle();
-        data.append("<text x='").append(round(leftX * COORD_FACTOR)).append("' y='").append(trRound(transY(bottomY)));
+        String fontClass = getFontClass(ctx);
+        data.append("<text class='").append(fontClass).append("' x='").append(round(leftX * COORD_FACTOR)).append("' y='").append(trRound(transY(bottomY)));
         data.append("' lengthAdjust='spacingAndGlyphs' textLength='").append(round(getStringWidth(ctx, text) * COORD_FACTOR)).append("px'");
-        appendFontStyle(ctx);
         if (rotationAnticlockWise != 0) {
             appendTransform((int) round(toDegrees(rotationAnticlockWise)), trRound(leftX), trRound(transY(bottomY)));
         }
@@ -201,7 +307,8 @@ public class SVGDevice implements GridDevice, FileGridDevice {
 
     private void drawPoly(DrawingContext ctx, double[] x, double[] y, int startIndex, int length, boolean noFill) {
         appendStyle(ctx);
-        data.append("<polyline points='");
+        String colorClass = getColorClass(ctx, noFill ? GridColor.TRANSPARENT : ctx.getFillColor());
+        data.append("<polyline class='").append(colorClass).append("' points='");
         for (int i = 0; i < length; i++) {
             data.append(trRound(x[i + startIndex]));
             data.append(',');
@@ -210,36 +317,94 @@ public class SVGDevice implements GridDevice, FileGridDevice {
                 data.append(' ');
             }
         }
-        data.append('\'');
-        appendColorStyle(ctx, noFill);
-        data.append("/>\n");
+        data.append("'/>\n");
+    }
+
+    private void appendCircles(DrawingContext ctx, double[] x, double[] y, int startIndex, int length, double radius, GridColor fillColor) {
+        openSymbolsGroup(ctx, fillColor);
+        int r = trRound(radius);
+        for (int i = startIndex; i < startIndex + length; i++) {
+            data.append("<circle cx='").append(trRound(x[i])).append("' cy='").append(trRound(transY(y[i]))).append("' r='").append(r).append("'/>\n");
+        }
+        data.append("</g>\n");
+    }
+
+    private void appendSquares(DrawingContext ctx, double[] x, double[] y, int startIndex, int length, double halfSize, GridColor fillColor) {
+        openSymbolsGroup(ctx, fillColor);
+        int fullSize = trRound(halfSize * 2.);
+        for (int i = startIndex; i < startIndex + length; i++) {
+            data.append("<rect x='").append(trRound(x[i] - halfSize)).append("' y='").append(trRound(transY(y[i] + halfSize)));
+            data.append("' width='").append(fullSize).append("' height='").append(fullSize).append("'/>\n");
+        }
+        data.append("</g>\n");
+    }
+
+    private void openSymbolsGroup(DrawingContext ctx, GridColor fillColor) {
+        appendStyle(ctx);
+        String colorClass = getColorClass(ctx, fillColor);
+        data.append("<g class='").append(colorClass).append("'>\n");
     }
 
     @TruffleBoundary
-    private void saveFile() throws DeviceCloseException {
-        closeSVGDocument(data);
+    private SVGWriter openOutput() {
         try {
-            TruffleFile file = RContext.getInstance().getSafeTruffleFile(filename);
-            if (FileGridDevice.isDevNull(file)) {
-                return;
-            }
-            try (OutputStream stream = file.newOutputStream()) {
-                stream.write(data.toString().getBytes(StandardCharsets.UTF_8));
+            if (!DEV_NULL.equals(filename)) {
+                TruffleFile file = RContext.getInstance().getSafeTruffleFile(filename);
+                if (!FileGridDevice.isDevNull(file)) {
+                    outputFile = file;
+                    inMemory = null;
+                    return new SVGWriter(new OutputStreamWriter(file.newOutputStream(), StandardCharsets.UTF_8));
+                }
             }
+        } catch (IOException e) {
+            // reported once the device is closed, like other I/O errors
+            outputFile = null;
+            inMemory = null;
+            return SVGWriter.failed(e);
+        }
+        outputFile = null;
+        inMemory = new StringWriter();
+        return new SVGWriter(inMemory);
+    }
+
+    @TruffleBoundary
+    private void saveFile() throws DeviceCloseException {
+        if (data == null) {
+            return;
+        }
+        data.append(getDocumentEnd());
+        SVGWriter output = data;
+        data = null;
+        try {
+            output.close();
         } catch (IOException e) {
             throw new DeviceCloseException(e);
         }
     }
 
-    private void closeSVGDocument(StringBuilder sb) {
-        if (sb.length() == 0) {
+    /**
+     * Closes the output of the current page, if any, and deletes the file it was written to.
+     */
+    @TruffleBoundary
+    private void discardOutput() {
+        if (data == null) {
             return;
         }
-        if (cachedCtx != null) {
-            // see #appendStyle
-            sb.append("</g>");
+        SVGWriter output = data;
+        data = null;
+        try {
+            output.close();
+            if (outputFile != null) {
+                outputFile.delete();
+            }
+        } catch (IOException e) {
+            // the output is thrown away anyway
         }
-        sb.append("</svg>");
+    }
+
+    private String getDocumentEnd() {
+        // see #appendStyle for the opened 'g' tag
+        return cachedCtx != null ? "</g></svg>" : "</svg>";
     }
 
     // closes opened <g> tag if necessary
@@ -255,67 +420,86 @@ public class SVGDevice implements GridDevice, FileGridDevice {
             if (cachedCtx != null) {
                 data.append("</g>"); // close the previous style definition
             }
-            data.append("<g");
-            appendStyleUncached(ctx);
-            data.append('>').append('\n');
+            String lineClass = getLineClass(ctx);
+            data.append("<g class='").append(lineClass).append("'>\n");
         }
         cachedCtx = ctx;
     }
 
-    private void appendStyleUncached(DrawingContext ctx) {
+    /**
+     * Returns the name of the CSS class with the declarations collected in {@link #styleBuilder}.
+     * The class is defined by a {@code style} element when it is needed for the first time, which
+     * is why this must not be called while writing a tag.
+     */
+    private String getStyleClass() {
+        String declarations = styleBuilder.toString();
+        String result = styleClasses.get(declarations);
+        if (result == null) {
+            result = styleClassPrefix + styleClasses.size();
+            styleClasses.put(declarations, result);
+            data.append("<style>.").append(result).append('{').append(declarations).append("}</style>\n");
+        }
+        return result;
+    }
+
+    private String getLineClass(DrawingContext ctx) {
+        StringBuilder sb = styleBuilder;
+        sb.setLength(0);
         byte[] lineType = ctx.getLineType();
-        data.append(" style='stroke-width:").append(ctx.getLineWidth());
+        sb.append("stroke-width:");
+        appendDecimal(sb, ctx.getLineWidth());
         if (lineType != DrawingContext.GRID_LINE_SOLID && lineType != DrawingContext.GRID_LINE_BLANK) {
-            data.append(";stroke-dasharray:");
+            sb.append(";stroke-dasharray:");
             for (int i = 0; i < lineType.length; i++) {
-                data.append(lineType[i]);
+                sb.append(lineType[i]);
                 if (i != lineType.length - 1) {
-                    data.append(',');
+                    sb.append(',');
                 }
             }
         }
-        data.append(";stroke-linejoin:").append(getSVGLineJoin(ctx.getLineJoin()));
-        data.append(";stroke-linecap:").append(getSVGLineCap(ctx.getLineEnd()));
+        sb.append(";stroke-linejoin:").append(getSVGLineJoin(ctx.getLineJoin()));
+        sb.append(";stroke-linecap:").append(getSVGLineCap(ctx.getLineEnd()));
         if (ctx.getLineJoin() == GridLineJoin.MITRE) {
-            data.append(";stroke-miterlimit:").append(ctx.getLineMitre());
+            sb.append(";stroke-miterlimit:");
+            appendDecimal(sb, ctx.getLineMitre());
         }
-        data.append('\'');
-    }
-
-    private void appendColorStyle(DrawingContext ctx) {
-        appendColorStyle(ctx, false);
+        return getStyleClass();
     }
 
-    private void appendColorStyle(DrawingContext ctx, boolean noFill) {
-        byte[] lineType = ctx.getLineType();
-        if (lineType == GRID_LINE_BLANK) {
-            data.append(" style='stroke:transparent");
+    private String getColorClass(DrawingContext ctx, GridColor fillColor) {
+        StringBuilder sb = styleBuilder;
+        sb.setLength(0);
+        if (ctx.getLineType() == GRID_LINE_BLANK) {
+            sb.append("stroke:transparent");
         } else {
-            data.append(" style='");
-            appendStyleColorAttrs("stroke", ctx.getColor());
+            appendStyleColorAttrs(sb, "stroke", ctx.getColor());
         }
-        if (!noFill && !ctx.getFillColor().equals(GridColor.TRANSPARENT)) {
-            data.append(';');
-            appendStyleColorAttrs("fill", ctx.getFillColor());
+        if (!fillColor.equals(GridColor.TRANSPARENT)) {
+            sb.append(';');
+            appendStyleColorAttrs(sb, "fill", fillColor);
         }
-        data.append('\'');
+        return getStyleClass();
     }
 
-    private void appendFontStyle(DrawingContext ctx) {
+    private String getFontClass(DrawingContext ctx) {
         // Note: SVG interprets the "fill" as the color of the text
-        data.append(" style='font-size:").append(ctx.getFontSize()).append("px;");
-        appendStyleColorAttrs("fill", ctx.getColor());
+        StringBuilder sb = styleBuilder;
+        sb.setLength(0);
+        sb.append("font-size:");
+        appendDecimal(sb, ctx.getFontSize());
+        sb.append("px;");
+        appendStyleColorAttrs(sb, "fill", ctx.getColor());
         if (!ctx.getFontFamily().isEmpty()) {
             // Font-family strings 'mono', 'sans', and 'serif' are OK for us
-            data.append(";font-family:").append(ctx.getFontFamily());
+            sb.append(";font-family:").append(ctx.getFontFamily());
         }
         if (ctx.getFontStyle().isBold()) {
-            data.append(";font-weight:bold");
+            sb.append(";font-weight:bold");
         }
         if (ctx.getFontStyle().isItalic()) {
-            data.append(";font-style:italic");
+            sb.append(";font-style:italic");
         }
-        data.append('\'');
+        return getStyleClass();
     }
 
     private static String getSVGLineCap(GridLineEnd lineEnd) {
@@ -344,24 +528,49 @@ public class SVGDevice implements GridDevice, FileGridDevice {
         }
     }
 
-    private void appendStyleColorAttrs(String prefix, GridColor color) {
-        data.append(prefix).append(':');
+    private static void appendStyleColorAttrs(StringBuilder sb, String prefix, GridColor color) {
+        sb.append(prefix).append(':');
         if (color.getAlpha() == GridColor.OPAQUE_ALPHA) {
-            data.append('#');
-            data.append(GridColorUtils.getHexDigit(color.getRed() >> 4));
-            data.append(GridColorUtils.getHexDigit(color.getRed()));
-            data.append(GridColorUtils.getHexDigit(color.getGreen() >> 4));
-            data.append(GridColorUtils.getHexDigit(color.getGreen()));
-            data.append(GridColorUtils.getHexDigit(color.getBlue() >> 4));
-            data.append(GridColorUtils.getHexDigit(color.getBlue()));
+            sb.append('#');
+            sb.append(GridColorUtils.getHexDigit(color.getRed() >> 4));
+            sb.append(GridColorUtils.getHexDigit(color.getRed()));
+            sb.append(GridColorUtils.getHexDigit(color.getGreen() >> 4));
+            sb.append(GridColorUtils.getHexDigit(color.getGreen()));
+            sb.append(GridColorUtils.getHexDigit(color.getBlue() >> 4));
+            sb.append(GridColorUtils.getHexDigit(color.getBlue()));
         } else {
-            data.append("rgb(").append(color.getRed()).append(',').append(color.getGreen()).append(',').append(color.getBlue()).append(')').append(';');
-            data.append(prefix).append("-opacity:").append(DECIMAL_FORMAT.format(color.getAlpha() / 255d));
+            sb.append("rgb(").append(color.getRed()).append(',').append(color.getGreen()).append(',').append(color.getBlue()).append(')').append(';');
+            sb.append(prefix).append("-opacity:");
+            appendDecimal(sb, color.getAlpha() / 255d);
         }
     }
 
-    private void append(String fmt, Object... args) {
-        data.append(Utils.stringFormat(fmt, args));
+    /**
+     * Appends the value rounded to three decimal places without the trailing zeros, e.g.
+     * {@code 1.5} is written as {@code "1.5"} and {@code 2.0} as {@code "2"}.
+     */
+    static void appendDecimal(StringBuilder sb, double value) {
+        if (!Double.isFinite(value) || Math.abs(value) >= Long.MAX_VALUE / 1000) {
+            // not expected in SVG code, but we should not produce garbage
+            sb.append(value);
+            return;
+        }
+        long scaled = Math.round(value * 1000);
+        if (scaled < 0) {
+            sb.append('-');
+            scaled = -scaled;
+        }
+        sb.append(scaled / 1000);
+        int fraction = (int) (scaled % 1000);
+        if (fraction != 0) {
+            sb.append('.').append((char) ('0' + fraction / 100));
+            if (fraction % 100 != 0) {
+                sb.append((char) ('0' + fraction / 10 % 10));
+                if (fraction % 10 != 0) {
+                    sb.append((char) ('0' + fraction % 10));
+                }
+            }
+        }
     }
 
     private void appendTransform(int a, int b, int c) {
@@ -389,7 +598,7 @@ public class SVGDevice implements GridDevice, FileGridDevice {
                         ctx1.getLineMitre() == ctx2.getLineMitre());
     }
 
-    private static void xmlEncodeAppend(StringBuilder result, String text) {
+    private static void xmlEncodeAppend(SVGWriter result, String text) {
         for (int i = 0; i < text.length(); i++) {
             switch (text.charAt(i)) {
                 case '>':
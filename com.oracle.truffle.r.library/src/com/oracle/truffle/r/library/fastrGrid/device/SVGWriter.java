@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.library.fastrGrid.device;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Buffered writer of the SVG code used by {@link SVGDevice}. Integers, e.g. the coordinates, are
+ * formatted directly into the buffer without creating intermediate strings. The drawing operations
+ * of a device cannot report I/O errors, therefore the first error is remembered and reported when
+ * the document is finished via {@link #close()}, any output after the error is ignored.
+ */
+final class SVGWriter {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Writer out;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private IOException failure;
+
+    SVGWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Creates a writer that ignores all the output and reports given error on {@link #close()}.
+     */
+    static SVGWriter failed(IOException failure) {
+        SVGWriter result = new SVGWriter(Writer.nullWriter());
+        result.failure = failure;
+        return result;
+    }
+
+    SVGWriter append(char c) {
+        if (position == BUFFER_SIZE) {
+            flushBuffer();
+        }
+        buffer[position++] = c;
+        return this;
+    }
+
+    SVGWriter append(String str) {
+        int length = str.length();
+        int offset = 0;
+        while (offset < length) {
+            if (position == BUFFER_SIZE) {
+                flushBuffer();
+            }
+            int count = Math.min(length - offset, BUFFER_SIZE - position);
+            str.getChars(offset, offset + count, buffer, position);
+            position += count;
+            offset += count;
+        }
+        return this;
+    }
+
+    SVGWriter append(long value) {
+        // Long.MIN_VALUE has 20 characters
+        if (position > BUFFER_SIZE - 20) {
+            flushBuffer();
+        }
+        long rest = value;
+        if (rest < 0) {
+            if (rest == Long.MIN_VALUE) {
+                return append(Long.toString(rest));
+            }
+            buffer[position++] = '-';
+            rest = -rest;
+        }
+        int start = position;
+        do {
+            buffer[position++] = (char) ('0' + rest % 10);
+            rest /= 10;
+        } while (rest != 0);
+        // the digits were written in reverse order
+        for (int i = start, j = position - 1; i < j; i++, j--) {
+            char tmp = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = tmp;
+        }
+        return this;
+    }
+
+    /**
+     * Writes out the buffered output, so that it is visible to the readers of the underlying
+     * {@link Writer}.
+     */
+    void flush() {
+        flushBuffer();
+        if (failure == null) {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+    }
+
+    /**
+     * Flushes and closes the underlying writer, throws the first error that occurred while writing.
+     */
+    void close() throws IOException {
+        flush();
+        try {
+            out.close();
+        } catch (IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void flushBuffer() {
+        if (failure == null && position > 0) {
+            try {
+                out.write(buffer, 0, position);
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        position = 0;
+    }
+}
@@ -27,8 +27,11 @@ import static java.awt.image.BufferedImage.TYPE_INT_RGB;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.OutputStream;
 
 import javax.imageio.ImageIO;
 
@@ -36,8 +39,15 @@ import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.TruffleFile;
 import com.oracle.truffle.r.library.fastrGrid.device.FileGridDevice;
 import com.oracle.truffle.r.library.fastrGrid.device.NotSupportedImageFormatException;
+import com.oracle.truffle.r.library.fastrGrid.device.PNGEncoder;
+import com.oracle.truffle.r.runtime.context.FastROptions;
 import com.oracle.truffle.r.runtime.context.RContext;
 
+/**
+ * Off-screen device that renders into a {@link BufferedImage} and saves it into a file. PNG images
+ * are encoded directly from the {@code int[]} pixels of the image by {@link PNGEncoder}, other
+ * formats are written by {@link ImageIO}.
+ */
 public final class BufferedImageDevice extends Graphics2DDevice implements FileGridDevice {
     private final BufferedImage image;
     private final String fileType;
@@ -89,7 +99,15 @@ public final class BufferedImageDevice extends Graphics2DDevice implements FileG
                 // following Image.write are not atomic.
                 throw new DeviceCloseException(new FileNotFoundException("Path " + filename + " does not exist"));
             }
-            ImageIO.write(image, fileType, file.newOutputStream());
+            try (OutputStream out = new BufferedOutputStream(file.newOutputStream())) {
+                if ("png".equals(fileType)) {
+                    int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+                    int level = RContext.getInstance().getOption(FastROptions.PNGCompressionLevel);
+                    PNGEncoder.encode(pixels, image.getWidth(), image.getHeight(), Math.max(0, Math.min(9, level)), out);
+                } else {
+                    ImageIO.write(image, fileType, out);
+                }
+            }
         } catch (IOException e) {
             throw new DeviceCloseException(e);
         } catch (NullPointerException npe) {
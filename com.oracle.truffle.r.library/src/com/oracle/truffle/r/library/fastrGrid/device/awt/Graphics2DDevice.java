@@ -44,6 +44,7 @@ import com.oracle.truffle.r.library.fastrGrid.device.DrawingContext.GridLineEnd;
 import com.oracle.truffle.r.library.fastrGrid.device.DrawingContext.GridLineJoin;
 import com.oracle.truffle.r.library.fastrGrid.device.GridColor;
 import com.oracle.truffle.r.library.fastrGrid.device.GridDevice;
+import com.oracle.truffle.r.library.fastrGrid.device.PointSymbols;
 import com.oracle.truffle.r.runtime.RInternalError;
 
 /**
@@ -160,6 +161,51 @@ public class Graphics2DDevice implements GridDevice {
         }
     }
 
+    @Override
+    public void drawPoints(DrawingContext ctx, double[] x, double[] y, int startIndex, int length, int pch, double size) {
+        // the simple symbols are drawn directly with the stroke and color set up only once, see
+        // PointSymbols for the meaning of the pch values
+        double halfSize = PointSymbols.getHalfSize(size);
+        switch (pch) {
+            case 0:
+                drawSquares(ctx, x, y, startIndex, length, halfSize, GridColor.TRANSPARENT);
+                break;
+            case 1:
+                drawCircles(ctx, x, y, startIndex, length, halfSize, GridColor.TRANSPARENT);
+                break;
+            case 15:
+                drawSquares(ctx, x, y, startIndex, length, halfSize, ctx.getColor());
+                break;
+            case 22:
+                drawSquares(ctx, x, y, startIndex, length, halfSize, ctx.getFillColor());
+                break;
+            case 16:
+            case 19:
+                drawCircles(ctx, x, y, startIndex, length, halfSize, ctx.getColor());
+                break;
+            case 21:
+                drawCircles(ctx, x, y, startIndex, length, halfSize, ctx.getFillColor());
+                break;
+            case 20:
+                drawCircles(ctx, x, y, startIndex, length, halfSize * PointSymbols.SMALL_CIRCLE_FACTOR, ctx.getColor());
+                break;
+            case 46:
+                drawSquares(ctx, x, y, startIndex, length, PointSymbols.PIXEL_SIZE / 2, ctx.getColor());
+                break;
+            default:
+                GridDevice.super.drawPoints(ctx, x, y, startIndex, length, pch, size);
+        }
+    }
+
+    @Override
+    public void drawSegments(DrawingContext ctx, double[] x0, double[] y0, double[] x1, double[] y1, int startIndex, int length) {
+        setStroke(ctx);
+        setColor(ctx.getColor());
+        for (int i = startIndex; i < startIndex + length; i++) {
+            graphics.drawLine(iround(transX(x0[i])), iround(transY(y0[i])), iround(transX(x1[i])), iround(transY(y1[i])));
+        }
+    }
+
     @Override
     public void drawRaster(double leftX, double bottomY, double w, double h, int[] pixels, int pixelsColumnsCount, ImageInterpolation interpolation) {
         graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, fromInterpolation(interpolation));
@@ -268,6 +314,55 @@ public class Graphics2DDevice implements GridDevice {
         }
     }
 
+    /**
+     * Draws the circles like {@link #drawCircle} would with the given fill color: they are filled
+     * unless the fill is transparent and outlined with the color of the context if it differs from
+     * the fill.
+     */
+    private void drawCircles(DrawingContext ctx, double[] x, double[] y, int startIndex, int length, double radius, GridColor fillColor) {
+        setStroke(ctx);
+        boolean fill = !fillColor.equals(GridColor.TRANSPARENT);
+        boolean outline = !fillColor.equals(ctx.getColor());
+        for (int i = startIndex; i < startIndex + length; i++) {
+            double xRel = transX(x[i] - radius);
+            double yRel = transY(y[i] + radius);
+            int diameter = transDim(radius * 2d, Math.max(xRel % 1, yRel % 1));
+            if (fill) {
+                setColor(fillColor);
+                graphics.fillOval(iround(xRel), iround(yRel), diameter, diameter);
+            }
+            if (outline) {
+                setColor(ctx.getColor());
+                graphics.drawOval(iround(xRel), iround(yRel), diameter, diameter);
+            }
+        }
+    }
+
+    /**
+     * Draws the squares like {@link #drawRect} would with the given fill color, see
+     * {@link #drawCircles}.
+     */
+    private void drawSquares(DrawingContext ctx, double[] x, double[] y, int startIndex, int length, double halfSize, GridColor fillColor) {
+        setStroke(ctx);
+        boolean fill = !fillColor.equals(GridColor.TRANSPARENT);
+        boolean outline = !fillColor.equals(ctx.getColor());
+        double fullSize = halfSize * 2.;
+        for (int i = startIndex; i < startIndex + length; i++) {
+            double leftXReal = transX(x[i] - halfSize);
+            double topYReal = transY(y[i] + halfSize);
+            int rectWidth = transDim(fullSize, leftXReal);
+            int rectHeight = transDim(fullSize, topYReal);
+            if (fill) {
+                setColor(fillColor);
+                graphics.fillRect(iround(leftXReal), iround(topYReal), rectWidth, rectHeight);
+            }
+            if (outline) {
+                setColor(ctx.getColor());
+                graphics.drawRect(iround(leftXReal), iround(topYReal), rectWidth, rectHeight);
+            }
+        }
+    }
+
     private void drawRectInternal(DrawingContext drawingCtx, Rectangle shape) {
         GridColor fillColor = drawingCtx.getFillColor();
         if (!fillColor.equals(GridColor.TRANSPARENT)) {
@@ -43,6 +43,7 @@ import javax.swing.JFrame;
 import javax.swing.JPanel;
 import javax.swing.SwingUtilities;
 
+import com.oracle.truffle.r.library.fastrGrid.device.DisplayRecording;
 import com.oracle.truffle.r.library.fastrGrid.device.DrawingContext;
 import com.oracle.truffle.r.library.fastrGrid.device.GridDevice;
 import com.oracle.truffle.r.library.fastrGrid.device.ImageSaver;
@@ -50,7 +51,9 @@ import com.oracle.truffle.r.runtime.context.RContext;
 
 /**
  * This device paints everything into an image, which is painted into a AWT component in its
- * {@code paint} method. Note that this class is not thread safe.
+ * {@code paint} method. The drawing operations of the current page are also recorded in a
+ * {@link DisplayRecording}, which is replayed when the window is resized. Note that this class is
+ * not thread safe.
  */
 public final class JFrameDevice implements GridDevice, ImageSaver {
 
@@ -64,6 +67,7 @@ public final class JFrameDevice implements GridDevice, ImageSaver {
     private Graphics2D graphics;
     private Graphics2DDevice inner;
     private boolean isOnHold = false;
+    private DisplayRecording recording;
 
     /**
      * Value of this field is set from the AWT thread, any code using it in the main thread should
@@ -76,11 +80,11 @@ public final class JFrameDevice implements GridDevice, ImageSaver {
      * know that the AWT window is being closed by the user and so we do not need to close it.
      */
     private volatile boolean isClosing = false;
-    private Runnable onResize;
     private Runnable onClose;
 
     public JFrameDevice(int width, int height) {
         openGraphics2DDevice(width, height);
+        recording = new DisplayRecording(inner.getWidth(), inner.getHeight());
         componentImage = image;
         SwingUtilities.invokeLater(() -> {
             currentFrame = new FastRFrame(new FastRPanel(width, height));
@@ -90,6 +94,7 @@ public final class JFrameDevice implements GridDevice, ImageSaver {
     @Override
     public synchronized void openNewPage() {
         inner.openNewPage();
+        recording.clear(inner.getWidth(), inner.getHeight());
         ensureOpen();
         repaint();
     }
@@ -132,36 +137,56 @@ public final class JFrameDevice implements GridDevice, ImageSaver {
     @Override
     public synchronized void drawRect(DrawingContext ctx, double leftX, double bottomY, double width, double height, double rotationAnticlockWise) {
         inner.drawRect(ctx, leftX, bottomY, width, height, rotationAnticlockWise);
+        recording.recordRect(ctx, leftX, bottomY, width, height, rotationAnticlockWise);
         repaint();
     }
 
     @Override
     public synchronized void drawPolyLines(DrawingContext ctx, double[] x, double[] y, int startIndex, int length) {
         inner.drawPolyLines(ctx, x, y, startIndex, length);
+        recording.recordPolyLines(ctx, x, y, startIndex, length);
         repaint();
     }
 
     @Override
     public synchronized void drawPolygon(DrawingContext ctx, double[] x, double[] y, int startIndex, int length) {
         inner.drawPolygon(ctx, x, y, startIndex, length);
+        recording.recordPolygon(ctx, x, y, startIndex, length);
         repaint();
     }
 
     @Override
     public synchronized void drawCircle(DrawingContext ctx, double centerX, double centerY, double radius) {
         inner.drawCircle(ctx, centerX, centerY, radius);
+        recording.recordCircle(ctx, centerX, centerY, radius);
+        repaint();
+    }
+
+    @Override
+    public synchronized void drawPoints(DrawingContext ctx, double[] x, double[] y, int startIndex, int length, int pch, double size) {
+        inner.drawPoints(ctx, x, y, startIndex, length, pch, size);
+        recording.recordPoints(ctx, x, y, startIndex, length, pch, size);
+        repaint();
+    }
+
+    @Override
+    public synchronized void drawSegments(DrawingContext ctx, double[] x0, double[] y0, double[] x1, double[] y1, int startIndex, int length) {
+        inner.drawSegments(ctx, x0, y0, x1, y1, startIndex, length);
+        recording.recordSegments(ctx, x0, y0, x1, y1, startIndex, length);
         repaint();
     }
 
     @Override
     public synchronized void drawRaster(double leftX, double bottomY, double width, double height, int[] pixels, int pixelsColumnsCount, ImageInterpolation interpolation) {
         inner.drawRaster(leftX, bottomY, width, height, pixels, pixelsColumnsCount, interpolation);
+        recording.recordRaster(leftX, bottomY, width, height, pixels, pixelsColumnsCount, interpolation);
         repaint();
     }
 
     @Override
     public synchronized void drawString(DrawingContext ctx, double leftX, double bottomY, double rotationAnticlockWise, String text) {
         inner.drawString(ctx, leftX, bottomY, rotationAnticlockWise, text);
+        recording.recordString(ctx, leftX, bottomY, rotationAnticlockWise, text);
         repaint();
     }
 
@@ -200,10 +225,6 @@ public final class JFrameDevice implements GridDevice, ImageSaver {
         ImageIO.write(image, fileType, context.getSafeTruffleFile(path).newOutputStream());
     }
 
-    public void setResizeListener(Runnable onResize) {
-        this.onResize = onResize;
-    }
-
     public void setCloseListener(Runnable onClose) {
         this.onClose = onClose;
     }
@@ -234,15 +255,16 @@ public final class JFrameDevice implements GridDevice, ImageSaver {
         cachedImage = null;
     }
 
-    private void resize(int newWidth, int newHeight) {
+    private synchronized void resize(int newWidth, int newHeight) {
         disposeGraphics2DDevice();
         openGraphics2DDevice(newWidth, newHeight);
-        if (onResize != null) {
-            // note: onResize action should take care of initiating the repaint
-            onResize.run();
-        } else {
-            repaint();
-        }
+        // redraws the current page without running any R code, the drawing operations are recorded
+        // again in the coordinates of the new size; this runs on the AWT timer thread, which is safe
+        // because the recording holds only snapshots of the drawing contexts, not R objects
+        DisplayRecording previous = recording;
+        recording = new DisplayRecording(inner.getWidth(), inner.getHeight());
+        previous.replay(this);
+        repaint();
     }
 
     private void ensureOpen() {
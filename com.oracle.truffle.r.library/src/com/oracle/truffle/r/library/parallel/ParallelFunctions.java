@@ -22,9 +22,15 @@
  */
 package com.oracle.truffle.r.library.parallel;
 
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.integerValue;
+
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.r.nodes.builtin.RExternalBuiltinNode;
+import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RIntVector;
+import com.oracle.truffle.r.runtime.rng.lecuyer.LEcuyerCMRG;
 
 /**
  * The .Call support for the parallel package.
@@ -36,4 +42,35 @@ public class ParallelFunctions {
             return RRuntime.asLogical(getRContext().getParent() != null);
         }
     }
+
+    /**
+     * {@code nextStream} and {@code nextSubStream} from rngstream.c, the jump-ahead of the
+     * {@link LEcuyerCMRG} generator used by {@code nextRNGStream} and {@code nextRNGSubStream}.
+     */
+    public abstract static class NextStream extends RExternalBuiltinNode.Arg1 {
+
+        static {
+            Casts casts = new Casts(NextStream.class);
+            casts.arg(0).mustBe(integerValue(), RError.Message.INVALID_VALUE, "seed").asIntegerVector();
+        }
+
+        private final boolean subStream;
+
+        protected NextStream(boolean subStream) {
+            this.subStream = subStream;
+        }
+
+        @Specialization
+        protected RIntVector nextStream(RIntVector seed) {
+            if (seed.getLength() < 7) {
+                throw error(RError.Message.INVALID_VALUE, "seed");
+            }
+            int[] data = new int[7];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = seed.getDataAt(i);
+            }
+            int[] result = subStream ? LEcuyerCMRG.nextSubStream(data) : LEcuyerCMRG.nextStream(data);
+            return RDataFactory.createIntVector(result, RDataFactory.COMPLETE_VECTOR);
+        }
+    }
 }
@@ -37,6 +37,7 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.profiles.LoopConditionProfile;
 import com.oracle.truffle.r.library.stats.RandFunctionsNodesFactory.ConvertToLengthNodeGen;
 import com.oracle.truffle.r.library.stats.RandFunctionsNodesFactory.RandFunction1NodeGen;
@@ -62,6 +63,7 @@ import com.oracle.truffle.r.runtime.data.nodes.VectorAccess.SequentialIterator;
 import com.oracle.truffle.r.runtime.nmath.RandomFunctions.RandFunction1_Double;
 import com.oracle.truffle.r.runtime.nmath.RandomFunctions.RandFunction2_Double;
 import com.oracle.truffle.r.runtime.nmath.RandomFunctions.RandFunction3_DoubleBase;
+import com.oracle.truffle.r.runtime.nmath.RandomFunctions.RandFunctionBlock;
 import com.oracle.truffle.r.runtime.nmath.RandomFunctions.RandomNumberProvider;
 import com.oracle.truffle.r.runtime.nodes.RBaseNode;
 import com.oracle.truffle.r.runtime.nodes.RBaseNodeWithWarnings;
@@ -169,6 +171,7 @@ public final class RandFunctionsNodes {
         protected final BranchProfile nanResult = BranchProfile.create();
         protected final BranchProfile nan = BranchProfile.create();
         protected final LoopConditionProfile loopConditionProfile = LoopConditionProfile.createCountingProfile();
+        protected final ConditionProfile scalarParameters = ConditionProfile.createBinaryProfile();
 
         protected RandFunctionIterator(Supplier<? extends RandFunction3_DoubleBase> functionFactory) {
             this.functionFactory = functionFactory;
@@ -180,6 +183,24 @@ public final class RandFunctionsNodes {
 
         public abstract RAbstractVector execute(int length, RDoubleVector a, RDoubleVector b, RDoubleVector c, RandomNumberProvider rand);
 
+        /**
+         * Generates {@code length} values for scalar parameters. This avoids the vector iterators
+         * and lets functions implementing {@link RandFunctionBlock} generate the whole block at
+         * once.
+         */
+        protected final double[] executeScalar(RandFunction3_DoubleBase function, int length, double a, double b, double c, RandomNumberProvider rand) {
+            double[] result = new double[length];
+            if (function instanceof RandFunctionBlock) {
+                ((RandFunctionBlock) function).generateBlock(a, b, c, result, rand);
+            } else {
+                loopConditionProfile.profileCounted(length);
+                for (int i = 0; loopConditionProfile.inject(i < length); i++) {
+                    result[i] = function.execute(a, b, c, rand);
+                }
+            }
+            return result;
+        }
+
         static void putRNGState() {
             // Note: we call putRNGState only if we actually changed the state, i.e. called random
             // number generation. We do not need to getRNGState() because the parent wrapper node
@@ -217,6 +238,23 @@ public final class RandFunctionsNodes {
 
             boolean nans = false;
             int[] result = new int[length];
+            if (scalarParameters.profile(aAccess.getLength(aIter) == 1 && bAccess.getLength(bIter) == 1 && cAccess.getLength(cIter) == 1)) {
+                aAccess.nextWithWrap(aIter);
+                bAccess.nextWithWrap(bIter);
+                cAccess.nextWithWrap(cIter);
+                double[] values = executeScalar(function, length, aAccess.getDouble(aIter), bAccess.getDouble(bIter), cAccess.getDouble(cIter), randProvider);
+                for (int i = 0; i < length; i++) {
+                    double value = values[i];
+                    if (Double.isNaN(value) || value <= Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                        nan.enter();
+                        nans = true;
+                        result[i] = RRuntime.INT_NA;
+                    } else {
+                        result[i] = (int) value;
+                    }
+                }
+                return createResult(result, nans);
+            }
             loopConditionProfile.profileCounted(length);
             for (int i = 0; loopConditionProfile.inject(i < length); i++) {
                 aAccess.nextWithWrap(aIter);
@@ -231,6 +269,10 @@ public final class RandFunctionsNodes {
                     result[i] = (int) value;
                 }
             }
+            return createResult(result, nans);
+        }
+
+        private RIntVector createResult(int[] result, boolean nans) {
             putRNGState();
             if (nans) {
                 showNAWarning();
@@ -269,6 +311,20 @@ public final class RandFunctionsNodes {
             }
 
             boolean nans = false;
+            if (scalarParameters.profile(aAccess.getLength(aIter) == 1 && bAccess.getLength(bIter) == 1 && cAccess.getLength(cIter) == 1)) {
+                aAccess.nextWithWrap(aIter);
+                bAccess.nextWithWrap(bIter);
+                cAccess.nextWithWrap(cIter);
+                double[] result = executeScalar(function, length, aAccess.getDouble(aIter), bAccess.getDouble(bIter), cAccess.getDouble(cIter), randProvider);
+                for (int i = 0; i < length; i++) {
+                    if (Double.isNaN(result[i])) {
+                        nan.enter();
+                        nans = true;
+                        break;
+                    }
+                }
+                return createResult(result, nans);
+            }
             double[] result = new double[length];
             loopConditionProfile.profileCounted(length);
             for (int i = 0; loopConditionProfile.inject(i < length); i++) {
@@ -282,6 +338,10 @@ public final class RandFunctionsNodes {
                 }
                 result[i] = value;
             }
+            return createResult(result, nans);
+        }
+
+        private RDoubleVector createResult(double[] result, boolean nans) {
             putRNGState();
             if (nans) {
                 showNAWarning();
@@ -1252,13 +1252,23 @@ R_xlen_t TRUELENGTH(SEXP x) {
     return ((call_TRUELENGTH) callbacks[TRUELENGTH_x])(x);
 }
 
+#ifdef FASTR_NFI
+static void elt_cache_invalidate(SEXP x);
+#endif
+
 void SETLENGTH(SEXP x, R_xlen_t v) {
     TRACE0();
+#ifdef FASTR_NFI
+    elt_cache_invalidate(x);
+#endif
     ((call_SETLENGTH) callbacks[SETLENGTH_x])(x, v);
 }
 
 void SET_TRUELENGTH(SEXP x, R_xlen_t v) {
     TRACE0();
+#ifdef FASTR_NFI
+    elt_cache_invalidate(x);
+#endif
     ((call_SET_TRUELENGTH) callbacks[SET_TRUELENGTH_x])(x, v);
 }
 
@@ -1404,8 +1414,93 @@ const char * R_CHAR(SEXP x) {
     return result;
 }
 
+#ifdef FASTR_NFI
+/*
+ * Native code that walks a character vector or a list calls STRING_ELT/VECTOR_ELT for every
+ * element. Once a vector was accessed ELT_CACHE_THRESHOLD times, we materialize its native
+ * SEXP* mirror (the same one STRING_PTR/DATAPTR give out) and read the elements directly from
+ * it. The mirror is kept up to date by the Java side, including the SET_STRING_ELT and
+ * SET_VECTOR_ELT upcalls, so the cached pointer stays valid as long as the length does not
+ * change.
+ */
+#define ELT_CACHE_SIZE 4
+#define ELT_CACHE_THRESHOLD 16
+
+typedef struct elt_cache_entry {
+    SEXP key;
+    SEXP *data;
+    R_xlen_t length;
+    unsigned int hits;
+} EltCacheEntry;
+
+static __thread EltCacheEntry string_elt_cache[ELT_CACHE_SIZE];
+static __thread EltCacheEntry vector_elt_cache[ELT_CACHE_SIZE];
+
+static void elt_cache_invalidate(SEXP x) {
+    for (int i = 0; i < ELT_CACHE_SIZE; i++) {
+        if (string_elt_cache[i].key == x) {
+            string_elt_cache[i].key = NULL;
+            string_elt_cache[i].data = NULL;
+            string_elt_cache[i].hits = 0;
+        }
+        if (vector_elt_cache[i].key == x) {
+            vector_elt_cache[i].key = NULL;
+            vector_elt_cache[i].data = NULL;
+            vector_elt_cache[i].hits = 0;
+        }
+    }
+}
+
+/*
+ * Returns the native element array of 'x' if it is cached and 'i' is within bounds, otherwise
+ * records the access and returns NULL, in which case the caller does the upcall. Only plain
+ * vectors of the given 'type' are cached.
+ */
+static inline SEXP *elt_cache_lookup(EltCacheEntry *cache, SEXPTYPE type, SEXP x, R_xlen_t i) {
+    for (int j = 0; j < ELT_CACHE_SIZE; j++) {
+        EltCacheEntry *entry = &cache[j];
+        if (entry->key == x) {
+            if (entry->data != NULL) {
+                return i >= 0 && i < entry->length ? entry->data : NULL;
+            }
+            if (entry->hits < ELT_CACHE_THRESHOLD && ++(entry->hits) == ELT_CACHE_THRESHOLD) {
+                // expressions, pairlists and ALTREP vectors are left to the upcall,
+                // the entry then stays at the threshold without data
+                if (TYPEOF(x) == type && !ALTREP(x)) {
+                    entry->length = XLENGTH(x);
+                    entry->data = (SEXP *) FASTR_DATAPTR(x);
+                    return i >= 0 && i < entry->length ? entry->data : NULL;
+                }
+            }
+            return NULL;
+        }
+    }
+    // replace least frequent, aging the others so that vectors that are no longer used
+    // eventually make room
+    int idx = 0;
+    for (int j = 1; j < ELT_CACHE_SIZE; j++) {
+        if (cache[j].hits < cache[idx].hits) {
+            idx = j;
+        }
+    }
+    for (int j = 0; j < ELT_CACHE_SIZE; j++) {
+        cache[j].hits >>= 1;
+    }
+    cache[idx].key = x;
+    cache[idx].data = NULL;
+    cache[idx].hits = 1;
+    return NULL;
+}
+#endif
+
 SEXP STRING_ELT(SEXP x, R_xlen_t i) {
     TRACE0();
+#ifdef FASTR_NFI
+    SEXP *data = elt_cache_lookup(string_elt_cache, STRSXP, x, i);
+    if (data != NULL) {
+        return data[i];
+    }
+#endif
     SEXP result = ((call_STRING_ELT) callbacks[STRING_ELT_x])(x, i);
     checkExitCall();
     return result;
@@ -1413,6 +1508,12 @@ SEXP STRING_ELT(SEXP x, R_xlen_t i) {
 
 SEXP VECTOR_ELT(SEXP x, R_xlen_t i) {
     TRACE0();
+#ifdef FASTR_NFI
+    SEXP *data = elt_cache_lookup(vector_elt_cache, VECSXP, x, i);
+    if (data != NULL) {
+        return data[i];
+    }
+#endif
     SEXP result = ((call_VECTOR_ELT) callbacks[VECTOR_ELT_x])(x, i);
     checkExitCall();
     return result;
@@ -164,7 +164,14 @@ public abstract class Assign extends RBuiltinNode.Arg4 {
             return frameProfile.profile(env.getFrame(frameAccessProfile)).getFrameDescriptor();
         }
 
-        @Specialization(guards = {"getFrameDescriptor(env) == envDesc", "write.getName().equals(name)"})
+        @Specialization(guards = "!env.hasBindingsInFrame()")
+        @TruffleBoundary
+        protected void assignHashed(REnvironment env, String name, Object value) {
+            // keep the bindings of hashed environments out of the frame
+            assign(env, name, value);
+        }
+
+        @Specialization(guards = {"env.hasBindingsInFrame()", "getFrameDescriptor(env) == envDesc", "write.getName().equals(name)"})
         protected void assignCached(VirtualFrame frame, REnvironment env, @SuppressWarnings("unused") String name, Object value,
                         @Cached("env.getFrame().getFrameDescriptor()") @SuppressWarnings("unused") FrameDescriptor envDesc,
                         @Cached("createWrite(name, envDesc)") ResolvedWriteSuperFrameVariableNode write) {
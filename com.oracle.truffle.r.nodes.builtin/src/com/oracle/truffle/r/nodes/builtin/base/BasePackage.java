@@ -55,6 +55,7 @@ import com.oracle.truffle.r.nodes.builtin.base.fastpaths.StopifnotFastPath;
 import com.oracle.truffle.r.nodes.builtin.base.fastpaths.SubscriptDataFrameFastPathNodeGen;
 import com.oracle.truffle.r.nodes.builtin.base.fastpaths.SubsetDataFrameFastPath;
 import com.oracle.truffle.r.nodes.builtin.base.fastpaths.SubsetDataFrameFastPathNodeGen;
+import com.oracle.truffle.r.nodes.builtin.base.fastpaths.TryCatchFastPath;
 import com.oracle.truffle.r.nodes.builtin.base.fastpaths.VectorFastPathsFactory.ComplexFastPathNodeGen;
 import com.oracle.truffle.r.nodes.builtin.base.fastpaths.VectorFastPathsFactory.DoubleFastPathNodeGen;
 import com.oracle.truffle.r.nodes.builtin.base.fastpaths.VectorFastPathsFactory.IntegerFastPathNodeGen;
@@ -109,6 +110,8 @@ import com.oracle.truffle.r.nodes.builtin.fastr.FastRDispatchNativeHandlers;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRGDSetGraphics;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRGDSetGraphicsNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRGetExecutor;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRGroupReduce;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRGroupReduceNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRHelp.FastRAddHelpPath;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRHelp.FastRHelpPath;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRHelp.FastRHelpRd;
@@ -135,6 +138,8 @@ import com.oracle.truffle.r.nodes.builtin.fastr.FastRInteropFactory.FastRInterop
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRJavaGDResize;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRLibPaths;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRLibPathsNodeGen;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRMappedVector;
+import com.oracle.truffle.r.nodes.builtin.fastr.FastRMappedVectorNodeGen;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastROptionBuiltin;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRPatchPackage;
 import com.oracle.truffle.r.nodes.builtin.fastr.FastRPatchPackageNodeGen;
@@ -514,6 +519,8 @@ public class BasePackage extends RBuiltinPackage {
         add(FastRInteropClearException.class, FastRInteropClearExceptionNodeGen::create);
         add(FastRInspect.class, FastRInspectNodeGen::create);
         add(FastRInspectFrame.class, FastRInspectFrameNodeGen::create);
+        add(FastRMappedVector.class, FastRMappedVectorNodeGen::create);
+        add(FastRGroupReduce.class, FastRGroupReduceNodeGen::create);
         add(FastRInterop.Eval.class, FastRInteropFactory.EvalNodeGen::create);
         add(FastRInterop.Export.class, FastRInteropFactory.ExportNodeGen::create);
         add(FastRInterop.Import.class, FastRInteropFactory.ImportNodeGen::create);
@@ -997,6 +1004,7 @@ public class BasePackage extends RBuiltinPackage {
         addFastPath(baseFrame, "seq", SeqFunctionsFactory.SeqFastPathNodeGen::create, RVisibility.ON);
         addFastPath(baseFrame, "match.arg", MatchArgFastPathNodeGen::create, MatchArgFastPath.class);
         addFastPath(baseFrame, "stopifnot", StopifnotFastPath::new, StopifnotFastPath.class);
+        addFastPath(baseFrame, "tryCatch", TryCatchFastPath::new, TryCatchFastPath.class);
 
         setContainsDispatch(baseFrame, "eval", "[.data.frame", "[[.data.frame", "[<-.data.frame", "[[<-.data.frame");
     }
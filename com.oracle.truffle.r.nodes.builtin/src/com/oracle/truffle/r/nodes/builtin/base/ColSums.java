@@ -25,6 +25,7 @@ package com.oracle.truffle.r.nodes.builtin.base;
 import static com.oracle.truffle.r.runtime.builtins.RBehavior.PURE;
 import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.INTERNAL;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.profiles.ConditionProfile;
@@ -37,6 +38,7 @@ import com.oracle.truffle.r.runtime.data.VectorDataLibrary.RandomAccessIterator;
 import com.oracle.truffle.r.runtime.data.RIntVector;
 import com.oracle.truffle.r.runtime.data.RLogicalVector;
 import com.oracle.truffle.r.runtime.ops.BinaryArithmetic;
+import com.oracle.truffle.r.runtime.ops.ParallelKernels;
 import com.oracle.truffle.r.runtime.ops.na.NACheck;
 
 @RBuiltin(name = "colSums", kind = INTERNAL, parameterNames = {"X", "m", "n", "na.rm"}, behavior = PURE)
@@ -45,6 +47,7 @@ public abstract class ColSums extends ColSumsBase {
     @Child private BinaryArithmetic add = BinaryArithmetic.ADD.createOperation();
 
     private final ConditionProfile removeNA = ConditionProfile.createBinaryProfile();
+    private final ConditionProfile parallelProfile = ConditionProfile.createBinaryProfile();
 
     static {
         createCasts(ColSums.class);
@@ -59,6 +62,11 @@ public abstract class ColSums extends ColSumsBase {
         boolean isComplete = true;
         final boolean rna = removeNA.profile(rnaParam);
 
+        double[] kernelInput = ParallelKernels.getKernelInput(getRContext(), x);
+        if (parallelProfile.profile(kernelInput != null)) {
+            return colSumsParallel(kernelInput, rowNum, colNum, rna, ParallelKernels.getThreads(getRContext()));
+        }
+
         int pos = 0;
         Object xData = x.getData();
         RandomAccessIterator xIt = xDataLib.randomAccessIterator(xData);
@@ -160,4 +168,40 @@ public abstract class ColSums extends ColSumsBase {
         }
         return RDataFactory.createDoubleVector(result, isComplete);
     }
+
+    /**
+     * Parallel version of {@link #colSums(RDoubleVector, int, int, boolean, VectorDataLibrary)},
+     * the columns are distributed among the threads.
+     */
+    @TruffleBoundary
+    private static RDoubleVector colSumsParallel(double[] x, int rowNum, int colNum, boolean rna, int threads) {
+        double[] result = new double[colNum];
+        int columnsPerChunk = Math.max(1, ParallelKernels.CHUNK_SIZE / Math.max(1, rowNum));
+        boolean[] seenNA = new boolean[ParallelKernels.getChunksCount(colNum, columnsPerChunk)];
+        ParallelKernels.forEachChunk(colNum, columnsPerChunk, threads, (chunk, from, to) -> {
+            nextCol: for (int c = from; c < to; c++) {
+                double sum = 0;
+                for (int pos = c * rowNum; pos < (c + 1) * rowNum; pos++) {
+                    final double el = x[pos];
+                    if (Double.isNaN(el)) {
+                        if (rna) {
+                            continue;
+                        }
+                        if (RRuntime.isNA(el)) {
+                            seenNA[chunk] = true;
+                        }
+                        result[c] = el;
+                        continue nextCol;
+                    }
+                    sum += el;
+                }
+                result[c] = sum;
+            }
+        });
+        boolean isComplete = true;
+        for (boolean chunkSeenNA : seenNA) {
+            isComplete &= !chunkSeenNA;
+        }
+        return RDataFactory.createDoubleVector(result, isComplete);
+    }
 }
@@ -59,12 +59,16 @@ import java.time.temporal.ChronoField;
 import java.time.temporal.TemporalAccessor;
 import java.time.temporal.TemporalField;
 import java.time.temporal.ValueRange;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
@@ -91,6 +95,8 @@ import com.oracle.truffle.r.runtime.data.nodes.attributes.SpecialAttributesFunct
 
 public class DatePOSIXFunctions {
 
+    private static final long SECONDS_PER_DAY = 24L * 3600L;
+
     private static final class POSIXltBuilder {
 
         private static final String[] LT_NAMES = new String[]{"sec", "min", "hour", "mday", "mon", "year", "wday", "yday", "isdst"};
@@ -152,6 +158,28 @@ public class DatePOSIXFunctions {
             isdst[index] = newIsDst;
         }
 
+        /**
+         * Fills the entry from seconds since the epoch using the precomputed offsets of the zone,
+         * which gives the same result as going through {@link ZonedDateTime} and
+         * {@link TimeZone#inDaylightTime(Date)}. Returns {@code false} if the instant is not
+         * covered by the transitions table.
+         */
+        public boolean setEntryFromEpochSecond(int index, ZoneTransitions transitions, long epochSecond, double fraction, int[] civil) {
+            if (!transitions.covers(epochSecond)) {
+                return false;
+            }
+            long local = epochSecond + transitions.getOffset(epochSecond);
+            long epochDay = Math.floorDiv(local, SECONDS_PER_DAY);
+            int secondOfDay = (int) Math.floorMod(local, SECONDS_PER_DAY);
+            CivilCalendar.fromEpochDay(epochDay, civil);
+            int year = civil[0];
+            int month = civil[1];
+            int day = civil[2];
+            setEntry(index, secondOfDay % 60 + fraction, (secondOfDay / 60) % 60, secondOfDay / 3600, day, month - 1, year - 1900, CivilCalendar.dayOfWeekOrdinal(epochDay),
+                            CivilCalendar.dayOfYear(year, month, day), transitions.inDaylightTime(epochSecond) ? 1 : 0);
+            return true;
+        }
+
         public void setIncompleteEntry(int index) {
             sec[index] = RRuntime.DOUBLE_NA;
             min[index] = RRuntime.INT_NA;
@@ -198,10 +226,15 @@ public class DatePOSIXFunctions {
         protected RList doDate2POSIXlt(RDoubleVector x) {
             int xLen = x.getLength();
             POSIXltBuilder builder = new POSIXltBuilder(xLen, "UTC");
+            ZoneTransitions transitions = ZoneTransitions.get(builder.getRealZone());
+            int[] civil = new int[3];
             for (int i = 0; i < xLen; i++) {
                 double d = x.getDataAt(i);
                 if (RRuntime.isFinite(d)) {
                     int day = (int) Math.floor(d);
+                    if (builder.setEntryFromEpochSecond(i, transitions, day * 3600L * 24L, 0, civil)) {
+                        continue;
+                    }
                     Instant instant = Instant.ofEpochSecond(day * 3600L * 24L);
                     ZonedDateTime date = ZonedDateTime.ofInstant(instant, builder.getRealZone().toZoneId());
                     boolean dst = builder.getRealZone().inDaylightTime(Date.from(instant));
@@ -235,11 +268,16 @@ public class DatePOSIXFunctions {
         protected RList asPOSIXlt(RDoubleVector x, String tz) {
             int xLen = x.getLength();
             POSIXltBuilder builder = new POSIXltBuilder(xLen, tz);
+            ZoneTransitions transitions = ZoneTransitions.get(builder.getRealZone());
+            int[] civil = new int[3];
             for (int i = 0; i < xLen; i++) {
                 double second = x.getDataAt(i);
                 if (RRuntime.isFinite(second)) {
-                    Instant instant = Instant.ofEpochSecond((long) second);
                     double miliseconds = second - Math.floor(second);
+                    if (builder.setEntryFromEpochSecond(i, transitions, (long) second, miliseconds, civil)) {
+                        continue;
+                    }
+                    Instant instant = Instant.ofEpochSecond((long) second);
                     ZonedDateTime date = ZonedDateTime.ofInstant(instant, builder.getRealZone().toZoneId());
                     boolean dst = builder.getRealZone().inDaylightTime(Date.from(instant));
                     builder.setEntry(i, date.getSecond() + miliseconds, date.getMinute(), date.getHour(), date.getDayOfMonth(), date.getMonthValue() - 1, date.getYear() - 1900,
@@ -284,6 +322,9 @@ public class DatePOSIXFunctions {
             }
 
             ZoneId zoneId = zone.toZoneId();
+            ZoneRules rules = zoneId.getRules();
+            // without transitions the local time maps to exactly one instant
+            int fixedOffset = rules.isFixedOffset() ? rules.getOffset(Instant.EPOCH).getTotalSeconds() : Integer.MIN_VALUE;
             int length = max(secVector.getLength(), minVector.getLength(), hourVector.getLength(), mdayVector.getLength(), monVector.getLength(), yearVector.getLength());
             double[] data = new double[length];
             boolean complete = true;
@@ -304,6 +345,12 @@ public class DatePOSIXFunctions {
                         year -= delta;
                         mon += delta * 12;
                     }
+                    if (fixedOffset != Integer.MIN_VALUE && CivilCalendar.isValidTime(hour, min, (int) sec) && CivilCalendar.isSupportedYear(year + 1900)) {
+                        long epochDay = CivilCalendar.toEpochDay(year + 1900, mon + 1, 1) + mday - 1;
+                        long local = epochDay * SECONDS_PER_DAY + hour * 3600L + min * 60L + (int) sec;
+                        data[i] = (local - fixedOffset) + (sec - Math.floor(sec));
+                        continue;
+                    }
                     LocalDateTime time = LocalDateTime.of(year + 1900, mon + 1, 1, hour, min, (int) sec).plusDays(mday - 1);
                     ZonedDateTime zoned = time.atZone(zoneId);
                     data[i] = zoned.toInstant().getEpochSecond() + (sec - Math.floor(sec));
@@ -395,23 +442,29 @@ public class DatePOSIXFunctions {
             RIntVector monVector = (RIntVector) RRuntime.asAbstractVector(x.getDataAt(4));
             RIntVector yearVector = (RIntVector) RRuntime.asAbstractVector(x.getDataAt(5));
             ZoneId zone;
-            DateTimeFormatterBuilder[] builders = createFormatters(format, false);
+            boolean appendZone;
             String tzone = getTimeZomeFromAttribute(x);
             if (usetz && !tzone.isEmpty()) {
                 zone = ZoneId.of(tzone, TIME_ZONE_MAPPING);
-                for (DateTimeFormatterBuilder builder : builders) {
-                    builder.appendLiteral(' ').appendZoneText(TextStyle.SHORT);
-                }
+                appendZone = true;
             } else {
                 zone = getRContext().stateREnvVars.getSystemTimeZone().toZoneId();
+                appendZone = false;
             }
-
-            DateTimeFormatter[] formatters = new DateTimeFormatter[builders.length];
-            for (int i = 0; i < builders.length; i++) {
-                formatters[i] = builders[i].toFormatter();
+            ZoneRules rules = zone.getRules();
+            boolean fixedOffset = rules.isFixedOffset();
+
+            int formatsLength = format.getLength();
+            DateTimeFormatter[] formatters = new DateTimeFormatter[formatsLength];
+            IsoFormat[] isoFormats = new IsoFormat[formatsLength];
+            for (int i = 0; i < formatsLength; i++) {
+                String f = format.getDataAt(i);
+                formatters[i] = FormatterCache.getOutputFormatter(f, appendZone);
+                isoFormats[i] = appendZone ? null : IsoFormat.of(f);
             }
             int length = secVector.getLength();
             String[] data = new String[length];
+            char[] buffer = new char[IsoFormat.MAX_LENGTH];
             boolean complete = true;
             for (int i = 0; i < length; i++) {
                 double sec = secVector.getDataAt(i);
@@ -422,8 +475,13 @@ public class DatePOSIXFunctions {
                     int mon = monVector.getDataAt(i) + 1;
                     int year = yearVector.getDataAt(i) + 1900;
                     LocalDateTime time = LocalDateTime.of(year, mon, mday, hour, min, (int) sec, (int) ((sec - Math.floor(sec)) * 1000000000L));
-                    ZonedDateTime zoned = time.atZone(zone);
-                    data[i] = formatters[i % formatters.length].format(zoned);
+                    IsoFormat isoFormat = isoFormats[i % formatsLength];
+                    if (isoFormat != null && isoFormat.canFormat(year) && (fixedOffset || isUnshifted(rules, time))) {
+                        data[i] = new String(buffer, 0, isoFormat.format(year, mon, mday, hour, min, (int) sec, buffer));
+                    } else {
+                        ZonedDateTime zoned = time.atZone(zone);
+                        data[i] = formatters[i % formatsLength].format(zoned);
+                    }
                 } else {
                     data[i] = RRuntime.STRING_NA;
                     complete = false;
@@ -431,6 +489,15 @@ public class DatePOSIXFunctions {
             }
             return RDataFactory.createStringVector(data, complete);
         }
+
+        /**
+         * {@link LocalDateTime#atZone(ZoneId)} moves local times that fall into a gap, only times
+         * outside of gaps can be printed directly from their fields.
+         */
+        private static boolean isUnshifted(ZoneRules rules, LocalDateTime time) {
+            ZoneOffsetTransition transition = rules.getTransition(time);
+            return transition == null || transition.isOverlap();
+        }
     }
 
     @RBuiltin(name = "strptime", kind = INTERNAL, parameterNames = {"x", "format", "tz"}, behavior = PURE)
@@ -452,58 +519,497 @@ public class DatePOSIXFunctions {
             if (tz.getLength() > 0) {
                 timeZone = TimeZone.getTimeZone(tz.getDataAt(0));
             }
+            ZoneId zoneId = timeZone.toZoneId();
             POSIXltBuilder builder = new POSIXltBuilder(length, zoneString);
-            DateTimeFormatterBuilder[] builders = createFormatters(format, true);
-            DateTimeFormatter[] formatters = new DateTimeFormatter[builders.length];
-            for (int i = 0; i < builders.length; i++) {
-                formatters[i] = builders[i].toFormatter().withChronology(LeapYearChronology.INSTANCE);
+            ZoneTransitions transitions = ZoneTransitions.get(builder.getRealZone());
+            int formatsLength = format.getLength();
+            DateTimeFormatter[] formatters = new DateTimeFormatter[formatsLength];
+            IsoFormat[] isoFormats = new IsoFormat[formatsLength];
+            for (int i = 0; i < formatsLength; i++) {
+                String f = format.getDataAt(i);
+                isoFormats[i] = IsoFormat.of(f);
+                if (isoFormats[i] == null) {
+                    formatters[i] = FormatterCache.getInputFormatter(f);
+                }
             }
 
+            int[] fields = new int[IsoFormat.FIELD_COUNT];
+            int[] civil = new int[3];
+            long today = Long.MIN_VALUE;
+            // consecutive entries (e.g. log timestamps) typically share the day
+            long lastEpochDay = Long.MIN_VALUE;
+            boolean lastDst = false;
             for (int i = 0; i < length; i++) {
                 String str = x.getDataAt(i);
-                TemporalAccessor parse;
-                try {
-                    parse = formatters[i % formatters.length].parse(str, new ParsePosition(0));
-                } catch (DateTimeParseException e) {
-                    builder.setIncompleteEntry(i);
-                    continue;
-                }
-                try {
-                    LocalDateTime time;
-                    try {
-                        time = LocalDateTime.from(parse);
-                    } catch (DateTimeException e) {
-                        // Try just time and use current date
-                        LocalTime tm = LocalTime.from(parse);
-                        time = LocalDateTime.of(LocalDate.now(), tm);
+                int formatIndex = i % formatsLength;
+                IsoFormat isoFormat = isoFormats[formatIndex];
+                if (isoFormat != null && isoFormat.parse(str, fields)) {
+                    long epochDay;
+                    if (isoFormat.hasDate) {
+                        epochDay = CivilCalendar.toEpochDay(fields[IsoFormat.YEAR], fields[IsoFormat.MONTH], fields[IsoFormat.DAY]);
+                    } else {
+                        // time only: use the current date
+                        if (today == Long.MIN_VALUE) {
+                            today = LocalDate.now().toEpochDay();
+                        }
+                        epochDay = today;
                     }
-                    ZoneOffset zoneOffset = timeZone.toZoneId().getRules().getOffset(time);
-                    double ms = (time.toInstant(zoneOffset).toEpochMilli() % 1000) / 1000.0;
-                    boolean dst = builder.getRealZone().inDaylightTime(java.util.Date.from(time.toLocalDate().atStartOfDay(timeZone.toZoneId()).toInstant()));
-                    builder.setEntry(i, time.getSecond() + ms, time.getMinute(), time.getHour(), time.getDayOfMonth(), time.getMonthValue() - 1, time.getYear() - 1900, time.getDayOfWeek().ordinal(),
-                                    time.getDayOfYear(), dst ? 1 : 0);
+                    if (epochDay != lastEpochDay) {
+                        long startOfDay = LocalDate.ofEpochDay(epochDay).atStartOfDay(zoneId).toEpochSecond();
+                        lastDst = transitions.inDaylightTime(startOfDay);
+                        lastEpochDay = epochDay;
+                    }
+                    CivilCalendar.fromEpochDay(epochDay, civil);
+                    int year = civil[0];
+                    int month = civil[1];
+                    int day = civil[2];
+                    builder.setEntry(i, fields[IsoFormat.SECOND], fields[IsoFormat.MINUTE], fields[IsoFormat.HOUR], day, month - 1, year - 1900, CivilCalendar.dayOfWeekOrdinal(epochDay),
+                                    CivilCalendar.dayOfYear(year, month, day), lastDst ? 1 : 0);
                     continue;
-                } catch (DateTimeException e) {
-                    // try without time
                 }
+                if (formatters[formatIndex] == null) {
+                    formatters[formatIndex] = FormatterCache.getInputFormatter(format.getDataAt(formatIndex));
+                }
+                parseGeneric(builder, i, str, formatters[formatIndex], timeZone);
+            }
+            return builder.finish();
+        }
+
+        private static void parseGeneric(POSIXltBuilder builder, int i, String str, DateTimeFormatter formatter, TimeZone timeZone) {
+            TemporalAccessor parse;
+            try {
+                parse = formatter.parse(str, new ParsePosition(0));
+            } catch (DateTimeParseException e) {
+                builder.setIncompleteEntry(i);
+                return;
+            }
+            try {
+                LocalDateTime time;
                 try {
-                    LocalDate date = LocalDate.from(parse);
-                    boolean dst = builder.getRealZone().inDaylightTime(java.util.Date.from(date.atStartOfDay(timeZone.toZoneId()).toInstant()));
-                    builder.setEntry(i, 0, 0, 0, date.getDayOfMonth(), date.getMonthValue() - 1, date.getYear() - 1900, date.getDayOfWeek().ordinal(), date.getDayOfYear(), dst ? 1 : 0);
+                    time = LocalDateTime.from(parse);
                 } catch (DateTimeException e) {
-                    throw RInternalError.shouldNotReachHere(e);
+                    // Try just time and use current date
+                    LocalTime tm = LocalTime.from(parse);
+                    time = LocalDateTime.of(LocalDate.now(), tm);
                 }
+                ZoneOffset zoneOffset = timeZone.toZoneId().getRules().getOffset(time);
+                double ms = (time.toInstant(zoneOffset).toEpochMilli() % 1000) / 1000.0;
+                boolean dst = builder.getRealZone().inDaylightTime(java.util.Date.from(time.toLocalDate().atStartOfDay(timeZone.toZoneId()).toInstant()));
+                builder.setEntry(i, time.getSecond() + ms, time.getMinute(), time.getHour(), time.getDayOfMonth(), time.getMonthValue() - 1, time.getYear() - 1900, time.getDayOfWeek().ordinal(),
+                                time.getDayOfYear(), dst ? 1 : 0);
+                return;
+            } catch (DateTimeException e) {
+                // try without time
+            }
+            try {
+                LocalDate date = LocalDate.from(parse);
+                boolean dst = builder.getRealZone().inDaylightTime(java.util.Date.from(date.atStartOfDay(timeZone.toZoneId()).toInstant()));
+                builder.setEntry(i, 0, 0, 0, date.getDayOfMonth(), date.getMonthValue() - 1, date.getYear() - 1900, date.getDayOfWeek().ordinal(), date.getDayOfYear(), dst ? 1 : 0);
+            } catch (DateTimeException e) {
+                throw RInternalError.shouldNotReachHere(e);
             }
-            return builder.finish();
         }
     }
 
-    private static DateTimeFormatterBuilder[] createFormatters(RStringVector formats, boolean forInput) {
-        DateTimeFormatterBuilder[] result = new DateTimeFormatterBuilder[formats.getLength()];
-        for (int i = 0; i < result.length; i++) {
-            result[i] = createFormatter(formats.getDataAt(i), forInput);
+    /**
+     * Formatters are immutable and thread-safe, building them from the format string is expensive,
+     * so they are shared across calls and contexts.
+     */
+    private static final class FormatterCache {
+
+        private static final ConcurrentHashMap<String, DateTimeFormatter> INPUT = new ConcurrentHashMap<>();
+        private static final ConcurrentHashMap<String, DateTimeFormatter> OUTPUT = new ConcurrentHashMap<>();
+        private static final ConcurrentHashMap<String, DateTimeFormatter> OUTPUT_WITH_ZONE = new ConcurrentHashMap<>();
+
+        static DateTimeFormatter getInputFormatter(String format) {
+            DateTimeFormatter result = INPUT.get(format);
+            if (result == null) {
+                result = createFormatter(format, true).toFormatter().withChronology(LeapYearChronology.INSTANCE);
+                INPUT.putIfAbsent(format, result);
+            }
+            return result;
+        }
+
+        static DateTimeFormatter getOutputFormatter(String format, boolean appendZone) {
+            ConcurrentHashMap<String, DateTimeFormatter> cache = appendZone ? OUTPUT_WITH_ZONE : OUTPUT;
+            DateTimeFormatter result = cache.get(format);
+            if (result == null) {
+                DateTimeFormatterBuilder builder = createFormatter(format, false);
+                if (appendZone) {
+                    builder.appendLiteral(' ').appendZoneText(TextStyle.SHORT);
+                }
+                result = builder.toFormatter();
+                cache.putIfAbsent(format, result);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The most common formats, which are parsed and printed by hand instead of going through a
+     * {@link DateTimeFormatter}. Only well-formed inputs are accepted, anything else is left to the
+     * generic formatter so that the results do not change.
+     */
+    private enum IsoFormat {
+        DATE("%Y-%m-%d", true, false, false),
+        DATE_TIME("%Y-%m-%d %H:%M:%S", true, true, true),
+        DATE_HOUR_MINUTE("%Y-%m-%d %H:%M", true, true, false),
+        HOUR_MINUTE("%H:%M", false, true, false);
+
+        static final int YEAR = 0;
+        static final int MONTH = 1;
+        static final int DAY = 2;
+        static final int HOUR = 3;
+        static final int MINUTE = 4;
+        static final int SECOND = 5;
+        static final int FIELD_COUNT = 6;
+
+        static final int MAX_LENGTH = "yyyy-mm-dd hh:mm:ss".length();
+
+        private final String format;
+        final boolean hasDate;
+        final boolean hasTime;
+        final boolean hasSeconds;
+
+        IsoFormat(String format, boolean hasDate, boolean hasTime, boolean hasSeconds) {
+            this.format = format;
+            this.hasDate = hasDate;
+            this.hasTime = hasTime;
+            this.hasSeconds = hasSeconds;
+        }
+
+        static IsoFormat of(String format) {
+            for (IsoFormat f : values()) {
+                if (f.format.equals(format)) {
+                    return f;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Parses {@code str} into {@code fields}, returns {@code false} if the input is not in the
+         * canonical form or does not denote a valid date/time.
+         */
+        boolean parse(String str, int[] fields) {
+            int len = str.length();
+            int pos = 0;
+            if (hasDate) {
+                int end = scanDigits(str, pos, 4);
+                if (end - pos != 4) {
+                    return false;
+                }
+                fields[YEAR] = toInt(str, pos, end);
+                pos = end;
+                if (!isChar(str, pos, '-')) {
+                    return false;
+                }
+                end = scanDigits(str, ++pos, 2);
+                if (end == pos) {
+                    return false;
+                }
+                fields[MONTH] = toInt(str, pos, end);
+                pos = end;
+                if (!isChar(str, pos, '-')) {
+                    return false;
+                }
+                end = scanDigits(str, ++pos, 2);
+                if (end == pos) {
+                    return false;
+                }
+                fields[DAY] = toInt(str, pos, end);
+                pos = end;
+                if (fields[MONTH] < 1 || fields[MONTH] > 12 || fields[DAY] < 1 || fields[DAY] > CivilCalendar.lengthOfMonth(fields[YEAR], fields[MONTH])) {
+                    return false;
+                }
+                if (hasTime) {
+                    if (!isChar(str, pos, ' ')) {
+                        return false;
+                    }
+                    pos++;
+                }
+            }
+            fields[HOUR] = 0;
+            fields[MINUTE] = 0;
+            fields[SECOND] = 0;
+            if (hasTime) {
+                int end = scanDigits(str, pos, 2);
+                if (end == pos) {
+                    return false;
+                }
+                fields[HOUR] = toInt(str, pos, end);
+                pos = end;
+                if (!isChar(str, pos, ':')) {
+                    return false;
+                }
+                end = scanDigits(str, ++pos, 2);
+                if (end == pos) {
+                    return false;
+                }
+                fields[MINUTE] = toInt(str, pos, end);
+                pos = end;
+                if (hasSeconds) {
+                    if (!isChar(str, pos, ':')) {
+                        return false;
+                    }
+                    end = scanDigits(str, ++pos, 2);
+                    if (end == pos) {
+                        return false;
+                    }
+                    fields[SECOND] = toInt(str, pos, end);
+                    pos = end;
+                }
+                if (!CivilCalendar.isValidTime(fields[HOUR], fields[MINUTE], fields[SECOND])) {
+                    return false;
+                }
+            }
+            // trailing text is ignored, but more digits would be consumed by the lenient parser
+            return pos == len || !isDigit(str.charAt(pos));
+        }
+
+        boolean canFormat(int year) {
+            return !hasDate || (year >= 0 && year <= 9999);
+        }
+
+        /**
+         * Prints the given fields into {@code buffer} and returns the number of characters used.
+         */
+        int format(int year, int month, int day, int hour, int minute, int second, char[] buffer) {
+            int pos = 0;
+            if (hasDate) {
+                pos = putDigits(buffer, pos, year, 4);
+                buffer[pos++] = '-';
+                pos = putDigits(buffer, pos, month, 2);
+                buffer[pos++] = '-';
+                pos = putDigits(buffer, pos, day, 2);
+                if (hasTime) {
+                    buffer[pos++] = ' ';
+                }
+            }
+            if (hasTime) {
+                pos = putDigits(buffer, pos, hour, 2);
+                buffer[pos++] = ':';
+                pos = putDigits(buffer, pos, minute, 2);
+                if (hasSeconds) {
+                    buffer[pos++] = ':';
+                    pos = putDigits(buffer, pos, second, 2);
+                }
+            }
+            return pos;
+        }
+
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+
+        private static boolean isChar(String str, int pos, char c) {
+            return pos < str.length() && str.charAt(pos) == c;
+        }
+
+        private static int scanDigits(String str, int start, int maxDigits) {
+            int end = start;
+            int limit = Math.min(str.length(), start + maxDigits);
+            while (end < limit && isDigit(str.charAt(end))) {
+                end++;
+            }
+            return end;
+        }
+
+        private static int toInt(String str, int start, int end) {
+            int result = 0;
+            for (int i = start; i < end; i++) {
+                result = result * 10 + (str.charAt(i) - '0');
+            }
+            return result;
+        }
+
+        private static int putDigits(char[] buffer, int start, int value, int width) {
+            int v = value;
+            for (int i = start + width - 1; i >= start; i--) {
+                buffer[i] = (char) ('0' + v % 10);
+                v /= 10;
+            }
+            return start + width;
+        }
+    }
+
+    /**
+     * UTC offsets and daylight saving flags of a time zone precomputed for the instants between
+     * 1900 and 2100, so that element-wise conversions do not need to create {@link ZonedDateTime}
+     * and {@link Date} objects. The daylight saving flags are taken from
+     * {@link TimeZone#inDaylightTime(Date)} at each transition, so the results are the same as
+     * when asking the time zone directly.
+     */
+    private static final class ZoneTransitions {
+
+        private static final long FIRST_SECOND = -2208988800L; // 1900-01-01T00:00:00Z
+        private static final long LAST_SECOND = 4102444800L; // 2100-01-01T00:00:00Z
+
+        private static final ConcurrentHashMap<String, ZoneTransitions> CACHE = new ConcurrentHashMap<>();
+
+        private final TimeZone zone;
+        /** Instants of the transitions in seconds since the epoch, sorted. */
+        private final long[] transitions;
+        /** {@code offsets[i]} is valid up to {@code transitions[i]}, the last one after it. */
+        private final int[] offsets;
+        private final boolean[] daylight;
+
+        private ZoneTransitions(TimeZone zone) {
+            this.zone = zone;
+            ZoneRules rules = zone.toZoneId().getRules();
+            long[] times = new long[16];
+            int[] offs = new int[17];
+            boolean[] dst = new boolean[17];
+            Instant cursor = Instant.ofEpochSecond(FIRST_SECOND);
+            offs[0] = rules.getOffset(cursor).getTotalSeconds();
+            dst[0] = zone.inDaylightTime(new Date(FIRST_SECOND * 1000));
+            int count = 0;
+            ZoneOffsetTransition transition;
+            while ((transition = rules.nextTransition(cursor)) != null && transition.toEpochSecond() < LAST_SECOND) {
+                if (count == times.length) {
+                    times = Arrays.copyOf(times, count * 2);
+                    offs = Arrays.copyOf(offs, count * 2 + 1);
+                    dst = Arrays.copyOf(dst, count * 2 + 1);
+                }
+                long time = transition.toEpochSecond();
+                times[count] = time;
+                offs[count + 1] = transition.getOffsetAfter().getTotalSeconds();
+                dst[count + 1] = zone.inDaylightTime(new Date(time * 1000));
+                count++;
+                cursor = transition.getInstant();
+            }
+            this.transitions = Arrays.copyOf(times, count);
+            this.offsets = Arrays.copyOf(offs, count + 1);
+            this.daylight = Arrays.copyOf(dst, count + 1);
+        }
+
+        static ZoneTransitions get(TimeZone zone) {
+            ZoneTransitions result = CACHE.get(zone.getID());
+            if (result == null) {
+                result = new ZoneTransitions((TimeZone) zone.clone());
+                CACHE.putIfAbsent(zone.getID(), result);
+            }
+            return result;
+        }
+
+        boolean covers(long epochSecond) {
+            return epochSecond >= FIRST_SECOND && epochSecond < LAST_SECOND;
+        }
+
+        private int indexOf(long epochSecond) {
+            int index = Arrays.binarySearch(transitions, epochSecond);
+            return index >= 0 ? index + 1 : -index - 1;
+        }
+
+        /**
+         * The offset in seconds, only valid for instants {@link #covers(long) covered} by the
+         * table.
+         */
+        int getOffset(long epochSecond) {
+            assert covers(epochSecond);
+            return offsets[indexOf(epochSecond)];
+        }
+
+        boolean inDaylightTime(long epochSecond) {
+            if (!covers(epochSecond)) {
+                return zone.inDaylightTime(new Date(epochSecond * 1000));
+            }
+            return daylight[indexOf(epochSecond)];
+        }
+    }
+
+    /**
+     * Proleptic Gregorian calendar arithmetic on plain integers, following {@link LocalDate}.
+     */
+    private static final class CivilCalendar {
+
+        private static final int DAYS_PER_CYCLE = 146097;
+        private static final long DAYS_0000_TO_1970 = (DAYS_PER_CYCLE * 5L) - (30L * 365L + 7L);
+        private static final int[] DAYS_BEFORE_MONTH = new int[]{0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334};
+
+        static boolean isLeapYear(long year) {
+            return IsoChronology.INSTANCE.isLeapYear(year);
+        }
+
+        static boolean isSupportedYear(int year) {
+            return year >= -999_999 && year <= 999_999;
+        }
+
+        static boolean isValidTime(int hour, int minute, int second) {
+            return hour >= 0 && hour < 24 && minute >= 0 && minute < 60 && second >= 0 && second < 60;
+        }
+
+        static int lengthOfMonth(int year, int month) {
+            switch (month) {
+                case 2:
+                    return isLeapYear(year) ? 29 : 28;
+                case 4:
+                case 6:
+                case 9:
+                case 11:
+                    return 30;
+                default:
+                    return 31;
+            }
+        }
+
+        static int dayOfYear(int year, int month, int day) {
+            return DAYS_BEFORE_MONTH[month - 1] + day + (month > 2 && isLeapYear(year) ? 1 : 0);
+        }
+
+        /**
+         * Same as {@code LocalDate.ofEpochDay(epochDay).getDayOfWeek().ordinal()}.
+         */
+        static int dayOfWeekOrdinal(long epochDay) {
+            return (int) Math.floorMod(epochDay + 3, 7);
+        }
+
+        static long toEpochDay(int year, int month, int day) {
+            long y = year;
+            long m = month;
+            long total = 365 * y;
+            if (y >= 0) {
+                total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+            } else {
+                total -= y / -4 - y / -100 + y / -400;
+            }
+            total += (367 * m - 362) / 12;
+            total += day - 1;
+            if (m > 2) {
+                total--;
+                if (!isLeapYear(year)) {
+                    total--;
+                }
+            }
+            return total - DAYS_0000_TO_1970;
+        }
+
+        /**
+         * Stores year, month (1-12) and day of month into {@code result}.
+         */
+        static void fromEpochDay(long epochDay, int[] result) {
+            long zeroDay = epochDay + DAYS_0000_TO_1970;
+            // find the march-based year
+            zeroDay -= 60;
+            long adjust = 0;
+            if (zeroDay < 0) {
+                long adjustCycles = (zeroDay + 1) / DAYS_PER_CYCLE - 1;
+                adjust = adjustCycles * 400;
+                zeroDay += -adjustCycles * DAYS_PER_CYCLE;
+            }
+            long yearEst = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+            long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+            if (doyEst < 0) {
+                yearEst--;
+                doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+            }
+            yearEst += adjust;
+            int marchDoy0 = (int) doyEst;
+            int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
+            result[0] = (int) (yearEst + marchMonth0 / 10);
+            result[1] = (marchMonth0 + 2) % 12 + 1;
+            result[2] = marchDoy0 - (marchMonth0 * 306 + 5) / 10 + 1;
         }
-        return result;
     }
 
     private static DateTimeFormatterBuilder createFormatter(String format, boolean forInput) {
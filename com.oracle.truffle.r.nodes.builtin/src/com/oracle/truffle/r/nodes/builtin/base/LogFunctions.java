@@ -30,6 +30,7 @@ import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.PRIMITIVE;
 
 import java.util.Arrays;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.ControlFlowException;
@@ -54,6 +55,7 @@ import com.oracle.truffle.r.runtime.data.RComplexVector;
 import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
 import com.oracle.truffle.r.runtime.nodes.RBaseNode;
 import com.oracle.truffle.r.runtime.ops.BinaryArithmetic;
+import com.oracle.truffle.r.runtime.ops.ParallelKernels;
 import com.oracle.truffle.r.runtime.ops.UnaryArithmetic;
 import com.oracle.truffle.r.runtime.ops.na.NACheck;
 import com.oracle.truffle.r.runtime.ops.na.NAProfile;
@@ -65,6 +67,7 @@ public class LogFunctions {
         private final NAProfile naX = NAProfile.create();
         private final BranchProfile nanProfile = BranchProfile.create();
         private final BranchProfile warningProfile = BranchProfile.create();
+        private final ConditionProfile parallelProfile = ConditionProfile.createBinaryProfile();
 
         @Override
         public Object[] getDefaultParameterValues() {
@@ -199,11 +202,21 @@ public class LogFunctions {
                         NACheck xNACheck, NACheck baseNACheck) {
             baseNACheck.enable(base);
             double[] resultVector = new double[vector.getLength()];
+            double[] kernelInput = ParallelKernels.getKernelInput(getRContext(), vector);
             if (baseNACheck.check(base)) {
                 Arrays.fill(resultVector, 0, resultVector.length, base);
             } else if (Double.isNaN(base)) {
                 nanProfile.enter();
                 Arrays.fill(resultVector, 0, resultVector.length, Double.NaN);
+            } else if (parallelProfile.profile(kernelInput != null)) {
+                int flags = logParallel(kernelInput, resultVector, base, ParallelKernels.getThreads(getRContext()));
+                if ((flags & SEEN_NA) != 0) {
+                    xNACheck.seenNA();
+                }
+                if ((flags & WARNING_MASK) != 0) {
+                    warningProfile.enter();
+                    RError.warning((flags & WARNING_MASK) == WARNING_X ? this : RError.SHOW_CALLER, RError.Message.NAN_PRODUCED);
+                }
             } else {
                 xNACheck.enable(vector);
                 ShowWarningException showWarning = null;
@@ -228,6 +241,62 @@ public class LogFunctions {
             return createResult(vector, resultVector, complete, copyAttrsNode, initDimsNamesDimNames);
         }
 
+        private static final int WARNING_X = 1;
+        private static final int WARNING_BASE = 2;
+        private static final int WARNING_MASK = 3;
+        private static final int SEEN_NA = 4;
+
+        /**
+         * Parallel version of the loop in {@link #logInternal(RDoubleVector, double,
+         * CopyOfRegAttributesNode, InitDimsNamesDimNamesNode, NACheck, NACheck)} for finite base.
+         * The warnings are collected per chunk and only the last one is reported, like in the
+         * sequential version. Returns the {@link #WARNING_MASK warning kind} combined with
+         * {@link #SEEN_NA}.
+         */
+        @TruffleBoundary
+        private static int logParallel(double[] x, double[] result, double base, int threads) {
+            int length = result.length;
+            int[] chunkFlags = new int[ParallelKernels.getChunksCount(length, ParallelKernels.CHUNK_SIZE)];
+            double logBase = Math.log(base);
+            ParallelKernels.forEachChunk(length, ParallelKernels.CHUNK_SIZE, threads, (chunk, from, to) -> {
+                int flags = 0;
+                for (int i = from; i < to; i++) {
+                    double value = x[i];
+                    if (RRuntime.isNA(value)) {
+                        result[i] = RRuntime.DOUBLE_NA;
+                        flags |= SEEN_NA;
+                        continue;
+                    }
+                    double logx = Math.log(value);
+                    int warning = 0;
+                    if (!Double.isNaN(value) && Double.isNaN(logx)) {
+                        warning = WARNING_X;
+                    }
+                    if (base == Math.E) {
+                        result[i] = logx;
+                    } else {
+                        result[i] = logx / logBase;
+                        if (warning == 0 && Double.isNaN(result[i])) {
+                            warning = WARNING_BASE;
+                        }
+                    }
+                    if (warning != 0) {
+                        flags = (flags & ~WARNING_MASK) | warning;
+                    }
+                }
+                chunkFlags[chunk] = flags;
+            });
+            int warning = 0;
+            boolean seenNA = false;
+            for (int flags : chunkFlags) {
+                if ((flags & WARNING_MASK) != 0) {
+                    warning = flags & WARNING_MASK;
+                }
+                seenNA |= (flags & SEEN_NA) != 0;
+            }
+            return seenNA ? warning | SEEN_NA : warning;
+        }
+
         private double logb(double x, double base, NAProfile naBase) {
             if (naBase.isNA(base)) {
                 return RRuntime.DOUBLE_NA;
@@ -32,6 +32,7 @@ import com.oracle.truffle.api.profiles.ConditionProfile;
 import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.constant;
 import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.nullValue;
 import com.oracle.truffle.r.nodes.builtin.RBuiltinNode;
+import com.oracle.truffle.r.runtime.Collections;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.builtins.RBuiltin;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
@@ -81,6 +82,8 @@ public abstract class PMatch extends RBuiltinNode.Arg4 {
         for (int i = 0; i < matches.length; i++) {
             matches[i] = nomatch;
         }
+        // with duplicates allowed, exact matches can be looked up in the index of the table
+        Collections.NonRecursiveHashMapCharacter tableIndex = duplicatesOk ? table.getStringIndex() : null;
         // check for exact matches, then partial matches
         for (int p = 0; p < 2; p++) {
             for (int i = 0; i < xl; i++) {
@@ -95,6 +98,14 @@ public abstract class PMatch extends RBuiltinNode.Arg4 {
                 if (RRuntime.isNA(xs)) {
                     xs = "NA";
                 }
+                if (p == 0 && tableIndex != null && !xs.equals("NA")) {
+                    int t = tableIndex.get(xs);
+                    if (t >= 0) {
+                        matches[i] = t + 1;
+                        matched[i] = true;
+                    }
+                    continue;
+                }
                 for (int t = 0; t < tl; t++) {
                     if (!used[t]) {
                         boolean match = p == 0 ? xs.equals(table.getDataAt(t)) : table.getDataAt(t).startsWith(xs);
@@ -104,6 +115,10 @@ public abstract class PMatch extends RBuiltinNode.Arg4 {
                             if (!duplicatesOk) {
                                 used[t] = true;
                             }
+                            if (p == 0) {
+                                // the first exact match wins
+                                break;
+                            }
                         }
                     }
                 }
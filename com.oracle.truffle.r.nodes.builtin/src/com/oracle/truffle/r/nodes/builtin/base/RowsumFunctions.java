@@ -31,8 +31,6 @@ import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.toBoolean;
 import static com.oracle.truffle.r.runtime.builtins.RBehavior.PURE;
 import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.INTERNAL;
 
-import java.util.HashMap;
-
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.library.CachedLibrary;
@@ -42,7 +40,6 @@ import com.oracle.truffle.r.runtime.RError;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.builtins.RBuiltin;
 import com.oracle.truffle.r.runtime.data.RDataFactory;
-import com.oracle.truffle.r.runtime.data.RDoubleVector;
 import com.oracle.truffle.r.runtime.data.RFunction;
 import com.oracle.truffle.r.runtime.data.RIntVector;
 import com.oracle.truffle.r.runtime.data.RList;
@@ -50,7 +47,8 @@ import com.oracle.truffle.r.runtime.data.RNull;
 import com.oracle.truffle.r.runtime.data.RStringVector;
 import com.oracle.truffle.r.runtime.data.VectorDataLibrary;
 import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
-import com.oracle.truffle.r.runtime.ops.na.NACheck;
+import com.oracle.truffle.r.runtime.ops.GroupIndex;
+import com.oracle.truffle.r.runtime.ops.GroupReductions;
 
 // Translated from main/unique.c
 
@@ -61,7 +59,6 @@ public class RowsumFunctions {
     public abstract static class Rowsum extends RBuiltinNode.Arg5 {
 
         private final ConditionProfile typeProfile = ConditionProfile.createBinaryProfile();
-        private final NACheck na = NACheck.create();
 
         static {
             Casts casts = new Casts(Rowsum.class);
@@ -83,66 +80,33 @@ public class RowsumFunctions {
             int p = xv.isMatrix() ? xv.getDimensions()[1] : 1;
             int n = g.getLength();
             int ng = uniqueg.getLength();
-            HashMap<Object, Integer> table = new HashMap<>();
-            for (int i = 0; i < ng; i++) {
-                // uniqueg has no duplicates (by definition)
-                table.put(uniqueg.getDataAtAsObject(i), i);
-            }
-            int[] matches = new int[n];
-            for (int i = 0; i < n; i++) {
-                Integer hi = table.get(g.getDataAtAsObject(i));
-                matches[i] = hi + 1;
-            }
-            int offset = 0;
-            int offsetg = 0;
+            // uniqueg has no duplicates (by definition)
+            GroupIndex groups = GroupIndex.match(g, uniqueg);
 
             boolean isInt = xv instanceof RIntVector;
             RAbstractVector result;
-            na.enable(xv);
             boolean complete = xvDataLib.isComplete(xv.getData());
 
             if (typeProfile.profile(isInt)) {
-                RIntVector xi = (RIntVector) xv;
+                int[] xi = xvDataLib.getReadonlyIntData(xv.getData());
                 int[] ansi = new int[ng * p];
                 for (int i = 0; i < p; i++) {
-                    for (int j = 0; j < n; j++) {
-                        int midx = matches[j] - 1 + offsetg;
-                        int itmp = ansi[midx];
-                        if (na.check(xi.getDataAt(j + offset))) {
-                            if (!narm) {
-                                ansi[midx] = RRuntime.INT_NA;
-                                complete = RDataFactory.INCOMPLETE_VECTOR;
-                            }
-                        } else if (!na.check(itmp)) {
-                            long dtmp = itmp;
-                            int jtmp = xi.getDataAt(j + offset);
-                            dtmp += jtmp;
-                            if (dtmp < Integer.MIN_VALUE || dtmp > Integer.MAX_VALUE) {
-                                itmp = RRuntime.INT_NA;
-                                complete = RDataFactory.INCOMPLETE_VECTOR;
-                            } else {
-                                itmp += jtmp;
-                            }
-                            ansi[midx] = itmp;
+                    GroupReductions.sum(xi, i * n, groups, narm, ansi, i * ng);
+                }
+                if (complete) {
+                    for (int value : ansi) {
+                        if (RRuntime.isNA(value)) {
+                            complete = RDataFactory.INCOMPLETE_VECTOR;
+                            break;
                         }
                     }
-                    offset += n;
-                    offsetg += ng;
                 }
                 result = RDataFactory.createIntVector(ansi, complete, new int[]{ng, p});
             } else {
-                RDoubleVector xd = (RDoubleVector) xv;
+                double[] xd = xvDataLib.getReadonlyDoubleData(xv.getData());
                 double[] ansd = new double[ng * p];
                 for (int i = 0; i < p; i++) {
-                    for (int j = 0; j < n; j++) {
-                        int midx = matches[j] - 1 + offsetg;
-                        double dtmp = xd.getDataAt(j + offset);
-                        if (!narm || !Double.isNaN(dtmp)) {
-                            ansd[midx] += dtmp;
-                        }
-                    }
-                    offset += n;
-                    offsetg += ng;
+                    GroupReductions.sum(xd, i * n, groups, narm, ansd, i * ng);
                 }
                 result = RDataFactory.createDoubleVector(ansd, complete, new int[]{ng, p});
             }
@@ -25,8 +25,6 @@ package com.oracle.truffle.r.nodes.builtin.base;
 import static com.oracle.truffle.r.runtime.builtins.RBehavior.PURE;
 import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.INTERNAL;
 
-import java.util.Arrays;
-
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -48,6 +46,7 @@ import com.oracle.truffle.r.runtime.data.nodes.VectorAccess;
 import com.oracle.truffle.r.runtime.data.nodes.VectorAccess.SequentialIterator;
 import com.oracle.truffle.r.runtime.data.nodes.attributes.SpecialAttributesFunctions.GetNamesAttributeNode;
 import com.oracle.truffle.r.runtime.nodes.RBaseNode;
+import com.oracle.truffle.r.runtime.ops.GroupIndex;
 
 /**
  * The {@code split} internal. Internal version of 'split' is invoked from 'split.default' function
@@ -66,201 +65,139 @@ public abstract class Split extends RBuiltinNode.Arg2 {
     @Child private RFactorNodes.GetLevels getLevelNode = new RFactorNodes.GetLevels();
     @Child private GetSplitNames getSplitNames = GetSplitNamesNodeGen.create();
 
-    private static final int INITIAL_SIZE = 5;
-    private static final int SCALE_FACTOR = 2;
-
     static {
         Casts.noCasts(Split.class);
     }
 
-    @Specialization(limit = "getCacheSize(4)", guards = {"xAccess.supports(x)", "fAccess.supports(f)"})
+    @Specialization(limit = "getCacheSize(4)", guards = {"xAccess.supports(x)"})
     protected RList split(RAbstractVector x, RIntVector f,
                     @Cached("x.access()") VectorAccess xAccess,
-                    @Cached("f.access()") VectorAccess fAccess,
-                    @CachedLibrary("x.getData()") VectorDataLibrary xDataLib) {
+                    @CachedLibrary("x.getData()") VectorDataLibrary xDataLib,
+                    @CachedLibrary("f.getData()") VectorDataLibrary fDataLib) {
         SequentialIterator xIter = xAccess.access(x);
-        SequentialIterator fIter = fAccess.access(f);
         RStringVector names = getLevelNode.execute(f);
         int nLevels = getNLevels(names);
+        // a factor is a 1-based int vector, the result lists have the exact size of the groups
+        GroupIndex groups = GroupIndex.fromCodes(fDataLib.getReadonlyIntData(f.getData()), x.getLength(), nLevels);
+        int[] groupSizes = groups.getGroupSizes();
         int[] collectResultSize = new int[nLevels];
         Object[] results = new Object[nLevels];
         boolean isXComplete = xDataLib.isComplete(x.getData());
+        RStringVector[] resultNames = getSplitNames.getNames(x, groups, groupSizes);
 
         switch (xAccess.getType()) {
             case Character: {
-                // Initialize result arrays
-                String[][] collectResults = new String[nLevels][INITIAL_SIZE];
-
-                // perform split
+                String[][] collectResults = new String[nLevels][];
+                for (int i = 0; i < nLevels; i++) {
+                    collectResults[i] = new String[groupSizes[i]];
+                }
                 while (xAccess.next(xIter)) {
-                    fAccess.nextWithWrap(fIter);
-                    if (!fAccess.isNA(fIter)) {
-                        // a factor is a 1-based int vector
-                        int resultIndex = fAccess.getInt(fIter) - 1;
-                        String[] collect = collectResults[resultIndex];
-                        if (collect.length == collectResultSize[resultIndex]) {
-                            collectResults[resultIndex] = collect = Arrays.copyOf(collect, collect.length * SCALE_FACTOR);
-                        }
-                        collect[collectResultSize[resultIndex]++] = xAccess.getString(xIter);
+                    int resultIndex = groups.getGroupId(xIter.getIndex());
+                    if (resultIndex != GroupIndex.NO_GROUP) {
+                        collectResults[resultIndex][collectResultSize[resultIndex]++] = xAccess.getString(xIter);
                     }
                 }
-
-                RStringVector[] resultNames = getSplitNames.getNames(x, fAccess, fIter, nLevels, collectResultSize);
                 for (int i = 0; i < nLevels; i++) {
-                    results[i] = RDataFactory.createStringVector(Arrays.copyOfRange(collectResults[i], 0, collectResultSize[i]), isXComplete,
-                                    (resultNames != null) ? resultNames[i] : null);
+                    results[i] = RDataFactory.createStringVector(collectResults[i], isXComplete, (resultNames != null) ? resultNames[i] : null);
                 }
                 break;
             }
             case Complex: {
-                // Initialize result arrays
-                double[][] collectResults = new double[nLevels][INITIAL_SIZE * 2];
-
-                // perform split
+                double[][] collectResults = new double[nLevels][];
+                for (int i = 0; i < nLevels; i++) {
+                    collectResults[i] = new double[groupSizes[i] * 2];
+                }
                 while (xAccess.next(xIter)) {
-                    fAccess.nextWithWrap(fIter);
-                    if (!fAccess.isNA(fIter)) {
-                        // a factor is a 1-based int vector
-                        int resultIndex = fAccess.getInt(fIter) - 1;
+                    int resultIndex = groups.getGroupId(xIter.getIndex());
+                    if (resultIndex != GroupIndex.NO_GROUP) {
                         double[] collect = collectResults[resultIndex];
-                        if (collect.length == collectResultSize[resultIndex] * 2) {
-                            collectResults[resultIndex] = collect = Arrays.copyOf(collect, collect.length * SCALE_FACTOR);
-                        }
                         collect[collectResultSize[resultIndex] * 2] = xAccess.getComplexR(xIter);
                         collect[collectResultSize[resultIndex] * 2 + 1] = xAccess.getComplexI(xIter);
                         collectResultSize[resultIndex]++;
                     }
                 }
-
-                RStringVector[] resultNames = getSplitNames.getNames(x, fAccess, fIter, nLevels, collectResultSize);
                 for (int i = 0; i < nLevels; i++) {
-                    results[i] = RDataFactory.createComplexVector(Arrays.copyOfRange(collectResults[i], 0, collectResultSize[i] * 2), isXComplete,
-                                    (resultNames != null) ? resultNames[i] : null);
+                    results[i] = RDataFactory.createComplexVector(collectResults[i], isXComplete, (resultNames != null) ? resultNames[i] : null);
                 }
                 break;
             }
             case Double: {
-                // Initialize result arrays
-                double[][] collectResults = new double[nLevels][INITIAL_SIZE];
-
-                // perform split
+                double[][] collectResults = new double[nLevels][];
+                for (int i = 0; i < nLevels; i++) {
+                    collectResults[i] = new double[groupSizes[i]];
+                }
                 while (xAccess.next(xIter)) {
-                    fAccess.nextWithWrap(fIter);
-                    if (!fAccess.isNA(fIter)) {
-                        // a factor is a 1-based int vector
-                        int resultIndex = fAccess.getInt(fIter) - 1;
-                        double[] collect = collectResults[resultIndex];
-                        if (collect.length == collectResultSize[resultIndex]) {
-                            collectResults[resultIndex] = collect = Arrays.copyOf(collect, collect.length * SCALE_FACTOR);
-                        }
-                        collect[collectResultSize[resultIndex]++] = xAccess.getDouble(xIter);
+                    int resultIndex = groups.getGroupId(xIter.getIndex());
+                    if (resultIndex != GroupIndex.NO_GROUP) {
+                        collectResults[resultIndex][collectResultSize[resultIndex]++] = xAccess.getDouble(xIter);
                     }
                 }
-
-                RStringVector[] resultNames = getSplitNames.getNames(x, fAccess, fIter, nLevels, collectResultSize);
                 for (int i = 0; i < nLevels; i++) {
-                    results[i] = RDataFactory.createDoubleVector(Arrays.copyOfRange(collectResults[i], 0, collectResultSize[i]), isXComplete,
-                                    (resultNames != null) ? resultNames[i] : null);
+                    results[i] = RDataFactory.createDoubleVector(collectResults[i], isXComplete, (resultNames != null) ? resultNames[i] : null);
                 }
                 break;
             }
             case Integer: {
-                // Initialize result arrays
-                int[][] collectResults = new int[nLevels][INITIAL_SIZE];
-
-                // perform split
+                int[][] collectResults = new int[nLevels][];
+                for (int i = 0; i < nLevels; i++) {
+                    collectResults[i] = new int[groupSizes[i]];
+                }
                 while (xAccess.next(xIter)) {
-                    fAccess.nextWithWrap(fIter);
-                    if (!fAccess.isNA(fIter)) {
-                        // a factor is a 1-based int vector
-                        int resultIndex = fAccess.getInt(fIter) - 1;
-                        int[] collect = collectResults[resultIndex];
-                        if (collect.length == collectResultSize[resultIndex]) {
-                            collectResults[resultIndex] = collect = Arrays.copyOf(collect, collect.length * SCALE_FACTOR);
-                        }
-                        collect[collectResultSize[resultIndex]++] = xAccess.getInt(xIter);
+                    int resultIndex = groups.getGroupId(xIter.getIndex());
+                    if (resultIndex != GroupIndex.NO_GROUP) {
+                        collectResults[resultIndex][collectResultSize[resultIndex]++] = xAccess.getInt(xIter);
                     }
                 }
-
-                RStringVector[] resultNames = getSplitNames.getNames(x, fAccess, fIter, nLevels, collectResultSize);
                 for (int i = 0; i < nLevels; i++) {
-                    results[i] = RDataFactory.createIntVector(Arrays.copyOfRange(collectResults[i], 0, collectResultSize[i]), isXComplete,
-                                    (resultNames != null) ? resultNames[i] : null);
+                    results[i] = RDataFactory.createIntVector(collectResults[i], isXComplete, (resultNames != null) ? resultNames[i] : null);
                 }
                 break;
             }
             case List: {
-                // Initialize result arrays
-                Object[][] collectResults = new Object[nLevels][INITIAL_SIZE];
-
-                // perform split
+                Object[][] collectResults = new Object[nLevels][];
+                for (int i = 0; i < nLevels; i++) {
+                    collectResults[i] = new Object[groupSizes[i]];
+                }
                 while (xAccess.next(xIter)) {
-                    fAccess.nextWithWrap(fIter);
-                    if (!fAccess.isNA(fIter)) {
-                        // a factor is a 1-based int vector
-                        int resultIndex = fAccess.getInt(fIter) - 1;
-                        Object[] collect = collectResults[resultIndex];
-                        if (collect.length == collectResultSize[resultIndex]) {
-                            collectResults[resultIndex] = collect = Arrays.copyOf(collect, collect.length * SCALE_FACTOR);
-                        }
-                        collect[collectResultSize[resultIndex]++] = xAccess.getListElement(xIter);
+                    int resultIndex = groups.getGroupId(xIter.getIndex());
+                    if (resultIndex != GroupIndex.NO_GROUP) {
+                        collectResults[resultIndex][collectResultSize[resultIndex]++] = xAccess.getListElement(xIter);
                     }
                 }
-
-                RStringVector[] resultNames = getSplitNames.getNames(x, fAccess, fIter, nLevels, collectResultSize);
                 for (int i = 0; i < nLevels; i++) {
-                    results[i] = RDataFactory.createList(Arrays.copyOfRange(collectResults[i], 0, collectResultSize[i]),
-                                    (resultNames != null) ? resultNames[i] : null);
+                    results[i] = RDataFactory.createList(collectResults[i], (resultNames != null) ? resultNames[i] : null);
                 }
                 break;
             }
             case Logical: {
-                // Initialize result arrays
-                byte[][] collectResults = new byte[nLevels][INITIAL_SIZE];
-
-                // perform split
+                byte[][] collectResults = new byte[nLevels][];
+                for (int i = 0; i < nLevels; i++) {
+                    collectResults[i] = new byte[groupSizes[i]];
+                }
                 while (xAccess.next(xIter)) {
-                    fAccess.nextWithWrap(fIter);
-                    if (!fAccess.isNA(fIter)) {
-                        // a factor is a 1-based int vector
-                        int resultIndex = fAccess.getInt(fIter) - 1;
-                        byte[] collect = collectResults[resultIndex];
-                        if (collect.length == collectResultSize[resultIndex]) {
-                            collectResults[resultIndex] = collect = Arrays.copyOf(collect, collect.length * SCALE_FACTOR);
-                        }
-                        collect[collectResultSize[resultIndex]++] = xAccess.getLogical(xIter);
+                    int resultIndex = groups.getGroupId(xIter.getIndex());
+                    if (resultIndex != GroupIndex.NO_GROUP) {
+                        collectResults[resultIndex][collectResultSize[resultIndex]++] = xAccess.getLogical(xIter);
                     }
                 }
-
-                RStringVector[] resultNames = getSplitNames.getNames(x, fAccess, fIter, nLevels, collectResultSize);
                 for (int i = 0; i < nLevels; i++) {
-                    results[i] = RDataFactory.createLogicalVector(Arrays.copyOfRange(collectResults[i], 0, collectResultSize[i]), isXComplete,
-                                    (resultNames != null) ? resultNames[i] : null);
+                    results[i] = RDataFactory.createLogicalVector(collectResults[i], isXComplete, (resultNames != null) ? resultNames[i] : null);
                 }
                 break;
             }
             case Raw: {
-                // Initialize result arrays
-                byte[][] collectResults = new byte[nLevels][INITIAL_SIZE];
-
-                // perform split
+                byte[][] collectResults = new byte[nLevels][];
+                for (int i = 0; i < nLevels; i++) {
+                    collectResults[i] = new byte[groupSizes[i]];
+                }
                 while (xAccess.next(xIter)) {
-                    fAccess.nextWithWrap(fIter);
-                    if (!fAccess.isNA(fIter)) {
-                        // a factor is a 1-based int vector
-                        int resultIndex = fAccess.getInt(fIter) - 1;
-                        byte[] collect = collectResults[resultIndex];
-                        if (collect.length == collectResultSize[resultIndex]) {
-                            collectResults[resultIndex] = collect = Arrays.copyOf(collect, collect.length * SCALE_FACTOR);
-                        }
-                        collect[collectResultSize[resultIndex]++] = xAccess.getRaw(xIter);
+                    int resultIndex = groups.getGroupId(xIter.getIndex());
+                    if (resultIndex != GroupIndex.NO_GROUP) {
+                        collectResults[resultIndex][collectResultSize[resultIndex]++] = xAccess.getRaw(xIter);
                     }
                 }
-
-                RStringVector[] resultNames = getSplitNames.getNames(x, fAccess, fIter, nLevels, collectResultSize);
                 for (int i = 0; i < nLevels; i++) {
-                    results[i] = RDataFactory.createRawVector(Arrays.copyOfRange(collectResults[i], 0, collectResultSize[i]),
-                                    (resultNames != null) ? resultNames[i] : null);
+                    results[i] = RDataFactory.createRawVector(collectResults[i], (resultNames != null) ? resultNames[i] : null);
                 }
                 break;
             }
@@ -272,7 +209,7 @@ public abstract class Split extends RBuiltinNode.Arg2 {
 
     @Specialization(replaces = "split")
     protected RList splitGeneric(RAbstractVector x, RIntVector f) {
-        return split(x, f, x.slowPathAccess(), f.slowPathAccess(), VectorDataLibrary.getFactory().getUncached());
+        return split(x, f, x.slowPathAccess(), VectorDataLibrary.getFactory().getUncached(), VectorDataLibrary.getFactory().getUncached());
     }
 
     protected abstract static class GetSplitNames extends RBaseNode {
@@ -281,15 +218,16 @@ public abstract class Split extends RBuiltinNode.Arg2 {
         @Child private GetNamesAttributeNode getNamesNode = GetNamesAttributeNode.create();
         @Child private VectorDataLibrary namesDataLib = VectorDataLibrary.getFactory().createDispatched(DSLConfig.getGenericDataLibraryCacheSize());
 
-        private RStringVector[] getNames(RAbstractVector x, VectorAccess fAccess, SequentialIterator fIter, int nLevels, int[] collectResultSize) {
+        private RStringVector[] getNames(RAbstractVector x, GroupIndex groups, int[] groupSizes) {
             RStringVector xNames = getNamesNode.getNames(x);
             if (namesProfile.profile(xNames != null)) {
+                int nLevels = groupSizes.length;
                 String[][] namesArr = new String[nLevels][];
                 int[] resultNamesIdxs = new int[nLevels];
                 for (int i = 0; i < nLevels; i++) {
-                    namesArr[i] = new String[collectResultSize[i]];
+                    namesArr[i] = new String[groupSizes[i]];
                 }
-                execute(fAccess, fIter, xNames, namesArr, resultNamesIdxs);
+                execute(groups, xNames, namesArr, resultNamesIdxs);
                 RStringVector[] resultNames = new RStringVector[nLevels];
                 for (int i = 0; i < nLevels; i++) {
                     resultNames[i] = RDataFactory.createStringVector(namesArr[i], namesDataLib.isComplete(xNames.getData()));
@@ -299,23 +237,23 @@ public abstract class Split extends RBuiltinNode.Arg2 {
             return null;
         }
 
-        protected abstract void execute(VectorAccess fAccess, SequentialIterator fIter, RStringVector names, String[][] namesArr, int[] resultNamesIdxs);
+        protected abstract void execute(GroupIndex groups, RStringVector names, String[][] namesArr, int[] resultNamesIdxs);
 
         @Specialization(guards = "namesAccess.supports(names)", limit = "getVectorAccessCacheSize()")
-        protected void fillNames(VectorAccess fAccess, SequentialIterator fIter, RStringVector names, String[][] namesArr, int[] resultNamesIdxs,
+        protected void fillNames(GroupIndex groups, RStringVector names, String[][] namesArr, int[] resultNamesIdxs,
                         @Cached("names.access()") VectorAccess namesAccess) {
             SequentialIterator namesIter = namesAccess.access(names);
             while (namesAccess.next(namesIter)) {
-                fAccess.nextWithWrap(fIter);
-                int resultIndex = fAccess.getInt(fIter) - 1; // a factor is a 1-based int
-                                                             // vector
-                namesArr[resultIndex][resultNamesIdxs[resultIndex]++] = namesAccess.getString(namesIter);
+                int resultIndex = groups.getGroupId(namesIter.getIndex());
+                if (resultIndex != GroupIndex.NO_GROUP) {
+                    namesArr[resultIndex][resultNamesIdxs[resultIndex]++] = namesAccess.getString(namesIter);
+                }
             }
         }
 
         @Specialization(replaces = "fillNames")
-        protected void fillNamesGeneric(VectorAccess fAccess, SequentialIterator fIter, RStringVector names, String[][] namesArr, int[] resultNamesIdxs) {
-            fillNames(fAccess, fIter, names, namesArr, resultNamesIdxs, names.slowPathAccess());
+        protected void fillNamesGeneric(GroupIndex groups, RStringVector names, String[][] namesArr, int[] resultNamesIdxs) {
+            fillNames(groups, names, namesArr, resultNamesIdxs, names.slowPathAccess());
         }
     }
 
@@ -51,6 +51,7 @@ import com.oracle.truffle.r.runtime.data.nodes.GetReadonlyData;
 import com.oracle.truffle.r.runtime.ffi.AltrepRFFI;
 import com.oracle.truffle.r.runtime.ffi.MiscRFFI;
 import com.oracle.truffle.r.runtime.ops.BinaryArithmetic;
+import com.oracle.truffle.r.runtime.ops.ParallelKernels;
 import com.oracle.truffle.r.runtime.ops.na.NACheck;
 
 /**
@@ -141,8 +142,14 @@ public abstract class Sum extends RBuiltinNode.Arg2 {
     }
 
     @Specialization(replaces = {"sumLengthOneRDoubleVector", "sumLengthOneAltrep"}, guards = "args.getLength() == 1")
-    protected Object sumLengthOne(RArgsValuesAndNames args, boolean naRm) {
-        return reduce.executeReduce(args.getArgument(0), naRm, false);
+    protected Object sumLengthOne(RArgsValuesAndNames args, boolean naRm,
+                    @Cached("createBinaryProfile()") ConditionProfile kernelProfile) {
+        Object value = args.getArgument(0);
+        double[] kernelInput = value instanceof RDoubleVector && !fullPrecision() ? ParallelKernels.getKernelInput(getRContext(), (RDoubleVector) value) : null;
+        if (kernelProfile.profile(kernelInput != null)) {
+            return ParallelKernels.sum(kernelInput, ((RDoubleVector) value).getLength(), naRm, ParallelKernels.getThreads(getRContext()));
+        }
+        return reduce.executeReduce(value, naRm, false);
     }
 
     @Specialization(replaces = {"sumLengthOneRDoubleVector", "sumLengthOneAltrep", "sumLengthOne"})
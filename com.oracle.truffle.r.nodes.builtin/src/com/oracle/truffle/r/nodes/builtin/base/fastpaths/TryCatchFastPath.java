@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.nodes.builtin.base.fastpaths;
+
+import static com.oracle.truffle.r.runtime.builtins.RBehavior.COMPLEX;
+import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.SUBSTITUTE;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.r.nodes.function.PromiseHelperNode;
+import com.oracle.truffle.r.nodes.function.call.RExplicitCallNode;
+import com.oracle.truffle.r.nodes.function.visibility.GetVisibilityNode;
+import com.oracle.truffle.r.nodes.function.visibility.SetVisibilityNode;
+import com.oracle.truffle.r.runtime.ArgumentsSignature;
+import com.oracle.truffle.r.runtime.RErrorHandling;
+import com.oracle.truffle.r.runtime.RVisibility;
+import com.oracle.truffle.r.runtime.ReturnException;
+import com.oracle.truffle.r.runtime.builtins.RBuiltin;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.data.RArgsValuesAndNames;
+import com.oracle.truffle.r.runtime.data.RFunction;
+import com.oracle.truffle.r.runtime.data.RList;
+import com.oracle.truffle.r.runtime.data.RMissing;
+import com.oracle.truffle.r.runtime.data.RPromise;
+import com.oracle.truffle.r.runtime.nodes.RFastPathNode;
+
+/**
+ * {@code tryCatch} is often used to guard small operations, e.g. parsing or type conversions, in
+ * loops. The R implementation calls four nested closures, creates the handler entries with a result
+ * list and materializes the environment of the caller even if no condition is signalled. This fast
+ * path handles the common calls with no handler or a single handler, e.g.
+ * {@code tryCatch(expr, error = function(e) ...)}, with or without {@code finally}: it evaluates
+ * {@code expr} directly with a lightweight handler entry created by
+ * {@link RErrorHandling#addExitingHandler}. The result list and the condition object are only
+ * created when the handler is selected. Other calls, e.g. with several handlers, use the R
+ * implementation.
+ */
+@RBuiltin(name = "tryCatch", kind = SUBSTITUTE, parameterNames = {"expr", "...", "finally"}, nonEvalArgs = {0, 1, 2}, behavior = COMPLEX, visibility = RVisibility.CUSTOM)
+public class TryCatchFastPath extends RFastPathNode {
+    @Child private PromiseHelperNode exprPromiseHelper = new PromiseHelperNode();
+    @Child private PromiseHelperNode handlerPromiseHelper = new PromiseHelperNode();
+    @Child private PromiseHelperNode finallyPromiseHelper = new PromiseHelperNode();
+    @Child private RExplicitCallNode handlerCall;
+    @Child private GetVisibilityNode getVisibility = GetVisibilityNode.create();
+    @Child private SetVisibilityNode setVisibility = SetVisibilityNode.create();
+    private final ConditionProfile hasHandlerProfile = ConditionProfile.createBinaryProfile();
+    private final ConditionProfile hasFinallyProfile = ConditionProfile.createBinaryProfile();
+    private final BranchProfile returnExceptionProfile = BranchProfile.create();
+
+    @Override
+    public Object execute(VirtualFrame frame, Object... args) {
+        if (args[0] == RMissing.instance) {
+            return null;
+        }
+        Object handlerArg = null;
+        String handlerClass = null;
+        if (args[1] instanceof RArgsValuesAndNames) {
+            RArgsValuesAndNames dotdotdot = (RArgsValuesAndNames) args[1];
+            if (dotdotdot.getLength() > 1) {
+                return null;
+            } else if (dotdotdot.getLength() == 1) {
+                handlerClass = dotdotdot.getSignature().getName(0);
+                if (handlerClass == null || handlerClass.isEmpty()) {
+                    return null;
+                }
+                handlerArg = dotdotdot.getArgument(0);
+            }
+        } else if (args[1] != RMissing.instance) {
+            return null;
+        }
+        boolean delegated = false;
+        try {
+            if (hasHandlerProfile.profile(handlerArg != null)) {
+                // The R code evaluates the handlers after registering finally and before the
+                // expression, if the handler is not a function, the forced promise is reused by the
+                // R code, which also evaluates finally
+                Object handler = evaluate(frame, handlerArg, handlerPromiseHelper);
+                if (!(handler instanceof RFunction)) {
+                    delegated = true;
+                    return null;
+                }
+                return evaluateWithHandler(frame, args[0], handlerClass, (RFunction) handler);
+            } else {
+                return evaluate(frame, args[0], exprPromiseHelper);
+            }
+        } finally {
+            if (hasFinallyProfile.profile(args[2] != RMissing.instance) && !delegated) {
+                // finally is evaluated by on.exit in the R code, it does not change the visibility
+                boolean visible = getVisibility.execute(frame);
+                evaluate(frame, args[2], finallyPromiseHelper);
+                setVisibility.execute(frame, visible);
+            }
+        }
+    }
+
+    private Object evaluateWithHandler(VirtualFrame frame, Object expr, String handlerClass, RFunction handler) {
+        RContext context = getRContext();
+        Object savedHandlerStack = RErrorHandling.getHandlerStack(context);
+        RList entry = RErrorHandling.addExitingHandler(handlerClass, handler, context);
+        Object cond;
+        try {
+            return evaluate(frame, expr, exprPromiseHelper);
+        } catch (ReturnException ex) {
+            returnExceptionProfile.enter();
+            cond = RErrorHandling.getExitingHandlerCondition(ex, entry);
+            if (cond == null) {
+                throw ex;
+            }
+        } finally {
+            RErrorHandling.restoreHandlerStack(savedHandlerStack, context);
+        }
+        if (handlerCall == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            handlerCall = insert(RExplicitCallNode.create());
+        }
+        return handlerCall.call(frame, handler, new RArgsValuesAndNames(new Object[]{cond}, ArgumentsSignature.empty(1)));
+    }
+
+    private static Object evaluate(VirtualFrame frame, Object value, PromiseHelperNode promiseHelper) {
+        return value instanceof RPromise ? promiseHelper.evaluate(frame, (RPromise) value) : value;
+    }
+}
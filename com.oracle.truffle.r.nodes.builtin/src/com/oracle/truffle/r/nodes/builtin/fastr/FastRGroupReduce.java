@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.nodes.builtin.fastr;
+
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.doubleValue;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.gte;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.integerValue;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.singleElement;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.stringValue;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.toBoolean;
+import static com.oracle.truffle.r.runtime.builtins.RBehavior.PURE;
+import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.PRIMITIVE;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.r.nodes.builtin.RBuiltinNode;
+import com.oracle.truffle.r.runtime.RError.Message;
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.builtins.RBuiltin;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RDoubleVector;
+import com.oracle.truffle.r.runtime.data.RIntVector;
+import com.oracle.truffle.r.runtime.data.RNull;
+import com.oracle.truffle.r.runtime.ops.GroupIndex;
+import com.oracle.truffle.r.runtime.ops.GroupReductions;
+
+/**
+ * Applies one of the builtin reductions {@code sum}, {@code mean}, {@code min}, {@code max} or
+ * {@code length} to the groups of {@code x} given by the 1-based codes {@code group} in the range
+ * {@code 1 .. ngroup}. Used by the {@code tapply} override for these functions instead of
+ * {@code split} and {@code lapply}. The result has an element for each group, which is {@code NA}
+ * for the empty groups.
+ *
+ * Returns {@code NULL} if the result would differ from calling the R function on each group, e.g.
+ * because of an integer overflow warning, in which case the caller should use the generic
+ * implementation.
+ */
+@RBuiltin(name = ".fastr.groupReduce", kind = PRIMITIVE, parameterNames = {"x", "group", "ngroup", "fun", "na.rm"}, behavior = PURE)
+public abstract class FastRGroupReduce extends RBuiltinNode.Arg5 {
+
+    static {
+        Casts casts = new Casts(FastRGroupReduce.class);
+        casts.arg("x").mustBe(integerValue().or(doubleValue())).asVector();
+        casts.arg("group").mustBe(integerValue()).asIntegerVector();
+        casts.arg("ngroup").asIntegerVector().findFirst().mustNotBeNA().mustBe(gte(0));
+        casts.arg("fun").mustBe(stringValue()).asStringVector().mustBe(singleElement()).findFirst();
+        casts.arg("na.rm").asLogicalVector().findFirst().mustNotBeNA().map(toBoolean());
+    }
+
+    @Specialization
+    @TruffleBoundary
+    protected Object groupReduce(RIntVector x, RIntVector group, int ngroup, String fun, boolean naRm) {
+        GroupIndex groups = GroupIndex.fromCodes(group.getReadonlyData(), x.getLength(), ngroup);
+        int[] sizes = groups.getGroupSizes();
+        if (allEmpty(sizes)) {
+            return RNull.instance;
+        }
+        int[] data = x.getReadonlyData();
+        switch (fun) {
+            case "sum":
+                int[] sums = new int[ngroup];
+                return GroupReductions.sum(data, 0, groups, naRm, sums, 0) ? createResult(sums, sizes) : RNull.instance;
+            case "mean":
+                double[] doubleData = new double[data.length];
+                for (int i = 0; i < data.length; i++) {
+                    doubleData[i] = RRuntime.int2double(data[i]);
+                }
+                return createResult(GroupReductions.mean(doubleData, groups, naRm), sizes);
+            case "min":
+            case "max":
+                int[] extremes = GroupReductions.extreme(data, groups, naRm, "max".equals(fun));
+                return extremes != null ? createResult(extremes, sizes) : RNull.instance;
+            case "length":
+                return createResult(sizes.clone(), sizes);
+            default:
+                throw error(Message.INVALID_ARGUMENT, "fun");
+        }
+    }
+
+    @Specialization
+    @TruffleBoundary
+    protected Object groupReduce(RDoubleVector x, RIntVector group, int ngroup, String fun, boolean naRm) {
+        GroupIndex groups = GroupIndex.fromCodes(group.getReadonlyData(), x.getLength(), ngroup);
+        int[] sizes = groups.getGroupSizes();
+        if (allEmpty(sizes)) {
+            return RNull.instance;
+        }
+        double[] data = x.getReadonlyData();
+        switch (fun) {
+            case "sum":
+                double[] sums = new double[ngroup];
+                GroupReductions.sum(data, 0, groups, naRm, sums, 0);
+                return createResult(sums, sizes);
+            case "mean":
+                return createResult(GroupReductions.mean(data, groups, naRm), sizes);
+            case "min":
+            case "max":
+                double[] extremes = GroupReductions.extreme(data, groups, naRm, "max".equals(fun));
+                return extremes != null ? createResult(extremes, sizes) : RNull.instance;
+            case "length":
+                return createResult(sizes.clone(), sizes);
+            default:
+                throw error(Message.INVALID_ARGUMENT, "fun");
+        }
+    }
+
+    private static boolean allEmpty(int[] sizes) {
+        for (int size : sizes) {
+            if (size != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static RIntVector createResult(int[] values, int[] sizes) {
+        boolean complete = true;
+        for (int g = 0; g < values.length; g++) {
+            if (sizes[g] == 0) {
+                values[g] = RRuntime.INT_NA;
+            }
+            complete &= !RRuntime.isNA(values[g]);
+        }
+        return RDataFactory.createIntVector(values, complete);
+    }
+
+    private static RDoubleVector createResult(double[] values, int[] sizes) {
+        boolean complete = true;
+        for (int g = 0; g < values.length; g++) {
+            if (sizes[g] == 0) {
+                values[g] = RRuntime.DOUBLE_NA;
+            }
+            complete &= !RRuntime.isNA(values[g]);
+        }
+        return RDataFactory.createDoubleVector(values, complete);
+    }
+}
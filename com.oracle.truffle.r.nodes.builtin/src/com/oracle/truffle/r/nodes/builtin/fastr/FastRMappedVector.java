@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.nodes.builtin.fastr;
+
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.constant;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.gte;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.singleElement;
+import static com.oracle.truffle.r.nodes.builtin.CastBuilder.Predef.stringValue;
+import static com.oracle.truffle.r.runtime.builtins.RBehavior.COMPLEX;
+import static com.oracle.truffle.r.runtime.builtins.RBuiltinKind.PRIMITIVE;
+
+import java.io.IOException;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.r.nodes.builtin.RBuiltinNode;
+import com.oracle.truffle.r.runtime.RError.Message;
+import com.oracle.truffle.r.runtime.builtins.RBuiltin;
+import com.oracle.truffle.r.runtime.data.MappedFileStorage;
+import com.oracle.truffle.r.runtime.data.RDoubleVector;
+import com.oracle.truffle.r.runtime.data.RIntVector;
+import com.oracle.truffle.r.runtime.ffi.util.NativeMemory.ElementType;
+
+/**
+ * Creates a double or integer vector whose data are a region of a binary file mapped into memory,
+ * e.g. written by {@code writeBin} in the native byte order. The data are not read until accessed
+ * and are copied to the heap only when the vector is modified in R. The file is never modified.
+ *
+ * {@code length} is the number of elements, by default, or if {@code -1}, all the elements from
+ * {@code offset}, which is in bytes, to the end of the file.
+ */
+@RBuiltin(name = ".fastr.mmap", kind = PRIMITIVE, parameterNames = {"path", "type", "offset", "length"}, behavior = COMPLEX)
+public abstract class FastRMappedVector extends RBuiltinNode.Arg4 {
+
+    static {
+        Casts casts = new Casts(FastRMappedVector.class);
+        casts.arg("path").mustBe(stringValue()).asStringVector().mustBe(singleElement()).findFirst();
+        casts.arg("type").mapMissing(constant("double")).mustBe(stringValue()).asStringVector().mustBe(singleElement()).findFirst();
+        casts.arg("offset").mapMissing(constant(0d)).asDoubleVector().findFirst().mustNotBeNA().mustBe(gte(0d));
+        casts.arg("length").mapMissing(constant(-1)).asIntegerVector().findFirst().mustNotBeNA().mustBe(gte(-1), Message.INVALID_ARGUMENT, "length");
+    }
+
+    @Specialization
+    @TruffleBoundary
+    protected Object mmap(String pathName, String typeName, double offsetArg, int lengthArg) {
+        ElementType type;
+        int elementBytes;
+        if ("double".equals(typeName)) {
+            type = ElementType.DOUBLE;
+            elementBytes = Double.BYTES;
+        } else if ("integer".equals(typeName)) {
+            type = ElementType.INT;
+            elementBytes = Integer.BYTES;
+        } else {
+            throw error(Message.INVALID_ARGUMENT, "type");
+        }
+        TruffleFile file = getRContext().getSafeTruffleFile(pathName);
+        long offset = (long) offsetArg;
+        MappedFileStorage storage;
+        try {
+            long length = lengthArg;
+            if (length == -1) {
+                length = (file.size() - offset) / elementBytes;
+                if (length > Integer.MAX_VALUE) {
+                    throw error(Message.GENERIC, "the file is too large, specify the length of the vector");
+                }
+            }
+            storage = MappedFileStorage.map(file, offset, type, (int) Math.max(length, 0));
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            throw error(Message.CANNOT_OPEN_FILE, pathName, e.getMessage());
+        }
+        return type == ElementType.DOUBLE ? RDoubleVector.createMapped(storage) : RIntVector.createMapped(storage);
+    }
+}
@@ -76,6 +76,29 @@ public class StringSearchNodeTest extends TestBase {
         });
     }
 
+    @Test
+    public void testIndexedTarget() {
+        execInContext(() -> {
+            create();
+
+            // long enough to get a persistent index, with duplicates of every name
+            String[] names = new String[200];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = "n" + (i % 150);
+            }
+            RStringVector a = createVector(names);
+            RStringVector b = createVector("n0", "n149", "n42", "x", "n7");
+            // the index is built on the second search and used by the following ones
+            for (int i = 0; i < 3; i++) {
+                assertResult(a, b, executeSearch(a, b));
+            }
+            a.setDataAt(a.getInternalStore(), 0, "x");
+            assertResult(a, b, executeSearch(a, b));
+            assertThat(executeSearch(a, createVector("x")).getDataAt(0), is(1));
+            return null;
+        });
+    }
+
     private static RStringVector createVector(String... elements) {
         boolean complete = true;
         for (int i = 0; i < elements.length; i++) {
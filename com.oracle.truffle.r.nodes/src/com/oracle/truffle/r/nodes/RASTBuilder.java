@@ -365,6 +365,13 @@ public final class RASTBuilder implements RCodeBuilder<RSyntaxNode> {
         return context;
     }
 
+    @Override
+    public void reset() {
+        if (parseDataBuilder != null) {
+            parseDataBuilder = new ParseDataBuilder();
+        }
+    }
+
     @Override
     public RSyntaxNode constant(SourceSection source, Object value) {
         recordExpr(source);
@@ -180,6 +180,7 @@ final class SearchFirstStringNode extends Node {
     }
 
     private final BranchProfile notFoundProfile = BranchProfile.create();
+    private final ConditionProfile indexProfile = ConditionProfile.createBinaryProfile();
     private final ConditionProfile hashingProfile = ConditionProfile.createBinaryProfile();
 
     private RIntVector searchGeneric(RStringVector target, int targetLength, RStringVector elements, int elementsLength, int notFoundStartIndex, boolean nullOnNotFound,
@@ -190,17 +191,17 @@ final class SearchFirstStringNode extends Node {
         long hashingCost = targetLength * 10L + 10 /* constant overhead */;
         long lookupCost = elementsLength * 2L;
         long nestedLoopCost = targetLength * (long) elementsLength;
-        NonRecursiveHashMapCharacter map;
-        if (hashingProfile.profile(nestedLoopCost > hashingCost + lookupCost)) {
+        // the persistent index of the target also maps NA, but NA elements are never looked up
+        NonRecursiveHashMapCharacter map = target.getStringIndex();
+        if (indexProfile.profile(map == null) && hashingProfile.profile(nestedLoopCost > hashingCost + lookupCost)) {
             map = new NonRecursiveHashMapCharacter(targetLength);
-            for (int i = 0; i < targetLength; i++) {
+            // iterate backwards so that the first occurrence of a duplicate name wins
+            for (int i = targetLength - 1; i >= 0; i--) {
                 String name = target.getDataAt(i);
                 if (!targetNACheck.check(name)) {
                     map.put(name, i);
                 }
             }
-        } else {
-            map = null;
         }
         int notFoundIndex = notFoundStartIndex;
         for (int i = 0; i < elementsLength; i++) {
@@ -32,6 +32,7 @@ import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.r.nodes.unary.CastStringNode;
+import com.oracle.truffle.r.runtime.Collections;
 import com.oracle.truffle.r.runtime.DSLConfig;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.RType;
@@ -707,6 +708,16 @@ public abstract class MatchInternalNode extends AbstractMatchNode {
                     @Cached("create()") BranchProfile foundProfile,
                     @Cached("create()") BranchProfile notFoundProfile) {
         String element = xDataLib.getStringAt(x.getData(), 0);
+        Collections.NonRecursiveHashMapCharacter tableIndex = table.getStringIndex();
+        if (tableIndex != null) {
+            int index = tableIndex.get(element);
+            if (index >= 0) {
+                foundProfile.enter();
+                return index + 1;
+            }
+            notFoundProfile.enter();
+            return nomatch;
+        }
         Object tableData = table.getData();
         SeqIterator it = tableDataLib.iterator(tableData);
         if (naProfile.isNA(element)) {
@@ -975,6 +986,9 @@ public abstract class MatchInternalNode extends AbstractMatchNode {
 
     @ImportStatic(DSLConfig.class)
     protected abstract static class MatchAsStringVectorNode extends MatchAsNode {
+
+        private final ConditionProfile tableIndexProfile = ConditionProfile.createBinaryProfile();
+
         @Specialization(limit = "getTypedVectorDataLibraryCacheSize()")
         protected RIntVector match(RAbstractAtomicVector x, RAbstractAtomicVector table, int nomatch,
                         @CachedLibrary("x.getData()") VectorDataLibrary xDataLib,
@@ -985,6 +999,20 @@ public abstract class MatchInternalNode extends AbstractMatchNode {
             int tableLength = tableDataLib.getLength(tableData);
             int[] result = initResult(xLength, nomatch);
             boolean matchAll = true;
+            Collections.NonRecursiveHashMapCharacter tableIndex = table instanceof RStringVector ? ((RStringVector) table).getStringIndex() : null;
+            if (tableIndexProfile.profile(tableIndex != null)) {
+                // the table is a large character vector that is matched against repeatedly
+                SeqIterator it = xDataLib.iterator(xData);
+                while (xDataLib.nextLoopCondition(xData, it)) {
+                    int index = tableIndex.get(xDataLib.getNextString(xData, it));
+                    if (index != -1) {
+                        result[it.getIndex()] = index + 1;
+                    } else {
+                        matchAll = false;
+                    }
+                }
+                return RDataFactory.createIntVector(result, setCompleteState(matchAll, nomatch));
+            }
             NonRecursiveHashMapCharacter hashTable;
             RandomAccessIterator rit = tableDataLib.randomAccessIterator(tableData);
             if (bigTableProfile.profile(tableLength > (xLength * TABLE_SIZE_FACTOR))) {
@@ -23,6 +23,7 @@
 package com.oracle.truffle.r.parser;
 
 import java.util.List;
+import java.util.function.Function;
 
 import org.antlr.v4.runtime.ANTLRErrorStrategy;
 import org.antlr.v4.runtime.BaseErrorListener;
@@ -39,6 +40,7 @@ import org.antlr.v4.runtime.atn.ATN;
 import org.antlr.v4.runtime.atn.ATNConfigSet;
 import org.antlr.v4.runtime.atn.ParserATNSimulator;
 import org.antlr.v4.runtime.atn.PredictionContextCache;
+import org.antlr.v4.runtime.atn.PredictionMode;
 import org.antlr.v4.runtime.dfa.DFA;
 
 import com.oracle.truffle.api.source.Source;
@@ -125,6 +127,22 @@ public class DefaultRParserFactory extends RParserFactory {
         }
     }
 
+    /**
+     * Prediction strategies of the parser.
+     */
+    public enum PredictionStrategy {
+        /**
+         * Full LL prediction.
+         */
+        LL,
+        /**
+         * Fast SLL prediction first. SLL prediction is sufficient for virtually all R code, but it
+         * may report a syntax error for valid input, therefore the source is parsed again with full
+         * LL prediction if SLL prediction fails.
+         */
+        SLL_THEN_LL
+    }
+
     private static class DefaultParser implements Parser {
 
         private static final boolean ASSERTIONS_ENABLED;
@@ -135,20 +153,40 @@ public class DefaultRParserFactory extends RParserFactory {
             ASSERTIONS_ENABLED = assertionsEnabled;
         }
 
+        private final PredictionStrategy strategy;
+
+        DefaultParser(PredictionStrategy strategy) {
+            this.strategy = strategy;
+        }
+
         @Override
         public List<RSyntaxNode> script(Source source, RCodeBuilder<RSyntaxNode> builder, TruffleRLanguage language) throws ParseException {
             RContext context = RContext.getInstance();
-            RLexer lexer = new RLexer(CharStreams.fromString(source.getCharacters().toString()));
-            RParser parser = new RParser(source, lexer, builder, language, context.sourceCache);
-            parser.removeErrorListeners();
-            parser.addErrorListener(ThrowImmediatelyErrorListener.INSTANCE);
-            lexer.removeErrorListeners();
-            lexer.addErrorListener(ThrowImmediatelyErrorListener.INSTANCE);
-            parser.setErrorHandler(ThrowImmediatelyErrorStrategy.INSTANCE);
-            parser.setBuildParseTree(false);
+            return parse(source, builder, lexer -> new RParser(source, lexer, builder, language, context.sourceCache));
+        }
+
+        @Override
+        public List<RSyntaxNode> statements(Source source, Source fullSource, int startLine, RCodeBuilder<RSyntaxNode> builder, TruffleRLanguage language) throws ParseException {
+            RContext context = RContext.getInstance();
+            return parse(source, builder, lexer -> new RParser(source, lexer, fullSource, startLine, builder, language, context.sourceCache));
+        }
+
+        private List<RSyntaxNode> parse(Source source, RCodeBuilder<RSyntaxNode> builder, Function<RLexer, RParser> factory) throws ParseException {
             try {
                 try {
-                    return parser.script().v;
+                    if (strategy == PredictionStrategy.SLL_THEN_LL) {
+                        try {
+                            return createParser(source, factory, PredictionMode.SLL).script().v;
+                        } catch (IllegalArgumentException | RecognitionException e) {
+                            Throwable error = e instanceof IllegalArgumentException ? e.getCause() : e;
+                            if (!(error instanceof RecognitionException) || error instanceof LexerNoViableAltException) {
+                                // not caused by the prediction
+                                throw e;
+                            }
+                            builder.reset();
+                        }
+                    }
+                    return createParser(source, factory, PredictionMode.LL).script().v;
                 } catch (IllegalArgumentException e) {
                     if (e.getCause() instanceof RecognitionException) {
                         throw (RecognitionException) e.getCause();
@@ -164,33 +202,17 @@ public class DefaultRParserFactory extends RParserFactory {
             }
         }
 
-        @Override
-        public List<RSyntaxNode> statements(Source source, Source fullSource, int startLine, RCodeBuilder<RSyntaxNode> builder, TruffleRLanguage language) throws ParseException {
-            RContext context = RContext.getInstance();
+        private static RParser createParser(Source source, Function<RLexer, RParser> factory, PredictionMode mode) {
             RLexer lexer = new RLexer(CharStreams.fromString(source.getCharacters().toString()));
-            RParser parser = new RParser(source, lexer, fullSource, startLine, builder, language, context.sourceCache);
+            RParser parser = factory.apply(lexer);
+            parser.getInterpreter().setPredictionMode(mode);
             parser.removeErrorListeners();
             parser.addErrorListener(ThrowImmediatelyErrorListener.INSTANCE);
             lexer.removeErrorListeners();
             lexer.addErrorListener(ThrowImmediatelyErrorListener.INSTANCE);
             parser.setErrorHandler(ThrowImmediatelyErrorStrategy.INSTANCE);
             parser.setBuildParseTree(false);
-            try {
-                try {
-                    return parser.script().v;
-                } catch (IllegalArgumentException e) {
-                    if (e.getCause() instanceof RecognitionException) {
-                        throw (RecognitionException) e.getCause();
-                    } else {
-                        throw e;
-                    }
-                }
-            } catch (RecognitionException e) {
-                throw handleRecognitionException(source, e);
-            } catch (StackOverflowError e) {
-                handleStackOverflow(source);
-                throw e;
-            }
+            return parser;
         }
 
         private static void handleStackOverflow(Source source) {
@@ -235,6 +257,13 @@ public class DefaultRParserFactory extends RParserFactory {
 
     @Override
     protected Parser createParser() {
-        return new DefaultParser();
+        return new DefaultParser(PredictionStrategy.SLL_THEN_LL);
+    }
+
+    /**
+     * Creates a parser with the given prediction strategy, mainly for testing.
+     */
+    public static Parser createParser(PredictionStrategy strategy) {
+        return new DefaultParser(strategy);
     }
 }
@@ -462,6 +462,146 @@ public final class Collections {
         }
     }
 
+    /**
+     * Open addressing map from objects compared by identity to positive counts. Removed entries are
+     * compacted by shifting the following entries of the probe sequence back, so that no tombstones
+     * accumulate when the same objects are added and removed over and over.
+     */
+    public static final class IdentityCountMap<K> {
+        private Object[] keys;
+        private int[] counts;
+        private int size;
+
+        public IdentityCountMap(int capacity) {
+            int c = Integer.highestOneBit(Math.max(capacity, 8) - 1) << 1;
+            keys = new Object[c];
+            counts = new int[c];
+        }
+
+        private int index(Object key) {
+            int hash = System.identityHashCode(key);
+            return (hash ^ (hash >>> 16)) & (keys.length - 1);
+        }
+
+        private int find(Object key) {
+            int mask = keys.length - 1;
+            int ind = index(key);
+            while (keys[ind] != null) {
+                if (keys[ind] == key) {
+                    return ind;
+                }
+                ind = (ind + 1) & mask;
+            }
+            return -1;
+        }
+
+        /**
+         * Returns the count of {@code key} or {@code 0} if it is not in the map.
+         */
+        public int get(K key) {
+            int ind = find(key);
+            return ind < 0 ? 0 : counts[ind];
+        }
+
+        /**
+         * Increments the count of {@code key}, adding it to the map if not present, and returns the
+         * new count.
+         */
+        public int increment(K key) {
+            assert key != null;
+            int ind = find(key);
+            if (ind >= 0) {
+                return ++counts[ind];
+            }
+            if ((size + 1) * 4 > keys.length * 3) {
+                rehash(keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            ind = index(key);
+            while (keys[ind] != null) {
+                ind = (ind + 1) & mask;
+            }
+            keys[ind] = key;
+            counts[ind] = 1;
+            size++;
+            return 1;
+        }
+
+        /**
+         * Decrements the count of {@code key} and removes it from the map once the count drops to
+         * zero. Returns the new count or {@code -1} if the key is not in the map.
+         */
+        public int decrement(K key) {
+            int ind = find(key);
+            if (ind < 0) {
+                return -1;
+            }
+            int result = --counts[ind];
+            if (result == 0) {
+                removeAt(ind);
+            }
+            return result;
+        }
+
+        private void removeAt(int removed) {
+            int mask = keys.length - 1;
+            int hole = removed;
+            int ind = (hole + 1) & mask;
+            while (keys[ind] != null) {
+                int home = index(keys[ind]);
+                // move the entry to the hole unless its home lies cyclically in (hole, ind]
+                if (((ind - home) & mask) >= ((ind - hole) & mask)) {
+                    keys[hole] = keys[ind];
+                    counts[hole] = counts[ind];
+                    hole = ind;
+                }
+                ind = (ind + 1) & mask;
+            }
+            keys[hole] = null;
+            counts[hole] = 0;
+            size--;
+        }
+
+        private void rehash(int newCapacity) {
+            Object[] oldKeys = keys;
+            int[] oldCounts = counts;
+            keys = new Object[newCapacity];
+            counts = new int[newCapacity];
+            int mask = newCapacity - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    int ind = index(oldKeys[i]);
+                    while (keys[ind] != null) {
+                        ind = (ind + 1) & mask;
+                    }
+                    keys[ind] = oldKeys[i];
+                    counts[ind] = oldCounts[i];
+                }
+            }
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Number of slots, the entries can be enumerated with {@link #getKeyAt(int)} and
+         * {@link #getCountAt(int)} for slots whose key is not {@code null}.
+         */
+        public int capacity() {
+            return keys.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        public K getKeyAt(int slot) {
+            return (K) keys[slot];
+        }
+
+        public int getCountAt(int slot) {
+            return counts[slot];
+        }
+    }
+
     public static final class ArrayListInt {
         private int[] data;
         private int size;
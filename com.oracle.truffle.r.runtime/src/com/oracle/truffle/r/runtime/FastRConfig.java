@@ -52,6 +52,27 @@ public final class FastRConfig {
      */
     public static final String DefaultDownloadMethod;
 
+    /**
+     * Packages whose lazy-load databases are read into memory when FastR's classes are
+     * initialized, which puts them into the image heap when building a native image. Configured
+     * as a comma-separated list via {@code fastr.internal.preload.packages}, see
+     * {@code LazyDBCache}.
+     */
+    public static final String[] PreloadedPackages;
+
+    /**
+     * The FastR home directory to read the {@link #PreloadedPackages} from, given by
+     * {@code fastr.internal.preload.rhome}. Nothing is preloaded if it is not set, the environment
+     * of the image build must not decide what ends up in the image.
+     */
+    public static final String PreloadRHome;
+
+    /**
+     * Directory with parse cache entries that are read into memory together with the
+     * {@link #PreloadedPackages}, see {@code RParseCache}.
+     */
+    public static final String PreloadedParseCache;
+
     static {
         String rffiVal = System.getenv("FASTR_RFFI");
         ManagedMode = rffiVal != null && rffiVal.equals("managed");
@@ -64,6 +85,11 @@ public final class FastRConfig {
         }
         AwtSupport = getBooleanOrTrue("fastr.awt.support");
         DefaultDownloadMethod = System.getProperty("fastr.internal.defaultdownloadmethod");
+        String preloadVal = System.getProperty("fastr.internal.preload.packages");
+        PreloadedPackages = preloadVal == null || preloadVal.isEmpty() ? new String[0] : preloadVal.split(",");
+        String preloadHome = System.getProperty("fastr.internal.preload.rhome");
+        PreloadRHome = preloadHome == null || preloadHome.isEmpty() ? null : preloadHome;
+        PreloadedParseCache = System.getProperty("fastr.internal.preload.parsecache");
     }
 
     private FastRConfig() {
@@ -23,18 +23,104 @@
 package com.oracle.truffle.r.runtime;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import com.oracle.truffle.api.TruffleFile;
 import com.oracle.truffle.r.runtime.context.RContext;
 
 public class LazyDBCache {
 
+    /**
+     * Contents of the lazy-load databases of {@link FastRConfig#PreloadedPackages} keyed by their
+     * path relative to the FastR home directory. FastR's classes are initialized at image build
+     * time, so when building a native image this data is stored in the image heap and the
+     * databases of these packages are never read from disk.
+     */
+    private static final Map<String, PreloadedDB> PRELOADED = preload();
+
+    /**
+     * A lazy-load database read ahead of time together with the size and modification time of
+     * its file, which are compared with the file at run time to detect re-installed packages.
+     * Reading the whole file to compare a content hash would cost as much as not preloading it.
+     */
+    public static final class PreloadedDB {
+        private final byte[] data;
+        private final long lastModified;
+
+        private PreloadedDB(byte[] data, long lastModified) {
+            this.data = data;
+            this.lastModified = lastModified;
+        }
+
+        public static PreloadedDB read(Path path) throws IOException {
+            long lastModified = Files.getLastModifiedTime(path).toMillis();
+            byte[] data = Files.readAllBytes(path);
+            if (Files.getLastModifiedTime(path).toMillis() != lastModified) {
+                throw new IOException("modified while reading: " + path);
+            }
+            return new PreloadedDB(data, lastModified);
+        }
+
+        /**
+         * Returns the preloaded contents, or {@code null} if {@code file} no longer matches them.
+         */
+        public byte[] getData(TruffleFile file) {
+            try {
+                if (file.size() != data.length || file.getLastModifiedTime().toMillis() != lastModified) {
+                    return null;
+                }
+            } catch (IOException | SecurityException ex) {
+                return null;
+            }
+            return data;
+        }
+    }
+
+    private static Map<String, PreloadedDB> preload() {
+        if (FastRConfig.PreloadedPackages.length == 0 || FastRConfig.PreloadRHome == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, PreloadedDB> result = new HashMap<>();
+        for (String pkg : FastRConfig.PreloadedPackages) {
+            String relativePath = "library/" + pkg + "/R/" + pkg + ".rdb";
+            Path path = Paths.get(FastRConfig.PreloadRHome, relativePath);
+            try {
+                if (Files.isRegularFile(path)) {
+                    result.put(relativePath, PreloadedDB.read(path));
+                }
+            } catch (IOException ex) {
+                // not fatal, the database is read on demand instead
+            }
+        }
+        return result;
+    }
+
+    private static byte[] getPreloaded(RContext context, String dbPath) {
+        String home = REnvVars.rHome(context);
+        if (dbPath.length() <= home.length() || !dbPath.startsWith(home) || dbPath.charAt(home.length()) != '/') {
+            return null;
+        }
+        PreloadedDB preloaded = PRELOADED.get(dbPath.substring(home.length() + 1));
+        // guard against packages re-installed into the FastR home
+        return preloaded == null ? null : preloaded.getData(context.getSafeTruffleFile(dbPath));
+    }
+
     public static final class ContextStateImpl implements RContext.ContextState {
         private final Map<String, byte[]> dbCache = new HashMap<>();
 
         public byte[] getData(RContext context, String dbPath) {
             byte[] dbData = dbCache.get(dbPath);
+            if (dbData == null && !PRELOADED.isEmpty()) {
+                dbData = getPreloaded(context, dbPath);
+                if (dbData != null) {
+                    dbCache.put(dbPath, dbData);
+                }
+            }
             if (dbData == null) {
                 try {
                     dbData = context.getSafeTruffleFile(dbPath).readAllBytes();
@@ -203,6 +203,12 @@ public class RErrorHandling {
 
     private static final Object RESTART_TOKEN = new Object();
 
+    /**
+     * Target of the {@link ReturnException} that unwinds to a handler entry created by
+     * {@link #addExitingHandler}, it does not match the caller of any frame.
+     */
+    private static final RCaller EXITING_HANDLER_CALLER = RCaller.createInvalid(null);
+
     private static ContextStateImpl getRErrorHandlingState() {
         return getRErrorHandlingState(RContext.getInstance());
     }
@@ -301,6 +307,50 @@ public class RErrorHandling {
         return oldStack;
     }
 
+    /**
+     * Fast-path version of {@link #createHandlers} for a single exiting handler, used by
+     * {@code tryCatch} calls with one handler. The entry refers neither to the environment of the
+     * caller nor to a result list, these are only created when the handler is selected, and the
+     * {@link ReturnException} thrown then has to be passed to
+     * {@link #getExitingHandlerCondition(ReturnException, RList)} by the caller. The caller is also
+     * responsible for restoring the handler stack returned by {@link #getHandlerStack(RContext)}
+     * before the call.
+     *
+     * @return the new entry
+     */
+    @TruffleBoundary
+    public static RList addExitingHandler(String klass, RFunction handler, RContext ctx) {
+        ContextStateImpl errorHandlingState = getRErrorHandlingState(ctx);
+        RList entry = mkHandlerEntry(klass, RNull.instance, handler, EXITING_HANDLER_CALLER, RNull.instance, RRuntime.LOGICAL_FALSE);
+        errorHandlingState.handlerStack = RDataFactory.createPairList(entry, errorHandlingState.handlerStack);
+        return entry;
+    }
+
+    /**
+     * Returns the condition object for which the handler {@code entry} created by
+     * {@link #addExitingHandler} was selected, or {@code null} if {@code ex} does not unwind to this
+     * handler. For an error signalled by {@link RError}, a {@code simpleError} is created from the
+     * stored message like in the R implementation of {@code tryCatch}.
+     */
+    @TruffleBoundary
+    public static Object getExitingHandlerCondition(ReturnException ex, RList entry) {
+        if (ex.getTarget() != EXITING_HANDLER_CALLER) {
+            return null;
+        }
+        RList result = (RList) ex.getResult();
+        if (result.getDataAt(RESULT_HANDLER) != entry) {
+            return null;
+        }
+        Object cond = result.getDataAt(RESULT_COND);
+        return cond == RNull.instance ? createSimpleError(geterrmessage(), result.getDataAt(RESULT_CALL)) : cond;
+    }
+
+    private static RList createSimpleError(String msg, Object call) {
+        RList cond = RDataFactory.createList(new Object[]{msg, call}, RDataFactory.createStringVector(new String[]{"message", "call"}, RDataFactory.COMPLETE_VECTOR));
+        cond.setClassAttr(RDataFactory.createStringVector(new String[]{"simpleError", "error", "condition"}, RDataFactory.COMPLETE_VECTOR));
+        return cond;
+    }
+
     private static final int ENTRY_CLASS = 0;
     private static final int ENTRY_CALLING_ENVIR = 1;
     private static final int ENTRY_HANDLER = 2;
@@ -311,7 +361,7 @@ public class RErrorHandling {
     private static final int RESULT_CALL = 1;
     private static final int RESULT_HANDLER = 2;
 
-    private static RList mkHandlerEntry(String klass, REnvironment parentEnv, Object handler, Object rho, RList result, byte calling) {
+    private static RList mkHandlerEntry(String klass, Object parentEnv, Object handler, Object rho, Object result, byte calling) {
         Object[] data = new Object[5];
         data[ENTRY_CLASS] = klass;
         data[ENTRY_CALLING_ENVIR] = parentEnv;
@@ -467,6 +517,10 @@ public class RErrorHandling {
     }
 
     private static ReturnException gotoExitingHandler(Object cond, Object call, RList entry) throws ReturnException {
+        if (entry.getDataAt(ENTRY_TARGET_ENVIR) == EXITING_HANDLER_CALLER) {
+            // the entry itself identifies the handler for getExitingHandlerCondition
+            throw new ReturnException(RDataFactory.createList(new Object[]{cond, call, entry}), EXITING_HANDLER_CALLER);
+        }
         REnvironment rho = (REnvironment) entry.getDataAt(ENTRY_TARGET_ENVIR);
         RList result = (RList) entry.getDataAt(ENTRY_RETURN_RESULT);
         result.setDataAt(RESULT_COND, cond);
@@ -0,0 +1,962 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.zip.CRC32;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLogger;
+import com.oracle.truffle.api.frame.FrameSlotKind;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.r.launcher.RVersionNumber;
+import com.oracle.truffle.r.runtime.context.Engine.ParseException;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.context.TruffleRLanguage;
+import com.oracle.truffle.r.runtime.data.RComplex;
+import com.oracle.truffle.r.runtime.data.RNull;
+import com.oracle.truffle.r.runtime.nodes.RCodeBuilder;
+import com.oracle.truffle.r.runtime.nodes.RCodeBuilder.Argument;
+import com.oracle.truffle.r.runtime.nodes.RCodeBuilder.RCodeToken;
+import com.oracle.truffle.r.runtime.nodes.RSyntaxNode;
+import com.oracle.truffle.r.runtime.parsermetadata.FunctionScope;
+
+/**
+ * On-disk cache of parse results, shared by all the processes that use the same
+ * {@link FastROptions#ParseCacheDir} directory.
+ *
+ * Truffle ASTs cannot be serialized, so instead of the resulting {@link RSyntaxNode} trees the
+ * cache stores the sequence of {@link RCodeBuilder} invocations made by the parser (including the
+ * tokens reported for the parse metadata). On a cache hit, this sequence is replayed on the given
+ * builder, which therefore produces exactly the same AST and parse data as the parser would,
+ * without lexing and parsing the source. Entries are keyed by a hash of the source content, so the
+ * cache never needs to be invalidated explicitly. {@link #FORMAT_VERSION} has to be incremented
+ * whenever the grammar changes the way it drives the builder.
+ *
+ * Entries can also be embedded into a native image, see {@link FastRConfig#PreloadedParseCache}.
+ *
+ * Sources that the parser cannot translate to a pure sequence of builder calls, e.g., because
+ * parsing produced warnings or the source sections refer to another source via {@code #line}
+ * directives, are never cached.
+ */
+public final class RParseCache {
+
+    private static final int MAGIC = 0x52504331;
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Small sources, e.g., the REPL input or {@code parse(text=...)}, are parsed faster than
+     * looked up in the cache.
+     */
+    private static final int MIN_SOURCE_LENGTH = 1024;
+
+    private static final String SUFFIX = ".rparse";
+
+    private static final TruffleLogger logger = RLogger.getLogger(RLogger.LOGGER_AST);
+
+    /**
+     * Entries read from {@link FastRConfig#PreloadedParseCache} when this class is initialized,
+     * which puts them into the image heap when building a native image.
+     */
+    private static final Map<String, byte[]> PRELOADED = preload();
+
+    /**
+     * Keys of the {@link #PRELOADED} entries that passed {@link #isValid}, so that each of them is
+     * checked only once.
+     */
+    private static final Set<String> VALID_PRELOADED = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Identifies the FastR build and the format of the recorded builder calls. It is part of the
+     * keys, so that entries written by another version of FastR are never looked up.
+     */
+    private static final String BUILD_ID = buildId();
+
+    private static final byte TOKEN = 0;
+    private static final byte MODIFY_LAST_TOKEN = 1;
+    private static final byte MODIFY_LAST_TOKEN_IF = 2;
+    private static final byte CALL = 3;
+    private static final byte CONSTANT = 4;
+    private static final byte SPECIAL_LOOKUP = 5;
+    private static final byte LOOKUP = 6;
+    private static final byte FUNCTION = 7;
+
+    private static final byte VALUE_NULL = 0;
+    private static final byte VALUE_LOGICAL = 1;
+    private static final byte VALUE_INTEGER = 2;
+    private static final byte VALUE_DOUBLE = 3;
+    private static final byte VALUE_STRING = 4;
+    private static final byte VALUE_STRING_NA = 5;
+    private static final byte VALUE_COMPLEX = 6;
+    private static final byte VALUE_COMPLEX_NA = 7;
+
+    private RParseCache() {
+        // no instances
+    }
+
+    /**
+     * Equivalent of {@link RParserFactory.Parser#script(Source, RCodeBuilder, TruffleRLanguage)}
+     * that consults the parse cache first, if it is enabled.
+     */
+    public static List<RSyntaxNode> script(RParserFactory.Parser parser, Source source, RCodeBuilder<RSyntaxNode> builder, TruffleRLanguage language) throws ParseException {
+        return script(parser, source, builder, language, RContext.getInstance().getOption(FastROptions.ParseCacheDir));
+    }
+
+    /**
+     * Variant of {@link #script(RParserFactory.Parser, Source, RCodeBuilder, TruffleRLanguage)}
+     * with an explicit cache directory, an empty {@code dir} disables the on-disk cache.
+     */
+    public static List<RSyntaxNode> script(RParserFactory.Parser parser, Source source, RCodeBuilder<RSyntaxNode> builder, TruffleRLanguage language, String dir) throws ParseException {
+        CompilerAsserts.neverPartOfCompilation();
+        RContext context = RContext.getInstance();
+        if ((dir.isEmpty() && PRELOADED.isEmpty()) || !source.hasCharacters() || source.getLength() < MIN_SOURCE_LENGTH) {
+            return parser.script(source, builder, language);
+        }
+        String key = key(source);
+        byte[] entry = PRELOADED.get(key);
+        if (entry != null && !VALID_PRELOADED.contains(key)) {
+            if (isValid(entry, source)) {
+                VALID_PRELOADED.add(key);
+            } else {
+                logger.log(Level.FINE, "ignoring invalid preloaded parse cache entry " + key);
+                entry = null;
+            }
+        }
+        TruffleFile file = null;
+        if (entry == null && !dir.isEmpty()) {
+            try {
+                file = context.getSafeTruffleFile(dir).resolve(key + SUFFIX);
+                entry = read(file, source);
+            } catch (SecurityException | UnsupportedOperationException | IllegalArgumentException e) {
+                file = null;
+            }
+        }
+        if (entry != null) {
+            try {
+                return new Replay(entry, source, builder, language).replay();
+            } catch (IOException e) {
+                // every entry passed isValid, so the builder calls must be well-formed
+                throw RInternalError.shouldNotReachHere(e, "invalid parse cache entry " + key);
+            }
+        }
+        if (file == null) {
+            return parser.script(source, builder, language);
+        }
+        Recorder recorder = new Recorder(source, builder);
+        List<RSyntaxNode> result = parser.script(source, recorder, language);
+        byte[] recording = recorder.finish(result);
+        if (recording != null) {
+            write(file, recording);
+        }
+        return result;
+    }
+
+    private static Map<String, byte[]> preload() {
+        if (FastRConfig.PreloadedParseCache == null || FastRConfig.PreloadedParseCache.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, byte[]> result = new HashMap<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(Paths.get(FastRConfig.PreloadedParseCache), "*" + SUFFIX)) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                result.put(name.substring(0, name.length() - SUFFIX.length()), Files.readAllBytes(entry));
+            }
+        } catch (IOException e) {
+            // not fatal, the sources are parsed instead
+        }
+        return result;
+    }
+
+    private static String buildId() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(RVersionNumber.VERSION_STRING).append(':').append(FORMAT_VERSION);
+        sb.append(':').append(System.getProperty("org.graalvm.version", ""));
+        for (RCodeToken token : RCodeToken.values()) {
+            sb.append(':').append(token.name());
+        }
+        for (FrameSlotKind kind : FrameSlotKind.values()) {
+            sb.append(':').append(kind.name());
+        }
+        try {
+            // distinguishes development builds of the same version
+            CodeSource codeSource = RParseCache.class.getProtectionDomain().getCodeSource();
+            if (codeSource != null && codeSource.getLocation() != null) {
+                Path location = Paths.get(codeSource.getLocation().toURI());
+                sb.append(':').append(location).append(':').append(Files.getLastModifiedTime(location).toMillis());
+            }
+        } catch (IOException | URISyntaxException | SecurityException | IllegalArgumentException | FileSystemNotFoundException e) {
+            // the version alone has to do
+        }
+        return sb.append(':').toString();
+    }
+
+    private static String key(Source source) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw RInternalError.shouldNotReachHere(e);
+        }
+        digest.update(BUILD_ID.getBytes(StandardCharsets.UTF_8));
+        digest.update(source.getCharacters().toString().getBytes(StandardCharsets.UTF_8));
+        byte[] hash = digest.digest();
+        StringBuilder sb = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Reads and validates the cache entry, returns {@code null} if there is no usable entry.
+     */
+    private static byte[] read(TruffleFile file, Source source) {
+        try {
+            if (!file.exists()) {
+                return null;
+            }
+            if (!isOwnedByCurrentUser(file)) {
+                // anyone who can write to the directory could otherwise inject ASTs
+                logger.log(Level.FINE, "ignoring parse cache entry " + file + " not owned by the current user");
+                return null;
+            }
+            byte[] data = file.readAllBytes();
+            if (isValid(data, source)) {
+                return data;
+            }
+            // corrupt, truncated or written by an incompatible parser, it is replaced by the
+            // entry for the source parsed now
+            logger.log(Level.FINE, "deleting invalid parse cache entry " + file);
+            file.delete();
+            return null;
+        } catch (IOException | SecurityException | UnsupportedOperationException e) {
+            logger.log(Level.FINE, "cannot read parse cache entry " + file, e);
+            return null;
+        }
+    }
+
+    private static boolean isOwnedByCurrentUser(TruffleFile file) throws IOException {
+        UserPrincipal owner = file.getOwner(LinkOption.NOFOLLOW_LINKS);
+        return owner != null && owner.getName().equals(System.getProperty("user.name"));
+    }
+
+    private static boolean isValid(byte[] data, Source source) {
+        return hasValidHeader(data, source) && Replay.check(data, source);
+    }
+
+    private static boolean hasValidHeader(byte[] data, Source source) {
+        if (data.length < 20) {
+            return false;
+        }
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || in.readInt() != source.getLength()) {
+                return false;
+            }
+            long checksum = in.readLong();
+            CRC32 crc = new CRC32();
+            crc.update(data, 20, data.length - 20);
+            return crc.getValue() == checksum;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void write(TruffleFile file, byte[] recording) {
+        try {
+            TruffleFile dir = file.getParent();
+            if (!dir.exists()) {
+                createPrivate(dir, true);
+            }
+            // entries are published atomically, so that concurrent processes never see partial
+            // entries and the last writer wins
+            TruffleFile tmp = dir.resolve(file.getName() + "." + ProcessHandle.current().pid() + "." + Thread.currentThread().getId() + ".tmp");
+            createPrivate(tmp, false);
+            try (OutputStream out = tmp.newOutputStream()) {
+                out.write(recording);
+            }
+            tmp.move(file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | SecurityException | UnsupportedOperationException e) {
+            logger.log(Level.FINE, "cannot write parse cache entry " + file, e);
+        }
+    }
+
+    /**
+     * Creates the directory or file accessible only by the current user, if the file system
+     * supports POSIX permissions.
+     */
+    private static void createPrivate(TruffleFile file, boolean directory) throws IOException {
+        FileAttribute<Set<PosixFilePermission>> permissions = PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString(directory ? "rwx------" : "rw-------"));
+        try {
+            if (directory) {
+                file.createDirectories(permissions);
+            } else {
+                file.createFile(permissions);
+            }
+        } catch (UnsupportedOperationException e) {
+            if (directory) {
+                file.createDirectories();
+            } else {
+                file.createFile();
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(value.length());
+            out.writeChars(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        } else if (length > in.available() / 2) {
+            throw new IOException("invalid string length " + length);
+        }
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = in.readChar();
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Builder that forwards all the calls to the real builder and records them. Nodes and
+     * function scopes are referred to by the order in which they were first seen.
+     */
+    private static final class Recorder implements RCodeBuilder<RSyntaxNode> {
+
+        private final Source source;
+        private final RCodeBuilder<RSyntaxNode> delegate;
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream events = new DataOutputStream(bytes);
+        private final IdentityHashMap<RSyntaxNode, Integer> nodes = new IdentityHashMap<>();
+        private final IdentityHashMap<FunctionScope, Integer> scopeIds = new IdentityHashMap<>();
+        private final ArrayList<FunctionScope> scopes = new ArrayList<>();
+        private int nodeCount;
+        private boolean cacheable = true;
+
+        Recorder(Source source, RCodeBuilder<RSyntaxNode> delegate) {
+            this.source = source;
+            this.delegate = delegate;
+        }
+
+        private RSyntaxNode node(RSyntaxNode node) {
+            nodes.put(node, nodeCount++);
+            return node;
+        }
+
+        private void writeEvent(byte kind) throws IOException {
+            events.writeByte(kind);
+        }
+
+        private void writeSection(SourceSection section) throws IOException {
+            if (section == null) {
+                events.writeInt(-1);
+            } else {
+                if (section.getSource() != source || !section.isAvailable()) {
+                    cacheable = false;
+                    events.writeInt(-1);
+                    return;
+                }
+                events.writeInt(section.getCharIndex());
+                events.writeInt(section.getCharLength());
+            }
+        }
+
+        private void writeNode(RSyntaxNode node) throws IOException {
+            if (node == null) {
+                events.writeInt(-1);
+            } else {
+                Integer id = nodes.get(node);
+                if (id == null) {
+                    cacheable = false;
+                    events.writeInt(-1);
+                } else {
+                    events.writeInt(id);
+                }
+            }
+        }
+
+        private void writeScope(FunctionScope scope) throws IOException {
+            if (scope == null) {
+                events.writeInt(-1);
+            } else {
+                Integer id = scopeIds.get(scope);
+                if (id == null) {
+                    id = scopes.size();
+                    scopeIds.put(scope, id);
+                    scopes.add(scope);
+                }
+                events.writeInt(id);
+                // the number of local variables known at this point of parsing
+                events.writeInt(scope.getLocalVariableCount());
+            }
+        }
+
+        private void writeArguments(List<Argument<RSyntaxNode>> arguments) throws IOException {
+            events.writeInt(arguments.size());
+            for (Argument<RSyntaxNode> argument : arguments) {
+                writeSection(argument.source);
+                writeString(events, argument.name);
+                writeNode(argument.value);
+            }
+        }
+
+        private void writeValue(SourceSection section, Object value) throws IOException {
+            if (value == RNull.instance) {
+                events.writeByte(VALUE_NULL);
+            } else if (value instanceof Byte) {
+                events.writeByte(VALUE_LOGICAL);
+                events.writeByte((byte) value);
+            } else if (value instanceof Integer) {
+                events.writeByte(VALUE_INTEGER);
+                events.writeInt((int) value);
+            } else if (value instanceof Double) {
+                events.writeByte(VALUE_DOUBLE);
+                events.writeLong(Double.doubleToRawLongBits((double) value));
+            } else if (value instanceof String) {
+                if (RRuntime.isNA((String) value)) {
+                    events.writeByte(VALUE_STRING_NA);
+                } else {
+                    events.writeByte(VALUE_STRING);
+                    writeString(events, (String) value);
+                }
+            } else if (value == RRuntime.COMPLEX_NA) {
+                events.writeByte(VALUE_COMPLEX_NA);
+            } else if (value instanceof RComplex) {
+                events.writeByte(VALUE_COMPLEX);
+                events.writeLong(Double.doubleToRawLongBits(((RComplex) value).getRealPart()));
+                events.writeLong(Double.doubleToRawLongBits(((RComplex) value).getImaginaryPart()));
+            } else {
+                cacheable = false;
+                events.writeByte(VALUE_NULL);
+            }
+            if ((value instanceof Integer || value instanceof Double) && section != null && section.isAvailable()) {
+                // the parser warns about integer literals with a decimal point or a non-integer
+                // value, and the warnings would not be reproduced by the replay
+                CharSequence text = section.getCharacters();
+                if (text.length() > 0 && text.charAt(text.length() - 1) == 'L' && (value instanceof Double || text.toString().indexOf('.') >= 0)) {
+                    cacheable = false;
+                }
+            }
+        }
+
+        private void failed(IOException e) {
+            // cannot happen with a ByteArrayOutputStream
+            throw RInternalError.shouldNotReachHere(e);
+        }
+
+        @Override
+        public void modifyLastToken(RCodeToken newToken) {
+            delegate.modifyLastToken(newToken);
+            try {
+                writeEvent(MODIFY_LAST_TOKEN);
+                events.writeInt(newToken.ordinal());
+            } catch (IOException e) {
+                failed(e);
+            }
+        }
+
+        @Override
+        public void modifyLastTokenIf(RCodeToken oldToken, RCodeToken newToken) {
+            delegate.modifyLastTokenIf(oldToken, newToken);
+            try {
+                writeEvent(MODIFY_LAST_TOKEN_IF);
+                events.writeInt(oldToken.ordinal());
+                events.writeInt(newToken.ordinal());
+            } catch (IOException e) {
+                failed(e);
+            }
+        }
+
+        @Override
+        public void token(SourceSection section, RCodeToken token, String text) {
+            delegate.token(section, token, text);
+            try {
+                writeEvent(TOKEN);
+                writeSection(section);
+                events.writeInt(token.ordinal());
+                writeString(events, text);
+            } catch (IOException e) {
+                failed(e);
+            }
+        }
+
+        @Override
+        public RSyntaxNode call(SourceSection section, RSyntaxNode lhs, List<Argument<RSyntaxNode>> arguments, DynamicObject attributes) {
+            if (attributes != null) {
+                cacheable = false;
+            }
+            try {
+                writeEvent(CALL);
+                writeSection(section);
+                writeNode(lhs);
+                writeArguments(arguments);
+            } catch (IOException e) {
+                failed(e);
+            }
+            return node(delegate.call(section, lhs, arguments, attributes));
+        }
+
+        @Override
+        public RSyntaxNode constant(SourceSection section, Object value) {
+            try {
+                writeEvent(CONSTANT);
+                writeSection(section);
+                writeValue(section, value);
+            } catch (IOException e) {
+                failed(e);
+            }
+            return node(delegate.constant(section, value));
+        }
+
+        @Override
+        public RSyntaxNode specialLookup(SourceSection section, String symbol, boolean functionLookup, FunctionScope functionScope) {
+            try {
+                writeEvent(SPECIAL_LOOKUP);
+                writeSection(section);
+                writeString(events, symbol);
+                events.writeBoolean(functionLookup);
+                writeScope(functionScope);
+            } catch (IOException e) {
+                failed(e);
+            }
+            return node(delegate.specialLookup(section, symbol, functionLookup, functionScope));
+        }
+
+        @Override
+        public RSyntaxNode lookup(SourceSection section, String symbol, boolean functionLookup, FunctionScope functionScope) {
+            try {
+                writeEvent(LOOKUP);
+                writeSection(section);
+                writeString(events, symbol);
+                events.writeBoolean(functionLookup);
+                writeScope(functionScope);
+            } catch (IOException e) {
+                failed(e);
+            }
+            return node(delegate.lookup(section, symbol, functionLookup, functionScope));
+        }
+
+        @Override
+        public RSyntaxNode function(TruffleRLanguage language, SourceSection section, List<Argument<RSyntaxNode>> arguments, RSyntaxNode body, Object assignedTo, FunctionScope functionScope) {
+            try {
+                writeEvent(FUNCTION);
+                writeSection(section);
+                writeArguments(arguments);
+                writeNode(body);
+                if (assignedTo == null || assignedTo instanceof RSyntaxNode) {
+                    writeNode((RSyntaxNode) assignedTo);
+                } else {
+                    cacheable = false;
+                    events.writeInt(-1);
+                }
+                writeScope(functionScope);
+            } catch (IOException e) {
+                failed(e);
+            }
+            return node(delegate.function(language, section, arguments, body, assignedTo, functionScope));
+        }
+
+        @Override
+        public RootCallTarget rootFunction(TruffleRLanguage language, SourceSection section, List<Argument<RSyntaxNode>> arguments, RSyntaxNode body, String name, FunctionScope functionScope) {
+            // not used when parsing scripts
+            cacheable = false;
+            return delegate.rootFunction(language, section, arguments, body, name, functionScope);
+        }
+
+        @Override
+        public List<Argument<RSyntaxNode>> getFunctionExprArgs(Object args) {
+            cacheable = false;
+            return delegate.getFunctionExprArgs(args);
+        }
+
+        @Override
+        public void setContext(CodeBuilderContext context) {
+            delegate.setContext(context);
+        }
+
+        @Override
+        public CodeBuilderContext getContext() {
+            return delegate.getContext();
+        }
+
+        @Override
+        public void reset() {
+            delegate.reset();
+            bytes.reset();
+            nodes.clear();
+            scopeIds.clear();
+            scopes.clear();
+            nodeCount = 0;
+            cacheable = true;
+        }
+
+        /**
+         * Returns the complete cache entry for the recorded parse, or {@code null} if the result
+         * cannot be cached.
+         */
+        byte[] finish(List<RSyntaxNode> result) {
+            if (!cacheable) {
+                return null;
+            }
+            try {
+                ByteArrayOutputStream body = new ByteArrayOutputStream(bytes.size() + 1024);
+                DataOutputStream out = new DataOutputStream(body);
+                out.writeInt(nodeCount);
+                out.writeInt(scopes.size());
+                for (FunctionScope scope : scopes) {
+                    writeString(out, scope.getFunctionName());
+                    int count = scope.getLocalVariableCount();
+                    out.writeInt(count);
+                    for (int i = 0; i < count; i++) {
+                        writeString(out, scope.getLocalVariableName(i));
+                        out.writeByte(scope.getLocalVariableKind(i).ordinal());
+                    }
+                }
+                out.writeInt(result.size());
+                for (RSyntaxNode node : result) {
+                    Integer id = nodes.get(node);
+                    if (id == null) {
+                        return null;
+                    }
+                    out.writeInt(id);
+                }
+                events.flush();
+                bytes.writeTo(out);
+                out.flush();
+
+                byte[] data = body.toByteArray();
+                CRC32 crc = new CRC32();
+                crc.update(data);
+                ByteArrayOutputStream entry = new ByteArrayOutputStream(data.length + 20);
+                DataOutputStream header = new DataOutputStream(entry);
+                header.writeInt(MAGIC);
+                header.writeInt(FORMAT_VERSION);
+                header.writeInt(source.getLength());
+                header.writeLong(crc.getValue());
+                header.write(data);
+                header.flush();
+                return entry.toByteArray();
+            } catch (IOException e) {
+                throw RInternalError.shouldNotReachHere(e);
+            }
+        }
+    }
+
+    /**
+     * Replays the recorded builder calls. The function scopes are rebuilt incrementally, so that
+     * every call observes the same local variables as it did during parsing.
+     *
+     * Without a builder, the entry is only decoded and all the references in it are checked, so
+     * that a damaged entry is detected before any call is made on the real builder.
+     */
+    private static final class Replay {
+
+        private final DataInputStream in;
+        private final Source source;
+        private final RCodeBuilder<RSyntaxNode> builder;
+        private final TruffleRLanguage language;
+
+        private RSyntaxNode[] nodes;
+        private int nodeCount;
+        private FunctionScope[] scopes;
+        private String[][] scopeNames;
+        private FrameSlotKind[][] scopeKinds;
+
+        Replay(byte[] entry, Source source, RCodeBuilder<RSyntaxNode> builder, TruffleRLanguage language) {
+            this.in = new DataInputStream(new ByteArrayInputStream(entry, 20, entry.length - 20));
+            this.source = source;
+            this.builder = builder;
+            this.language = language;
+        }
+
+        /**
+         * Returns {@code true} if the entry, whose header was already validated, can be replayed.
+         */
+        static boolean check(byte[] entry, Source source) {
+            try {
+                new Replay(entry, source, null, null).replay();
+                return true;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+
+        private boolean checking() {
+            return builder == null;
+        }
+
+        private int readCount() throws IOException {
+            int count = in.readInt();
+            // every counted item takes at least one byte
+            if (count < 0 || count > in.available()) {
+                throw new IOException("invalid count " + count);
+            }
+            return count;
+        }
+
+        private int readIndex(int length) throws IOException {
+            int index = in.readInt();
+            if (index < 0 || index >= length) {
+                throw new IOException("invalid index " + index);
+            }
+            return index;
+        }
+
+        List<RSyntaxNode> replay() throws IOException {
+            nodes = new RSyntaxNode[readCount()];
+            int scopeCount = readCount();
+            scopes = new FunctionScope[scopeCount];
+            scopeNames = new String[scopeCount][];
+            scopeKinds = new FrameSlotKind[scopeCount][];
+            FrameSlotKind[] kinds = FrameSlotKind.values();
+            for (int i = 0; i < scopeCount; i++) {
+                scopes[i] = new FunctionScope(readString(in));
+                int count = readCount();
+                scopeNames[i] = new String[count];
+                scopeKinds[i] = new FrameSlotKind[count];
+                for (int j = 0; j < count; j++) {
+                    scopeNames[i][j] = readString(in);
+                    int kind = in.readByte();
+                    if (kind < 0 || kind >= kinds.length) {
+                        throw new IOException("invalid slot kind " + kind);
+                    }
+                    scopeKinds[i][j] = kinds[kind];
+                }
+            }
+            int[] result = new int[readCount()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = readIndex(nodes.length);
+            }
+
+            RCodeToken[] tokens = RCodeToken.values();
+            while (in.available() > 0) {
+                byte kind = in.readByte();
+                switch (kind) {
+                    case TOKEN: {
+                        SourceSection section = readSection();
+                        RCodeToken token = tokens[readIndex(tokens.length)];
+                        String text = readString(in);
+                        if (!checking()) {
+                            builder.token(section, token, text);
+                        }
+                        break;
+                    }
+                    case MODIFY_LAST_TOKEN: {
+                        RCodeToken newToken = tokens[readIndex(tokens.length)];
+                        if (!checking()) {
+                            builder.modifyLastToken(newToken);
+                        }
+                        break;
+                    }
+                    case MODIFY_LAST_TOKEN_IF: {
+                        RCodeToken oldToken = tokens[readIndex(tokens.length)];
+                        RCodeToken newToken = tokens[readIndex(tokens.length)];
+                        if (!checking()) {
+                            builder.modifyLastTokenIf(oldToken, newToken);
+                        }
+                        break;
+                    }
+                    case CALL: {
+                        SourceSection section = readSection();
+                        RSyntaxNode lhs = readNode();
+                        List<Argument<RSyntaxNode>> arguments = readArguments();
+                        addNode(checking() ? null : builder.call(section, lhs, arguments, null));
+                        break;
+                    }
+                    case CONSTANT: {
+                        SourceSection section = readSection();
+                        Object value = readValue();
+                        addNode(checking() ? null : builder.constant(section, value));
+                        break;
+                    }
+                    case SPECIAL_LOOKUP:
+                    case LOOKUP: {
+                        SourceSection section = readSection();
+                        String symbol = readString(in);
+                        boolean functionLookup = in.readBoolean();
+                        FunctionScope scope = readScope();
+                        if (checking()) {
+                            addNode(null);
+                        } else {
+                            addNode(kind == LOOKUP ? builder.lookup(section, symbol, functionLookup, scope) : builder.specialLookup(section, symbol, functionLookup, scope));
+                        }
+                        break;
+                    }
+                    case FUNCTION: {
+                        SourceSection section = readSection();
+                        List<Argument<RSyntaxNode>> arguments = readArguments();
+                        RSyntaxNode body = readNode();
+                        RSyntaxNode assignedTo = readNode();
+                        FunctionScope scope = readScope();
+                        addNode(checking() ? null : builder.function(language, section, arguments, body, assignedTo, scope));
+                        break;
+                    }
+                    default:
+                        throw new IOException("unknown event " + kind);
+                }
+            }
+            for (int i = 0; i < scopes.length; i++) {
+                syncScope(i, scopeNames[i].length);
+            }
+            ArrayList<RSyntaxNode> list = new ArrayList<>(result.length);
+            for (int id : result) {
+                if (id >= nodeCount) {
+                    throw new IOException("invalid result node " + id);
+                }
+                list.add(nodes[id]);
+            }
+            return list;
+        }
+
+        private void addNode(RSyntaxNode node) throws IOException {
+            if (nodeCount == nodes.length) {
+                throw new IOException("too many nodes");
+            }
+            nodes[nodeCount++] = node;
+        }
+
+        private SourceSection readSection() throws IOException {
+            int charIndex = in.readInt();
+            if (charIndex < 0) {
+                return null;
+            }
+            int charLength = in.readInt();
+            if (charIndex > source.getLength() || charLength < 0 || charLength > source.getLength() - charIndex) {
+                throw new IOException("invalid source section " + charIndex + ":" + charLength);
+            }
+            return source.createSection(charIndex, charLength);
+        }
+
+        private RSyntaxNode readNode() throws IOException {
+            int id = in.readInt();
+            if (id < 0) {
+                return null;
+            } else if (id >= nodeCount) {
+                throw new IOException("invalid node " + id);
+            }
+            return nodes[id];
+        }
+
+        private FunctionScope readScope() throws IOException {
+            int id = in.readInt();
+            if (id < 0) {
+                return null;
+            } else if (id >= scopes.length) {
+                throw new IOException("invalid scope " + id);
+            }
+            syncScope(id, in.readInt());
+            return scopes[id];
+        }
+
+        private void syncScope(int id, int count) throws IOException {
+            if (count < 0 || count > scopeNames[id].length) {
+                throw new IOException("invalid local variable count " + count);
+            }
+            FunctionScope scope = scopes[id];
+            for (int i = scope.getLocalVariableCount(); i < count; i++) {
+                scope.addLocalVariable(scopeNames[id][i], scopeKinds[id][i]);
+            }
+        }
+
+        private List<Argument<RSyntaxNode>> readArguments() throws IOException {
+            int count = readCount();
+            ArrayList<Argument<RSyntaxNode>> arguments = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                SourceSection section = readSection();
+                String name = readString(in);
+                arguments.add(RCodeBuilder.argument(section, name, readNode()));
+            }
+            return arguments;
+        }
+
+        private Object readValue() throws IOException {
+            byte tag = in.readByte();
+            switch (tag) {
+                case VALUE_NULL:
+                    return RNull.instance;
+                case VALUE_LOGICAL:
+                    return in.readByte();
+                case VALUE_INTEGER:
+                    return in.readInt();
+                case VALUE_DOUBLE:
+                    return Double.longBitsToDouble(in.readLong());
+                case VALUE_STRING:
+                    return readString(in);
+                case VALUE_STRING_NA:
+                    return RRuntime.STRING_NA;
+                case VALUE_COMPLEX: {
+                    double re = Double.longBitsToDouble(in.readLong());
+                    return RComplex.valueOf(re, Double.longBitsToDouble(in.readLong()));
+                }
+                case VALUE_COMPLEX_NA:
+                    return RRuntime.COMPLEX_NA;
+                default:
+                    throw new IOException("unknown value tag " + tag);
+            }
+        }
+    }
+}
@@ -647,8 +647,8 @@ public class RSerialize {
                     Object hashtab = readItem();
                     if (hashed) {
                         if (hashtab != RNull.instance) {
-                            env.setHashed(true);
                             env.setInitialSize(((RList) hashtab).getLength());
+                            env.setHashed(true);
                             RList hashList = (RList) hashtab;
                             // GnuR sizes its hash tables, empty slots indicated by RNull
                             for (int i = 0; i < hashList.getLength(); i++) {
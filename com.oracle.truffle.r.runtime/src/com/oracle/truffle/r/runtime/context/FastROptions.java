@@ -76,6 +76,16 @@ public class FastROptions {
 
     @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, help = "Enable or disable cache of AST instances specialized for given R environment.") //
     public static final OptionKey<Boolean> EnableClosureCallTargetsCache = new OptionKey<>(true);
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, help = "Keep the bindings of hashed environments (new.env(hash = TRUE)) in a hash table until they are used for evaluation.") //
+    public static final OptionKey<Boolean> HashedEnvironments = new OptionKey<>(true);
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, usageSyntax = "<path>", help = "Directory of the on-disk cache of parsed R sources shared by all FastR processes, the cache is disabled if empty.") //
+    public static final OptionKey<String> ParseCacheDir = new OptionKey<>("");
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, usageSyntax = "<name1>,<name2>,...", help = "Native libraries (DLL names as reported by getLoadedDLLs) whose native code is thread-safe and may be called concurrently from several threads without holding the global native call lock.") //
+    public static final OptionKey<String> ThreadSafeNativeLibraries = new OptionKey<>("");
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, usageSyntax = "[0, 9]", help = "Deflate compression level of the PNG files written by the internal grid graphics devices.") //
+    public static final OptionKey<Integer> PNGCompressionLevel = new OptionKey<>(6);
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, usageSyntax = "<threads>", help = "Number of threads used by the builtins that can process large vectors in parallel, 1 disables the parallel processing. The parallel sum of doubles may differ in the last bits from the sequential one.") //
+    public static final OptionKey<Integer> ParallelKernelThreads = new OptionKey<>(1);
 
     @Option(category = OptionCategory.INTERNAL, usageSyntax = "<name1>,<name2>,...", help = "Turn on debugging output for 'name1', 'name2', etc.")//
     public static final OptionKey<String> Debug = new OptionKey<>("");
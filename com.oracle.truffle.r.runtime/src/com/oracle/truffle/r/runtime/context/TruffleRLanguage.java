@@ -53,6 +53,7 @@ import com.oracle.truffle.r.runtime.data.RTruffleObject;
 import com.oracle.truffle.r.runtime.env.REnvironment;
 import com.oracle.truffle.r.runtime.env.RScope;
 import com.oracle.truffle.r.runtime.ffi.RFFIFactory;
+import com.oracle.truffle.r.runtime.ffi.util.NativeMemory;
 import com.oracle.truffle.r.runtime.instrument.RSyntaxTags;
 import com.oracle.truffle.r.runtime.instrument.RSyntaxTags.FunctionBodyBlockTag;
 import com.oracle.truffle.r.runtime.interop.ConvertForeignObjectNode;
@@ -170,6 +171,10 @@ public final class TruffleRLanguage extends TruffleLanguage<RContext> {
     protected void disposeContext(RContext context) {
         activeContexts--;
         context.dispose();
+        if (activeContexts == 0) {
+            // the blocks that are not pooled yet are released by the native reference queue worker
+            NativeMemory.releasePooledMemory();
+        }
     }
 
     @Override
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.data;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.r.runtime.ffi.util.NativeMemory;
+import com.oracle.truffle.r.runtime.ffi.util.NativeMemory.ElementType;
+
+/**
+ * Region of a file mapped into memory, which backs {@link RDoubleMappedVectorData} and
+ * {@link RIntMappedVectorData}. The elements are stored in the native byte order.
+ *
+ * The vector data are never written to from Java, modifications in R copy the data to the heap.
+ * The file is opened for reading only and mapped with {@link MapMode#READ_ONLY}. Only when the
+ * mapped memory is to be handed over to the native code, which may write into it, the region is
+ * mapped again with {@link MapMode#PRIVATE}, see {@link #toWriteable()}. That requires opening the
+ * file for writing, but the writes only create private copies of the touched pages and are never
+ * propagated to the file. Files that cannot be opened for writing, e.g. on a read-only file
+ * system, are copied for the native code instead.
+ *
+ * A single {@link MappedByteBuffer} can only span {@link Integer#MAX_VALUE} bytes, larger regions
+ * are mapped in segments of {@link #SEGMENT_BYTES} bytes. Only a region mapped in one segment can
+ * be handed over to the native code without copying, see {@link #isContiguous()}.
+ *
+ * The file is opened through {@link TruffleFile}, so the access is subject to the IO permissions of
+ * the context. Mapping requires a {@link FileChannel}, i.e. a file of the default file system.
+ */
+public final class MappedFileStorage {
+
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_BYTES = 1L << SEGMENT_SHIFT;
+
+    private final TruffleFile file;
+    private final long offset;
+    private final ElementType type;
+    private final int length;
+    private final boolean writeable;
+
+    /**
+     * Keeps the mappings alive, the memory is unmapped once the buffers are collected.
+     */
+    @SuppressWarnings("unused") private final MappedByteBuffer[] buffers;
+    @CompilationFinal(dimensions = 1) private final long[] addresses;
+    /**
+     * Element index {@code i} is at {@code addresses[i >>> shift]} with index {@code i & mask}.
+     */
+    private final int shift;
+    private final int mask;
+
+    /**
+     * Set once the native code may have written into the memory, the copies of modified data
+     * cannot be created by mapping the file again.
+     */
+    private boolean modified;
+
+    private MappedFileStorage(TruffleFile file, long offset, ElementType type, int length, boolean writeable, MappedByteBuffer[] buffers, int shift) {
+        this.file = file;
+        this.offset = offset;
+        this.type = type;
+        this.length = length;
+        this.writeable = writeable;
+        this.buffers = buffers;
+        this.addresses = new long[buffers.length];
+        for (int i = 0; i < buffers.length; i++) {
+            addresses[i] = NativeMemory.getBufferAddress(buffers[i]);
+        }
+        this.shift = shift;
+        this.mask = shift == 31 ? Integer.MAX_VALUE : (1 << shift) - 1;
+    }
+
+    /**
+     * Maps {@code length} elements of given type starting at byte {@code offset} of the file for
+     * reading.
+     */
+    @TruffleBoundary
+    public static MappedFileStorage map(TruffleFile file, long offset, ElementType type, int length) throws IOException {
+        return map(file, offset, type, length, false);
+    }
+
+    private static MappedFileStorage map(TruffleFile file, long offset, ElementType type, int length, boolean writeable) throws IOException {
+        assert type == ElementType.INT || type == ElementType.DOUBLE;
+        int elementBytes = type == ElementType.INT ? Integer.BYTES : Double.BYTES;
+        long totalBytes = (long) length * elementBytes;
+        Set<OpenOption> options = writeable ? EnumSet.of(StandardOpenOption.READ, StandardOpenOption.WRITE) : EnumSet.of(StandardOpenOption.READ);
+        try (SeekableByteChannel channel = file.newByteChannel(options)) {
+            if (!(channel instanceof FileChannel)) {
+                throw new UnsupportedOperationException("the file '" + file + "' cannot be mapped into memory");
+            }
+            FileChannel c = (FileChannel) channel;
+            if (offset < 0 || offset + totalBytes > c.size()) {
+                throw new IOException("the file '" + file + "' has only " + c.size() + " bytes");
+            }
+            MapMode mode = writeable ? MapMode.PRIVATE : MapMode.READ_ONLY;
+            if (totalBytes <= Integer.MAX_VALUE) {
+                return new MappedFileStorage(file, offset, type, length, writeable, new MappedByteBuffer[]{c.map(mode, offset, totalBytes)}, 31);
+            }
+            int segmentCount = (int) ((totalBytes + SEGMENT_BYTES - 1) / SEGMENT_BYTES);
+            MappedByteBuffer[] buffers = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long start = i * SEGMENT_BYTES;
+                buffers[i] = c.map(mode, offset + start, Math.min(SEGMENT_BYTES, totalBytes - start));
+            }
+            return new MappedFileStorage(file, offset, type, length, writeable, buffers, SEGMENT_SHIFT - Integer.numberOfTrailingZeros(elementBytes));
+        }
+    }
+
+    /**
+     * Maps the same region of the file again. Only possible if the data were not modified.
+     */
+    @TruffleBoundary
+    public MappedFileStorage remap() throws IOException {
+        assert !modified;
+        return map(file, offset, type, length, writeable);
+    }
+
+    /**
+     * Returns this storage if it may be written to by the native code, otherwise maps the same
+     * region of the file privately. Returns {@code null} if the file cannot be opened for writing.
+     */
+    @TruffleBoundary
+    public MappedFileStorage toWriteable() {
+        if (writeable) {
+            return this;
+        }
+        try {
+            return map(file, offset, type, length, true);
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            // e.g. no write permission or a read-only file system
+            return null;
+        }
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public boolean isWriteable() {
+        return writeable;
+    }
+
+    public boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * Returns {@code true} if the whole region is mapped at one address, see {@link #getAddress()}.
+     */
+    public boolean isContiguous() {
+        return addresses.length == 1;
+    }
+
+    public long getAddress() {
+        assert isContiguous();
+        return addresses[0];
+    }
+
+    /**
+     * Must be called before the address is given to the native code.
+     */
+    public void setModified() {
+        assert writeable;
+        modified = true;
+    }
+
+    public int getInt(int index) {
+        return NativeMemory.getInt(addresses[index >>> shift], index & mask);
+    }
+
+    public double getDouble(int index) {
+        return NativeMemory.getDouble(addresses[index >>> shift], index & mask);
+    }
+
+    /**
+     * Copies the elements into a heap array, which must be an {@code int[]} or {@code double[]}
+     * according to the element type.
+     */
+    @TruffleBoundary
+    public void copyTo(Object array) {
+        int segmentLength = isContiguous() ? length : mask + 1;
+        for (int i = 0; i < addresses.length; i++) {
+            int start = i * segmentLength;
+            NativeMemory.copyMemory(addresses[i], array, start, type, Math.min(segmentLength, length - start));
+        }
+    }
+
+    @Override
+    public String toString() {
+        CompilerAsserts.neverPartOfCompilation();
+        return file + "@" + offset + "[" + length + "]";
+    }
+}
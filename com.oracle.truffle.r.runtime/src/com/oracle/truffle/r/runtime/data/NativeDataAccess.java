@@ -67,6 +67,7 @@ import com.oracle.truffle.r.runtime.ffi.util.NativeMemory;
 import com.oracle.truffle.r.runtime.ffi.util.NativeMemory.ElementType;
 import com.oracle.truffle.r.runtime.ffi.util.NativeMemory.NativeMemoryWrapper;
 import com.oracle.truffle.r.runtime.ffi.util.ResourcesCleaner.ReleasableWeakReference;
+import com.oracle.truffle.r.runtime.gnur.SEXPTYPE;
 
 /**
  * Provides API to work with objects returned by {@link RBaseObject#getNativeMirror()}. The native
@@ -215,6 +216,12 @@ public final class NativeDataAccess {
          */
         private NativeWrapperReference nativeWrapperRef;
 
+        /**
+         * Keeps alive the object that owns the memory at an external {@link #dataAddress}, e.g. a
+         * memory mapped file, for as long as the native code may access it.
+         */
+        private Object externalDataOwner;
+
         /**
          * Creates a new mirror with a specified native address as both ID and address. The buffer
          * will be freed when the Java object is collected.
@@ -311,6 +318,18 @@ public final class NativeDataAccess {
             return dataAddress;
         }
 
+        /**
+         * Allocates the native data of {@code size} bytes, see
+         * {@link NativeMemory#allocatePooled(long, Object)}.
+         */
+        NativeMemoryWrapper allocateDataAddress(long size) {
+            this.dataAddress = NativeMemory.allocatePooled(size, delegate);
+            if (dataAddressToNativeMirrors != null) {
+                addToAddressDebugMapping(dataAddress.getAddress());
+            }
+            return dataAddress;
+        }
+
         @TruffleBoundary
         private void addToAddressDebugMapping(long address) {
             dataAddressToNativeMirrors.put(address, this);
@@ -320,7 +339,7 @@ public final class NativeDataAccess {
         void allocateNative(Object source, int vectorLength, long elementsCount, ElementType type) {
             assert getDataAddress() == 0;
             if (vectorLength != 0) {
-                setDataAddress(NativeMemory.allocate(type, elementsCount, source));
+                allocateDataAddress(elementsCount * type.getBytes());
                 NativeMemory.copyMemory(source, dataAddress, type, elementsCount);
             } else {
                 setExternalDataAddress(getEmptyDataAddress());
@@ -343,7 +362,7 @@ public final class NativeDataAccess {
         @TruffleBoundary
         void allocateNativeString(byte[] bytes) {
             assert getDataAddress() == 0;
-            setDataAddress(NativeMemory.allocate(bytes.length + 1L, "NativeString"));
+            allocateDataAddress(bytes.length + 1L);
             NativeMemory.copyMemory(bytes, dataAddress, ElementType.BYTE, bytes.length);
             // append C strings termination
             NativeMemory.putByte(dataAddress, bytes.length, (byte) 0);
@@ -358,7 +377,7 @@ public final class NativeDataAccess {
             if (wrappers.length == 0) {
                 setExternalDataAddress(getEmptyDataAddress());
             } else {
-                NativeMemoryWrapper addr = setDataAddress(NativeMemory.allocate(wrappers.length * (long) Long.BYTES, "CharSXPWrapper"));
+                NativeMemoryWrapper addr = allocateDataAddress(wrappers.length * (long) Long.BYTES);
                 for (int i = 0; i < wrappers.length; i++) {
                     NativeMemory.putLong(addr, i, getPointer(wrappers[i]));
                 }
@@ -370,7 +389,7 @@ public final class NativeDataAccess {
             if (elements.length == 0) {
                 setExternalDataAddress(getEmptyDataAddress());
             } else {
-                NativeMemoryWrapper addr = setDataAddress(NativeMemory.allocate(elements.length * (long) Long.BYTES, "SEXP array"));
+                NativeMemoryWrapper addr = allocateDataAddress(elements.length * (long) Long.BYTES);
                 for (int i = 0; i < elements.length; i++) {
                     Object element = elements[i];
                     Object materialized = FFIMaterializeNode.uncachedMaterialize(element);
@@ -1349,6 +1368,58 @@ public final class NativeDataAccess {
         mirror.length = length;
     }
 
+    /**
+     * Like {@link #setNativeContents(RBaseObject, long, int)}, but the memory at {@code address} is
+     * owned by {@code owner}, which is kept alive as long as the native mirror.
+     */
+    public static void setNativeContents(RBaseObject obj, long address, int length, Object owner) {
+        setNativeContents(obj, address, length);
+        obj.getNativeMirror().externalDataOwner = owner;
+    }
+
+    /**
+     * Returns {@code true} if {@link #createNativeVector(SEXPTYPE, int)} supports vectors of given
+     * type.
+     */
+    public static boolean canCreateNativeVector(SEXPTYPE type) {
+        return type == SEXPTYPE.INTSXP || type == SEXPTYPE.REALSXP || type == SEXPTYPE.LGLSXP || type == SEXPTYPE.RAWSXP;
+    }
+
+    /**
+     * Creates a vector whose data live only in native memory. Meant for vectors that are known to
+     * be passed to the native code, e.g. those allocated by {@code allocVector}, which saves the
+     * Java array and copying it to the native memory. The memory is zeroed like a new Java array
+     * and, unlike with the {@code FromNative} factory methods, it is owned by the vector and freed
+     * once the vector is collected.
+     */
+    @TruffleBoundary
+    public static RAbstractVector createNativeVector(SEXPTYPE type, int length) {
+        assert canCreateNativeVector(type) && length > 0;
+        ElementType elementType = type == SEXPTYPE.REALSXP ? ElementType.DOUBLE : type == SEXPTYPE.RAWSXP ? ElementType.BYTE : ElementType.INT;
+        long size = length * (long) elementType.getBytes();
+        long address = NativeMemory.allocate(size, "NativeVector");
+        NativeMemory.setMemory(address, size, (byte) 0);
+        RAbstractVector result;
+        switch (type) {
+            case INTSXP:
+                result = RDataFactory.createIntVectorFromNative(address, length);
+                break;
+            case REALSXP:
+                result = RDataFactory.createDoubleVectorFromNative(address, length);
+                break;
+            case LGLSXP:
+                result = RDataFactory.createLogicalVectorFromNative(address, length);
+                break;
+            case RAWSXP:
+                result = RDataFactory.createRawVectorFromNative(address, length);
+                break;
+            default:
+                throw RInternalError.shouldNotReachHere(type.name());
+        }
+        result.getNativeMirror().setDataAddress(address);
+        return result;
+    }
+
     public static void setNativeWrapper(RBaseObject obj, Object wrapper) {
         NativeMirror mirror = obj.getNativeMirror();
         if (mirror == null) {
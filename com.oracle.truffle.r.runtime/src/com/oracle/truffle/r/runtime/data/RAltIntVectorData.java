@@ -24,6 +24,7 @@ package com.oracle.truffle.r.runtime.data;
 
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.dsl.GenerateUncached;
@@ -32,15 +33,19 @@ import com.oracle.truffle.api.interop.InteropException;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.r.runtime.RInternalError;
 import com.oracle.truffle.r.runtime.RType;
+import com.oracle.truffle.r.runtime.data.VectorDataLibrary.Iterator;
 import com.oracle.truffle.r.runtime.data.VectorDataLibrary.RandomAccessIterator;
 import com.oracle.truffle.r.runtime.data.VectorDataLibrary.RandomAccessWriteIterator;
 import com.oracle.truffle.r.runtime.data.VectorDataLibrary.SeqIterator;
 import com.oracle.truffle.r.runtime.data.VectorDataLibrary.SeqWriteIterator;
 import com.oracle.truffle.r.runtime.data.altrep.AltIntegerClassDescriptor;
+import com.oracle.truffle.r.runtime.data.altrep.AltrepRegionBuffer;
 import com.oracle.truffle.r.runtime.data.altrep.AltrepUtilities;
 import com.oracle.truffle.r.runtime.data.altrep.RAltRepData;
+import com.oracle.truffle.r.runtime.data.model.RAbstractAtomicVector;
 import com.oracle.truffle.r.runtime.ffi.AltrepRFFI;
 import com.oracle.truffle.r.runtime.ffi.util.NativeMemory;
 import com.oracle.truffle.r.runtime.ffi.util.NativeMemory.ElementType;
@@ -145,21 +150,44 @@ public class RAltIntVectorData extends RAltrepNumericVectorData {
     @ExportMessage
     public int getNextInt(SeqIterator it,
                     @Shared("getIntAtNode") @Cached GetIntAtNode getIntAtNode,
+                    @Shared("getRegionNode") @Cached AltrepRFFI.GetRegionNode getRegionNode,
+                    @Shared("bufferedProfile") @Cached("createBinaryProfile()") ConditionProfile bufferedProfile,
                     @Shared("naCheck") @Cached NACheck naCheck) {
-        int value = getIntAtNode.execute(owner, it.getIndex());
+        int value = getFromIterator(it, it.getIndex(), getIntAtNode, getRegionNode, bufferedProfile);
         naCheck.check(value);
         return value;
     }
 
     @ExportMessage
-    public int getInt(@SuppressWarnings("unused") RandomAccessIterator it, int index,
+    public int getInt(RandomAccessIterator it, int index,
                     @Shared("getIntAtNode") @Cached GetIntAtNode getIntAtNode,
+                    @Shared("getRegionNode") @Cached AltrepRFFI.GetRegionNode getRegionNode,
+                    @Shared("bufferedProfile") @Cached("createBinaryProfile()") ConditionProfile bufferedProfile,
                     @Shared("naCheck") @Cached NACheck naCheck) {
-        int value = getIntAtNode.execute(owner, index);
+        int value = getFromIterator(it, index, getIntAtNode, getRegionNode, bufferedProfile);
         naCheck.check(value);
         return value;
     }
 
+    private int getFromIterator(Iterator it, int index, GetIntAtNode getIntAtNode, AltrepRFFI.GetRegionNode getRegionNode, ConditionProfile bufferedProfile) {
+        Object store = it.getStore();
+        if (bufferedProfile.profile(store instanceof AltrepRegionBuffer && ((AltrepRegionBuffer) store).isUsable(owner))) {
+            return ((AltrepRegionBuffer) store).getInt(owner, index, getRegionNode);
+        }
+        return getIntAtNode.execute(owner, index);
+    }
+
+    @Override
+    @TruffleBoundary
+    protected Object getIteratorStore(int length) {
+        if (length < AltrepRegionBuffer.MIN_VECTOR_LENGTH || !getDescriptor().isEltMethodRegistered()) {
+            // without Elt, the elements are read from the Dataptr directly
+            return this;
+        }
+        AltrepRegionBuffer buffer = AltrepRegionBuffer.create(this, (RAbstractAtomicVector) owner, descriptor, getDescriptor().isGetRegionMethodRegistered(), ElementType.INT, length);
+        return buffer != null ? buffer : this;
+    }
+
     // Write access to elements:
 
     @ExportMessage
@@ -188,6 +216,7 @@ public class RAltIntVectorData extends RAltrepNumericVectorData {
 
     private void writeViaDataptrNode(AltrepRFFI.DataptrNode dataptrNode,
                     int index, int value) {
+        invalidateRegionBuffers();
         long addr = dataptrNode.execute(owner, true);
         NativeMemory.putInt(addr, index, value);
     }
@@ -23,6 +23,7 @@
 package com.oracle.truffle.r.runtime.data;
 
 import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.dsl.GenerateUncached;
@@ -32,15 +33,20 @@ import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.r.runtime.RInternalError;
 import com.oracle.truffle.r.runtime.RType;
 import com.oracle.truffle.r.runtime.data.altrep.AltRealClassDescriptor;
+import com.oracle.truffle.r.runtime.data.altrep.AltrepRegionBuffer;
 import com.oracle.truffle.r.runtime.data.altrep.AltrepUtilities;
 import com.oracle.truffle.r.runtime.data.altrep.RAltRepData;
+import com.oracle.truffle.r.runtime.data.VectorDataLibrary.Iterator;
 import com.oracle.truffle.r.runtime.data.VectorDataLibrary.SeqIterator;
 import com.oracle.truffle.r.runtime.data.VectorDataLibrary.RandomAccessIterator;
+import com.oracle.truffle.r.runtime.data.model.RAbstractAtomicVector;
 import com.oracle.truffle.r.runtime.ffi.AltrepRFFI;
 import com.oracle.truffle.r.runtime.ffi.util.NativeMemory;
+import com.oracle.truffle.r.runtime.ffi.util.NativeMemory.ElementType;
 import com.oracle.truffle.r.runtime.ops.na.NACheck;
 
 @ExportLibrary(VectorDataLibrary.class)
@@ -115,21 +121,44 @@ public class RAltRealVectorData extends RAltrepNumericVectorData {
     @ExportMessage
     public double getNextDouble(SeqIterator it,
                     @Shared("getDoubleAtNode") @Cached GetDoubleAtNode getDoubleAtNode,
+                    @Shared("getRegionNode") @Cached AltrepRFFI.GetRegionNode getRegionNode,
+                    @Shared("bufferedProfile") @Cached("createBinaryProfile()") ConditionProfile bufferedProfile,
                     @Shared("naCheck") @Cached NACheck naCheck) {
-        double value = getDoubleAtNode.execute(owner, it.getIndex());
+        double value = getFromIterator(it, it.getIndex(), getDoubleAtNode, getRegionNode, bufferedProfile);
         naCheck.check(value);
         return value;
     }
 
     @ExportMessage
-    public double getDouble(@SuppressWarnings("unused") RandomAccessIterator it, int index,
+    public double getDouble(RandomAccessIterator it, int index,
                     @Shared("getDoubleAtNode") @Cached GetDoubleAtNode getDoubleAtNode,
+                    @Shared("getRegionNode") @Cached AltrepRFFI.GetRegionNode getRegionNode,
+                    @Shared("bufferedProfile") @Cached("createBinaryProfile()") ConditionProfile bufferedProfile,
                     @Shared("naCheck") @Cached NACheck naCheck) {
-        double value = getDoubleAtNode.execute(owner, index);
+        double value = getFromIterator(it, index, getDoubleAtNode, getRegionNode, bufferedProfile);
         naCheck.check(value);
         return value;
     }
 
+    private double getFromIterator(Iterator it, int index, GetDoubleAtNode getDoubleAtNode, AltrepRFFI.GetRegionNode getRegionNode, ConditionProfile bufferedProfile) {
+        Object store = it.getStore();
+        if (bufferedProfile.profile(store instanceof AltrepRegionBuffer && ((AltrepRegionBuffer) store).isUsable(owner))) {
+            return ((AltrepRegionBuffer) store).getDouble(owner, index, getRegionNode);
+        }
+        return getDoubleAtNode.execute(owner, index);
+    }
+
+    @Override
+    @TruffleBoundary
+    protected Object getIteratorStore(int length) {
+        if (length < AltrepRegionBuffer.MIN_VECTOR_LENGTH || !getDescriptor().isEltMethodRegistered()) {
+            // without Elt, the elements are read from the Dataptr directly
+            return this;
+        }
+        AltrepRegionBuffer buffer = AltrepRegionBuffer.create(this, (RAbstractAtomicVector) owner, descriptor, getDescriptor().isGetRegionMethodRegistered(), ElementType.DOUBLE, length);
+        return buffer != null ? buffer : this;
+    }
+
     // Write access to elements:
 
     @ExportMessage
@@ -157,6 +186,7 @@ public class RAltRealVectorData extends RAltrepNumericVectorData {
     }
 
     private void writeViaDataptrNode(AltrepRFFI.DataptrNode dataptrNode, int index, double value) {
+        invalidateRegionBuffers();
         long addr = dataptrNode.execute(owner, true);
         NativeMemory.putDouble(addr, index, value);
     }
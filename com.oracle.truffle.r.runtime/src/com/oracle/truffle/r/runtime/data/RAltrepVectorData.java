@@ -22,6 +22,7 @@
  */
 package com.oracle.truffle.r.runtime.data;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.interop.TruffleObject;
@@ -30,6 +31,7 @@ import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.profiles.LoopConditionProfile;
 import com.oracle.truffle.r.runtime.RInternalError;
 import com.oracle.truffle.r.runtime.RType;
+import com.oracle.truffle.r.runtime.data.altrep.AltrepRegionBuffer;
 import com.oracle.truffle.r.runtime.data.altrep.RAltRepData;
 import com.oracle.truffle.r.runtime.data.model.RAbstractContainer;
 import com.oracle.truffle.r.runtime.ffi.AltrepRFFI;
@@ -49,6 +51,10 @@ public class RAltrepVectorData implements TruffleObject, VectorDataWithOwner {
     // useful, because we do not have to call Dataptr method multiple times and we can cache the
     // result.
     private boolean dataptrCalled;
+    /**
+     * Incremented on every write, see {@link AltrepRegionBuffer}.
+     */
+    private int writeCount;
 
     protected RAltrepVectorData(RAltRepData altrepData) {
         this.altrepData = altrepData;
@@ -97,6 +103,8 @@ public class RAltrepVectorData implements TruffleObject, VectorDataWithOwner {
 
     @ExportMessage
     public long asPointer(@Shared("dataptrNode") @Cached AltrepRFFI.DataptrNode dataptrNode) {
+        // the elements may be written through the pointer
+        invalidateRegionBuffers();
         return dataptrNode.execute(owner, true);
     }
 
@@ -108,6 +116,7 @@ public class RAltrepVectorData implements TruffleObject, VectorDataWithOwner {
     @ExportMessage
     public RAltrepVectorData materialize(@Shared("dataptrNode") @Cached AltrepRFFI.DataptrNode dataptrNode) {
         // Dataptr altrep method call forces materialization
+        invalidateRegionBuffers();
         dataptrNode.execute(owner, true);
         return this;
     }
@@ -128,19 +137,40 @@ public class RAltrepVectorData implements TruffleObject, VectorDataWithOwner {
         return duplicateNode.execute(owner, deep);
     }
 
+    /**
+     * Returns the store of a new read iterator. Subclasses may return an
+     * {@link AltrepRegionBuffer} to fetch the elements in chunks instead of one by one.
+     */
+    @TruffleBoundary
+    protected Object getIteratorStore(@SuppressWarnings("unused") int length) {
+        return this;
+    }
+
+    /**
+     * Must be called on every write to the vector data, so that the iterators do not read stale
+     * elements from their {@link AltrepRegionBuffer}s.
+     */
+    protected final void invalidateRegionBuffers() {
+        writeCount++;
+    }
+
+    public final int getWriteCount() {
+        return writeCount;
+    }
+
     @ExportMessage
     public VectorDataLibrary.SeqIterator iterator(
                     @Shared("SeqItLoopProfile") @Cached("createCountingProfile()") LoopConditionProfile loopProfile,
                     @Shared("lengthNode") @Cached AltrepRFFI.LengthNode lengthNode) {
         int length = lengthNode.execute(owner);
-        VectorDataLibrary.SeqIterator it = new VectorDataLibrary.SeqIterator(this, length);
+        VectorDataLibrary.SeqIterator it = new VectorDataLibrary.SeqIterator(getIteratorStore(length), length);
         it.initLoopConditionProfile(loopProfile);
         return it;
     }
 
     @ExportMessage
-    public VectorDataLibrary.RandomAccessIterator randomAccessIterator() {
-        return new VectorDataLibrary.RandomAccessIterator(this);
+    public VectorDataLibrary.RandomAccessIterator randomAccessIterator(@Shared("lengthNode") @Cached AltrepRFFI.LengthNode lengthNode) {
+        return new VectorDataLibrary.RandomAccessIterator(getIteratorStore(lengthNode.execute(owner)));
     }
 
     @ExportMessage
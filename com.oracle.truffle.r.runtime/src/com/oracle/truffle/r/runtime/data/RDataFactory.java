@@ -695,8 +695,8 @@ public final class RDataFactory {
         @TruffleBoundary
         public final REnvironment createNewEnv(String name, boolean hashed, int initialSize) {
             REnvironment.NewEnv env = new REnvironment.NewEnv(RRuntime.createNonFunctionFrame("<new-env-" + environmentCount.incrementAndGet() + ">"), name);
-            env.setHashed(hashed);
             env.setInitialSize(initialSize);
+            env.setHashed(hashed);
             return traceDataCreated(env);
         }
 
@@ -1335,8 +1335,8 @@ public final class RDataFactory {
     @TruffleBoundary
     public static REnvironment createNewEnv(String name, boolean hashed, int initialSize) {
         REnvironment.NewEnv env = new REnvironment.NewEnv(RRuntime.createNonFunctionFrame("<new-env-" + environmentCount.incrementAndGet() + ">"), name);
-        env.setHashed(hashed);
         env.setInitialSize(initialSize);
+        env.setHashed(hashed);
         return traceDataCreated(env);
     }
 
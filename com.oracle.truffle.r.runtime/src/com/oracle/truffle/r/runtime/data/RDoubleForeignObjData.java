@@ -40,6 +40,7 @@ import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.RType;
 import com.oracle.truffle.r.runtime.data.VectorDataLibrary.RandomAccessIterator;
 import com.oracle.truffle.r.runtime.data.VectorDataLibrary.SeqIterator;
+import com.oracle.truffle.r.runtime.interop.HostArrayConversion;
 import com.oracle.truffle.r.runtime.ops.na.NACheck;
 
 @ExportLibrary(VectorDataLibrary.class)
@@ -75,8 +76,9 @@ class RDoubleForeignObjData implements TruffleObject {
     @ExportMessage
     public RDoubleArrayVectorData materialize(@CachedLibrary(limit = "5") InteropLibrary valueInterop,
                     @CachedLibrary("this.foreign") InteropLibrary interop,
-                    @Shared("unprecisseProfile") @Cached("createBinaryProfile()") ConditionProfile unprecisseDoubleProfile) {
-        return copy(false, valueInterop, interop, unprecisseDoubleProfile);
+                    @Shared("unprecisseProfile") @Cached("createBinaryProfile()") ConditionProfile unprecisseDoubleProfile,
+                    @Shared("hostArrayProfile") @Cached("createBinaryProfile()") ConditionProfile hostArrayProfile) {
+        return copy(false, valueInterop, interop, unprecisseDoubleProfile, hostArrayProfile);
     }
 
     @ExportMessage
@@ -88,14 +90,20 @@ class RDoubleForeignObjData implements TruffleObject {
     public RDoubleArrayVectorData copy(@SuppressWarnings("unused") boolean deep,
                     @CachedLibrary(limit = "5") InteropLibrary valueInterop,
                     @CachedLibrary("this.foreign") InteropLibrary interop,
-                    @Shared("unprecisseProfile") @Cached("createBinaryProfile()") ConditionProfile unprecisseDoubleProfile) {
-        return new RDoubleArrayVectorData(getDoubleDataCopy(valueInterop, interop, unprecisseDoubleProfile), RDataFactory.INCOMPLETE_VECTOR);
+                    @Shared("unprecisseProfile") @Cached("createBinaryProfile()") ConditionProfile unprecisseDoubleProfile,
+                    @Shared("hostArrayProfile") @Cached("createBinaryProfile()") ConditionProfile hostArrayProfile) {
+        return new RDoubleArrayVectorData(getDoubleDataCopy(valueInterop, interop, unprecisseDoubleProfile, hostArrayProfile), RDataFactory.INCOMPLETE_VECTOR);
     }
 
     @ExportMessage
     public double[] getDoubleDataCopy(@CachedLibrary(limit = "5") InteropLibrary valueInterop,
                     @CachedLibrary("this.foreign") InteropLibrary interop,
-                    @Shared("unprecisseProfile") @Cached("createBinaryProfile()") ConditionProfile unprecisseDoubleProfile) {
+                    @Shared("unprecisseProfile") @Cached("createBinaryProfile()") ConditionProfile unprecisseDoubleProfile,
+                    @Shared("hostArrayProfile") @Cached("createBinaryProfile()") ConditionProfile hostArrayProfile) {
+        double[] hostCopy = HostArrayConversion.copyHostDoubleArray(foreign);
+        if (hostArrayProfile.profile(hostCopy != null)) {
+            return hostCopy;
+        }
         int len = getLength(interop);
         return getDataAsArray(len, len, valueInterop, interop, unprecisseDoubleProfile);
     }
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.data;
+
+import java.io.IOException;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.api.profiles.LoopConditionProfile;
+import com.oracle.truffle.r.runtime.RType;
+import com.oracle.truffle.r.runtime.data.VectorDataLibrary.Iterator;
+import com.oracle.truffle.r.runtime.data.VectorDataLibrary.RandomAccessIterator;
+import com.oracle.truffle.r.runtime.data.VectorDataLibrary.SeqIterator;
+import com.oracle.truffle.r.runtime.ops.na.NACheck;
+
+/**
+ * Double vector data backed by a memory mapped file, see {@link MappedFileStorage}. The data are
+ * read directly from the mapped memory, the first modification copies them to the heap.
+ */
+@ExportLibrary(VectorDataLibrary.class)
+public class RDoubleMappedVectorData implements TruffleObject {
+    private final MappedFileStorage storage;
+
+    public RDoubleMappedVectorData(MappedFileStorage storage) {
+        this.storage = storage;
+    }
+
+    public MappedFileStorage getStorage() {
+        return storage;
+    }
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    public NACheck getNACheck() {
+        return NACheck.getEnabled();
+    }
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    public final RType getType() {
+        return RType.Double;
+    }
+
+    @ExportMessage
+    public int getLength() {
+        return storage.getLength();
+    }
+
+    @ExportMessage
+    public RDoubleArrayVectorData materialize() {
+        return new RDoubleArrayVectorData(getDoubleDataCopy(), RDataFactory.INCOMPLETE_VECTOR);
+    }
+
+    /**
+     * Unless the mapped memory may have been modified by the native code, the copy maps the file
+     * again, so that the native code cannot modify both copies at once.
+     */
+    @ExportMessage
+    @TruffleBoundary
+    public Object copy(@SuppressWarnings("unused") boolean deep) {
+        if (!storage.isModified()) {
+            try {
+                return new RDoubleMappedVectorData(storage.remap());
+            } catch (IOException e) {
+                // the file is not accessible anymore, fall through
+            }
+        }
+        return materialize();
+    }
+
+    @ExportMessage
+    public double[] getDoubleDataCopy() {
+        double[] result = new double[storage.getLength()];
+        storage.copyTo(result);
+        return result;
+    }
+
+    // Read access to the elements:
+
+    @ExportMessage
+    public SeqIterator iterator(@Shared("naCheck") @Cached() NACheck naCheck,
+                    @Shared("SeqItLoopProfile") @Cached("createCountingProfile()") LoopConditionProfile loopProfile) {
+        SeqIterator it = new SeqIterator(storage, storage.getLength());
+        naCheck.enable(true);
+        it.initLoopConditionProfile(loopProfile);
+        return it;
+    }
+
+    @ExportMessage
+    @SuppressWarnings("static-method")
+    public boolean nextImpl(SeqIterator it, boolean loopCondition,
+                    @Shared("SeqItLoopProfile") @Cached("createCountingProfile()") LoopConditionProfile loopProfile) {
+        return it.next(loopCondition, loopProfile);
+    }
+
+    @ExportMessage
+    @SuppressWarnings("static-method")
+    public void nextWithWrap(SeqIterator it,
+                    @Cached("createBinaryProfile()") ConditionProfile wrapProfile) {
+        it.nextWithWrap(wrapProfile);
+    }
+
+    @ExportMessage
+    public RandomAccessIterator randomAccessIterator(@Shared("naCheck") @Cached() NACheck naCheck) {
+        naCheck.enable(true);
+        return new RandomAccessIterator(storage);
+    }
+
+    @ExportMessage
+    public double getDoubleAt(int index,
+                    @Shared("naCheck") @Cached() NACheck naCheck) {
+        double value = storage.getDouble(index);
+        naCheck.check(value);
+        return value;
+    }
+
+    @ExportMessage
+    @SuppressWarnings("static-method")
+    public double getNextDouble(SeqIterator it,
+                    @Shared("naCheck") @Cached() NACheck naCheck) {
+        double value = getStore(it).getDouble(it.getIndex());
+        naCheck.check(value);
+        return value;
+    }
+
+    @ExportMessage
+    @SuppressWarnings("static-method")
+    public double getDouble(RandomAccessIterator it, int index,
+                    @Shared("naCheck") @Cached() NACheck naCheck) {
+        double value = getStore(it).getDouble(index);
+        naCheck.check(value);
+        return value;
+    }
+
+    private static MappedFileStorage getStore(Iterator it) {
+        return (MappedFileStorage) it.getStore();
+    }
+
+    @Override
+    public String toString() {
+        CompilerAsserts.neverPartOfCompilation();
+        return "mapped " + storage;
+    }
+}
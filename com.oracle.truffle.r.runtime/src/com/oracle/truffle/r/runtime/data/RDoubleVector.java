@@ -85,6 +85,10 @@ public final class RDoubleVector extends RAbstractNumericVector implements RMate
         return new RDoubleVector(data, VectorDataLibrary.getFactory().getUncached().getLength(data));
     }
 
+    public static RDoubleVector createMapped(MappedFileStorage storage) {
+        return new RDoubleVector(new RDoubleMappedVectorData(storage), storage.getLength());
+    }
+
     public static RDoubleVector createSequence(double start, double stride, int length) {
         return new RDoubleVector(new RDoubleSeqVectorData(start, stride, length), length);
     }
@@ -288,10 +292,14 @@ public final class RDoubleVector extends RAbstractNumericVector implements RMate
     @ExportMessage(name = "toNative", library = AbstractContainerLibrary.class)
     public void containerLibToNative(
                     @Cached("createBinaryProfile()") ConditionProfile alreadyNativeProfile,
+                    @Cached("createBinaryProfile()") ConditionProfile mappedProfile,
                     @CachedLibrary(limit = DATA_LIB_LIMIT) VectorDataLibrary dataLib) {
         if (alreadyNativeProfile.profile(data instanceof RDoubleNativeVectorData)) {
             return;
         }
+        if (mappedProfile.profile(data instanceof RDoubleMappedVectorData) && toNativeMapped()) {
+            return;
+        }
         double[] arr = dataLib.getReadonlyDoubleData(this.data);
         NativeDataAccess.allocateNativeContents(this, arr, getLength());
         setData(new RDoubleNativeVectorData(this), getLength());
@@ -357,6 +365,16 @@ public final class RDoubleVector extends RAbstractNumericVector implements RMate
         return (double[]) super.getDataTemp();
     }
 
+    @Override
+    protected int getBufferElementSize() {
+        return Double.BYTES;
+    }
+
+    @Override
+    protected long getBufferElementBits(VectorDataLibrary dataLib, int index) {
+        return Double.doubleToRawLongBits(dataLib.getDoubleAt(getData(), index));
+    }
+
     @Override
     public Object getDataAtAsObject(int index) {
         return getDataAt(index);
@@ -367,7 +385,28 @@ public final class RDoubleVector extends RAbstractNumericVector implements RMate
         setDataAt(getData(), index, (Double) value);
     }
 
+    /**
+     * Hands the mapped memory of {@link RDoubleMappedVectorData} over to the native code without
+     * copying if possible, i.e. {@code REAL(x)} then points into the mapped file.
+     */
+    @CompilerDirectives.TruffleBoundary
+    private boolean toNativeMapped() {
+        MappedFileStorage storage = ((RDoubleMappedVectorData) data).getStorage();
+        // segmented regions are never handed over, there is no point in mapping them again
+        storage = storage.isContiguous() ? storage.toWriteable() : null;
+        if (storage != null) {
+            storage.setModified();
+            NativeDataAccess.setNativeContents(this, storage.getAddress(), getLength(), storage);
+            setData(new RDoubleNativeVectorData(this), getLength());
+            return true;
+        }
+        return false;
+    }
+
     public long allocateNativeContents() {
+        if (data instanceof RDoubleMappedVectorData && toNativeMapped()) {
+            return NativeDataAccess.getNativeDataAddress(this);
+        }
         data = VectorDataLibrary.getFactory().getUncached().materialize(data);
         long result = NativeDataAccess.allocateNativeContents(this, getArrayForNativeDataAccess(), getLength());
         setData(new RDoubleNativeVectorData(this), getLength());
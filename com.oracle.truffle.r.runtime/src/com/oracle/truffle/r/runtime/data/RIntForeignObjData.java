@@ -41,6 +41,7 @@ import com.oracle.truffle.r.runtime.RType;
 import com.oracle.truffle.r.runtime.Utils;
 import com.oracle.truffle.r.runtime.data.VectorDataLibrary.RandomAccessIterator;
 import com.oracle.truffle.r.runtime.data.VectorDataLibrary.SeqIterator;
+import com.oracle.truffle.r.runtime.interop.HostArrayConversion;
 import com.oracle.truffle.r.runtime.ops.na.NACheck;
 
 @ExportLibrary(VectorDataLibrary.class)
@@ -78,8 +79,9 @@ class RIntForeignObjData implements TruffleObject {
                     @CachedLibrary("this.foreign") InteropLibrary interop,
                     @Shared("resultProfile") @Cached("createClassProfile()") ValueProfile resultProfile,
                     @Shared("isTOProfile") @Cached("createBinaryProfile()") ConditionProfile isTruffleObjectProfile,
-                    @Shared("isIntProfile") @Cached("createBinaryProfile()") ConditionProfile isIntProfile) {
-        return copy(false, valueInterop, interop, resultProfile, isTruffleObjectProfile, isIntProfile);
+                    @Shared("isIntProfile") @Cached("createBinaryProfile()") ConditionProfile isIntProfile,
+                    @Shared("hostArrayProfile") @Cached("createBinaryProfile()") ConditionProfile hostArrayProfile) {
+        return copy(false, valueInterop, interop, resultProfile, isTruffleObjectProfile, isIntProfile, hostArrayProfile);
     }
 
     @ExportMessage
@@ -93,8 +95,9 @@ class RIntForeignObjData implements TruffleObject {
                     @CachedLibrary("this.foreign") InteropLibrary interop,
                     @Shared("resultProfile") @Cached("createClassProfile()") ValueProfile resultProfile,
                     @Shared("isTOProfile") @Cached("createBinaryProfile()") ConditionProfile isTruffleObjectProfile,
-                    @Shared("isIntProfile") @Cached("createBinaryProfile()") ConditionProfile isIntProfile) {
-        return new RIntArrayVectorData(getIntDataCopy(valueInterop, interop, resultProfile, isTruffleObjectProfile, isIntProfile), RDataFactory.INCOMPLETE_VECTOR);
+                    @Shared("isIntProfile") @Cached("createBinaryProfile()") ConditionProfile isIntProfile,
+                    @Shared("hostArrayProfile") @Cached("createBinaryProfile()") ConditionProfile hostArrayProfile) {
+        return new RIntArrayVectorData(getIntDataCopy(valueInterop, interop, resultProfile, isTruffleObjectProfile, isIntProfile, hostArrayProfile), RDataFactory.INCOMPLETE_VECTOR);
     }
 
     @ExportMessage
@@ -102,7 +105,12 @@ class RIntForeignObjData implements TruffleObject {
                     @CachedLibrary("this.foreign") InteropLibrary interop,
                     @Shared("resultProfile") @Cached("createClassProfile()") ValueProfile resultProfile,
                     @Shared("isTOProfile") @Cached("createBinaryProfile()") ConditionProfile isTruffleObjectProfile,
-                    @Shared("isIntProfile") @Cached("createBinaryProfile()") ConditionProfile isIntProfile) {
+                    @Shared("isIntProfile") @Cached("createBinaryProfile()") ConditionProfile isIntProfile,
+                    @Shared("hostArrayProfile") @Cached("createBinaryProfile()") ConditionProfile hostArrayProfile) {
+        int[] hostCopy = HostArrayConversion.copyHostIntArray(foreign);
+        if (hostArrayProfile.profile(hostCopy != null)) {
+            return hostCopy;
+        }
         int len = getLength(interop);
         return getDataAsArray(len, len, valueInterop, interop, resultProfile, isTruffleObjectProfile, isIntProfile);
     }
@@ -91,6 +91,10 @@ public final class RIntVector extends RAbstractNumericVector {
         return result;
     }
 
+    public static RIntVector createMapped(MappedFileStorage storage) {
+        return new RIntVector(new RIntMappedVectorData(storage), storage.getLength());
+    }
+
     public static RIntVector createSequence(int start, int stride, int length) {
         return new RIntVector(new RIntSeqVectorData(start, stride, length), length);
     }
@@ -305,10 +309,14 @@ public final class RIntVector extends RAbstractNumericVector {
         @Specialization(guards = "!isAltrep(vector)")
         protected static void nativizeVector(RIntVector vector,
                         @Cached ConditionProfile alreadyNativeProfile,
+                        @Cached("createBinaryProfile()") ConditionProfile mappedProfile,
                         @CachedLibrary(limit = DATA_LIB_LIMIT) VectorDataLibrary dataLib) {
             if (alreadyNativeProfile.profile(vector.data instanceof RIntNativeVectorData)) {
                 return;
             }
+            if (mappedProfile.profile(vector.data instanceof RIntMappedVectorData) && vector.toNativeMapped()) {
+                return;
+            }
             int[] arr = dataLib.getReadonlyIntData(vector.data);
             NativeDataAccess.allocateNativeContents(vector, arr, vector.getLength());
             vector.setData(new RIntNativeVectorData(vector), vector.getLength());
@@ -400,6 +408,16 @@ public final class RIntVector extends RAbstractNumericVector {
         return (int[]) super.getDataTemp();
     }
 
+    @Override
+    protected int getBufferElementSize() {
+        return Integer.BYTES;
+    }
+
+    @Override
+    protected long getBufferElementBits(VectorDataLibrary dataLib, int index) {
+        return dataLib.getIntAt(getData(), index);
+    }
+
     @Override
     public Object getDataAtAsObject(int index) {
         return getDataAt(index);
@@ -410,7 +428,28 @@ public final class RIntVector extends RAbstractNumericVector {
         setDataAt(getData(), index, (Integer) value);
     }
 
+    /**
+     * Hands the mapped memory of {@link RIntMappedVectorData} over to the native code without
+     * copying if possible, i.e. {@code INTEGER(x)} then points into the mapped file.
+     */
+    @TruffleBoundary
+    private boolean toNativeMapped() {
+        MappedFileStorage storage = ((RIntMappedVectorData) data).getStorage();
+        // segmented regions are never handed over, there is no point in mapping them again
+        storage = storage.isContiguous() ? storage.toWriteable() : null;
+        if (storage != null) {
+            storage.setModified();
+            NativeDataAccess.setNativeContents(this, storage.getAddress(), getLength(), storage);
+            setData(new RIntNativeVectorData(this), getLength());
+            return true;
+        }
+        return false;
+    }
+
     public long allocateNativeContents() {
+        if (data instanceof RIntMappedVectorData && toNativeMapped()) {
+            return NativeDataAccess.getNativeDataAddress(this);
+        }
         setData(VectorDataLibrary.getFactory().getUncached().materialize(data), getLength());
         long result = NativeDataAccess.allocateNativeContents(this, getArrayForNativeDataAccess(), getLength());
         setData(new RIntNativeVectorData(this), getLength());
@@ -287,6 +287,16 @@ public final class RRawVector extends RAbstractNumericVector implements RMateria
         return updateDataAt(i, (RRaw) o);
     }
 
+    @Override
+    protected int getBufferElementSize() {
+        return Byte.BYTES;
+    }
+
+    @Override
+    protected long getBufferElementBits(VectorDataLibrary dataLib, int index) {
+        return dataLib.getRawAt(getData(), index) & 0xFF;
+    }
+
     @Override
     @Ignore
     public Object getDataAtAsObject(int index) {
@@ -22,6 +22,7 @@
  */
 package com.oracle.truffle.r.runtime.data;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.interop.TruffleObject;
@@ -30,6 +31,7 @@ import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.profiles.LoopConditionProfile;
+import com.oracle.truffle.r.runtime.Collections.NonRecursiveHashMapCharacter;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.RType;
 import com.oracle.truffle.r.runtime.data.VectorDataLibrary.Iterator;
@@ -48,11 +50,41 @@ class RStringArrayVectorData implements TruffleObject, ShareableVectorData {
     private final String[] data;
     private boolean complete;
 
+    /**
+     * Maps each distinct element to the position of its first occurrence, see
+     * {@link #getIndex()}. Any write access to the elements drops the index.
+     */
+    private NonRecursiveHashMapCharacter index;
+    private boolean indexRequested;
+
     RStringArrayVectorData(String[] data, boolean complete) {
         this.data = data;
         this.complete = complete && ENABLE_COMPLETE;
     }
 
+    /**
+     * Returns the hash index of the elements or {@code null}. The index is only built on the
+     * second request, so that a one-off lookup in a temporary vector does not pay for hashing all
+     * the elements.
+     */
+    @TruffleBoundary
+    NonRecursiveHashMapCharacter getIndex() {
+        NonRecursiveHashMapCharacter result = index;
+        if (result == null) {
+            if (!indexRequested) {
+                indexRequested = true;
+                return null;
+            }
+            result = new NonRecursiveHashMapCharacter(data.length);
+            // iterate backwards so that the first occurrence of a duplicate wins
+            for (int i = data.length - 1; i >= 0; i--) {
+                result.put(data[i], i);
+            }
+            index = result;
+        }
+        return result;
+    }
+
     public RStringCharSXPData wrapStrings() {
         CharSXPWrapper[] result = new CharSXPWrapper[data.length];
         for (int i = 0; i < result.length; i++) {
@@ -173,11 +205,13 @@ class RStringArrayVectorData implements TruffleObject, ShareableVectorData {
 
     @ExportMessage
     public SeqWriteIterator writeIterator() {
+        index = null;
         return new SeqWriteIterator(data, data.length);
     }
 
     @ExportMessage
     public RandomAccessWriteIterator randomAccessWriteIterator() {
+        index = null;
         return new RandomAccessWriteIterator(data);
     }
 
@@ -193,6 +227,7 @@ class RStringArrayVectorData implements TruffleObject, ShareableVectorData {
     }
 
     private void commitWrites(boolean neverSeenNA, @Cached BranchProfile setCompleteProfile) {
+        index = null;
         if (!neverSeenNA) {
             setCompleteProfile.enter();
             complete = false;
@@ -202,6 +237,7 @@ class RStringArrayVectorData implements TruffleObject, ShareableVectorData {
     @ExportMessage
     public void setStringAt(int index, String value, @Shared("setCompleteProfile") @Cached BranchProfile setCompleteProfile) {
         data[index] = value;
+        this.index = null;
         if (RRuntime.isNA(value)) {
             setCompleteProfile.enter();
             complete = false;
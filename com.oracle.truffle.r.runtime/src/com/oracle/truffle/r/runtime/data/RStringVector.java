@@ -31,6 +31,7 @@ import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.library.ExportMessage.Ignore;
 import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.r.runtime.Collections.NonRecursiveHashMapCharacter;
 import com.oracle.truffle.r.runtime.RInternalError;
 import com.oracle.truffle.r.runtime.RRuntime;
 import com.oracle.truffle.r.runtime.RType;
@@ -57,6 +58,11 @@ import java.util.Arrays;
 @ExportLibrary(AbstractContainerLibrary.class)
 public final class RStringVector extends RAbstractAtomicVector implements RMaterializedVector, Shareable {
 
+    /**
+     * Shorter vectors are searched linearly, see {@link #getStringIndex()}.
+     */
+    private static final int MIN_INDEXED_LENGTH = 64;
+
     private int length;
 
     RStringVector(Object[] data, boolean complete) {
@@ -298,6 +304,20 @@ public final class RStringVector extends RAbstractAtomicVector implements RMater
         return getUncachedDataLib().getStringAt(data, i);
     }
 
+    /**
+     * Returns a hash index that maps each distinct element of this vector (including
+     * {@link RRuntime#STRING_NA}) to the zero-based position of its first occurrence, or
+     * {@code null} if no index is available. The index is kept with the vector data until the data
+     * are modified, so that repeated lookups in large vectors of names do not have to hash or scan
+     * all the elements again.
+     */
+    public NonRecursiveHashMapCharacter getStringIndex() {
+        if (length >= MIN_INDEXED_LENGTH && data instanceof RStringArrayVectorData) {
+            return ((RStringArrayVectorData) data).getIndex();
+        }
+        return null;
+    }
+
     private RStringVector updateDataAt(int i, String right, NACheck rightNACheck) {
         if (this.isShared()) {
             throw RInternalError.shouldNotReachHere("update shared vector");
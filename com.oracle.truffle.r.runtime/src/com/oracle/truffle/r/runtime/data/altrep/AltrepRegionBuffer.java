@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.data.altrep;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.r.runtime.RInternalError;
+import com.oracle.truffle.r.runtime.data.RAltrepVectorData;
+import com.oracle.truffle.r.runtime.data.model.RAbstractAtomicVector;
+import com.oracle.truffle.r.runtime.ffi.AltrepRFFI;
+import com.oracle.truffle.r.runtime.ffi.AltrepRFFIFactory;
+import com.oracle.truffle.r.runtime.ffi.util.NativeArrayWrapper;
+import com.oracle.truffle.r.runtime.ffi.util.NativeMemory;
+import com.oracle.truffle.r.runtime.ffi.util.NativeMemory.ElementType;
+import com.oracle.truffle.r.runtime.ffi.util.NativeMemory.NativeMemoryWrapper;
+
+/**
+ * Store of an iterator over an ALTREP vector whose class has the {@code Elt} method. Instead of one
+ * {@code Elt} down-call per element, the elements are fetched in chunks via the
+ * {@code Get_region} method into a native buffer. If the {@code Dataptr_or_null} method returns a
+ * pointer, the elements are read from that pointer directly.
+ *
+ * The chunk size starts small, so that iterating only over a few elements does not fetch a large
+ * region, and doubles with every refill that continues right after the previous chunk, i.e., with
+ * sequential access of {@link com.oracle.truffle.r.runtime.data.VectorDataLibrary.SeqIterator}.
+ *
+ * Every iterator has its own buffer, so that nested or interleaved iterations over the same vector
+ * do not evict each other's chunks. Writes to the vector data increment its
+ * {@link RAltrepVectorData#getWriteCount() write count}, the buffer then discards the fetched
+ * elements and asks for the {@code Dataptr_or_null} pointer again before the next read.
+ */
+public final class AltrepRegionBuffer {
+
+    /**
+     * Shorter vectors are iterated by element, the buffer would not pay off.
+     */
+    public static final int MIN_VECTOR_LENGTH = 64;
+
+    private static final int INITIAL_CHUNK_SIZE = 64;
+    private static final int MAX_CHUNK_SIZE = 8192;
+
+    private final RAltrepVectorData data;
+    private final AltVecClassDescriptor descriptor;
+    private final boolean hasGetRegion;
+    private final ElementType type;
+    private final int length;
+    private NativeMemoryWrapper memory;
+    private NativeArrayWrapper region;
+
+    /**
+     * The write count of {@link #data} that the fetched elements and {@link #dataptr} belong to.
+     */
+    private int writeCount;
+    /**
+     * The address returned by {@code Dataptr_or_null} or {@code 0}.
+     */
+    private long dataptr;
+    private int start;
+    private int count;
+    private int chunkSize = INITIAL_CHUNK_SIZE;
+
+    private AltrepRegionBuffer(RAltrepVectorData data, AltVecClassDescriptor descriptor, boolean hasGetRegion, ElementType type, int length) {
+        assert type == ElementType.INT || type == ElementType.DOUBLE;
+        this.data = data;
+        this.descriptor = descriptor;
+        this.hasGetRegion = hasGetRegion;
+        this.type = type;
+        this.length = length;
+    }
+
+    /**
+     * Creates the buffer for a new iteration over {@code owner}. Returns {@code null} if neither
+     * {@code Get_region} nor the {@code Dataptr_or_null} pointer is available, in which case the
+     * elements have to be fetched one by one.
+     */
+    @TruffleBoundary
+    public static AltrepRegionBuffer create(RAltrepVectorData data, RAbstractAtomicVector owner, AltVecClassDescriptor descriptor, boolean hasGetRegion, ElementType type, int length) {
+        AltrepRegionBuffer result = new AltrepRegionBuffer(data, descriptor, hasGetRegion, type, length);
+        result.invalidate(owner);
+        return result.isUsable() ? result : null;
+    }
+
+    /**
+     * Returns {@code true} if the elements can be read through this buffer. This may stop being
+     * the case after a write, when {@code Dataptr_or_null} no longer returns a pointer for a class
+     * without {@code Get_region}.
+     */
+    public boolean isUsable(Object owner) {
+        if (writeCount != data.getWriteCount()) {
+            invalidate(owner);
+        }
+        return isUsable();
+    }
+
+    private boolean isUsable() {
+        return dataptr != 0 || hasGetRegion;
+    }
+
+    @TruffleBoundary
+    private void invalidate(Object owner) {
+        writeCount = data.getWriteCount();
+        start = 0;
+        count = 0;
+        chunkSize = INITIAL_CHUNK_SIZE;
+        dataptr = 0;
+        if (descriptor.isDataptrOrNullMethodRegistered()) {
+            dataptr = (long) AltrepRFFIFactory.DataptrOrNullNodeGen.getUncached().execute(owner);
+        }
+    }
+
+    public int getInt(Object owner, int index, AltrepRFFI.GetRegionNode getRegionNode) {
+        assert type == ElementType.INT && writeCount == data.getWriteCount();
+        if (dataptr != 0) {
+            return NativeMemory.getInt(dataptr, index);
+        }
+        if (index < start || index >= start + count) {
+            fill(owner, index, getRegionNode);
+        }
+        return NativeMemory.getInt(memory.getAddress(), index - start);
+    }
+
+    public double getDouble(Object owner, int index, AltrepRFFI.GetRegionNode getRegionNode) {
+        assert type == ElementType.DOUBLE && writeCount == data.getWriteCount();
+        if (dataptr != 0) {
+            return NativeMemory.getDouble(dataptr, index);
+        }
+        if (index < start || index >= start + count) {
+            fill(owner, index, getRegionNode);
+        }
+        return NativeMemory.getDouble(memory.getAddress(), index - start);
+    }
+
+    private void fill(Object owner, int index, AltrepRFFI.GetRegionNode getRegionNode) {
+        if (region == null) {
+            allocate();
+        }
+        if (count > 0 && index == start + count && chunkSize < MAX_CHUNK_SIZE) {
+            chunkSize *= 2;
+        }
+        int size = Math.min(chunkSize, length - index);
+        int fetched = getRegionNode.execute(owner, index, size, region);
+        if (fetched <= 0) {
+            throw RInternalError.shouldNotReachHere("Get_region returned no elements");
+        }
+        start = index;
+        count = fetched;
+    }
+
+    @TruffleBoundary
+    private void allocate() {
+        long address = NativeMemory.allocate(type, MAX_CHUNK_SIZE, "AltrepRegionBuffer");
+        memory = NativeMemory.wrapNativeMemory(address, this);
+        region = type == ElementType.INT ? NativeArrayWrapper.createIntWrapper(address, MAX_CHUNK_SIZE) : NativeArrayWrapper.createDoubleWrapper(address, MAX_CHUNK_SIZE);
+    }
+}
@@ -22,8 +22,11 @@
  */
 package com.oracle.truffle.r.runtime.data.model;
 
+import java.nio.ByteOrder;
+
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.library.ExportLibrary;
@@ -41,7 +44,11 @@ import com.oracle.truffle.r.runtime.data.VectorDataLibrary;
  * <li>{@link RDoubleVector}</li>
  * <li>{@link RRawVector}</li>
  * </ul>
- * 
+ *
+ * The vectors also expose their elements as a read-only buffer, so that other languages can read
+ * the raw values without an interop call and a conversion per element. The element bytes are
+ * those of the Java primitive values, i.e. {@code NA} is the R bit pattern for doubles and
+ * {@link Integer#MIN_VALUE} for integers.
  */
 @ExportLibrary(InteropLibrary.class)
 public abstract class RAbstractNumericVector extends RAbstractAtomicVector {
@@ -206,4 +213,135 @@ public abstract class RAbstractNumericVector extends RAbstractAtomicVector {
         Object value = getScalarValue(dataLib);
         return valueInterop.asDouble(value);
     }
+
+    /**
+     * Size in bytes of one element in the buffer view of the vector.
+     */
+    protected abstract int getBufferElementSize();
+
+    /**
+     * Returns the bits of the element at {@code index} in the lowest
+     * {@link #getBufferElementSize()} bytes of the result.
+     */
+    protected abstract long getBufferElementBits(VectorDataLibrary dataLib, int index);
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    public final boolean hasBufferElements() {
+        return true;
+    }
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    public final boolean isBufferWritable() {
+        return false;
+    }
+
+    @ExportMessage
+    public final long getBufferSize(@CachedLibrary(limit = DATA_LIB_LIMIT) VectorDataLibrary dataLib) {
+        return (long) dataLib.getLength(getData()) * getBufferElementSize();
+    }
+
+    /**
+     * Reads {@code size} bytes at {@code byteOffset} in given byte order. Reads of a whole element
+     * fetch the element directly, other reads are composed byte by byte.
+     */
+    private long readBufferBits(VectorDataLibrary dataLib, ByteOrder order, long byteOffset, int size, ConditionProfile alignedProfile) throws InvalidBufferOffsetException {
+        int elementSize = getBufferElementSize();
+        if (byteOffset < 0 || byteOffset > (long) dataLib.getLength(getData()) * elementSize - size) {
+            throw InvalidBufferOffsetException.create(byteOffset, size);
+        }
+        long bits;
+        if (alignedProfile.profile(size == elementSize && byteOffset % size == 0)) {
+            bits = getBufferElementBits(dataLib, (int) (byteOffset / size));
+        } else {
+            bits = 0;
+            for (int i = 0; i < size; i++) {
+                long offset = byteOffset + i;
+                long b = (getBufferElementBits(dataLib, (int) (offset / elementSize)) >>> ((offset % elementSize) * Byte.SIZE)) & 0xFF;
+                bits |= b << (i * Byte.SIZE);
+            }
+        }
+        return order == ByteOrder.LITTLE_ENDIAN ? bits : Long.reverseBytes(bits) >> ((Long.BYTES - size) * Byte.SIZE);
+    }
+
+    @ExportMessage
+    public final byte readBufferByte(long byteOffset,
+                    @CachedLibrary(limit = DATA_LIB_LIMIT) VectorDataLibrary dataLib,
+                    @Cached.Shared("alignedProfile") @Cached("createBinaryProfile()") ConditionProfile alignedProfile) throws InvalidBufferOffsetException {
+        return (byte) readBufferBits(dataLib, ByteOrder.LITTLE_ENDIAN, byteOffset, Byte.BYTES, alignedProfile);
+    }
+
+    @ExportMessage
+    public final short readBufferShort(ByteOrder order, long byteOffset,
+                    @CachedLibrary(limit = DATA_LIB_LIMIT) VectorDataLibrary dataLib,
+                    @Cached.Shared("alignedProfile") @Cached("createBinaryProfile()") ConditionProfile alignedProfile) throws InvalidBufferOffsetException {
+        return (short) readBufferBits(dataLib, order, byteOffset, Short.BYTES, alignedProfile);
+    }
+
+    @ExportMessage
+    public final int readBufferInt(ByteOrder order, long byteOffset,
+                    @CachedLibrary(limit = DATA_LIB_LIMIT) VectorDataLibrary dataLib,
+                    @Cached.Shared("alignedProfile") @Cached("createBinaryProfile()") ConditionProfile alignedProfile) throws InvalidBufferOffsetException {
+        return (int) readBufferBits(dataLib, order, byteOffset, Integer.BYTES, alignedProfile);
+    }
+
+    @ExportMessage
+    public final long readBufferLong(ByteOrder order, long byteOffset,
+                    @CachedLibrary(limit = DATA_LIB_LIMIT) VectorDataLibrary dataLib,
+                    @Cached.Shared("alignedProfile") @Cached("createBinaryProfile()") ConditionProfile alignedProfile) throws InvalidBufferOffsetException {
+        return readBufferBits(dataLib, order, byteOffset, Long.BYTES, alignedProfile);
+    }
+
+    @ExportMessage
+    public final float readBufferFloat(ByteOrder order, long byteOffset,
+                    @CachedLibrary(limit = DATA_LIB_LIMIT) VectorDataLibrary dataLib,
+                    @Cached.Shared("alignedProfile") @Cached("createBinaryProfile()") ConditionProfile alignedProfile) throws InvalidBufferOffsetException {
+        return Float.intBitsToFloat((int) readBufferBits(dataLib, order, byteOffset, Float.BYTES, alignedProfile));
+    }
+
+    @ExportMessage
+    public final double readBufferDouble(ByteOrder order, long byteOffset,
+                    @CachedLibrary(limit = DATA_LIB_LIMIT) VectorDataLibrary dataLib,
+                    @Cached.Shared("alignedProfile") @Cached("createBinaryProfile()") ConditionProfile alignedProfile) throws InvalidBufferOffsetException {
+        return Double.longBitsToDouble(readBufferBits(dataLib, order, byteOffset, Double.BYTES, alignedProfile));
+    }
+
+    // R vectors are values, the buffer cannot be modified:
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    public final void writeBufferByte(@SuppressWarnings("unused") long byteOffset, @SuppressWarnings("unused") byte value) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    public final void writeBufferShort(@SuppressWarnings("unused") ByteOrder order, @SuppressWarnings("unused") long byteOffset, @SuppressWarnings("unused") short value) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    public final void writeBufferInt(@SuppressWarnings("unused") ByteOrder order, @SuppressWarnings("unused") long byteOffset, @SuppressWarnings("unused") int value) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    public final void writeBufferLong(@SuppressWarnings("unused") ByteOrder order, @SuppressWarnings("unused") long byteOffset, @SuppressWarnings("unused") long value) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    public final void writeBufferFloat(@SuppressWarnings("unused") ByteOrder order, @SuppressWarnings("unused") long byteOffset, @SuppressWarnings("unused") float value) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    public final void writeBufferDouble(@SuppressWarnings("unused") ByteOrder order, @SuppressWarnings("unused") long byteOffset, @SuppressWarnings("unused") double value) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
 }
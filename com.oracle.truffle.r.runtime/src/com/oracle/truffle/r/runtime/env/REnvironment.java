@@ -56,6 +56,7 @@ import com.oracle.truffle.r.runtime.RSuicide;
 import com.oracle.truffle.r.runtime.RType;
 import com.oracle.truffle.r.runtime.Utils;
 import com.oracle.truffle.r.runtime.VirtualEvalFrame;
+import com.oracle.truffle.r.runtime.context.FastROptions;
 import com.oracle.truffle.r.runtime.context.RContext;
 import com.oracle.truffle.r.runtime.context.RContext.ContextKind;
 import com.oracle.truffle.r.runtime.data.RAttributable;
@@ -70,6 +71,7 @@ import com.oracle.truffle.r.runtime.env.frame.FrameSlotChangeMonitor;
 import com.oracle.truffle.r.runtime.env.frame.NSBaseMaterializedFrame;
 import com.oracle.truffle.r.runtime.env.frame.REnvEmptyFrameAccess;
 import com.oracle.truffle.r.runtime.env.frame.REnvFrameAccess;
+import com.oracle.truffle.r.runtime.env.frame.REnvHashFrameAccess;
 import com.oracle.truffle.r.runtime.env.frame.REnvTruffleFrameAccess;
 import com.oracle.truffle.r.runtime.interop.Foreign2R;
 import com.oracle.truffle.r.runtime.interop.R2Foreign;
@@ -268,7 +270,7 @@ public abstract class REnvironment extends RAttributable {
     private static final Empty emptyEnv = new Empty();
 
     private final String name;
-    private final REnvFrameAccess frameAccess;
+    private REnvFrameAccess frameAccess;
     private boolean locked;
 
     @SuppressWarnings("static-method")
@@ -923,7 +925,7 @@ public abstract class REnvironment extends RAttributable {
     }
 
     public REnvironment getParent() {
-        MaterializedFrame enclosingFrame = RArguments.getEnclosingFrame(getFrame());
+        MaterializedFrame enclosingFrame = RArguments.getEnclosingFrame(getArgumentsFrame());
         return enclosingFrame == null ? emptyEnv : frameToEnvironment(enclosingFrame);
     }
 
@@ -933,7 +935,7 @@ public abstract class REnvironment extends RAttributable {
      */
     public void setParent(REnvironment env) {
         if (getParent() != env) {
-            RArguments.setEnclosingFrame(getFrame(), env.getFrame(), true);
+            RArguments.setEnclosingFrame(getArgumentsFrame(), env.getFrame(), true);
         }
     }
 
@@ -989,11 +991,52 @@ public abstract class REnvironment extends RAttributable {
      * there is none in the case of {@link NewEnv} environments.
      */
     public MaterializedFrame getFrame() {
+        if (frameAccess instanceof REnvHashFrameAccess) {
+            materializeBindings();
+        }
         return frameAccess.getFrame();
     }
 
     public MaterializedFrame getFrame(ValueProfile frameAccessProfile) {
-        return frameAccessProfile.profile(frameAccess).getFrame();
+        REnvFrameAccess access = frameAccessProfile.profile(frameAccess);
+        if (access instanceof REnvHashFrameAccess) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            access = materializeBindings();
+        }
+        return access.getFrame();
+    }
+
+    /**
+     * Returns the {@link MaterializedFrame} of this environment only for the purpose of accessing
+     * its {@link RArguments}, e.g. the enclosing frame. Unlike {@link #getFrame()}, this does not
+     * move the bindings of a hashed environment into the frame.
+     */
+    public MaterializedFrame getArgumentsFrame() {
+        return frameAccess.getFrame();
+    }
+
+    /**
+     * Returns {@code true} if the bindings of this environment are stored in its frame, i.e. they
+     * can be accessed via {@link FrameSlotChangeMonitor} without calling {@link #getFrame()}
+     * first.
+     */
+    public boolean hasBindingsInFrame() {
+        return !(frameAccess instanceof REnvHashFrameAccess);
+    }
+
+    /**
+     * Switches a freshly created environment to keep its bindings in a hash table, see
+     * {@link REnvHashFrameAccess}.
+     */
+    protected void useHashedBindings(int initialSize) {
+        assert frameAccess instanceof REnvTruffleFrameAccess;
+        frameAccess = new REnvHashFrameAccess(frameAccess.getFrame(), initialSize);
+    }
+
+    @TruffleBoundary
+    private REnvFrameAccess materializeBindings() {
+        frameAccess = ((REnvHashFrameAccess) frameAccess).materialize();
+        return frameAccess;
     }
 
     public void lock(boolean bindings) {
@@ -1251,9 +1294,10 @@ public abstract class REnvironment extends RAttributable {
     /**
      * An environment explicitly created with, typically, {@code new.env}, but also used internally.
      * Such environments are always {@link #UNNAMED} but can later be given a name as an attribute.
-     * This is the class used by the {@code new.env} function. We record but do not interpret the
-     * {@code hash} input, as we always use a hashmap, for possible use by the serialization code
-     * (GnuR generates different output format for hash environments).
+     * This is the class used by the {@code new.env} function. Hashed environments keep their
+     * bindings in {@link REnvHashFrameAccess} until they are used for evaluation, the {@code hash}
+     * flag is also recorded for possible use by the serialization code (GnuR generates different
+     * output format for hash environments).
      *
      */
     public static final class NewEnv extends REnvironment {
@@ -1273,6 +1317,9 @@ public abstract class REnvironment extends RAttributable {
 
         public void setHashed(boolean hashed) {
             this.hashed = hashed;
+            if (hashed && RContext.getInstance().getOption(FastROptions.HashedEnvironments)) {
+                useHashedBindings(initialSize);
+            }
         }
 
         public int getInitialSize() {
@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.env.frame;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.MaterializedFrame;
+import com.oracle.truffle.r.runtime.RError;
+import com.oracle.truffle.r.runtime.RInternalError;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RMissing;
+import com.oracle.truffle.r.runtime.data.RStringVector;
+import com.oracle.truffle.r.runtime.env.REnvironment;
+import com.oracle.truffle.r.runtime.env.REnvironment.PutException;
+
+/**
+ * Variant of {@link REnvFrameAccess} for hashed environments ({@code new.env(hash = TRUE)}), which
+ * keeps the bindings in an open-addressing hash table instead of auxiliary frame slots. Hashed
+ * environments are often used as dictionaries with a very large number of keys, for which growing
+ * the {@link FrameDescriptor} and creating the {@link FrameSlotChangeMonitor} metadata for every
+ * new key is too expensive.
+ *
+ * The frame is still allocated, but only serves as the holder of the arguments (e.g. the enclosing
+ * frame). As soon as the environment is used for evaluation, i.e. its frame is requested via
+ * {@link REnvironment#getFrame()}, the bindings are moved to the frame by {@link #materialize()}
+ * and the environment switches to {@link REnvTruffleFrameAccess}.
+ */
+public final class REnvHashFrameAccess extends REnvFrameAccess {
+
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * Marks a removed entry, so that the probe sequences of other keys are not interrupted.
+     */
+    private static final Object REMOVED = new Object();
+
+    private final MaterializedFrame frame;
+
+    /**
+     * Keys are either {@code null} (free), {@link #REMOVED} or {@link String}.
+     */
+    private Object[] keys;
+    private Object[] values;
+    private int size;
+    /**
+     * Number of entries that are not free, i.e. live and {@link #REMOVED} ones.
+     */
+    private int used;
+    /**
+     * Records which bindings are locked, allocated lazily as in {@link REnvTruffleFrameAccess}.
+     */
+    private Set<String> lockedBindings;
+
+    public REnvHashFrameAccess(MaterializedFrame frame, int initialSize) {
+        this.frame = frame;
+        int capacity = MIN_CAPACITY;
+        while (capacity < (1 << 30) && capacity * 3L < initialSize * 4L) {
+            capacity <<= 1;
+        }
+        this.keys = new Object[capacity];
+        this.values = new Object[capacity];
+    }
+
+    /**
+     * Returns the frame of the environment, which does <b>not</b> contain the bindings.
+     */
+    @Override
+    public MaterializedFrame getFrame() {
+        return frame;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static int hash(String key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the index of {@code key} in {@link #keys} or {@code -1} if not present.
+     */
+    private int find(String key) {
+        Object[] k = keys;
+        int mask = k.length - 1;
+        int index = hash(key) & mask;
+        while (true) {
+            Object current = k[index];
+            if (current == null) {
+                return -1;
+            } else if (current != REMOVED && (current == key || current.equals(key))) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private void insert(String key, Object value) {
+        int index = find(key);
+        if (index >= 0) {
+            values[index] = value;
+            return;
+        }
+        if ((used + 1) * 4 > keys.length * 3) {
+            // only grow if the live entries need it, otherwise just drop the removed ones
+            rehash(size * 2 >= keys.length / 2 ? keys.length * 2 : keys.length);
+        }
+        Object[] k = keys;
+        int mask = k.length - 1;
+        index = hash(key) & mask;
+        while (k[index] != null && k[index] != REMOVED) {
+            index = (index + 1) & mask;
+        }
+        if (k[index] == null) {
+            used++;
+        }
+        k[index] = key;
+        values[index] = value;
+        size++;
+    }
+
+    private void rehash(int newCapacity) {
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        Object[] newKeys = new Object[newCapacity];
+        Object[] newValues = new Object[newCapacity];
+        int mask = newCapacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            Object key = oldKeys[i];
+            if (key != null && key != REMOVED) {
+                int index = hash((String) key) & mask;
+                while (newKeys[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                newKeys[index] = key;
+                newValues[index] = oldValues[i];
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+        used = size;
+    }
+
+    @Override
+    public Object get(String key) {
+        CompilerAsserts.neverPartOfCompilation();
+        int index = find(key);
+        if (index < 0) {
+            return null;
+        }
+        Object value = values[index];
+        // special treatment for active binding: call bound function
+        if (ActiveBinding.isActiveBinding(value)) {
+            Object readValue = ((ActiveBinding) value).readValue();
+            // special case: if the active binding returns RMissing, then this should behave
+            // like the variable does not exist.
+            return readValue != RMissing.instance ? readValue : null;
+        }
+        return value;
+    }
+
+    @Override
+    public boolean isActiveBinding(String key) {
+        CompilerAsserts.neverPartOfCompilation();
+        int index = find(key);
+        return index >= 0 && ActiveBinding.isActiveBinding(values[index]);
+    }
+
+    @Override
+    public void put(String key, Object value) throws PutException {
+        CompilerAsserts.neverPartOfCompilation();
+        assert key != null;
+        assert value != null;
+        if (lockedBindings != null && lockedBindings.contains(key)) {
+            throw new PutException(RError.Message.ENV_CHANGE_BINDING, key);
+        }
+        int index = find(key);
+        if (index >= 0 && ActiveBinding.isActiveBinding(values[index])) {
+            ((ActiveBinding) values[index]).writeValue(value);
+        } else {
+            insert(key, value);
+        }
+    }
+
+    @Override
+    public void rm(String key) throws PutException {
+        CompilerAsserts.neverPartOfCompilation();
+        assert key != null;
+        if (lockedBindings != null) {
+            lockedBindings.remove(key);
+        }
+        int index = find(key);
+        if (index < 0) {
+            throw new PutException(RError.Message.UNKNOWN_OBJECT, key);
+        }
+        Object value = values[index];
+        if (ActiveBinding.isActiveBinding(value) && ((ActiveBinding) value).isHidden()) {
+            ((ActiveBinding) value).setInitialized(false);
+            return;
+        }
+        keys[index] = REMOVED;
+        values[index] = null;
+        size--;
+    }
+
+    @Override
+    @TruffleBoundary
+    public RStringVector ls(boolean allNames, Pattern pattern, boolean sorted) {
+        String[] names = new String[size];
+        int count = 0;
+        for (int i = 0; i < keys.length; i++) {
+            Object key = keys[i];
+            if (key != null && key != REMOVED && ActiveBinding.isListed(values[i]) && REnvironment.includeName((String) key, allNames, pattern)) {
+                names[count++] = (String) key;
+            }
+        }
+        String[] data = count == names.length ? names : Arrays.copyOf(names, count);
+        if (sorted) {
+            REnvTruffleFrameAccess.sortNames(data);
+        }
+        return RDataFactory.createStringVector(data, RDataFactory.COMPLETE_VECTOR);
+    }
+
+    @Override
+    @TruffleBoundary
+    public boolean bindingIsLocked(String key) {
+        return lockedBindings != null && lockedBindings.contains(key);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void lockBindings() {
+        for (Object key : keys) {
+            if (key != null && key != REMOVED) {
+                lockBinding((String) key);
+            }
+        }
+    }
+
+    @Override
+    @TruffleBoundary
+    public void lockBinding(String key) {
+        if (lockedBindings == null) {
+            lockedBindings = new HashSet<>();
+        }
+        lockedBindings.add(key);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void unlockBinding(String key) {
+        if (lockedBindings != null) {
+            lockedBindings.remove(key);
+        }
+    }
+
+    /**
+     * Moves all the bindings into auxiliary slots of the frame and returns the
+     * {@link REnvTruffleFrameAccess} that should be used for the environment from now on. This
+     * instance must not be used afterwards.
+     */
+    @TruffleBoundary
+    public REnvTruffleFrameAccess materialize() {
+        REnvTruffleFrameAccess result = new REnvTruffleFrameAccess(frame);
+        for (int i = 0; i < keys.length; i++) {
+            Object key = keys[i];
+            if (key != null && key != REMOVED) {
+                Object value = values[i];
+                if (ActiveBinding.isActiveBinding(value)) {
+                    int frameIndex = FrameSlotChangeMonitor.findOrAddAuxiliaryFrameSlot(frame.getFrameDescriptor(), key);
+                    FrameSlotChangeMonitor.setActiveBinding(frame, frameIndex, (ActiveBinding) value, false);
+                } else {
+                    try {
+                        result.put((String) key, value);
+                    } catch (PutException e) {
+                        throw RInternalError.shouldNotReachHere(e);
+                    }
+                }
+            }
+        }
+        if (lockedBindings != null) {
+            for (String key : lockedBindings) {
+                result.lockBinding(key);
+            }
+        }
+        keys = null;
+        values = null;
+        return result;
+    }
+}
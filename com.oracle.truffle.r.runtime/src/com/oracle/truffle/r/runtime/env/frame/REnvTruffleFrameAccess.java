@@ -209,13 +209,20 @@ public final class REnvTruffleFrameAccess extends REnvFrameAccess {
         }
         String[] data = matchedNamesList.toArray(new String[0]);
         if (sorted) {
-            Locale locale = RContext.getInstance().stateRLocale.getLocale(RLocale.COLLATE);
-            Collator collator = locale == Locale.ROOT || locale == null ? null : RLocale.getOrderCollator(locale);
-            Arrays.sort(data, (o1, o2) -> RLocale.compare(collator, o1, o2));
+            sortNames(data);
         }
         return RDataFactory.createStringVector(data, RDataFactory.COMPLETE_VECTOR);
     }
 
+    /**
+     * Sorts the result of {@link #ls} according to the current collation locale.
+     */
+    static void sortNames(String[] data) {
+        Locale locale = RContext.getInstance().stateRLocale.getLocale(RLocale.COLLATE);
+        Collator collator = locale == Locale.ROOT || locale == null ? null : RLocale.getOrderCollator(locale);
+        Arrays.sort(data, (o1, o2) -> RLocale.compare(collator, o1, o2));
+    }
+
     @Override
     @TruffleBoundary
     public boolean bindingIsLocked(String key) {
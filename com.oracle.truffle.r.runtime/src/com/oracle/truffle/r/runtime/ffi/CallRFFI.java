@@ -45,7 +45,7 @@ public interface CallRFFI {
             DLLInfo dllInfo = nativeCallInfo.dllInfo;
             LibHandle handle = dllInfo == null ? null : dllInfo.handle;
             Type rffiType = handle == null ? stateRFFI.getDefaultRFFIType() : handle.getRFFIType();
-            Object before = stateRFFI.beforeDowncall(frame == null ? null : frame.materialize(), rffiType);
+            Object before = stateRFFI.beforeDowncall(frame == null ? null : frame.materialize(), rffiType, dllInfo);
             try {
                 return execute(nativeCallInfo, args);
             } finally {
@@ -64,7 +64,7 @@ public interface CallRFFI {
     interface InvokeVoidCallNode extends NodeInterface {
         default void dispatch(VirtualFrame frame, NativeCallInfo nativeCallInfo, RContext context, Object[] args) {
             RFFIContext stateRFFI = context.getStateRFFI();
-            Object before = stateRFFI.beforeDowncall(frame == null ? null : frame.materialize(), nativeCallInfo.dllInfo.handle.getRFFIType());
+            Object before = stateRFFI.beforeDowncall(frame == null ? null : frame.materialize(), nativeCallInfo.dllInfo.handle.getRFFIType(), nativeCallInfo.dllInfo);
             try {
                 execute(frame, nativeCallInfo, args);
             } finally {
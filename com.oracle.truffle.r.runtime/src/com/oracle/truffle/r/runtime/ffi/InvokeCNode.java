@@ -94,7 +94,7 @@ public abstract class InvokeCNode extends RBaseNode {
         RFFIContext stateRFFI = stateRFFIProfile.profile(getRContext().getStateRFFI());
         LibHandle handle = nativeCallInfo.dllInfo == null ? null : nativeCallInfo.dllInfo.handle;
         Type rffiType = handle == null ? stateRFFI.getDefaultRFFIType() : handle.getRFFIType();
-        Object before = stateRFFI.beforeDowncall(frame.materialize(), rffiType);
+        Object before = stateRFFI.beforeDowncall(frame.materialize(), rffiType, nativeCallInfo.dllInfo);
         try {
             execute(nativeCallInfo, preparedArgs);
             return RDataFactory.createList(argsUnwrapperNode.execute(preparedArgs), validateArgNames(preparedArgs.length, args.getSignature()));
@@ -23,11 +23,8 @@
 package com.oracle.truffle.r.runtime.ffi;
 
 import java.util.WeakHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
-import org.graalvm.collections.EconomicMap;
-
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.Frame;
 import com.oracle.truffle.api.frame.MaterializedFrame;
@@ -53,6 +50,7 @@ import com.oracle.truffle.r.runtime.data.RSymbol;
 import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
 import com.oracle.truffle.r.runtime.env.REnvironment;
 import com.oracle.truffle.r.runtime.env.frame.FrameSlotChangeMonitor;
+import com.oracle.truffle.r.runtime.ffi.DLL.DLLInfo;
 
 /**
  * Holds per RContext specific state of the RFFI. RFFI implementation agnostic data and methods are
@@ -89,7 +87,7 @@ public abstract class RFFIContext extends RFFI {
          * FastR equivalent of GNUR's special dedicated global list that is GC root and so any
          * vectors added to it will be guaranteed to be preserved.
          */
-        public final EconomicMap<RBaseObject, AtomicInteger> preserveList = EconomicMap.create();
+        public final Collections.IdentityCountMap<RBaseObject> preserveList = new Collections.IdentityCountMap<>(64);
 
         public final WeakHashMap<RScalar, RAbstractVector> protectedMaterializedScalarVectors = new WeakHashMap<>();
 
@@ -219,6 +217,17 @@ public abstract class RFFIContext extends RFFI {
         return savedDowncallFrame;
     }
 
+    /**
+     * Variant of {@link #beforeDowncall(MaterializedFrame, RFFIFactory.Type)} for down-calls into
+     * the code of a loaded library, e.g. via {@code .Call}. The backend may use {@code dllInfo} to
+     * decide how the down-call is synchronized with down-calls from other threads.
+     *
+     * @param dllInfo the library containing the called function or {@code null} if not known
+     */
+    public Object beforeDowncall(MaterializedFrame frame, RFFIFactory.Type rffiType, @SuppressWarnings("unused") DLLInfo dllInfo) {
+        return beforeDowncall(frame, rffiType);
+    }
+
     /**
      * @param before the value returned by the corresponding call to
      *            {@link #beforeDowncall(MaterializedFrame, RFFIFactory.Type)} .
@@ -25,12 +25,8 @@ package com.oracle.truffle.r.runtime.ffi;
 import static com.oracle.truffle.r.runtime.RLogger.LOGGER_RFFI;
 
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
-import org.graalvm.collections.EconomicMap;
-import org.graalvm.collections.MapCursor;
-
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.TruffleLogger;
 import com.oracle.truffle.r.runtime.Collections;
@@ -140,12 +136,14 @@ public class RFFILog {
         assert finerLogEnabled();
         StringBuilder sb = new StringBuilder();
         sb.append("preserveList = [");
-        EconomicMap<RBaseObject, AtomicInteger> preserveList = getContext().rffiContextState.preserveList;
-        MapCursor<RBaseObject, AtomicInteger> iterator = preserveList.getEntries();
-        while (iterator.advance()) {
+        Collections.IdentityCountMap<RBaseObject> preserveList = getContext().rffiContextState.preserveList;
+        for (int slot = 0; slot < preserveList.capacity(); slot++) {
+            RBaseObject object = preserveList.getKeyAt(slot);
+            if (object == null) {
+                continue;
+            }
             sb.append("{");
-            RBaseObject object = iterator.getKey();
-            int id = iterator.getValue().get();
+            int id = preserveList.getCountAt(slot);
             sb.append(Long.toHexString(id));
             sb.append(":");
             sb.append(rObjectToDebugString(object));
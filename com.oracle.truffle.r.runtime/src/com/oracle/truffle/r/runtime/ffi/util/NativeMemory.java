@@ -27,6 +27,7 @@ import java.io.StringWriter;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
+import java.nio.Buffer;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Map.Entry;
@@ -68,6 +69,10 @@ public abstract class NativeMemory {
             this.bytes = bytes;
             this.offset = offset;
         }
+
+        public int getBytes() {
+            return bytes;
+        }
     }
 
     private static final Unsafe UNSAFE = initUnsafe();
@@ -89,6 +94,26 @@ public abstract class NativeMemory {
         }
     }
 
+    private static final long BUFFER_ADDRESS_OFFSET = initBufferAddressOffset();
+
+    private static long initBufferAddressOffset() {
+        try {
+            return UNSAFE.objectFieldOffset(Buffer.class.getDeclaredField("address"));
+        } catch (NoSuchFieldException e) {
+            throw RInternalError.shouldNotReachHere(e, "Cannot find java.nio.Buffer.address");
+        }
+    }
+
+    /**
+     * Returns the address of the memory of a direct {@link Buffer}, e.g., of a
+     * {@link java.nio.MappedByteBuffer}. The memory is only valid as long as the buffer is
+     * reachable.
+     */
+    public static long getBufferAddress(Buffer buffer) {
+        assert buffer.isDirect();
+        return UNSAFE.getLong(buffer, BUFFER_ADDRESS_OFFSET);
+    }
+
     public static long allocate(long size, Object debugInfo) {
         traceAllocateStart(size, debugInfo);
         long result = UNSAFE.allocateMemory(size);
@@ -109,9 +134,44 @@ public abstract class NativeMemory {
         traceFreeDone(address, debugInfo);
     }
 
+    /**
+     * Fills {@code size} bytes starting at {@code address} with {@code value}.
+     */
+    public static void setMemory(long address, long size, byte value) {
+        UNSAFE.setMemory(address, size, value);
+    }
+
     @TruffleBoundary
     public static NativeMemoryWrapper wrapNativeMemory(long address, Object owner) {
-        return new FreeingNativeMemoryWrapper(address, owner);
+        return new FreeingNativeMemoryWrapper(address, owner, -1);
+    }
+
+    /**
+     * Allocates a block of at least {@code size} bytes and wraps it like
+     * {@link #wrapNativeMemory(long, Object)}. Small blocks come from a pool with power of two
+     * block sizes and are returned to it instead of being freed once the owner is collected. This
+     * avoids the {@code malloc}/{@code free} churn for the many small vectors that are passed to
+     * the native code only briefly.
+     */
+    @TruffleBoundary
+    public static NativeMemoryWrapper allocatePooled(long size, Object owner) {
+        int sizeClass = BlockPool.getSizeClass(size);
+        if (sizeClass < 0) {
+            return new FreeingNativeMemoryWrapper(allocate(size, owner), owner, -1);
+        }
+        long address = BLOCK_POOL.take(sizeClass);
+        if (address == 0) {
+            address = allocate(BlockPool.getBlockSize(sizeClass), owner);
+        }
+        return new FreeingNativeMemoryWrapper(address, owner, sizeClass);
+    }
+
+    /**
+     * Frees the blocks that are kept in the pool for reuse. Blocks that are still in use are
+     * returned to the pool once their owners are collected.
+     */
+    public static void releasePooledMemory() {
+        BLOCK_POOL.clear();
     }
 
     /**
@@ -146,6 +206,14 @@ public abstract class NativeMemory {
         copyMemory(source, type.offset, type.bytes, destination, elementsCount);
     }
 
+    /**
+     * Copies {@code elementsCount} elements from {@code source} into the {@code destination} array
+     * starting at index {@code destinationIndex}.
+     */
+    public static void copyMemory(long source, Object destination, int destinationIndex, ElementType type, int elementsCount) {
+        UNSAFE.copyMemory(null, source, destination, type.offset + (long) destinationIndex * type.bytes, (long) type.bytes * (long) elementsCount);
+    }
+
     private static void copyMemory(long source, int elementBase, int elementSize, Object destination, int elementsCount) {
         // this takes relevant args as longs to make sure any calculations do not overflow
         UNSAFE.copyMemory(null, source, destination, elementBase, (long) elementSize * (long) elementsCount);
@@ -297,10 +365,14 @@ public abstract class NativeMemory {
     }
 
     /**
-     * Subclass that frees the native memory.
+     * Subclass that frees the native memory or returns it to the {@link BlockPool}.
      */
     private static final class FreeingNativeMemoryWrapper extends NativeMemoryWrapper implements Releasable {
         @SuppressFBWarnings(value = "UWF_NULL_FIELD", justification = "used for debugging") private final String ownerInfo;
+        /**
+         * The size class of a pooled block or {@code -1}.
+         */
+        private final int sizeClass;
 
         /**
          * The instances need to be kept alive until they are pooled from the reference queue and
@@ -309,8 +381,9 @@ public abstract class NativeMemory {
          */
         private static final ConcurrentHashMap<NativeMemoryWrapper, NativeMemoryWrapper> active = new ConcurrentHashMap<>();
 
-        private FreeingNativeMemoryWrapper(long address, Object owner) {
+        private FreeingNativeMemoryWrapper(long address, Object owner, int sizeClass) {
             super(address, owner, ResourcesCleaner.nativeReferenceQueue());
+            this.sizeClass = sizeClass;
             // Assertion check: creating NativeMemoryWrapper for address that was not allocated via
             // NativeMemory.allocate
             assert ALLOCATED == null || ALLOCATED.get(getAddress()) != null : "MEMORY ERROR: " + Long.toHexString(getAddress()) + " " + owner.getClass().getSimpleName();
@@ -320,7 +393,9 @@ public abstract class NativeMemory {
 
         @Override
         public void release() {
-            NativeMemory.free(getAddress(), ownerInfo);
+            if (sizeClass < 0 || !BLOCK_POOL.offer(sizeClass, getAddress())) {
+                NativeMemory.free(getAddress(), ownerInfo);
+            }
             removeFromActive();
         }
 
@@ -342,6 +417,73 @@ public abstract class NativeMemory {
         }
     }
 
+    private static final BlockPool BLOCK_POOL = new BlockPool();
+
+    /**
+     * Free blocks of native memory sorted into size classes of power of two sizes. The blocks are
+     * taken by the threads that allocate and returned by the reference queue worker, hence the
+     * synchronization. The number of pooled blocks per class is bounded, any excess blocks are
+     * freed right away.
+     */
+    private static final class BlockPool {
+        private static final int MIN_BLOCK_SHIFT = 4;
+        private static final int MAX_BLOCK_SHIFT = 12;
+        private static final int MAX_BLOCKS_PER_CLASS = 256;
+
+        private final long[][] blocks = new long[MAX_BLOCK_SHIFT - MIN_BLOCK_SHIFT + 1][MAX_BLOCKS_PER_CLASS];
+        private final int[] counts = new int[blocks.length];
+
+        /**
+         * Returns the size class for blocks of {@code size} bytes or {@code -1} if such blocks are
+         * not pooled.
+         */
+        static int getSizeClass(long size) {
+            if (size > (1L << MAX_BLOCK_SHIFT)) {
+                return -1;
+            }
+            int shift = size <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(size - 1);
+            return Math.max(shift, MIN_BLOCK_SHIFT) - MIN_BLOCK_SHIFT;
+        }
+
+        static long getBlockSize(int sizeClass) {
+            return 1L << (sizeClass + MIN_BLOCK_SHIFT);
+        }
+
+        synchronized long take(int sizeClass) {
+            int count = counts[sizeClass];
+            if (count == 0) {
+                return 0;
+            }
+            counts[sizeClass] = count - 1;
+            return blocks[sizeClass][count - 1];
+        }
+
+        synchronized boolean offer(int sizeClass, long address) {
+            int count = counts[sizeClass];
+            if (count == MAX_BLOCKS_PER_CLASS) {
+                return false;
+            }
+            blocks[sizeClass][count] = address;
+            counts[sizeClass] = count + 1;
+            return true;
+        }
+
+        void clear() {
+            long[][] toFree = new long[blocks.length][];
+            synchronized (this) {
+                for (int i = 0; i < blocks.length; i++) {
+                    toFree[i] = Arrays.copyOf(blocks[i], counts[i]);
+                    counts[i] = 0;
+                }
+            }
+            for (long[] classBlocks : toFree) {
+                for (long address : classBlocks) {
+                    NativeMemory.free(address, "BlockPool");
+                }
+            }
+        }
+    }
+
     // ------------------------------------------------------
     // Tracing, sanity debug checks, ...
     // grep the output log for "MEMORY ERROR"
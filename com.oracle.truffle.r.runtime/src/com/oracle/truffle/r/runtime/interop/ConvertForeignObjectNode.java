@@ -32,7 +32,9 @@ import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.interop.InteropException;
 import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
@@ -60,6 +62,8 @@ import com.oracle.truffle.r.runtime.nodes.RBaseNode;
  * <li><b>Homogenous arrays</b> are converted implicitly to a corresponding atomic vector or to a
  * list if explicitely requested.<br>
  * <li><b>Heterogenous arrays</b> are always converted to a list.<br>
+ * <li><b>Buffers</b>, i.e. objects with buffer elements but no array elements such as Java
+ * {@code ByteBuffer}s, are converted to a raw vector holding the bytes of the buffer.<br>
  * <li><b>Non-array objects</b> having keys are converted into a named list <b>only</b> if
  * explicitely requested.<br>
  * </ul>
@@ -209,6 +213,18 @@ public abstract class ConvertForeignObjectNode extends RBaseNode {
         return RRuntime.isForeignObject(obj) && interop.hasArrayElements(obj);
     }
 
+    /**
+     * Determines whether the provided object is a foreign object exposing only buffer elements.
+     *
+     * @param obj
+     * @param interop
+     * @return <code>true</code> if the provided object is a buffer and not an array, otherwise
+     *         <code>false</code>
+     */
+    public static boolean isForeignBuffer(Object obj, InteropLibrary interop) {
+        return RRuntime.isForeignObject(obj) && !interop.hasArrayElements(obj) && interop.hasBufferElements(obj);
+    }
+
     /**
      * Creates a vector. It has to be assured by the caller that the elements and type corresponds
      * to each other. Null values are replaced by NA.
@@ -377,6 +393,10 @@ public abstract class ConvertForeignObjectNode extends RBaseNode {
     protected Object convertArray(TruffleObject truffleObject, boolean recursive, boolean dropDimensions, @SuppressWarnings("unused") boolean toList, boolean byteToRaw,
                     @Cached("create(byteToRaw)") InspectForeignArrayNode inspectTruffleObject,
                     @SuppressWarnings("unused") @CachedLibrary("truffleObject") InteropLibrary interop) {
+        RAbstractVector hostArrayVector = HostArrayConversion.convert(truffleObject, recursive, dropDimensions, byteToRaw);
+        if (hostArrayVector != null) {
+            return hostArrayVector;
+        }
         ArrayInfo arrayInfo = new ArrayInfo(byteToRaw);
         inspectTruffleObject.execute(truffleObject, recursive, arrayInfo, 0, true);
 
@@ -448,12 +468,40 @@ public abstract class ConvertForeignObjectNode extends RBaseNode {
         return getArrayToListNode().toList(truffleObject, recursive);
     }
 
+    @Specialization(guards = {"isForeignBuffer(truffleObject, interop)", "!toList"}, limit = "getInteropLibraryCacheSize()")
+    protected Object convertBuffer(TruffleObject truffleObject, @SuppressWarnings("unused") boolean recursive, @SuppressWarnings("unused") boolean dropDimensions,
+                    @SuppressWarnings("unused") boolean toList, @SuppressWarnings("unused") boolean byteToRaw,
+                    @CachedLibrary("truffleObject") InteropLibrary interop) {
+        return readBuffer(truffleObject, interop);
+    }
+
+    @TruffleBoundary
+    private Object readBuffer(TruffleObject truffleObject, InteropLibrary interop) {
+        try {
+            long size = interop.getBufferSize(truffleObject);
+            if (size > Integer.MAX_VALUE) {
+                throw error(RError.Message.GENERIC, "A buffer larger than 2^31-1 bytes cannot be converted to a vector.");
+            }
+            // bytes do not depend on the byte order of the buffer
+            byte[] data = new byte[(int) size];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = interop.readBufferByte(truffleObject, i);
+            }
+            return RDataFactory.createRawVector(data);
+        } catch (UnsupportedMessageException | InvalidBufferOffsetException e) {
+            throw RInternalError.shouldNotReachHere(e);
+        }
+    }
+
     @Specialization(guards = {"isForeignObject(truffleObject)", "!isForeignArray(truffleObject, interop)", "toList"}, limit = "getInteropLibraryCacheSize()")
     protected Object convertObjectToList(TruffleObject truffleObject, boolean recursive, boolean dropDimensions, @SuppressWarnings("unused") boolean toList,
                     @SuppressWarnings("unused") boolean byteToRaw,
                     @Cached("create()") GetForeignMembersNode membersNode,
                     @CachedLibrary("truffleObject") InteropLibrary interop,
                     @CachedLibrary(limit = "getInteropLibraryCacheSize()") InteropLibrary memberInterop) {
+        if (interop.hasHashEntries(truffleObject)) {
+            return convertHashToList(truffleObject, recursive, dropDimensions, interop, memberInterop);
+        }
         Object namesObj = membersNode.execute(truffleObject, false);
         if (namesObj == RNull.instance) {
             return RDataFactory.createList();
@@ -481,6 +529,34 @@ public abstract class ConvertForeignObjectNode extends RBaseNode {
         return RDataFactory.createList(elements.toArray(new Object[elements.size()]), RDataFactory.createStringVector(elementNames.toArray(new String[elementNames.size()]), true));
     }
 
+    /**
+     * Converts a foreign hash, e.g. a host {@code Map}, to a named list of its values, where the
+     * names are the string representations of the keys. Together with the conversion of arrays to
+     * foreign vector wrappers, this allows to turn a map of primitive arrays into a list of columns
+     * without copying them.
+     */
+    private Object convertHashToList(TruffleObject truffleObject, boolean recursive, boolean dropDimensions, InteropLibrary interop, InteropLibrary entryInterop) {
+        List<Object> elements = new ArrayList<>();
+        List<String> elementNames = new ArrayList<>();
+        try {
+            Object iterator = interop.getHashEntriesIterator(truffleObject);
+            while (entryInterop.hasIteratorNextElement(iterator)) {
+                Object entry = entryInterop.getIteratorNextElement(iterator);
+                Object key = entryInterop.readArrayElement(entry, 0);
+                Object o = getForeign2RNode().convert(entryInterop.readArrayElement(entry, 1));
+                if (isForeignArray(o, entryInterop)) {
+                    o = getRecurseNode().execute(o, recursive, dropDimensions, false, false);
+                }
+                elements.add(o);
+                elementNames.add(entryInterop.isString(key) ? entryInterop.asString(key) : entryInterop.asString(entryInterop.toDisplayString(key)));
+            }
+        } catch (InteropException ex) {
+            CompilerDirectives.transferToInterpreter();
+            throw error(RError.Message.GENERIC, "error while converting truffle object to list: " + ex.getMessage());
+        }
+        return RDataFactory.createList(elements.toArray(new Object[elements.size()]), RDataFactory.createStringVector(elementNames.toArray(new String[elementNames.size()]), true));
+    }
+
     @Specialization(guards = {"doNotConvert(obj, interop, toList)"}, limit = "getInteropLibraryCacheSize()")
     protected Object doObject(@SuppressWarnings("unused") Object obj, @SuppressWarnings("unused") boolean recursive, @SuppressWarnings("unused") boolean dropDimensions,
                     @SuppressWarnings("unused") boolean toList, @SuppressWarnings("unused") boolean byteToRaw,
@@ -489,7 +565,7 @@ public abstract class ConvertForeignObjectNode extends RBaseNode {
     }
 
     protected boolean doNotConvert(Object obj, InteropLibrary interop, boolean toList) {
-        return !RRuntime.isForeignObject(obj) || (!isForeignArray(obj, interop) && !toList);
+        return !RRuntime.isForeignObject(obj) || (!isForeignArray(obj, interop) && !isForeignBuffer(obj, interop) && !toList);
     }
 
     private ConvertForeignObjectNode getRecurseNode() {
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.interop;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage.Env;
+import com.oracle.truffle.r.runtime.RError;
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.data.RDoubleVector;
+import com.oracle.truffle.r.runtime.data.RIntVector;
+import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
+
+/**
+ * Fast paths for host Java arrays of {@code double}, {@code int}, {@code long} and {@code byte}.
+ * The elements are read directly from the Java arrays instead of an interop call and a conversion
+ * per element.
+ *
+ * {@link #convert} is used by {@link ConvertForeignObjectNode}. It does not need to inspect all the
+ * elements to determine the vector type. One-dimensional arrays are wrapped in foreign vector
+ * wrappers without copying, just like in the generic conversion. Rectangular multi-dimensional
+ * arrays are copied by column. The result is the same as that of the generic conversion. Arrays
+ * for which this would not be straightforward are left to the generic conversion, e.g. empty
+ * arrays or {@code int} arrays containing {@link RRuntime#INT_NA}.
+ */
+public final class HostArrayConversion {
+
+    private HostArrayConversion() {
+    }
+
+    /**
+     * Returns the vector for given foreign object or {@code null} if it is not a host array
+     * handled by this class.
+     */
+    @TruffleBoundary
+    static RAbstractVector convert(Object obj, boolean recursive, boolean dropDimensions, boolean byteToRaw) {
+        Env env = RContext.getInstance().getEnv();
+        if (!env.isHostObject(obj)) {
+            return null;
+        }
+        Object array = env.asHostObject(obj);
+        if (array == null || !array.getClass().isArray()) {
+            return null;
+        }
+        Class<?> leafClass = array.getClass();
+        int depth = 0;
+        while (leafClass.getComponentType().isArray()) {
+            leafClass = leafClass.getComponentType();
+            depth++;
+        }
+        if (leafClass != double[].class && leafClass != int[].class && leafClass != long[].class && leafClass != byte[].class) {
+            return null;
+        }
+        if (depth == 0) {
+            return wrap(obj, array, byteToRaw);
+        } else if (!recursive) {
+            // the result is a list of the foreign sub-arrays
+            return null;
+        }
+        int[] dims = new int[depth + 1];
+        Arrays.fill(dims, -1);
+        if (!collectDims(array, 0, dims)) {
+            return null;
+        }
+        long length = 1;
+        for (int dim : dims) {
+            length *= dim;
+        }
+        if (length == 0 || length > Integer.MAX_VALUE) {
+            return null;
+        }
+        int[] strides = new int[dims.length];
+        strides[0] = 1;
+        for (int i = 1; i < dims.length; i++) {
+            strides[i] = strides[i - 1] * dims[i - 1];
+        }
+        int[] resultDims = dropDimensions ? null : dims;
+        if (leafClass == int[].class || (leafClass == byte[].class && !byteToRaw)) {
+            int[] result = new int[(int) length];
+            return fill(array, 0, 0, strides, result) ? RDataFactory.createIntVector(result, RDataFactory.COMPLETE_VECTOR, resultDims) : null;
+        } else if (leafClass == byte[].class) {
+            byte[] result = new byte[(int) length];
+            fill(array, 0, 0, strides, result);
+            return RDataFactory.createRawVector(result, resultDims);
+        } else {
+            double[] result = new double[(int) length];
+            fill(array, 0, 0, strides, result);
+            // converted longs are never NA
+            boolean complete = leafClass == long[].class;
+            return RDataFactory.createDoubleVector(result, complete, resultDims);
+        }
+    }
+
+    /**
+     * Creates a foreign vector wrapper for the one-dimensional {@code array}, except for raw
+     * vectors, which are copied.
+     */
+    private static RAbstractVector wrap(Object obj, Object array, boolean byteToRaw) {
+        if (Array.getLength(array) == 0) {
+            return null;
+        }
+        if (array instanceof double[] || array instanceof long[]) {
+            return RDoubleVector.createForeignWrapper(obj);
+        } else if (array instanceof int[]) {
+            for (int value : (int[]) array) {
+                if (value == RRuntime.INT_NA) {
+                    return null;
+                }
+            }
+            return RIntVector.createForeignWrapper(obj);
+        } else if (byteToRaw) {
+            byte[] data = (byte[]) array;
+            return RDataFactory.createRawVector(Arrays.copyOf(data, data.length));
+        } else {
+            return RIntVector.createForeignWrapper(obj);
+        }
+    }
+
+    /**
+     * Returns a copy of the elements if {@code foreign} is a host {@code double[]}, otherwise
+     * {@code null}.
+     */
+    @TruffleBoundary
+    public static double[] copyHostDoubleArray(Object foreign) {
+        Env env = RContext.getInstance().getEnv();
+        if (env.isHostObject(foreign)) {
+            Object array = env.asHostObject(foreign);
+            if (array instanceof double[]) {
+                double[] data = (double[]) array;
+                return Arrays.copyOf(data, data.length);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a copy of the elements if {@code foreign} is a host {@code int[]} or {@code byte[]},
+     * otherwise {@code null}.
+     */
+    @TruffleBoundary
+    public static int[] copyHostIntArray(Object foreign) {
+        Env env = RContext.getInstance().getEnv();
+        if (env.isHostObject(foreign)) {
+            Object array = env.asHostObject(foreign);
+            if (array instanceof int[]) {
+                int[] data = (int[]) array;
+                return Arrays.copyOf(data, data.length);
+            } else if (array instanceof byte[]) {
+                byte[] data = (byte[]) array;
+                int[] result = new int[data.length];
+                for (int i = 0; i < data.length; i++) {
+                    result[i] = data[i];
+                }
+                return result;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Records the length of the arrays at each nesting level in {@code dims}, returns
+     * {@code false} if the array is not rectangular.
+     */
+    private static boolean collectDims(Object array, int level, int[] dims) {
+        if (array == null) {
+            return false;
+        }
+        int length = Array.getLength(array);
+        if (dims[level] == -1) {
+            dims[level] = length;
+        } else if (dims[level] != length) {
+            return false;
+        }
+        if (level < dims.length - 1) {
+            if (length == 0) {
+                return false;
+            }
+            Object[] subArrays = (Object[]) array;
+            for (Object subArray : subArrays) {
+                if (!collectDims(subArray, level + 1, dims)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies the elements into {@code result} by column, i.e. the element with coordinates
+     * {@code c} goes to {@code sum(c[i] * strides[i])}. Returns {@code false} if the elements
+     * cannot be represented in the result.
+     */
+    private static boolean fill(Object array, int level, int offset, int[] strides, Object result) {
+        if (level < strides.length - 1) {
+            Object[] subArrays = (Object[]) array;
+            for (int i = 0; i < subArrays.length; i++) {
+                if (!fill(subArrays[i], level + 1, offset + i * strides[level], strides, result)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        int stride = strides[level];
+        if (array instanceof double[]) {
+            double[] source = (double[]) array;
+            double[] target = (double[]) result;
+            for (int i = 0; i < source.length; i++) {
+                double value = source[i];
+                target[offset + i * stride] = RRuntime.isNA(value) ? Double.NaN : value;
+            }
+        } else if (array instanceof int[]) {
+            int[] source = (int[]) array;
+            int[] target = (int[]) result;
+            for (int i = 0; i < source.length; i++) {
+                int value = source[i];
+                if (value == RRuntime.INT_NA) {
+                    return false;
+                }
+                target[offset + i * stride] = value;
+            }
+        } else if (array instanceof long[]) {
+            long[] source = (long[]) array;
+            double[] target = (double[]) result;
+            for (int i = 0; i < source.length; i++) {
+                long value = source[i];
+                double d = value;
+                if ((long) d != value || value == Long.MAX_VALUE) {
+                    RError.warning(RError.SHOW_CALLER, RError.Message.PRECISSION_LOSS_BY_CONVERSION, value, d);
+                }
+                target[offset + i * stride] = d;
+            }
+        } else if (result instanceof byte[]) {
+            byte[] source = (byte[]) array;
+            if (stride == 1) {
+                System.arraycopy(source, 0, result, offset, source.length);
+            } else {
+                byte[] target = (byte[]) result;
+                for (int i = 0; i < source.length; i++) {
+                    target[offset + i * stride] = source[i];
+                }
+            }
+        } else {
+            byte[] source = (byte[]) array;
+            int[] target = (int[]) result;
+            for (int i = 0; i < source.length; i++) {
+                target[offset + i * stride] = source[i];
+            }
+        }
+        return true;
+    }
+}
@@ -40,6 +40,16 @@ public class RandomFunctions {
         double execute(double a, double b, double c, RandomNumberProvider rand);
     }
 
+    /**
+     * Implemented by random functions that can generate many values for the same scalar parameters
+     * at once, e.g. from a block of uniforms obtained by
+     * {@link RandomNumberProvider#unifRand(double[], int, int)}. The values and the state of the
+     * generator afterwards must be the same as after the same number of calls to {@code execute}.
+     */
+    public interface RandFunctionBlock {
+        void generateBlock(double a, double b, double c, double[] result, RandomNumberProvider rand);
+    }
+
     public abstract static class RandFunction3_DoubleWithWarnings extends RBaseNodeWithWarnings implements RandFunction3_DoubleBase {
 
     }
@@ -94,10 +104,32 @@ public class RandomFunctions {
             return generator.genrandDouble();
         }
 
+        /**
+         * Fills {@code length} elements of {@code result} starting at {@code offset} with the same
+         * values as repeated calls to {@link #unifRand()}.
+         */
+        public void unifRand(double[] result, int offset, int length) {
+            generator.fill(result, offset, length);
+        }
+
         public double normRand() {
             return SNorm.normRand(generator, normKind);
         }
 
+        /**
+         * Fills {@code length} elements of {@code result} starting at {@code offset} with the same
+         * values as repeated calls to {@link #normRand()}.
+         */
+        public void normRand(double[] result, int offset, int length) {
+            if (normKind == NormKind.INVERSION) {
+                SNorm.normRandInversion(generator, result, offset, length);
+            } else {
+                for (int i = 0; i < length; i++) {
+                    result[offset + i] = SNorm.normRand(generator, normKind);
+                }
+            }
+        }
+
         public double expRand() {
             return SExp.expRand(generator);
         }
@@ -19,6 +19,8 @@
  */
 package com.oracle.truffle.r.runtime.nmath.distr;
 
+import java.util.Arrays;
+
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateUncached;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -27,10 +29,11 @@ import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.profiles.PrimitiveValueProfile;
 import com.oracle.truffle.r.runtime.nmath.RMathError;
 import com.oracle.truffle.r.runtime.nmath.RandomFunctions.RandFunction2_Double;
+import com.oracle.truffle.r.runtime.nmath.RandomFunctions.RandFunctionBlock;
 import com.oracle.truffle.r.runtime.nmath.RandomFunctions.RandomNumberProvider;
 
 @GenerateUncached
-public abstract class Rnorm extends RandFunction2_Double {
+public abstract class Rnorm extends RandFunction2_Double implements RandFunctionBlock {
 
     @Specialization
     public double exec(double muIn, double sigmaIn, RandomNumberProvider rand,
@@ -51,6 +54,20 @@ public abstract class Rnorm extends RandFunction2_Double {
         }
     }
 
+    @Override
+    public void generateBlock(double mu, double sigma, double c, double[] result, RandomNumberProvider rand) {
+        if (Double.isNaN(mu) || !Double.isFinite(sigma) || sigma < 0.) {
+            Arrays.fill(result, RMathError.defaultError());
+        } else if (sigma == 0. || !Double.isFinite(mu)) {
+            Arrays.fill(result, mu);
+        } else {
+            rand.normRand(result, 0, result.length);
+            for (int i = 0; i < result.length; i++) {
+                result[i] = mu + sigma * result[i];
+            }
+        }
+    }
+
     public static Rnorm create() {
         return RnormNodeGen.create();
     }
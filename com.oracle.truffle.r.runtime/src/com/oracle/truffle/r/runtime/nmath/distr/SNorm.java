@@ -113,6 +113,9 @@ public final class SNorm {
 
     private static final double BIG = 134217728; /* 2^27 */
 
+    /* number of normals generated from one block of uniforms in normRandInversion */
+    private static final int INVERSION_BLOCK = 512;
+
     static double BMNormKeep = 0.0;
 
     private SNorm() {
@@ -364,4 +367,23 @@ public final class SNorm {
                 return 0d;
         }
     }
+
+    /**
+     * Generates {@code length} normally distributed values with the {@link NormKind#INVERSION}
+     * method, taking the two uniforms needed for each value from blocks filled by
+     * {@link RandomNumberGenerator#fill}. Gives the same values as repeated calls to
+     * {@link #normRand}.
+     */
+    public static void normRandInversion(RandomNumberGenerator rand, double[] result, int offset, int length) {
+        double[] u = new double[2 * Math.min(length, INVERSION_BLOCK)];
+        for (int pos = 0; pos < length; pos += INVERSION_BLOCK) {
+            int count = Math.min(length - pos, INVERSION_BLOCK);
+            rand.fill(u, 0, 2 * count);
+            for (int i = 0; i < count; i++) {
+                /* unif_rand() alone is not of high enough precision */
+                double u1 = (int) (BIG * u[2 * i]) + u[2 * i + 1];
+                result[offset + pos + i] = Qnorm.qnorm(u1 / BIG, 0.0, 1.0, true, false);
+            }
+        }
+    }
 }
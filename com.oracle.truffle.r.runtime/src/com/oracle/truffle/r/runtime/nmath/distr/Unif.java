@@ -19,6 +19,8 @@
  */
 package com.oracle.truffle.r.runtime.nmath.distr;
 
+import java.util.Arrays;
+
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateUncached;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -32,6 +34,7 @@ import com.oracle.truffle.r.runtime.nmath.MathFunctions.Function3_1;
 import com.oracle.truffle.r.runtime.nmath.MathFunctions.Function3_2;
 import com.oracle.truffle.r.runtime.nmath.RMathError;
 import com.oracle.truffle.r.runtime.nmath.RandomFunctions.RandFunction2_Double;
+import com.oracle.truffle.r.runtime.nmath.RandomFunctions.RandFunctionBlock;
 import com.oracle.truffle.r.runtime.nmath.RandomFunctions.RandomNumberProvider;
 
 public final class Unif {
@@ -40,7 +43,7 @@ public final class Unif {
     }
 
     @GenerateUncached
-    public abstract static class Runif extends RandFunction2_Double {
+    public abstract static class Runif extends RandFunction2_Double implements RandFunctionBlock {
         @Specialization
         public double exec(double minIn, double maxIn, RandomNumberProvider rand,
                         @Cached() BranchProfile errorProfile,
@@ -59,6 +62,20 @@ public final class Unif {
             return min + rand.unifRand() * (max - min);
         }
 
+        @Override
+        public void generateBlock(double min, double max, double c, double[] result, RandomNumberProvider rand) {
+            if (!RRuntime.isFinite(min) || !RRuntime.isFinite(max) || max < min) {
+                Arrays.fill(result, RMathError.defaultError());
+            } else if (min == max) {
+                Arrays.fill(result, min);
+            } else {
+                rand.unifRand(result, 0, result.length);
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = min + result[i] * (max - min);
+                }
+            }
+        }
+
         public static Runif create() {
             return UnifFactory.RunifNodeGen.create();
         }
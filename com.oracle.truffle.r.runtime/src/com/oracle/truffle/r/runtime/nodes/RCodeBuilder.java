@@ -172,6 +172,12 @@ public interface RCodeBuilder<T> {
 
     CodeBuilderContext getContext();
 
+    /**
+     * Discards the parse metadata reported so far, used by the parser when it has to start parsing
+     * the same source again.
+     */
+    void reset();
+
     /**
      * This method returns a newly created AST fragment for the given original element. This
      * functionality can be used to quickly create new AST snippets for existing code.
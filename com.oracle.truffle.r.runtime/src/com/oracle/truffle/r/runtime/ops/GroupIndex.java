@@ -0,0 +1,491 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.ops;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.RType;
+import com.oracle.truffle.r.runtime.data.RDoubleVector;
+import com.oracle.truffle.r.runtime.data.RIntVector;
+import com.oracle.truffle.r.runtime.data.RLogicalVector;
+import com.oracle.truffle.r.runtime.data.RStringVector;
+import com.oracle.truffle.r.runtime.data.model.RAbstractVector;
+
+/**
+ * Assignment of the elements of a vector to groups given by one or more keys, used by the builtins
+ * that aggregate values by groups, e.g. {@code rowsum} or {@code split}. Each element has a dense
+ * group id in the range {@code 0 .. getGroupsCount() - 1}, or {@link #NO_GROUP} if it should be
+ * ignored, e.g. because its factor code is {@code NA}.
+ *
+ * The keys are hashed by their primitive values, i.e. without boxing, doubles are compared like in
+ * {@code unique}: {@code NA} and {@code NaN} are distinct values and {@code -0} equals {@code 0}.
+ */
+public final class GroupIndex {
+    public static final int NO_GROUP = -1;
+
+    private final int[] groupIds;
+    private final int groupsCount;
+
+    private int[] groupStarts;
+    private int[] order;
+
+    private GroupIndex(int[] groupIds, int groupsCount) {
+        this.groupIds = groupIds;
+        this.groupsCount = groupsCount;
+    }
+
+    /**
+     * Creates the groups from 1-based codes, e.g. of a factor, each code from
+     * {@code 1 .. groupsCount} forms a group even if it does not occur. The codes are recycled if
+     * there are fewer codes than {@code length}, other values, including {@code NA}, are not
+     * assigned to any group.
+     */
+    @TruffleBoundary
+    public static GroupIndex fromCodes(int[] codes, int length, int groupsCount) {
+        int[] ids = new int[length];
+        if (codes.length == 0) {
+            Arrays.fill(ids, NO_GROUP);
+            return new GroupIndex(ids, groupsCount);
+        }
+        for (int i = 0, j = 0; i < length; i++, j++) {
+            if (j == codes.length) {
+                j = 0;
+            }
+            int code = codes[j];
+            ids[i] = code >= 1 && code <= groupsCount ? code - 1 : NO_GROUP;
+        }
+        return new GroupIndex(ids, groupsCount);
+    }
+
+    /**
+     * Creates the groups of equal values of {@code keys}, the groups are numbered in the order of
+     * their first occurrence like the result of {@code unique}. {@code NA} forms a group as any
+     * other value.
+     */
+    @TruffleBoundary
+    public static GroupIndex fromKeys(RAbstractVector keys) {
+        int length = keys.getLength();
+        KeyTable table = KeyTable.create(keys.getRType(), length);
+        Object data = table.getKeys(keys);
+        int[] ids = new int[length];
+        for (int i = 0; i < length; i++) {
+            ids[i] = table.lookup(data, i, true);
+        }
+        return new GroupIndex(ids, table.size());
+    }
+
+    /**
+     * Creates the groups given by the position of each element of {@code keys} in
+     * {@code uniqueKeys}, which must not contain duplicates. The elements that are not found in
+     * {@code uniqueKeys} are not assigned to any group.
+     */
+    @TruffleBoundary
+    public static GroupIndex match(RAbstractVector keys, RAbstractVector uniqueKeys) {
+        RType type = keys.getRType() == uniqueKeys.getRType() ? keys.getRType() : RType.Any;
+        int groupsCount = uniqueKeys.getLength();
+        KeyTable table = KeyTable.create(type, groupsCount);
+        Object uniqueData = table.getKeys(uniqueKeys);
+        for (int i = 0; i < groupsCount; i++) {
+            table.lookup(uniqueData, i, true);
+        }
+        assert table.size() == groupsCount : "duplicate keys";
+        int length = keys.getLength();
+        Object data = table.getKeys(keys);
+        int[] ids = new int[length];
+        for (int i = 0; i < length; i++) {
+            ids[i] = table.lookup(data, i, false);
+        }
+        return new GroupIndex(ids, groupsCount);
+    }
+
+    /**
+     * Creates the groups of the elements that are in the same group in this index and in
+     * {@code other}, i.e. groups by multiple keys. The groups are numbered in the order of their
+     * first occurrence.
+     */
+    @TruffleBoundary
+    public GroupIndex combine(GroupIndex other) {
+        assert getLength() == other.getLength();
+        int length = getLength();
+        LongHashTable table = new LongHashTable(Math.min(length, Math.max(groupsCount, other.groupsCount)));
+        int[] ids = new int[length];
+        for (int i = 0; i < length; i++) {
+            int id1 = groupIds[i];
+            int id2 = other.groupIds[i];
+            ids[i] = id1 == NO_GROUP || id2 == NO_GROUP ? NO_GROUP : table.lookup(((long) id1 << 32) | id2, true);
+        }
+        return new GroupIndex(ids, table.size());
+    }
+
+    public int getLength() {
+        return groupIds.length;
+    }
+
+    public int getGroupsCount() {
+        return groupsCount;
+    }
+
+    public int getGroupId(int index) {
+        return groupIds[index];
+    }
+
+    /**
+     * Returns the group ids of all the elements, the array must not be modified.
+     */
+    public int[] getGroupIds() {
+        return groupIds;
+    }
+
+    @TruffleBoundary
+    public int[] getGroupSizes() {
+        int[] sizes = new int[groupsCount];
+        for (int id : groupIds) {
+            if (id != NO_GROUP) {
+                sizes[id]++;
+            }
+        }
+        return sizes;
+    }
+
+    /**
+     * Returns the start of each group in {@link #getOrder()}, the elements of group {@code g} are
+     * at positions {@code getGroupStarts()[g] .. getGroupStarts()[g + 1] - 1}. The array must not
+     * be modified.
+     */
+    public int[] getGroupStarts() {
+        if (groupStarts == null) {
+            computeOrder();
+        }
+        return groupStarts;
+    }
+
+    /**
+     * Returns the indices of the elements ordered by their group, the elements of one group keep
+     * their original order. The elements without a group are left out. The array must not be
+     * modified.
+     */
+    public int[] getOrder() {
+        if (order == null) {
+            computeOrder();
+        }
+        return order;
+    }
+
+    @TruffleBoundary
+    private void computeOrder() {
+        int[] sizes = getGroupSizes();
+        int[] starts = new int[groupsCount + 1];
+        for (int g = 0; g < groupsCount; g++) {
+            starts[g + 1] = starts[g] + sizes[g];
+        }
+        int[] next = new int[groupsCount];
+        System.arraycopy(starts, 0, next, 0, groupsCount);
+        int[] result = new int[starts[groupsCount]];
+        for (int i = 0; i < groupIds.length; i++) {
+            int id = groupIds[i];
+            if (id != NO_GROUP) {
+                result[next[id]++] = i;
+            }
+        }
+        groupStarts = starts;
+        order = result;
+    }
+
+    /**
+     * Hash table assigning dense ids to the distinct keys in the order of their insertion.
+     */
+    private abstract static class KeyTable {
+
+        static KeyTable create(RType type, int expectedSize) {
+            switch (type) {
+                case Integer:
+                    return new IntKeyTable(expectedSize);
+                case Logical:
+                    return new LogicalKeyTable(expectedSize);
+                case Double:
+                    return new DoubleKeyTable(expectedSize);
+                case Character:
+                    return new StringKeyTable(expectedSize);
+                default:
+                    return new ObjectKeyTable();
+            }
+        }
+
+        /**
+         * Gets the keys from the vector in the form expected by {@link #lookup}.
+         */
+        abstract Object getKeys(RAbstractVector vector);
+
+        /**
+         * Returns the id of the key at given index, a new id is assigned to a new key if
+         * {@code insert} is set, otherwise {@link GroupIndex#NO_GROUP} is returned for it.
+         */
+        abstract int lookup(Object keys, int index, boolean insert);
+
+        abstract int size();
+    }
+
+    /**
+     * Open addressing hash table of primitive keys used by the key tables of numeric types.
+     */
+    private static final class LongHashTable {
+        private long[] keys;
+        // id + 1, zero marks an empty slot
+        private int[] ids;
+        private int size;
+
+        LongHashTable(int expectedSize) {
+            int capacity = Integer.highestOneBit(Math.max(expectedSize, 8)) << 2;
+            keys = new long[capacity];
+            ids = new int[capacity];
+        }
+
+        int lookup(long key, boolean insert) {
+            int mask = ids.length - 1;
+            int slot = hash(key) & mask;
+            while (ids[slot] != 0) {
+                if (keys[slot] == key) {
+                    return ids[slot] - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (!insert) {
+                return NO_GROUP;
+            }
+            int id = size++;
+            keys[slot] = key;
+            ids[slot] = id + 1;
+            if (size * 2 > ids.length) {
+                grow();
+            }
+            return id;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldIds = ids;
+            keys = new long[oldKeys.length * 2];
+            ids = new int[oldIds.length * 2];
+            int mask = ids.length - 1;
+            for (int i = 0; i < oldIds.length; i++) {
+                if (oldIds[i] != 0) {
+                    int slot = hash(oldKeys[i]) & mask;
+                    while (ids[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    ids[slot] = oldIds[i];
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    private abstract static class LongKeyTable extends KeyTable {
+        protected final LongHashTable table;
+
+        LongKeyTable(int expectedSize) {
+            table = new LongHashTable(expectedSize);
+        }
+
+        @Override
+        final int size() {
+            return table.size();
+        }
+    }
+
+    private static final class IntKeyTable extends LongKeyTable {
+        IntKeyTable(int expectedSize) {
+            super(expectedSize);
+        }
+
+        @Override
+        Object getKeys(RAbstractVector vector) {
+            return ((RIntVector) vector).getReadonlyData();
+        }
+
+        @Override
+        int lookup(Object keys, int index, boolean insert) {
+            return table.lookup(((int[]) keys)[index], insert);
+        }
+    }
+
+    private static final class LogicalKeyTable extends LongKeyTable {
+        LogicalKeyTable(int expectedSize) {
+            super(expectedSize);
+        }
+
+        @Override
+        Object getKeys(RAbstractVector vector) {
+            return ((RLogicalVector) vector).getReadonlyData();
+        }
+
+        @Override
+        int lookup(Object keys, int index, boolean insert) {
+            return table.lookup(((byte[]) keys)[index], insert);
+        }
+    }
+
+    private static final class DoubleKeyTable extends LongKeyTable {
+        private static final long NA_BITS = Double.doubleToRawLongBits(RRuntime.DOUBLE_NA);
+        private static final long NAN_BITS = Double.doubleToLongBits(Double.NaN);
+
+        DoubleKeyTable(int expectedSize) {
+            super(expectedSize);
+        }
+
+        @Override
+        Object getKeys(RAbstractVector vector) {
+            return ((RDoubleVector) vector).getReadonlyData();
+        }
+
+        @Override
+        int lookup(Object keys, int index, boolean insert) {
+            double value = ((double[]) keys)[index];
+            long key;
+            if (Double.isNaN(value)) {
+                key = RRuntime.isNA(value) ? NA_BITS : NAN_BITS;
+            } else {
+                // adding zero turns -0 into 0
+                key = Double.doubleToRawLongBits(value + 0.0);
+            }
+            return table.lookup(key, insert);
+        }
+    }
+
+    private static final class StringKeyTable extends KeyTable {
+        private String[] keys;
+        // id + 1, zero marks an empty slot
+        private int[] ids;
+        private int size;
+        private int naId = NO_GROUP;
+
+        StringKeyTable(int expectedSize) {
+            int capacity = Integer.highestOneBit(Math.max(expectedSize, 8)) << 2;
+            keys = new String[capacity];
+            ids = new int[capacity];
+        }
+
+        @Override
+        Object getKeys(RAbstractVector vector) {
+            return ((RStringVector) vector).getReadonlyStringData();
+        }
+
+        @Override
+        int lookup(Object data, int index, boolean insert) {
+            String key = ((String[]) data)[index];
+            if (RRuntime.isNA(key)) {
+                // NA is compared by identity, it must not be equal to the string "NA"
+                if (naId == NO_GROUP && insert) {
+                    naId = size++;
+                }
+                return naId;
+            }
+            int mask = ids.length - 1;
+            int slot = (key.hashCode() * 0x9E3779B9) & mask;
+            while (ids[slot] != 0) {
+                if (key.equals(keys[slot])) {
+                    return ids[slot] - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (!insert) {
+                return NO_GROUP;
+            }
+            int id = size++;
+            keys[slot] = key;
+            ids[slot] = id + 1;
+            if (size * 2 > ids.length) {
+                grow();
+            }
+            return id;
+        }
+
+        private void grow() {
+            String[] oldKeys = keys;
+            int[] oldIds = ids;
+            keys = new String[oldKeys.length * 2];
+            ids = new int[oldIds.length * 2];
+            int mask = ids.length - 1;
+            for (int i = 0; i < oldIds.length; i++) {
+                if (oldIds[i] != 0) {
+                    int slot = (oldKeys[i].hashCode() * 0x9E3779B9) & mask;
+                    while (ids[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    ids[slot] = oldIds[i];
+                }
+            }
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Fallback for the types without primitive keys and for keys of different types, which are
+     * compared as boxed values.
+     */
+    private static final class ObjectKeyTable extends KeyTable {
+        private final HashMap<Object, Integer> table = new HashMap<>();
+
+        @Override
+        Object getKeys(RAbstractVector vector) {
+            return vector;
+        }
+
+        @Override
+        int lookup(Object keys, int index, boolean insert) {
+            Object key = ((RAbstractVector) keys).getDataAtAsObject(index);
+            Integer id = table.get(key);
+            if (id != null) {
+                return id;
+            }
+            if (!insert) {
+                return NO_GROUP;
+            }
+            int newId = table.size();
+            table.put(key, newId);
+            return newId;
+        }
+
+        @Override
+        int size() {
+            return table.size();
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.ops;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.r.runtime.RRuntime;
+
+/**
+ * Reductions of the values of each group of a {@link GroupIndex}. The values are given by an array
+ * and an offset, so that the columns of a matrix can be reduced one by one, the result of group
+ * {@code g} is stored at {@code resultOffset + g}. The {@code NA} handling follows the
+ * corresponding builtins, e.g. {@code sum} gives {@code NA} for a group containing {@code NA}
+ * unless {@code naRm} is set, in which case both {@code NA} and {@code NaN} are ignored.
+ *
+ * The reductions that cannot give the same result as the builtin without reporting a warning, e.g.
+ * on integer overflow, report it to the caller, which can fall back to the generic implementation.
+ */
+public final class GroupReductions {
+
+    private GroupReductions() {
+        // only static members
+    }
+
+    /**
+     * Counts the occurrences of the 1-based codes {@code 1 .. groupsCount} in the first
+     * {@code length} elements of {@code codes}, other values are ignored. This is equivalent to
+     * {@code fromCodes(codes, length, groupsCount).getGroupSizes()} without creating the index.
+     */
+    @TruffleBoundary
+    public static int[] countCodes(int[] codes, int length, int groupsCount) {
+        int[] counts = new int[groupsCount];
+        for (int i = 0; i < length; i++) {
+            int code = codes[i];
+            if (code >= 1 && code <= groupsCount) {
+                counts[code - 1]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Integer sum, the groups that overflow or contain {@code NA} (unless {@code naRm}) are
+     * {@code NA}. Returns {@code false} if any group overflowed.
+     */
+    @TruffleBoundary
+    public static boolean sum(int[] x, int offset, GroupIndex groups, boolean naRm, int[] result, int resultOffset) {
+        int groupsCount = groups.getGroupsCount();
+        int[] ids = groups.getGroupIds();
+        long[] sums = new long[groupsCount];
+        boolean[] isNA = new boolean[groupsCount];
+        boolean overflow = false;
+        for (int i = 0; i < ids.length; i++) {
+            int id = ids[i];
+            if (id == GroupIndex.NO_GROUP || isNA[id]) {
+                continue;
+            }
+            int value = x[offset + i];
+            if (RRuntime.isNA(value)) {
+                isNA[id] = !naRm;
+                continue;
+            }
+            long sum = sums[id] + value;
+            if (sum < Integer.MIN_VALUE || sum > Integer.MAX_VALUE) {
+                overflow = true;
+                isNA[id] = true;
+            }
+            sums[id] = sum;
+        }
+        for (int g = 0; g < groupsCount; g++) {
+            result[resultOffset + g] = isNA[g] ? RRuntime.INT_NA : (int) sums[g];
+        }
+        return !overflow;
+    }
+
+    @TruffleBoundary
+    public static void sum(double[] x, int offset, GroupIndex groups, boolean naRm, double[] result, int resultOffset) {
+        int groupsCount = groups.getGroupsCount();
+        int[] ids = groups.getGroupIds();
+        boolean[] isNA = new boolean[groupsCount];
+        for (int i = 0; i < ids.length; i++) {
+            int id = ids[i];
+            if (id == GroupIndex.NO_GROUP) {
+                continue;
+            }
+            double value = x[offset + i];
+            if (Double.isNaN(value)) {
+                if (naRm) {
+                    continue;
+                } else if (RRuntime.isNA(value)) {
+                    isNA[id] = true;
+                }
+            }
+            result[resultOffset + id] += value;
+        }
+        for (int g = 0; g < groupsCount; g++) {
+            if (isNA[g]) {
+                result[resultOffset + g] = RRuntime.DOUBLE_NA;
+            }
+        }
+    }
+
+    /**
+     * Arithmetic mean, the result of a group is its first {@code NA} or {@code NaN} if there is any
+     * and {@code naRm} is not set, and {@code NaN} for an empty group.
+     */
+    @TruffleBoundary
+    public static double[] mean(double[] x, GroupIndex groups, boolean naRm) {
+        int groupsCount = groups.getGroupsCount();
+        int[] ids = groups.getGroupIds();
+        double[] sums = new double[groupsCount];
+        int[] counts = new int[groupsCount];
+        boolean[] done = new boolean[groupsCount];
+        for (int i = 0; i < ids.length; i++) {
+            int id = ids[i];
+            if (id == GroupIndex.NO_GROUP || done[id]) {
+                continue;
+            }
+            double value = x[i];
+            if (Double.isNaN(value)) {
+                if (!naRm) {
+                    sums[id] = value;
+                    done[id] = true;
+                }
+                continue;
+            }
+            sums[id] += value;
+            counts[id]++;
+        }
+        for (int g = 0; g < groupsCount; g++) {
+            if (!done[g]) {
+                sums[g] = counts[g] == 0 ? Double.NaN : sums[g] / counts[g];
+            }
+        }
+        return sums;
+    }
+
+    /**
+     * Minimum or maximum, a group containing {@code NA} is {@code NA}, otherwise a group containing
+     * {@code NaN} is {@code NaN}, unless {@code naRm} is set. Returns {@code null} if any non-empty
+     * group has no values left after removing {@code NA}s, for which the builtins give infinity with
+     * a warning. The result of an empty group is unspecified.
+     */
+    @TruffleBoundary
+    public static double[] extreme(double[] x, GroupIndex groups, boolean naRm, boolean max) {
+        int groupsCount = groups.getGroupsCount();
+        int[] ids = groups.getGroupIds();
+        double[] result = new double[groupsCount];
+        Arrays.fill(result, max ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY);
+        boolean[] updated = new boolean[groupsCount];
+        boolean[] nonEmpty = new boolean[groupsCount];
+        for (int i = 0; i < ids.length; i++) {
+            int id = ids[i];
+            if (id == GroupIndex.NO_GROUP) {
+                continue;
+            }
+            nonEmpty[id] = true;
+            double value = x[i];
+            double current = result[id];
+            if (Double.isNaN(value)) {
+                if (!naRm) {
+                    // NA takes precedence over NaN
+                    if (!RRuntime.isNA(current)) {
+                        result[id] = value;
+                    }
+                    updated[id] = true;
+                }
+            } else if (!Double.isNaN(current)) {
+                if (max ? value > current : value < current) {
+                    result[id] = value;
+                }
+                updated[id] = true;
+            }
+        }
+        for (int g = 0; g < groupsCount; g++) {
+            if (nonEmpty[g] && !updated[g]) {
+                return null;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Integer version of {@link #extreme(double[], GroupIndex, boolean, boolean)}.
+     */
+    @TruffleBoundary
+    public static int[] extreme(int[] x, GroupIndex groups, boolean naRm, boolean max) {
+        int groupsCount = groups.getGroupsCount();
+        int[] ids = groups.getGroupIds();
+        int[] result = new int[groupsCount];
+        boolean[] updated = new boolean[groupsCount];
+        boolean[] isNA = new boolean[groupsCount];
+        boolean[] nonEmpty = new boolean[groupsCount];
+        for (int i = 0; i < ids.length; i++) {
+            int id = ids[i];
+            if (id == GroupIndex.NO_GROUP || isNA[id]) {
+                continue;
+            }
+            nonEmpty[id] = true;
+            int value = x[i];
+            if (RRuntime.isNA(value)) {
+                if (!naRm) {
+                    isNA[id] = true;
+                    updated[id] = true;
+                }
+            } else if (!updated[id] || (max ? value > result[id] : value < result[id])) {
+                result[id] = value;
+                updated[id] = true;
+            }
+        }
+        for (int g = 0; g < groupsCount; g++) {
+            if (nonEmpty[g] && !updated[g]) {
+                return null;
+            }
+            if (isNA[g]) {
+                result[g] = RRuntime.INT_NA;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the index of the first element of each group, or {@code -1} for an empty group.
+     */
+    @TruffleBoundary
+    public static int[] firstIndex(GroupIndex groups) {
+        int[] result = new int[groups.getGroupsCount()];
+        Arrays.fill(result, -1);
+        int[] ids = groups.getGroupIds();
+        for (int i = ids.length - 1; i >= 0; i--) {
+            if (ids[i] != GroupIndex.NO_GROUP) {
+                result[ids[i]] = i;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the index of the last element of each group, or {@code -1} for an empty group.
+     */
+    @TruffleBoundary
+    public static int[] lastIndex(GroupIndex groups) {
+        int[] result = new int[groups.getGroupsCount()];
+        Arrays.fill(result, -1);
+        int[] ids = groups.getGroupIds();
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] != GroupIndex.NO_GROUP) {
+                result[ids[i]] = i;
+            }
+        }
+        return result;
+    }
+}
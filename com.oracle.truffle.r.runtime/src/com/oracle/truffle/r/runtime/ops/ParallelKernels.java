@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.runtime.ops;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.data.RDoubleArrayVectorData;
+import com.oracle.truffle.r.runtime.data.RDoubleVector;
+
+/**
+ * Support for builtins that process large vectors in parallel on the common {@link ForkJoinPool}.
+ * The parallel execution is enabled by the {@link FastROptions#ParallelKernelThreads} option.
+ *
+ * The input is split into chunks of a fixed size independent of the number of threads, and the
+ * partial results of the chunks are combined in order by the calling thread, so that the results
+ * of reductions do not depend on the number of threads. With the default single thread the
+ * builtins use their sequential loops, so e.g. the result of {@code sum} may differ in the last
+ * bits between the default and the parallel execution. The kernels run outside of the R context and must only work with primitive arrays, e.g. warnings
+ * must be collected per chunk and reported by the calling thread.
+ */
+public final class ParallelKernels {
+    /**
+     * Number of elements processed by one task.
+     */
+    public static final int CHUNK_SIZE = 64 * 1024;
+    /**
+     * Vectors shorter than this are processed by the sequential loops of the builtins.
+     */
+    public static final int MIN_LENGTH = 1024 * 1024;
+
+    private ParallelKernels() {
+        // only static members
+    }
+
+    @FunctionalInterface
+    public interface ChunkKernel {
+        /**
+         * Processes the elements {@code from .. to - 1}, which form the chunk with given index.
+         */
+        void run(int chunk, int from, int to);
+    }
+
+    /**
+     * Returns the number of threads that should process the chunks, {@code 1} means that the
+     * calling thread processes all of them.
+     */
+    public static int getThreads(RContext context) {
+        return Math.max(1, context.getOption(FastROptions.ParallelKernelThreads));
+    }
+
+    /**
+     * Returns the Java array that should be processed by the kernels instead of the sequential
+     * loop of a builtin, or {@code null} if the parallel execution is disabled, the vector is short
+     * or its data are not stored in a Java array.
+     */
+    public static double[] getKernelInput(RContext context, RDoubleVector vector) {
+        return vector.getLength() >= MIN_LENGTH && getThreads(context) > 1 ? getDoubleArray(vector) : null;
+    }
+
+    /**
+     * Returns the Java array holding the data of given vector, or {@code null} if the data are not
+     * stored in a Java array, e.g. they are in native memory or computed on demand. The kernels
+     * should only be used with vectors that have such array.
+     */
+    public static double[] getDoubleArray(RDoubleVector vector) {
+        Object data = vector.getData();
+        return data instanceof RDoubleArrayVectorData ? ((RDoubleArrayVectorData) data).getReadonlyDoubleData() : null;
+    }
+
+    public static int getChunksCount(int length, int chunkSize) {
+        return (length + chunkSize - 1) / chunkSize;
+    }
+
+    /**
+     * Runs the kernel for all the chunks of {@code length} elements using at most {@code threads}
+     * threads including the calling thread, which takes part in the processing.
+     */
+    @TruffleBoundary
+    public static void forEachChunk(int length, int chunkSize, int threads, ChunkKernel kernel) {
+        int chunksCount = getChunksCount(length, chunkSize);
+        AtomicInteger nextChunk = new AtomicInteger();
+        Runnable worker = () -> {
+            int chunk;
+            while ((chunk = nextChunk.getAndIncrement()) < chunksCount) {
+                int from = chunk * chunkSize;
+                kernel.run(chunk, from, Math.min(length, from + chunkSize));
+            }
+        };
+        int helpersCount = Math.min(threads, chunksCount) - 1;
+        ForkJoinTask<?>[] helpers = new ForkJoinTask<?>[Math.max(0, helpersCount)];
+        for (int i = 0; i < helpers.length; i++) {
+            helpers[i] = ForkJoinPool.commonPool().submit(worker);
+        }
+        try {
+            worker.run();
+        } finally {
+            for (ForkJoinTask<?> helper : helpers) {
+                helper.quietlyJoin();
+            }
+        }
+        for (ForkJoinTask<?> helper : helpers) {
+            Throwable ex = helper.getException();
+            if (ex instanceof RuntimeException) {
+                throw (RuntimeException) ex;
+            } else if (ex instanceof Error) {
+                throw (Error) ex;
+            }
+        }
+    }
+
+    /**
+     * Sums the first {@code length} elements with the semantics of {@code sum}: {@code NA} gives
+     * {@code NA} and {@code NaN} propagates, unless {@code naRm} is set, in which case both are
+     * ignored.
+     */
+    @TruffleBoundary
+    public static double sum(double[] data, int length, boolean naRm, int threads) {
+        int chunksCount = getChunksCount(length, CHUNK_SIZE);
+        double[] partialSums = new double[chunksCount];
+        boolean[] seenNA = new boolean[chunksCount];
+        forEachChunk(length, CHUNK_SIZE, threads, (chunk, from, to) -> {
+            double sum = 0;
+            for (int i = from; i < to; i++) {
+                double value = data[i];
+                if (Double.isNaN(value)) {
+                    if (naRm) {
+                        continue;
+                    } else if (RRuntime.isNA(value)) {
+                        seenNA[chunk] = true;
+                        return;
+                    }
+                }
+                sum += value;
+            }
+            partialSums[chunk] = sum;
+        });
+        double result = 0;
+        for (int chunk = 0; chunk < chunksCount; chunk++) {
+            if (seenNA[chunk]) {
+                return RRuntime.DOUBLE_NA;
+            }
+            result += partialSums[chunk];
+        }
+        return result;
+    }
+}
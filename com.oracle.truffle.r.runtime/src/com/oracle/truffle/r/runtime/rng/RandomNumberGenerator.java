@@ -37,6 +37,17 @@ public interface RandomNumberGenerator {
 
     double genrandDouble();
 
+    /**
+     * Fills {@code length} elements of {@code result} starting at {@code offset} with random
+     * doubles. The values and the resulting state must be the same as if {@link #genrandDouble()}
+     * was called {@code length} times, generators override this only to do it more efficiently.
+     */
+    default void fill(double[] result, int offset, int length) {
+        for (int i = 0; i < length; i++) {
+            result[offset + i] = genrandDouble();
+        }
+    }
+
     Kind getKind();
 
     /**
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 1995-2012, The R Core Team
+ * Copyright (c) 2003, The R Foundation
+ * Copyright (c) 2026, Oracle and/or its affiliates
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, a copy is available at
+ * https://www.R-project.org/Licenses/
+ */
+package com.oracle.truffle.r.runtime.rng.lecuyer;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.r.runtime.rng.RNGInitAdapter;
+import com.oracle.truffle.r.runtime.rng.RRNG;
+import com.oracle.truffle.r.runtime.rng.RRNG.Kind;
+
+/**
+ * "L'Ecuyer-CMRG" RNG, i.e. the MRG32k3a combined multiple recursive generator. The generator
+ * itself, the seeding and the fixup are transcribed from GnuR RNG.c, the stream and sub-stream
+ * jump-ahead from the parallel package (rngstream.c), so that {@code nextRNGStream} gives the same
+ * streams as in GnuR.
+ *
+ * The six seeds are unsigned 32-bit values stored as {@code int}, the first three are the state of
+ * the first component (modulo {@link #M1}), the other three of the second component (modulo
+ * {@link #M2}).
+ */
+public final class LEcuyerCMRG extends RNGInitAdapter {
+
+    private static final int N_SEED = 6;
+
+    private static final long M1 = 4294967087L;
+    private static final long M2 = 4294944443L;
+    private static final double NORMC = 2.328306549295727688e-10;
+    private static final long A12 = 1403580L;
+    private static final long A13N = 810728L;
+    private static final long A21 = 527612L;
+    private static final long A23N = 1370589L;
+
+    /*
+     * Jump-ahead matrices, A1p76 and A2p76 advance by 2^76 steps (one sub-stream), A1p127 and
+     * A2p127 by 2^127 steps (one stream).
+     */
+    private static final long[][] A1P76 = {
+                    {82758667L, 1871391091L, 4127413238L},
+                    {3672831523L, 69195019L, 1871391091L},
+                    {3672091415L, 3528743235L, 69195019L}
+    };
+
+    private static final long[][] A2P76 = {
+                    {1511326704L, 3759209742L, 1610795712L},
+                    {4292754251L, 1511326704L, 3889917532L},
+                    {3859662829L, 4292754251L, 3708466080L}
+    };
+
+    private static final long[][] A1P127 = {
+                    {2427906178L, 3580155704L, 949770784L},
+                    {226153695L, 1230515664L, 3580155704L},
+                    {1988835001L, 986791581L, 1230515664L}
+    };
+
+    private static final long[][] A2P127 = {
+                    {1464411153L, 277697599L, 1610723613L},
+                    {32183930L, 1464411153L, 1022607788L},
+                    {2824425944L, 32183930L, 2093834863L}
+    };
+
+    public LEcuyerCMRG() {
+        super(N_SEED);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void init(int seedParam) {
+        int seed = seedParam;
+        for (int i = 0; i < N_SEED; i++) {
+            seed = (69069 * seed + 1);
+            while (Integer.toUnsignedLong(seed) >= M2) {
+                seed = (69069 * seed + 1);
+            }
+            setISeedItem(i, seed);
+        }
+    }
+
+    @Override
+    @TruffleBoundary
+    public void fixupSeeds(boolean initial) {
+        // first set: not all zero, in [0, m1), second set: not all zero, in [0, m2)
+        boolean notAllZero = false;
+        boolean allOK = true;
+        for (int i = 0; i < 3; i++) {
+            long tmp = Integer.toUnsignedLong(getISeedItem(i));
+            notAllZero |= tmp != 0;
+            allOK &= tmp < M1;
+        }
+        if (!notAllZero || !allOK) {
+            init(RRNG.timeToSeed());
+        }
+        for (int i = 3; i < N_SEED; i++) {
+            long tmp = Integer.toUnsignedLong(getISeedItem(i));
+            notAllZero |= tmp != 0;
+            allOK &= tmp < M2;
+        }
+        if (!notAllZero || !allOK) {
+            init(RRNG.timeToSeed());
+        }
+    }
+
+    @Override
+    public double genrandDouble() {
+        long p1 = A12 * Integer.toUnsignedLong(getISeedItem(1)) - A13N * Integer.toUnsignedLong(getISeedItem(0));
+        p1 -= (p1 / M1) * M1;
+        if (p1 < 0) {
+            p1 += M1;
+        }
+        setISeedItem(0, getISeedItem(1));
+        setISeedItem(1, getISeedItem(2));
+        setISeedItem(2, (int) p1);
+
+        long p2 = A21 * Integer.toUnsignedLong(getISeedItem(5)) - A23N * Integer.toUnsignedLong(getISeedItem(3));
+        p2 -= (p2 / M2) * M2;
+        if (p2 < 0) {
+            p2 += M2;
+        }
+        setISeedItem(3, getISeedItem(4));
+        setISeedItem(4, getISeedItem(5));
+        setISeedItem(5, (int) p2);
+
+        // GnuR does not apply fixup to this generator, the result is always in (0,1)
+        return ((p1 > p2) ? (p1 - p2) : (p1 - p2 + M1)) * NORMC;
+    }
+
+    @Override
+    public void fill(double[] result, int offset, int length) {
+        long s0 = Integer.toUnsignedLong(getISeedItem(0));
+        long s1 = Integer.toUnsignedLong(getISeedItem(1));
+        long s2 = Integer.toUnsignedLong(getISeedItem(2));
+        long s3 = Integer.toUnsignedLong(getISeedItem(3));
+        long s4 = Integer.toUnsignedLong(getISeedItem(4));
+        long s5 = Integer.toUnsignedLong(getISeedItem(5));
+        for (int i = 0; i < length; i++) {
+            long p1 = A12 * s1 - A13N * s0;
+            p1 -= (p1 / M1) * M1;
+            if (p1 < 0) {
+                p1 += M1;
+            }
+            s0 = s1;
+            s1 = s2;
+            s2 = p1;
+
+            long p2 = A21 * s5 - A23N * s3;
+            p2 -= (p2 / M2) * M2;
+            if (p2 < 0) {
+                p2 += M2;
+            }
+            s3 = s4;
+            s4 = s5;
+            s5 = p2;
+
+            result[offset + i] = ((p1 > p2) ? (p1 - p2) : (p1 - p2 + M1)) * NORMC;
+        }
+        setISeedItem(0, (int) s0);
+        setISeedItem(1, (int) s1);
+        setISeedItem(2, (int) s2);
+        setISeedItem(3, (int) s3);
+        setISeedItem(4, (int) s4);
+        setISeedItem(5, (int) s5);
+    }
+
+    @Override
+    public Kind getKind() {
+        return Kind.LECUYER_CMRG;
+    }
+
+    @Override
+    public int getNSeed() {
+        return N_SEED;
+    }
+
+    /**
+     * Returns the seed of the stream following the one given by {@code seed}, which is in the
+     * format of {@code .Random.seed}. Transcribed from {@code nextStream} in parallel/rngstream.c.
+     */
+    public static int[] nextStream(int[] seed) {
+        return advance(seed, A1P127, A2P127);
+    }
+
+    /**
+     * Returns the seed of the sub-stream following the one given by {@code seed}, which is in the
+     * format of {@code .Random.seed}. Transcribed from {@code nextSubStream} in
+     * parallel/rngstream.c.
+     */
+    public static int[] nextSubStream(int[] seed) {
+        return advance(seed, A1P76, A2P76);
+    }
+
+    private static int[] advance(int[] seed, long[][] a1, long[][] a2) {
+        int[] result = new int[N_SEED + 1];
+        result[0] = seed[0];
+        for (int i = 0; i < 3; i++) {
+            result[i + 1] = (int) multiplyRow(a1[i], seed, 1, M1);
+            result[i + 4] = (int) multiplyRow(a2[i], seed, 4, M2);
+        }
+        return result;
+    }
+
+    /**
+     * Computes the dot product of {@code row} and the three seeds starting at {@code offset} modulo
+     * {@code m}. The intermediate values are unsigned 64-bit numbers as in GnuR, the products of
+     * two 32-bit values may overflow the signed {@code long} range.
+     */
+    private static long multiplyRow(long[] row, int[] seed, int offset, long m) {
+        long tmp = 0;
+        for (int j = 0; j < 3; j++) {
+            tmp = Long.remainderUnsigned(tmp + row[j] * Integer.toUnsignedLong(seed[offset + j]), m);
+        }
+        return tmp;
+    }
+}
@@ -63,6 +63,20 @@ public final class MarsagliaMulticarry extends RNGInitAdapter {
         return fixup(d); /* in [0,1) */
     }
 
+    @Override
+    public void fill(double[] result, int offset, int length) {
+        int state0 = getISeedItem(0);
+        int state1 = getISeedItem(1);
+        for (int i = 0; i < length; i++) {
+            state0 = 36969 * (state0 & 0177777) + (state0 >>> 16);
+            state1 = 18000 * (state1 & 0177777) + (state1 >>> 16);
+            int x = (state0 << 16) ^ (state1 & 0177777);
+            result[offset + i] = fixup((x & 0xffffffffL) * I2_32M1);
+        }
+        setISeedItem(0, state0);
+        setISeedItem(1, state1);
+    }
+
     @Override
     public Kind getKind() {
         return Kind.MARSAGLIA_MULTICARRY;
@@ -66,6 +66,13 @@ public final class MersenneTwister extends RNGInitAdapter {
     private static final int LOWERMASK = 0x7fffffff; /* least significant r bits */
     private static final int TEMPERING_MASK_B = 0x9d2c5680;
     private static final int TEMPERING_MASK_C = 0xefc60000;
+    /**
+     * Index of {@code mt[0]} in the seeds array. In GnuR, the state array is common to all
+     * algorithms (named {@code dummy}), and the zero'th element is the number of seeds, but the
+     * algorithm uses pointer arithmetic to set {@code mt} to {@code dummy + 1}. Our seeds array is
+     * additionally preceded by the generator kind.
+     */
+    private static final int MT_OFFSET = 2;
 
     /*
      * This generator can efficiently generate many random numbers in one go, upon each call to
@@ -76,19 +83,6 @@ public final class MersenneTwister extends RNGInitAdapter {
     private final double[] buffer = new double[BUFFER_SIZE];
     private int bufferIndex = BUFFER_SIZE;
 
-    /**
-     * The array for the state vector. In GnuR, the state array is common to all algorithms (named
-     * {@code dummy}), and the zero'th element is the number of seeds, but the algorithm uses
-     * pointer arithmetic to set {@code mt} to {@code dummy + 1}.
-     */
-    private int getMt(int i) {
-        return getISeedItem(i + 1);
-    }
-
-    private void setMt(int i, int val) {
-        setISeedItem(i + 1, val);
-    }
-
     @Override
     public void setISeed(int[] seeds) {
         fixupSeeds(false);
@@ -142,54 +136,77 @@ public final class MersenneTwister extends RNGInitAdapter {
     @Override
     public double genrandDouble() {
         if (bufferIndex == BUFFER_SIZE) {
-            int localDummy0 = getISeedItem(0);
-            int localMti = localDummy0;
-            // It appears that this never happens
-            // sgenrand(4357);
-            assert localMti != N + 1;
-            int pos = 0;
-            while (true) {
-                int loopCount = Math.min(BUFFER_SIZE - pos, N - localMti);
-                for (int i = 0; i < loopCount; i++) {
-                    int y = getMt(localMti + i);
-                    /* Tempering */
-                    y ^= (y >>> 11);
-                    y ^= (y << 7) & TEMPERING_MASK_B;
-                    y ^= (y << 15) & TEMPERING_MASK_C;
-                    y ^= (y >>> 18);
-                    buffer[pos + i] = ((y + Integer.MIN_VALUE) - (double) Integer.MIN_VALUE) * I2_32M1;
-                }
-                for (int i = 0; i < loopCount; i++) {
-                    buffer[pos + i] = fixup(buffer[pos + i]);
-                }
-                localMti += loopCount;
-                pos += loopCount;
-
-                if (pos == BUFFER_SIZE) {
-                    break;
-                }
-                /* generate N words at one time */
-                int kk;
-                for (kk = 0; kk < N - M; kk++) {
-                    int y2y = (getMt(kk) & UPPERMASK) | (getMt(kk + 1) & LOWERMASK);
-                    setMt(kk, getMt(kk + M) ^ (y2y >>> 1) ^ mag01(y2y & 0x1));
-                }
-                for (; kk < N - 1; kk++) {
-                    int y2y = (getMt(kk) & UPPERMASK) | (getMt(kk + 1) & LOWERMASK);
-                    setMt(kk, getMt(kk + (M - N)) ^ (y2y >>> 1) ^ mag01(y2y & 0x1));
-                }
-                int y2y = (getMt(N - 1) & UPPERMASK) | (getMt(0) & LOWERMASK);
-                setMt(N - 1, getMt(M - 1) ^ (y2y >>> 1) ^ mag01(y2y & 0x1));
-
-                localMti = 0;
-            }
-            localDummy0 = localMti;
-            setISeedItem(0, localDummy0);
-            bufferIndex = 0;
+            refillBuffer();
         }
         return buffer[bufferIndex++];
     }
 
+    @Override
+    public void fill(double[] result, int offset, int length) {
+        int pos = offset;
+        int end = offset + length;
+        while (pos < end) {
+            if (bufferIndex == BUFFER_SIZE) {
+                refillBuffer();
+            }
+            int count = Math.min(end - pos, BUFFER_SIZE - bufferIndex);
+            System.arraycopy(buffer, bufferIndex, result, pos, count);
+            bufferIndex += count;
+            pos += count;
+        }
+    }
+
+    /**
+     * Generates the next {@link #BUFFER_SIZE} values into {@link #buffer}. The state vector is
+     * accessed directly in the seeds array, {@code mti} is at index 1 and {@code mt} starts at
+     * {@link #MT_OFFSET}.
+     */
+    private void refillBuffer() {
+        int[] seeds = getSeeds();
+        int localMti = seeds[1];
+        // It appears that this never happens
+        // sgenrand(4357);
+        assert localMti != N + 1;
+        int pos = 0;
+        while (true) {
+            int loopCount = Math.min(BUFFER_SIZE - pos, N - localMti);
+            for (int i = 0; i < loopCount; i++) {
+                int y = seeds[MT_OFFSET + localMti + i];
+                /* Tempering */
+                y ^= (y >>> 11);
+                y ^= (y << 7) & TEMPERING_MASK_B;
+                y ^= (y << 15) & TEMPERING_MASK_C;
+                y ^= (y >>> 18);
+                buffer[pos + i] = ((y + Integer.MIN_VALUE) - (double) Integer.MIN_VALUE) * I2_32M1;
+            }
+            for (int i = 0; i < loopCount; i++) {
+                buffer[pos + i] = fixup(buffer[pos + i]);
+            }
+            localMti += loopCount;
+            pos += loopCount;
+
+            if (pos == BUFFER_SIZE) {
+                break;
+            }
+            /* generate N words at one time */
+            int kk;
+            for (kk = MT_OFFSET; kk < MT_OFFSET + N - M; kk++) {
+                int y2y = (seeds[kk] & UPPERMASK) | (seeds[kk + 1] & LOWERMASK);
+                seeds[kk] = seeds[kk + M] ^ (y2y >>> 1) ^ mag01(y2y & 0x1);
+            }
+            for (; kk < MT_OFFSET + N - 1; kk++) {
+                int y2y = (seeds[kk] & UPPERMASK) | (seeds[kk + 1] & LOWERMASK);
+                seeds[kk] = seeds[kk + (M - N)] ^ (y2y >>> 1) ^ mag01(y2y & 0x1);
+            }
+            int y2y = (seeds[MT_OFFSET + N - 1] & UPPERMASK) | (seeds[MT_OFFSET] & LOWERMASK);
+            seeds[MT_OFFSET + N - 1] = seeds[MT_OFFSET + M - 1] ^ (y2y >>> 1) ^ mag01(y2y & 0x1);
+
+            localMti = 0;
+        }
+        seeds[1] = localMti;
+        bufferIndex = 0;
+    }
+
     private static int mag01(int v) {
         return (v & 1) != 0 ? MATRIXA : 0;
     }
@@ -122,6 +122,10 @@ static const R_CallMethodDef CallEntries[] = {
         CALLDEF(get_dataptr, 1),
         CALLDEF(benchMultipleUpcalls, 1),
         CALLDEF(benchProtect, 2),
+        CALLDEF(benchPreserve, 2),
+        CALLDEF(benchRAlloc, 1),
+        CALLDEF(benchUpcall, 2),
+        CALLDEF(reverseElements, 1),
         CALLDEF(test_lapplyWithForceAndCall, 4),
         CALLDEF(rapi_dotCall, 2),
         CALLDEF(testMissingArgWithATTRIB, 0),
@@ -1136,6 +1136,72 @@ SEXP benchProtect(SEXP x, SEXP nn) {
   return res > 10 ? R_NilValue : x;
 }
 
+SEXP benchPreserve(SEXP x, SEXP nn) {
+  int n = INTEGER_VALUE(nn);
+  for (int i = 0; i < n; ++i) {
+    R_PreserveObject(x);
+    R_ReleaseObject(x);
+  }
+  return x;
+}
+
+SEXP benchRAlloc(SEXP nn) {
+  int n = INTEGER_VALUE(nn);
+  volatile int res = 0;
+  for (int i = 0; i < n; ++i) {
+    int *mem = (int *) R_alloc(4, sizeof(int));
+    mem[3] = i;
+    res += mem[3] > 0;
+  }
+  return ScalarInteger(res);
+}
+
+SEXP benchUpcall(SEXP x, SEXP nn) {
+  int n = INTEGER_VALUE(nn);
+  volatile int res = 0;
+  for (int i = 0; i < n; ++i) {
+    res += LENGTH(x);
+  }
+  return ScalarInteger(res);
+}
+
+// Reverses a character vector or a list in place element by element, reading every element
+// many times so that the elements are read from the native mirror of the vector.
+SEXP reverseElements(SEXP x) {
+  R_xlen_t n = XLENGTH(x);
+  int isList = TYPEOF(x) == VECSXP;
+  for (int pass = 0; pass < 4; ++pass) {
+    for (R_xlen_t i = 0; i < n / 2; ++i) {
+      R_xlen_t j = n - 1 - i;
+      SEXP a = isList ? VECTOR_ELT(x, i) : STRING_ELT(x, i);
+      SEXP b = isList ? VECTOR_ELT(x, j) : STRING_ELT(x, j);
+      if (isList) {
+        SET_VECTOR_ELT(x, i, b);
+        SET_VECTOR_ELT(x, j, a);
+      } else {
+        SET_STRING_ELT(x, i, b);
+        SET_STRING_ELT(x, j, a);
+      }
+      if ((isList ? VECTOR_ELT(x, i) : STRING_ELT(x, i)) != b) {
+        error("element %d not updated", (int) i);
+      }
+    }
+  }
+  // an odd number of passes reverses the vector
+  for (R_xlen_t i = 0; i < n / 2; ++i) {
+    R_xlen_t j = n - 1 - i;
+    SEXP a = isList ? VECTOR_ELT(x, i) : STRING_ELT(x, i);
+    if (isList) {
+      SET_VECTOR_ELT(x, i, VECTOR_ELT(x, j));
+      SET_VECTOR_ELT(x, j, a);
+    } else {
+      SET_STRING_ELT(x, i, STRING_ELT(x, j));
+      SET_STRING_ELT(x, j, a);
+    }
+  }
+  return x;
+}
+
 SEXP testMissingArgWithATTRIB() {
     return ATTRIB(R_MissingArg);
 }
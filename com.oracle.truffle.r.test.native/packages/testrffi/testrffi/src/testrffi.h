@@ -169,6 +169,14 @@ extern SEXP test_lapplyWithForceAndCall(SEXP list, SEXP fn, SEXP fa, SEXP rho);
 
 extern SEXP benchProtect(SEXP x, SEXP nn);
 
+extern SEXP benchPreserve(SEXP x, SEXP nn);
+
+extern SEXP benchRAlloc(SEXP nn);
+
+extern SEXP benchUpcall(SEXP x, SEXP nn);
+
+extern SEXP reverseElements(SEXP x);
+
 extern SEXP testMissingArgWithATTRIB();
 
 extern SEXP testPRIMFUN(SEXP fun, SEXP args);
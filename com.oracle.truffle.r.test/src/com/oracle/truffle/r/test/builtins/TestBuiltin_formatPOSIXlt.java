@@ -74,6 +74,11 @@ public class TestBuiltin_formatPOSIXlt extends TestBase {
         assertEval("argv <- list(structure(list(sec = numeric(0), min = integer(0), hour = integer(0), mday = integer(0), mon = integer(0), year = integer(0), wday = integer(0), yday = integer(0), isdst = integer(0)), .Names = c('sec', 'min', 'hour', 'mday', 'mon', 'year', 'wday', 'yday', 'isdst'), class = c('POSIXlt', 'POSIXt'), tzone = 'UTC'), '%Y-%m-%d', TRUE); .Internal(format.POSIXlt(argv[[1]], argv[[2]], argv[[3]]))");
     }
 
+    @Test
+    public void testformatPOSIXltIso() {
+        assertEval("{ x <- as.POSIXlt(c(0, 86399.5, 951782400, -1e9), tz = 'UTC'); .Internal(format.POSIXlt(x, c('%Y-%m-%d', '%Y-%m-%d %H:%M:%S', '%H:%M', '%Y-%m-%d %H:%M'), FALSE)) }");
+    }
+
     private static final String[] FORMAT_STRINGS = new String[]{
                     "%Y-%m-%d %H:%M:%S %Z",
                     "%Y-%m-%d %H:%M:%S %z",
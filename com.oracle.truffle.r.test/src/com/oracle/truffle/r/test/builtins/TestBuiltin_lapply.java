@@ -77,6 +77,28 @@ public class TestBuiltin_lapply extends TestBase {
         assertEval("{ ind <- list(c(1, 2, 2), c(\"A\", \"A\", \"B\")) ; tapply(1:3, ind) }");
         assertEval("{ n <- 17 ; fac <- factor(rep(1:3, length = n), levels = 1:5) ; tapply(1:n, fac, sum) }");
         assertEval("{ ind <- list(c(1, 2, 2), c(\"A\", \"A\", \"B\")) ; tapply(1:3, ind, sum) }");
+
+        // the builtin reductions
+        assertEval("{ fac <- factor(c('a', 'a', 'c', NA, 'c'), levels = c('a', 'b', 'c')) ; x <- c(1.5, 2, 3, 4, NA) ; list(tapply(x, fac, sum), tapply(x, fac, mean), tapply(x, fac, min), tapply(x, fac, max), tapply(x, fac, length)) }");
+        assertEval("{ fac <- factor(c('a', 'a', 'c', NA, 'c'), levels = c('a', 'b', 'c')) ; x <- c(1L, 2L, 3L, 4L, NA) ; list(tapply(x, fac, sum), tapply(x, fac, mean), tapply(x, fac, min), tapply(x, fac, max), tapply(x, fac, length)) }");
+        assertEval("{ x <- c(NA, NaN, 1, 2) ; g <- c('a', 'a', 'b', 'b') ; list(tapply(x, g, sum, na.rm = TRUE), tapply(x, g, mean, na.rm = TRUE), tapply(x, g, sum)) }");
+        assertEval("{ x <- c(NA, NA, 1L, 2L) ; g <- c('a', 'a', 'b', 'b') ; list(tapply(x, g, sum, na.rm = TRUE), tapply(x, g, mean, na.rm = TRUE)) }");
+        assertEval("{ tapply(c(NA, NA, 1, 2), c('a', 'a', 'b', 'b'), min, na.rm = TRUE) }");
+        assertEval("{ tapply(c(NA, NA, 1L, 2L), c('a', 'a', 'b', 'b'), max, na.rm = TRUE) }");
+        assertEval("{ tapply(c(.Machine$integer.max, 1L, 2L), c(1, 1, 2), sum) }");
+        assertEval("{ tapply(c(-.Machine$integer.max, -1L, 2L), c(1, 1, 2), sum, na.rm = TRUE) }");
+        assertEval("{ tapply(1:6, list(c(1, 1, 2, 2, 3, 3), c('x', 'y', 'x', 'y', 'x', 'x')), sum) }");
+        assertEval("{ tapply(c(1, 2, 3, 4, 5, 6), list(c(1, 1, 2, 2, 3, 3), c('x', 'y', 'x', 'y', 'x', 'x'), c(TRUE, TRUE, TRUE, FALSE, FALSE, FALSE)), mean) }");
+        assertEval("{ r <- tapply(c(1L, 2L, 3L), c('b', 'a', 'b'), sum) ; list(typeof(r), class(r), dim(r), dimnames(r)) }");
+        assertEval("{ r <- tapply(c(1L, 2L, 3L), c('b', 'a', 'b'), mean) ; list(typeof(r), class(r), dim(r), dimnames(r)) }");
+        assertEval("{ r <- tapply(c(1, 2, 3), factor(c('b', 'a', 'b'), levels = c('b', 'a', 'z')), length) ; list(typeof(r), r) }");
+        assertEval("{ r <- tapply(c(1L, 2L, 3L), list(g = c('b', 'a', 'b'), h = c(1, 1, 2)), max) ; list(typeof(r), dim(r), dimnames(r), r) }");
+        // falls back to the GNU R implementation
+        assertEval("{ tapply(c(1, 2, 3), c('a', 'a', 'b'), sum, 10) }");
+        assertEval("{ tapply(c(1, 2, 3), c('a', 'a', 'b'), sum, simplify = FALSE) }");
+        assertEval("{ tapply(c(1, 2, 3), factor(c('a', 'a', 'b'), levels = c('a', 'b', 'c')), sum, default = 0) }");
+        assertEval("{ tapply(c(TRUE, FALSE, TRUE), c('a', 'a', 'b'), sum) }");
+        assertEval("{ tapply(numeric(), factor(character(), levels = c('a', 'b')), sum) }");
     }
 
     @Test
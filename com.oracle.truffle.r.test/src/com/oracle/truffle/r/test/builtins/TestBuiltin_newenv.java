@@ -37,4 +37,15 @@ public class TestBuiltin_newenv extends TestBase {
         assertEval(Output.ContainsReferences, "parent.env(new.env())");
         assertEval(Output.ContainsReferences, "e <- new.env(); e; parent.env(new.env(TRUE, e))");
     }
+
+    @Test
+    public void testnewenvHashed() {
+        assertEval("{ e <- new.env(hash = TRUE); for (i in 1:1000) assign(paste0('k', i), i, envir = e); c(length(ls(e)), e$k500, get('k1000', envir = e), exists('k1001', envir = e)) }");
+        assertEval("{ e <- new.env(hash = TRUE); e$a <- 1; e[['b']] <- 2; rm('a', envir = e); c(exists('a', envir = e, inherits = FALSE), mget('b', envir = e)[[1]], ls(e)) }");
+        assertEval("{ e <- new.env(hash = TRUE); e$x <- 42; evalq(x + 1, e) }");
+        assertEval("{ e <- new.env(hash = TRUE); e$x <- 1; local(x <- x + 1, e); e$x }");
+        assertEval("{ e <- new.env(hash = TRUE); e$x <- 1; f <- function() x; environment(f) <- e; e$x <- 2; f() }");
+        assertEval("{ e <- new.env(hash = TRUE); e$x <- 1; lockBinding('x', e); tryCatch(assign('x', 2, envir = e), error = function(err) conditionMessage(err)) }");
+        assertEval("{ p <- new.env(hash = TRUE); p$y <- 'parent'; e <- new.env(parent = p); evalq(y, e) }");
+    }
 }
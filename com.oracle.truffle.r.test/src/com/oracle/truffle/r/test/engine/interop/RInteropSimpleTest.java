@@ -35,6 +35,8 @@ import static org.junit.Assert.fail;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -125,6 +127,64 @@ public class RInteropSimpleTest {
 
     }
 
+    @Test
+    public void testBuffer() throws Exception {
+        // numeric vectors expose their elements as a read-only buffer
+        Value vector = evalR("c(1.5, NA, -3)");
+        assertTrue(vector.hasBufferElements());
+        assertFalse(vector.isBufferWritable());
+        assertEquals(24, vector.getBufferSize());
+        assertEquals(1.5, vector.readBufferDouble(ByteOrder.LITTLE_ENDIAN, 0), 0);
+        assertEquals(-3, vector.readBufferDouble(ByteOrder.LITTLE_ENDIAN, 16), 0);
+        assertEquals(Double.doubleToRawLongBits(-3), vector.readBufferLong(ByteOrder.LITTLE_ENDIAN, 16));
+        assertEquals(Long.reverseBytes(Double.doubleToRawLongBits(1.5)), vector.readBufferLong(ByteOrder.BIG_ENDIAN, 0));
+        assertTrue(Double.isNaN(vector.readBufferDouble(ByteOrder.LITTLE_ENDIAN, 8)));
+
+        vector = evalR("c(1L, 258L, NA)");
+        assertEquals(12, vector.getBufferSize());
+        assertEquals(258, vector.readBufferInt(ByteOrder.LITTLE_ENDIAN, 4));
+        assertEquals(Integer.MIN_VALUE, vector.readBufferInt(ByteOrder.LITTLE_ENDIAN, 8));
+        assertEquals(2, vector.readBufferByte(4));
+        assertEquals(1, vector.readBufferByte(5));
+        assertEquals(0x0201, vector.readBufferShort(ByteOrder.BIG_ENDIAN, 4));
+        assertEquals(1 | (258L << 32), vector.readBufferLong(ByteOrder.LITTLE_ENDIAN, 0));
+
+        vector = evalR("as.raw(c(1, 255))");
+        assertEquals(2, vector.getBufferSize());
+        assertEquals((byte) 255, vector.readBufferByte(1));
+        assertEquals((short) 0xFF01, vector.readBufferShort(ByteOrder.LITTLE_ENDIAN, 0));
+
+        try {
+            vector.readBufferInt(ByteOrder.LITTLE_ENDIAN, 0);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+        }
+        try {
+            vector.writeBufferByte(0, (byte) 0);
+            fail();
+        } catch (UnsupportedOperationException e) {
+        }
+    }
+
+    @Test
+    public void testBufferImport() throws Exception {
+        // foreign buffers are imported as raw vectors holding their bytes
+        assertBufferImport(ByteBuffer.wrap(new byte[]{1, 2, (byte) 255}));
+        assertBufferImport(ByteBuffer.allocate(16).order(ByteOrder.BIG_ENDIAN).putDouble(0, 1.5).putDouble(8, -3));
+        assertBufferImport(ByteBuffer.allocateDirect(16).order(ByteOrder.LITTLE_ENDIAN).putDouble(0, 1.5).putDouble(8, -3));
+        assertBufferImport(ByteBuffer.allocateDirect(0));
+    }
+
+    private void assertBufferImport(ByteBuffer buffer) throws Exception {
+        StringBuilder expected = new StringBuilder("as.raw(c(");
+        for (int i = 0; i < buffer.capacity(); i++) {
+            expected.append(i == 0 ? "" : ", ").append(buffer.get(i) & 0xFF);
+        }
+        expected.append("))");
+        assertTrue(evalR("function(x) identical(as.vector(x), " + expected + ")").execute(buffer).asBoolean());
+        assertTrue(evalR("function(x) identical(as.raw(x), " + expected + ")").execute(buffer).asBoolean());
+    }
+
     @Test
     public void testComplexVector() throws Exception {
         // R complex vectors have array elements like any other vector
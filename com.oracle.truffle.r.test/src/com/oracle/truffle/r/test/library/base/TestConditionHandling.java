@@ -54,6 +54,27 @@ public class TestConditionHandling extends TestRBase {
         assertEval("my.error <- function(war) cat('my.error:', war$message, '\\n'); f <- function() print(g); tryCatch({f()}, error=my.error)");
     }
 
+    @Test
+    public void testTryCatchSingleHandler() {
+        assertEval("{ r <- integer(); for (i in 1:5) r[i] <- tryCatch(if (i %% 2 == 0) stop('even') else i, error = function(e) -i); r }");
+        assertEval("{ e <- tryCatch(stop('fred'), error = function(e) e); c(class(e), conditionMessage(e)) }");
+        assertEval("{ tryCatch(tryCatch(stop('inner'), warning = function(w) 'warning'), error = function(e) paste('outer', conditionMessage(e))) }");
+        assertEval("{ tryCatch(tryCatch(stop('inner'), error = function(e) stop('rethrown')), error = function(e) conditionMessage(e)) }");
+        assertEval("{ f <- function() { on.exit(cat('<exit>')); stop('in f') }; tryCatch(f(), error = function(e) { cat('<handler>'); 1 }, finally = cat('<finally>')) }");
+        assertEval("{ f <- function() { tryCatch(return('returned'), error = function(e) 'error'); 'not reached' }; f() }");
+        assertEval("{ f <- function() tryCatch(signalCondition(simpleCondition('msg')), condition = function(c) class(c)); f() }");
+        assertEval("{ tryCatch(withCallingHandlers(stop('x'), error = function(e) cat('<calling>')), error = function(e) 'exiting') }");
+        assertEval("{ h <- function(e) 'handled'; g <- function(n) if (n == 0) stop('bottom') else tryCatch(g(n - 1), error = h); g(3) }");
+        assertEval(Output.IgnoreErrorContext, "{ tryCatch(stop('x'), error = 42) }");
+        assertEval("{ x <- tryCatch(invisible(1), error = function(e) 2); x }");
+        assertEval("tryCatch(1, finally = cat(''))");
+        assertEval("tryCatch(invisible(1), finally = cat('<finally>'))");
+        assertEval("tryCatch(stop('x'), error = function(e) 1, finally = cat(''))");
+        assertEval("tryCatch(stop('x'), error = function(e) invisible(1), finally = cat('<finally>'))");
+        assertEval("{ tryCatch(tryCatch(1, error = stop('bad handler'), finally = cat('<finally>')), error = function(e) conditionMessage(e)) }");
+        assertEval("{ tryCatch(tryCatch(1, error = 42, finally = cat('<finally>')), error = function(e) 'error') }");
+    }
+
     @Test
     public void testWithRestarts() {
         assertEval("withRestarts({cat(\"<start>\");invokeRestart(\"foo\", 123L, 456L);789L},\n foo=function(a,b) c(a,b))");
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.library.base.foreign;
+
+import org.junit.Test;
+
+import com.oracle.truffle.r.test.TestBase;
+
+// Checkstyle: stop line length check
+
+/**
+ * Down-calls made from several contexts at the same time. By default the down-calls are
+ * serialized; when the tests run with {@code --R.ThreadSafeNativeLibraries=stats}, as in the gate
+ * with the {@code thread_safe_libraries} tag, the down-calls into this library run concurrently and
+ * the results must not change.
+ */
+public class TestConcurrentDowncalls extends TestBase {
+
+    // stats::filter, lowess and runmed are .Call functions without a Java replacement
+    private static final String CALL_EXPR = "x <- sin((1:2000) / 7); s <- 0; for (i in 1:20) s <- s + sum(stats::filter(x, rep(1/3, 3)), na.rm = TRUE) + sum(stats::lowess(x)$y) + sum(stats::runmed(x, 5)); s";
+    // kmeans with the Lloyd algorithm is a .C function
+    private static final String C_EXPR = "x <- cbind(sin(1:500), cos(1:500)); s <- 0; for (i in 1:20) s <- s + sum(stats::kmeans(x, x[1:4, ], algorithm = 'Lloyd')$withinss); s";
+
+    private static String concurrently(String... exprs) {
+        StringBuilder sb = new StringBuilder("{ exprs <- c(");
+        for (int i = 0; i < exprs.length; i++) {
+            sb.append(i == 0 ? "'" : ", '").append(exprs[i].replace("'", "\\'")).append("'");
+        }
+        // every expression is evaluated in two contexts at the same time
+        sb.append("); expected <- lapply(exprs, function(e) eval(parse(text = e))); r <- .fastr.context.eval(rep(exprs, 2L)); ");
+        sb.append("all(vapply(seq_along(r), function(i) identical(r[[i]][[1]], expected[[(i - 1L) %% length(exprs) + 1L]]), TRUE)) }");
+        return sb.toString();
+    }
+
+    @Test
+    public void testDotCall() {
+        assertEvalFastR(concurrently(CALL_EXPR, CALL_EXPR), "TRUE");
+    }
+
+    @Test
+    public void testDotC() {
+        assertEvalFastR(concurrently(C_EXPR, C_EXPR), "TRUE");
+    }
+
+    @Test
+    public void testMixed() {
+        assertEvalFastR(concurrently(CALL_EXPR, C_EXPR), "TRUE");
+    }
+}
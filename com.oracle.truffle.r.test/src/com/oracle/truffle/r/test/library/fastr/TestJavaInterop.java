@@ -33,6 +33,7 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 
 import org.graalvm.polyglot.PolyglotException;
@@ -941,6 +942,16 @@ public class TestJavaInterop extends TestBase {
 
         result = "as.data.frame(list(x=c(1, 2, 3), y=(T, T, T)))";
         assertEvalFastR("tdfpo <- new('" + TestDFProxyObject.class.getName() + "')" + "; as.data.frame(tdfpo)", result);
+
+        // columns of primitive arrays are not copied, not even on modification of the data frame
+        String columns = "tcc <- new('" + TestColumnsClass.class.getName() + "');";
+        result = "df <- data.frame(x=c(1.5, 2.5, 3.5), n=1:3, s=c('a', 'b', 'c'), b=c(T, F, T)); print(df); print(dim(df)); df$x[2] <- 0; print(df$x); print(2.5)";
+        assertEvalFastR(columns + " df <- as.data.frame(tcc); print(df); print(dim(df)); df$x[2] <- 0; print(df$x); print(tcc$x[2])", result);
+        assertEvalFastR(columns + " as.data.frame(tcc, row.names=c('r1', 'r2', 'r3'))", "data.frame(x=c(1.5, 2.5, 3.5), n=1:3, s=c('a', 'b', 'c'), b=c(T, F, T), row.names=c('r1', 'r2', 'r3'))");
+        // a map of columns
+        String map = "tcm <- new('" + TestColumnsMap.class.getName() + "');";
+        assertEvalFastR(map + " as.data.frame(tcm)", "data.frame(l=c(1, 2), d.value=c(0.5, NA))");
+        assertEvalFastR(map + " names(as.data.frame(tcm, optional=TRUE))", "c('l', 'd value')");
     }
 
     @Test
@@ -1073,6 +1084,21 @@ public class TestJavaInterop extends TestBase {
         testNonRectMultiDimArray("stringArray2NotSquare");
     }
 
+    @Test
+    public void testHostArrayConversion() {
+        // rectangular primitive arrays are copied in column-major order
+        assertEvalFastR(CREATE_TEST_ARRAYS + " v <- as.vector(ta$integerArray3x4); dim(v) <- c(3, 4); v", "matrix(1:12, 3, 4, byrow=TRUE)");
+        assertEvalFastR(CREATE_TEST_ARRAYS + " .fastr.interop.asVector(ta$integerArray3x4, recursive=TRUE, dropDimensions=FALSE)", "matrix(1:12, 3, 4, byrow=TRUE)");
+        assertEvalFastR(CREATE_TEST_ARRAYS + " typeof(as.vector(ta$longArray3))", "'double'");
+        assertEvalFastR(CREATE_TEST_ARRAYS + " as.vector(ta$byteArray2)", "c(1L, 1L, 2L, 2L, 3L, 3L)");
+        // elements that do not fit the Java element type keep the per-element semantics
+        assertEvalFastR(CREATE_TEST_ARRAYS + " typeof(as.vector(ta$integerMinArray))", "'double'");
+        assertEvalFastR(Output.IgnoreWarningMessage, CREATE_TEST_ARRAYS + " as.vector(ta$longArrayMinMax)", "c(-9223372036854775808, 2, 9223372036854775807)");
+        // a one-dimensional array is not copied until it is modified
+        assertEvalFastR(CREATE_TEST_ARRAYS + " v <- as.vector(ta$integerArray); v[[1]] <- 42L; c(v, ta$integerArray[[1]])", "c(42L, 2L, 3L, 1L)");
+        assertEvalFastR(CREATE_TEST_ARRAYS + " v <- as.vector(ta$doubleArray); v[[3]] <- 0; c(v, ta$doubleArray[[3]])", "c(1.1, 1.2, 0, 1.3)");
+    }
+
     private void testNonRectMultiDimArray(String field) {
         assertEvalFastR("ta <- new('" + TestArraysClass.class.getName() + "'); as.vector(ta$" + field + ")",
                         errorIn("as.vector(ta$" + field + ")", "A non rectangular array cannot be converted to a vector, only to a list."));
@@ -2711,6 +2737,22 @@ public class TestJavaInterop extends TestBase {
         }
     }
 
+    public static class TestColumnsClass {
+        public double[] x = {1.5, 2.5, 3.5};
+        public int[] n = {1, 2, 3};
+        public String[] s = {"a", "b", "c"};
+        public boolean[] b = {true, false, true};
+    }
+
+    public static class TestColumnsMap extends LinkedHashMap<String, Object> {
+        private static final long serialVersionUID = 1L;
+
+        public TestColumnsMap() {
+            put("l", new long[]{1, 2});
+            put("d value", new double[]{0.5, RRuntime.DOUBLE_NA});
+        }
+    }
+
     public static class TestAsListClass {
         public boolean[] b = {true, false, true};
         public int[] i = {1, 2, 3};
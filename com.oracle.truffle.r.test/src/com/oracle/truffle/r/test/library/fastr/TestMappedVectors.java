@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.library.fastr;
+
+import org.junit.Test;
+
+import com.oracle.truffle.r.test.TestBase;
+
+// Checkstyle: stop line length check
+public class TestMappedVectors extends TestBase {
+
+    private static final String WRITE_DOUBLES = "f <- tempfile(); writeBin(c(1.5, NA, 3, -4), f); ";
+    private static final String WRITE_INTS = "f <- tempfile(); writeBin(c(1L, NA, 3L, -4L), f, size = 4L); ";
+
+    @Test
+    public void testRead() {
+        assertEvalFastR(WRITE_DOUBLES + "x <- .fastr.mmap(f); c(length(x), sum(x, na.rm = TRUE), x[[4]])", "c(4, 0.5, -4)");
+        assertEvalFastR(WRITE_DOUBLES + "x <- .fastr.mmap(f, 'double', 8, 2L); is.na(x)", "c(TRUE, FALSE)");
+        assertEvalFastR(WRITE_INTS + "x <- .fastr.mmap(f, 'integer'); c(typeof(x), as.character(x))", "c('integer', '1', NA, '3', '-4')");
+        assertEvalFastR(WRITE_INTS + "x <- .fastr.mmap(f, 'integer', 4); rev(x)", "c(-4L, 3L, NA)");
+    }
+
+    @Test
+    public void testModify() {
+        assertEvalFastR(WRITE_DOUBLES + "x <- .fastr.mmap(f); y <- x; x[1] <- 10; c(x[1], y[1], readBin(f, 'double', 1))", "c(10, 1.5, 1.5)");
+        assertEvalFastR(WRITE_INTS + "x <- .fastr.mmap(f, 'integer'); x[[2]] <- 2L; c(x, .fastr.mmap(f, 'integer'))", "c(1L, 2L, 3L, -4L, 1L, NA, 3L, -4L)");
+    }
+
+    @Test
+    public void testErrors() {
+        assertEvalFastR(WRITE_DOUBLES + "tryCatch(.fastr.mmap(f, 'double', 0, 5L), error = function(e) 'error')", "'error'");
+        assertEvalFastR(WRITE_DOUBLES + "tryCatch(.fastr.mmap(f, 'character'), error = function(e) 'error')", "'error'");
+        assertEvalFastR(WRITE_DOUBLES + "tryCatch(.fastr.mmap(f, 'double', 0, -2L), error = function(e) 'error')", "'error'");
+        assertEvalFastR(WRITE_DOUBLES + "x <- .fastr.mmap(f, 'double', 16, -1L); x", "c(3, -4)");
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.library.fastrGrid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.oracle.truffle.r.library.fastrGrid.device.DisplayRecording;
+import com.oracle.truffle.r.library.fastrGrid.device.DrawingContext;
+import com.oracle.truffle.r.library.fastrGrid.device.GridColor;
+import com.oracle.truffle.r.library.fastrGrid.device.GridDevice;
+import com.oracle.truffle.r.library.fastrGrid.device.GridDevice.ImageInterpolation;
+import com.oracle.truffle.r.test.TestBase;
+
+public class DisplayRecordingTests extends TestBase {
+    private static final GridColor RED = new GridColor(255, 0, 0, GridColor.OPAQUE_ALPHA);
+    private static final double[] X = {0.5, 1, 1.5};
+    private static final double[] Y = {1.5, 1, 0.5};
+
+    @Test
+    public void replaySameSize() {
+        LoggingDevice device = new LoggingDevice(2, 2);
+        createRecording().replay(device);
+        assertEquals("rect 0.5 0.5 1.0 1.0 0.0;lines 1.0 1.0 1.5 0.5;circle 1.0 1.0 0.5;points 19 0.1 0.5 1.5 1.0 1.0 1.5 0.5;" +
+                        "segments 0.5 1.5 1.5 0.5;raster 0.0 0.0 2.0 2.0 2;text 1.0 0.5 0.0 abc;", device.log.toString());
+    }
+
+    @Test
+    public void replayResized() {
+        LoggingDevice device = new LoggingDevice(4, 3);
+        createRecording().replay(device);
+        assertEquals("rect 1.0 0.75 2.0 1.5 0.0;lines 2.0 1.5 3.0 0.75;circle 2.0 1.5 0.75;points 19 0.15000000000000002 1.0 2.25 2.0 1.5 3.0 0.75;" +
+                        "segments 1.0 2.25 3.0 0.75;raster 0.0 0.0 4.0 3.0 2;text 2.0 0.75 0.0 abc;", device.log.toString());
+    }
+
+    @Test
+    public void clear() {
+        DisplayRecording recording = createRecording();
+        recording.clear(2, 2);
+        assertTrue(recording.isEmpty());
+        LoggingDevice device = new LoggingDevice(2, 2);
+        recording.recordCircle(null, 1, 1, 1);
+        recording.replay(device);
+        assertEquals("circle 1.0 1.0 1.0;", device.log.toString());
+    }
+
+    @Test
+    public void contextIsResolvedWhenRecorded() {
+        // the replay must not read the recorded context, which may be a view of R objects
+        MutableContext ctx = new MutableContext();
+        DisplayRecording recording = new DisplayRecording(2, 2);
+        recording.recordCircle(ctx, 1, 1, 0.5);
+        recording.recordCircle(ctx, 1, 1, 1);
+        ctx.color = GridColor.TRANSPARENT;
+        ctx.lineWidth = 5;
+        LoggingDevice device = new LoggingDevice(2, 2);
+        recording.replay(device);
+        assertEquals(2, device.contexts.size());
+        for (DrawingContext replayed : device.contexts) {
+            assertEquals(RED, replayed.getColor());
+            assertEquals(1, replayed.getLineWidth(), 0);
+            assertSame(DrawingContext.GRID_LINE_SOLID, replayed.getLineType());
+        }
+        assertSame(device.contexts.get(0), device.contexts.get(1));
+    }
+
+    private static DisplayRecording createRecording() {
+        DisplayRecording recording = new DisplayRecording(2, 2);
+        recording.recordRect(null, 0.5, 0.5, 1, 1, 0);
+        recording.recordPolyLines(null, X, Y, 1, 2);
+        recording.recordCircle(null, 1, 1, 0.5);
+        recording.recordPoints(null, X, Y, 0, 3, 19, 0.1);
+        recording.recordSegments(null, X, Y, Y, X, 0, 1);
+        recording.recordRaster(0, 0, 2, 2, new int[]{1, 2, 3, 4}, 2, ImageInterpolation.NEAREST_NEIGHBOR);
+        recording.recordString(null, 1, 0.5, 0, "abc");
+        return recording;
+    }
+
+    private static final class LoggingDevice implements GridDevice {
+        private final StringBuilder log = new StringBuilder();
+        private final List<DrawingContext> contexts = new ArrayList<>();
+        private final double width;
+        private final double height;
+
+        LoggingDevice(double width, double height) {
+            this.width = width;
+            this.height = height;
+        }
+
+        private void log(String name, double... values) {
+            log.append(name);
+            for (double value : values) {
+                log.append(' ').append(value);
+            }
+        }
+
+        private void logCoordinates(double[] x, double[] y, int startIndex, int length) {
+            for (int i = startIndex; i < startIndex + length; i++) {
+                log.append(' ').append(x[i]).append(' ').append(y[i]);
+            }
+        }
+
+        @Override
+        public void openNewPage() {
+        }
+
+        @Override
+        public void drawRect(DrawingContext ctx, double leftX, double bottomY, double w, double h, double rotationAnticlockWise) {
+            log("rect", leftX, bottomY, w, h, rotationAnticlockWise);
+            log.append(';');
+        }
+
+        @Override
+        public void drawPolyLines(DrawingContext ctx, double[] x, double[] y, int startIndex, int length) {
+            log("lines");
+            logCoordinates(x, y, startIndex, length);
+            log.append(';');
+        }
+
+        @Override
+        public void drawPolygon(DrawingContext ctx, double[] x, double[] y, int startIndex, int length) {
+            log("polygon");
+            logCoordinates(x, y, startIndex, length);
+            log.append(';');
+        }
+
+        @Override
+        public void drawCircle(DrawingContext ctx, double centerX, double centerY, double radius) {
+            if (ctx != null) {
+                contexts.add(ctx);
+            }
+            log("circle", centerX, centerY, radius);
+            log.append(';');
+        }
+
+        @Override
+        public void drawPoints(DrawingContext ctx, double[] x, double[] y, int startIndex, int length, int pch, double size) {
+            log.append("points ").append(pch);
+            log("", size);
+            logCoordinates(x, y, startIndex, length);
+            log.append(';');
+        }
+
+        @Override
+        public void drawSegments(DrawingContext ctx, double[] x0, double[] y0, double[] x1, double[] y1, int startIndex, int length) {
+            log("segments");
+            for (int i = startIndex; i < startIndex + length; i++) {
+                log("", x0[i], y0[i], x1[i], y1[i]);
+            }
+            log.append(';');
+        }
+
+        @Override
+        public void drawRaster(double leftX, double bottomY, double w, double h, int[] pixels, int pixelsColumnsCount, ImageInterpolation interpolation) {
+            log("raster", leftX, bottomY, w, h);
+            log.append(' ').append(pixelsColumnsCount).append(';');
+        }
+
+        @Override
+        public void drawString(DrawingContext ctx, double leftX, double bottomY, double rotationAnticlockWise, String text) {
+            log("text", leftX, bottomY, rotationAnticlockWise);
+            log.append(' ').append(text).append(';');
+        }
+
+        @Override
+        public double getWidth() {
+            return width;
+        }
+
+        @Override
+        public double getHeight() {
+            return height;
+        }
+
+        @Override
+        public int getNativeWidth() {
+            return (int) width;
+        }
+
+        @Override
+        public int getNativeHeight() {
+            return (int) height;
+        }
+
+        @Override
+        public double getStringWidth(DrawingContext ctx, String text) {
+            return 0;
+        }
+
+        @Override
+        public double getStringHeight(DrawingContext ctx, String text) {
+            return 0;
+        }
+    }
+
+    private static final class MutableContext implements DrawingContext {
+        private GridColor color = RED;
+        private double lineWidth = 1;
+
+        @Override
+        public byte[] getLineType() {
+            return GRID_LINE_SOLID;
+        }
+
+        @Override
+        public double getLineWidth() {
+            return lineWidth;
+        }
+
+        @Override
+        public GridLineJoin getLineJoin() {
+            return GridLineJoin.ROUND;
+        }
+
+        @Override
+        public GridLineEnd getLineEnd() {
+            return GridLineEnd.ROUND;
+        }
+
+        @Override
+        public double getLineMitre() {
+            return 10;
+        }
+
+        @Override
+        public GridColor getColor() {
+            return color;
+        }
+
+        @Override
+        public double getFontSize() {
+            return 12;
+        }
+
+        @Override
+        public GridFontStyle getFontStyle() {
+            return GridFontStyle.PLAIN;
+        }
+
+        @Override
+        public String getFontFamily() {
+            return "";
+        }
+
+        @Override
+        public double getLineHeight() {
+            return 1.2;
+        }
+
+        @Override
+        public GridColor getFillColor() {
+            return GridColor.TRANSPARENT;
+        }
+    }
+}
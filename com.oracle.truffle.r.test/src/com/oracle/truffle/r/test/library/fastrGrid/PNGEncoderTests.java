@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.library.fastrGrid;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Test;
+
+import com.oracle.truffle.r.library.fastrGrid.device.PNGEncoder;
+import com.oracle.truffle.r.test.TestBase;
+
+public class PNGEncoderTests extends TestBase {
+
+    @Test
+    public void smallImage() throws IOException {
+        checkRoundTrip(3, 2, 6);
+    }
+
+    @Test
+    public void compressionLevels() throws IOException {
+        checkRoundTrip(50, 40, 0);
+        checkRoundTrip(50, 40, 1);
+        checkRoundTrip(50, 40, 9);
+    }
+
+    @Test
+    public void largeImage() throws IOException {
+        // large enough to be split into several chunks compressed in parallel
+        checkRoundTrip(720, 720, 6);
+    }
+
+    private static void checkRoundTrip(int width, int height, int level) throws IOException {
+        int[] pixels = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                // gradients with noise so that different filters are selected
+                int noise = (x * 31 + y * 17) % 7 == 0 ? (x * y) & 0xff : 0;
+                pixels[y * width + x] = ((x & 0xff) << 16) | ((y & 0xff) << 8) | ((x + y + noise) & 0xff);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PNGEncoder.encode(pixels, width, height, level, out);
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(width, image.getWidth());
+        assertEquals(height, image.getHeight());
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                assertEquals(pixels[y * width + x], image.getRGB(x, y) & 0xffffff);
+            }
+        }
+    }
+}
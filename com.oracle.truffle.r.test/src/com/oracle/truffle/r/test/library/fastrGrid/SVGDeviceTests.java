@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.library.fastrGrid;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.oracle.truffle.r.library.fastrGrid.device.DrawingContext;
+import com.oracle.truffle.r.library.fastrGrid.device.GridColor;
+import com.oracle.truffle.r.library.fastrGrid.device.SVGDevice;
+import com.oracle.truffle.r.test.TestBase;
+
+public class SVGDeviceTests extends TestBase {
+    private static final double[] X = {0.5, 1, 1.5};
+    private static final double[] Y = {1.5, 1, 0.5};
+    private static final GridColor BLUE = new GridColor(0, 0, 255, GridColor.OPAQUE_ALPHA);
+
+    @Test
+    public void drawPointsAsCircles() {
+        SVGDevice device = createDevice();
+        device.drawPoints(new TestDrawingContext(), X, Y, 1, 2, 19, 0.1);
+        String contents = device.getContents();
+        assertEquals(2, count(contents, "<circle "));
+        assertEquals(1, count(contents, "fill:#FF0000"));
+    }
+
+    @Test
+    public void drawPointsAsSquares() {
+        SVGDevice device = createDevice();
+        device.drawPoints(new TestDrawingContext(), X, Y, 0, 3, 0, 0.1);
+        String contents = device.getContents();
+        assertEquals(3, count(contents, "<rect "));
+        assertEquals(0, count(contents, "fill:#FF0000"));
+    }
+
+    @Test
+    public void drawPointsWithDifferentFill() {
+        // pch 21 is filled with the fill color and outlined with the color
+        SVGDevice device = createDevice();
+        device.drawPoints(new TestDrawingContext(BLUE), X, Y, 0, 3, 21, 0.1);
+        String contents = device.getContents();
+        assertEquals(3, count(contents, "<circle "));
+        assertEquals(1, count(contents, "stroke:#FF0000;fill:#0000FF"));
+    }
+
+    @Test
+    public void drawPointsFallback() {
+        // triangles are drawn symbol by symbol via the primitive operations
+        SVGDevice device = createDevice();
+        device.drawPoints(new TestDrawingContext(), X, Y, 0, 3, 2, 0.1);
+        assertEquals(3, count(device.getContents(), "<polyline "));
+    }
+
+    @Test
+    public void drawSegmentsAsOnePath() {
+        SVGDevice device = createDevice();
+        device.drawSegments(new TestDrawingContext(), X, Y, Y, X, 0, 3);
+        String contents = device.getContents();
+        assertEquals(1, count(contents, "<path "));
+        int pathStart = contents.indexOf(" d='", contents.indexOf("<path ")) + " d='".length();
+        String path = contents.substring(pathStart, contents.indexOf('\'', pathStart));
+        assertEquals(3, count(path, "M"));
+        assertEquals(3, count(path, "L"));
+    }
+
+    @Test
+    public void stylesAreSharedAsClasses() {
+        SVGDevice device = createDevice();
+        TestDrawingContext ctx = new TestDrawingContext();
+        device.drawRect(ctx, 0.5, 0.5, 1, 1, 0);
+        device.drawCircle(ctx, 1, 1, 0.5);
+        device.drawPolyLines(ctx, X, Y, 0, 3);
+        String contents = device.getContents();
+        // one class for the line style and one for the color
+        assertEquals(2, count(contents, "<style>"));
+        assertEquals(1, count(contents, "stroke:#FF0000"));
+        assertEquals(1, count(contents, "stroke-width:1;"));
+        assertEquals(1, count(contents, "</svg>"));
+    }
+
+    @Test
+    public void closeAndGetContents() {
+        SVGDevice device = createDevice();
+        device.drawCircle(new TestDrawingContext(), 1, 1, 0.5);
+        String contents = device.closeAndGetContents();
+        assertEquals(1, count(contents, "<circle "));
+        assertEquals(1, count(contents, "</svg>"));
+        assertEquals("", device.getContents());
+    }
+
+    private static SVGDevice createDevice() {
+        // with /dev/null the SVG code is kept in memory
+        SVGDevice device = new SVGDevice("/dev/null", 2, 2);
+        device.openNewPage();
+        return device;
+    }
+
+    private static int count(String text, String pattern) {
+        int result = 0;
+        int index = text.indexOf(pattern);
+        while (index >= 0) {
+            result++;
+            index = text.indexOf(pattern, index + pattern.length());
+        }
+        return result;
+    }
+
+    private static final class TestDrawingContext implements DrawingContext {
+        private static final GridColor RED = new GridColor(255, 0, 0, GridColor.OPAQUE_ALPHA);
+
+        private final GridColor fillColor;
+
+        TestDrawingContext() {
+            this(GridColor.TRANSPARENT);
+        }
+
+        TestDrawingContext(GridColor fillColor) {
+            this.fillColor = fillColor;
+        }
+
+        @Override
+        public byte[] getLineType() {
+            return GRID_LINE_SOLID;
+        }
+
+        @Override
+        public double getLineWidth() {
+            return 1;
+        }
+
+        @Override
+        public GridLineJoin getLineJoin() {
+            return GridLineJoin.ROUND;
+        }
+
+        @Override
+        public GridLineEnd getLineEnd() {
+            return GridLineEnd.ROUND;
+        }
+
+        @Override
+        public double getLineMitre() {
+            return 10;
+        }
+
+        @Override
+        public GridColor getColor() {
+            return RED;
+        }
+
+        @Override
+        public double getFontSize() {
+            return 12;
+        }
+
+        @Override
+        public GridFontStyle getFontStyle() {
+            return GridFontStyle.PLAIN;
+        }
+
+        @Override
+        public String getFontFamily() {
+            return "";
+        }
+
+        @Override
+        public double getLineHeight() {
+            return 1.2;
+        }
+
+        @Override
+        public GridColor getFillColor() {
+            return fillColor;
+        }
+    }
+}
@@ -38,6 +38,27 @@ public class TestGridPackage extends TestBase {
         run("unit.c(unit(1,'mm'), 42*unit(1,'mm'));");
     }
 
+    @Test
+    public void testUnitConversion() {
+        convert("pushViewport(viewport(width = unit(4, 'in'))); c(w(unit(1, 'npc') - unit(2, 'cm')), w(unit(1:3, 'npc') - unit(2, 'cm')), w(2 * unit(1, 'cm') + unit(0.25, 'npc')))");
+        convert("pushViewport(viewport(width = unit(4, 'in'))); u <- unit.c(unit(1, 'in'), unit(0.5, 'npc'), unit(3, 'cm')); c(w(max(u)), w(min(u)), w(sum(u)), w(unit.c(max(u), unit(1, 'cm'))))");
+        convert("pushViewport(viewport(width = unit(4, 'in'))); w(max(unit(1:3, 'cm'), unit(0.5, 'npc') - unit(1, 'cm')) + rep(unit(1, 'in'), 3))");
+        convert("pushViewport(viewport(width = unit(4, 'in'))); w(unit.c(unit(1, 'in'), unit(1, 'npc') - unit(1, 'in'), max(unit(1:2, 'cm')), 3 * unit(1, 'mm')))");
+        convert("pushViewport(viewport(width = unit(4, 'in'), layout = grid.layout(1, 3, widths = unit(c(1, 2, 1), c('null', 'null', 'in'))))); " +
+                        "r <- sapply(1:3, function(i) { pushViewport(viewport(layout.pos.col = i)); x <- w(unit(1, 'npc')); popViewport(); x }); c(r, w(unit(1, 'null')))");
+        // the viewport transforms must not be reused after pushing, popping or replacing a viewport
+        convert("pushViewport(viewport(width = unit(4, 'in'), xscale = c(0, 10), name = 'a')); x1 <- c(w(unit(1, 'npc')), x(unit(5, 'native'))); upViewport(); " +
+                        "pushViewport(viewport(width = unit(2, 'in'), xscale = c(0, 20), name = 'b')); x2 <- c(w(unit(1, 'npc')), x(unit(5, 'native'))); upViewport(); " +
+                        "downViewport('a'); x3 <- c(w(unit(1, 'npc')), x(unit(5, 'native'))); popViewport(); " +
+                        "pushViewport(viewport(width = unit(1, 'in'), xscale = c(0, 5), name = 'a')); x4 <- c(w(unit(1, 'npc')), x(unit(5, 'native'))); rbind(x1, x2, x3, x4)");
+    }
+
+    private void convert(String testCode) {
+        // the viewports have absolute widths, so that the results do not depend on the device size
+        assertEval(String.format("{ library(grid); svg(tempfile()); w <- function(u) round(convertWidth(u, 'in', valueOnly = TRUE), 4); " +
+                        "x <- function(u) round(convertX(u, 'in', valueOnly = TRUE), 4); r <- { %s }; invisible(dev.off()); r }", testCode));
+    }
+
     private void run(String testCode) {
         // TODO: GR-30199
         // Custom grid package patches make this test give different output on GNUR vs FastR
@@ -46,6 +46,17 @@ public class TestBuiltin_mclapply extends TestBase {
         assertEval(Ignored.ImplementationError, "f <- function() { res <- parallel:::mclapply(1:3, function(i) i)}; f() ; f()");
     }
 
+    @Test
+    public void testMCLapplyStreams() {
+        // every worker gets its own L'Ecuyer-CMRG stream as every forked child in GnuR
+        assertEval("RNGkind(\"L'Ecuyer-CMRG\"); set.seed(1); s <- .Random.seed; " +
+                        "r <- parallel:::mclapply(1:2, function(i) get('.Random.seed', envir = globalenv()), mc.cores=2); " +
+                        "identical(r, list(parallel::nextRNGStream(s), parallel::nextRNGStream(parallel::nextRNGStream(s))))");
+        assertEval(Ignored.ImplementationError, "RNGkind(\"L'Ecuyer-CMRG\"); set.seed(1); parallel:::mclapply(1:2, function(i) runif(2), mc.cores=2)");
+        assertEval(Ignored.ImplementationError,
+                        "RNGkind(\"L'Ecuyer-CMRG\"); set.seed(1); a <- parallel:::mclapply(1:4, function(i) runif(1), mc.cores=2); set.seed(1); b <- parallel:::mclapply(1:4, function(i) runif(1), mc.cores=2); identical(a, b)");
+    }
+
     @Test
     public void testMCLapplyNested() {
         // race-conditions, easilly reproducible with LLVM
@@ -122,6 +122,17 @@ public class TestRandGenerationFunctions extends TestBase {
         assertEval("for(gen in c(\"Buggy Kinderman-Ramage\", \"Ahrens-Dieter\", \"Box-Muller\", \"Inversion\", \"Kinderman-Ramage\", \"default\")) { print(paste0(gen, \":\")); RNGkind(NULL,gen); set.seed(42); print(rnorm(30)); }");
     }
 
+    @Test
+    public void testScalarParameters() {
+        // the scalar parameters path generates whole blocks, the results must not change
+        String[] kinds = {"Mersenne-Twister", "Marsaglia-Multicarry", "L'Ecuyer-CMRG"};
+        assertEval(template("RNGkind('%0'); set.seed(5); x <- rnorm(2000, 1, 2); set.seed(5); y <- rnorm(2000, c(1, 1), c(2, 2)); identical(x, y)", kinds));
+        assertEval(template("RNGkind('%0'); set.seed(5); x <- runif(1500, -1, 3); set.seed(5); y <- runif(1500, c(-1, -1), 3); identical(x, y)", kinds));
+        assertEval(template("RNGkind('%0'); set.seed(5); x <- c(runif(1000), rexp(700, 2), rbinom(300, 10, 0.3)); set.seed(5); y <- c(runif(1000, 0, c(1, 1)), rexp(700, c(2, 2)), rbinom(300, c(10, 10), 0.3)); identical(x, y)", kinds));
+        assertEval("RNGkind(normal.kind='Box-Muller'); set.seed(5); x <- rnorm(11, 1, 2); set.seed(5); y <- rnorm(11, c(1, 1), 2); RNGkind(normal.kind='default'); identical(x, y)");
+        assertEval("set.seed(5); rnorm(5, 0, 1:3); rnorm(5, 1, 0); rnorm(3, NA, 1); runif(3, 2, 2); runif(2, 3, 1)");
+    }
+
     @Test
     public void testDotRandomSeed() {
         // In shared context, .Random.seed is already initialized. Therefore, all these tests are
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.parser;
+
+import static com.oracle.truffle.r.test.generate.FastRSession.GET_CONTEXT;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.r.nodes.RASTBuilder;
+import com.oracle.truffle.r.parser.DefaultRParserFactory;
+import com.oracle.truffle.r.parser.DefaultRParserFactory.PredictionStrategy;
+import com.oracle.truffle.r.runtime.RDeparse;
+import com.oracle.truffle.r.runtime.RParseCache;
+import com.oracle.truffle.r.runtime.RSource;
+import com.oracle.truffle.r.runtime.context.Engine.ParseException;
+import com.oracle.truffle.r.runtime.context.Engine.ParserMetadata;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.context.RContext.ContextKind;
+import com.oracle.truffle.r.runtime.nodes.RSyntaxNode;
+import com.oracle.truffle.r.test.TestBase;
+import com.oracle.truffle.r.test.generate.FastRContext;
+import com.oracle.truffle.r.test.generate.FastRSession;
+
+/**
+ * Checks that sources replayed from the parse cache produce the same ASTs and parse data as
+ * parsing them, and that unusable entries are replaced.
+ */
+public class TestParseCache extends TestBase {
+
+    private static FastRContext context;
+    private static RContext rContext;
+
+    private Path dir;
+
+    @BeforeClass
+    public static void setupClass() {
+        FastRSession session = FastRSession.create();
+        context = session.createContext(ContextKind.SHARE_PARENT_RW);
+        rContext = context.eval(GET_CONTEXT).asHostObject();
+    }
+
+    @AfterClass
+    public static void finishClass() {
+        context.close();
+    }
+
+    @Before
+    public void createDir() throws IOException {
+        dir = Files.createTempDirectory("fastr-parse-cache");
+    }
+
+    @After
+    public void deleteDir() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    public void testMissAndHit() {
+        FastRSession.execInContext(context, () -> {
+            Source source = createSource();
+            Assert.assertEquals(0, entries().length);
+            assertSameParse(source);
+            Assert.assertEquals(1, entries().length);
+            assertSameParse(source);
+            Assert.assertEquals(1, entries().length);
+            return null;
+        });
+    }
+
+    @Test
+    public void testTruncatedEntry() {
+        FastRSession.execInContext(context, () -> {
+            Source source = createSource();
+            assertSameParse(source);
+            File entry = entries()[0];
+            byte[] data = read(entry);
+            write(entry, Arrays.copyOf(data, data.length / 2));
+            assertSameParse(source);
+            Assert.assertArrayEquals(data, read(entry));
+            return null;
+        });
+    }
+
+    @Test
+    public void testCorruptEntryWithValidChecksum() {
+        FastRSession.execInContext(context, () -> {
+            Source source = createSource();
+            assertSameParse(source);
+            File entry = entries()[0];
+            byte[] data = read(entry);
+            byte[] corrupt = data.clone();
+            // keeps the header valid, so that only the replay check can reject the entry
+            Arrays.fill(corrupt, 20, corrupt.length, (byte) 0xff);
+            CRC32 crc = new CRC32();
+            crc.update(corrupt, 20, corrupt.length - 20);
+            ByteBuffer.wrap(corrupt).putLong(12, crc.getValue());
+            write(entry, corrupt);
+            assertSameParse(source);
+            Assert.assertArrayEquals(data, read(entry));
+            return null;
+        });
+    }
+
+    private static Source createSource() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; sb.length() < 2048; i++) {
+            sb.append("f").append(i).append(" <- function(x, y = ").append(i).append("L, ...) { z <- x + y; if (z > 3) z[[1]] else -z }\n");
+        }
+        return RSource.fromTextInternal(sb.toString(), RSource.Internal.R_IMPL);
+    }
+
+    private File[] entries() {
+        return dir.toFile().listFiles((d, name) -> name.endsWith(".rparse"));
+    }
+
+    private static byte[] read(File file) {
+        try {
+            return Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static void write(File file, byte[] data) {
+        try {
+            Files.write(file.toPath(), data);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private void assertSameParse(Source source) {
+        RASTBuilder parsedBuilder = new RASTBuilder(true);
+        RASTBuilder cachedBuilder = new RASTBuilder(true);
+        List<RSyntaxNode> parsed;
+        List<RSyntaxNode> cached;
+        try {
+            parsed = DefaultRParserFactory.createParser(PredictionStrategy.LL).script(source, parsedBuilder, rContext.getLanguage());
+            cached = RParseCache.script(DefaultRParserFactory.createParser(PredictionStrategy.LL), source, cachedBuilder, rContext.getLanguage(), dir.toString());
+        } catch (ParseException e) {
+            throw new AssertionError(e);
+        }
+        Assert.assertEquals(parsed.size(), cached.size());
+        for (int i = 0; i < parsed.size(); i++) {
+            Assert.assertEquals(RDeparse.deparseSyntaxElement(parsed.get(i)), RDeparse.deparseSyntaxElement(cached.get(i)));
+            Assert.assertEquals(parsed.get(i).getSourceSection(), cached.get(i).getSourceSection());
+        }
+        ParserMetadata parsedData = parsedBuilder.getParseData();
+        ParserMetadata cachedData = cachedBuilder.getParseData();
+        Assert.assertArrayEquals(parsedData.getData(), cachedData.getData());
+        Assert.assertArrayEquals(parsedData.getTokens(), cachedData.getTokens());
+        Assert.assertArrayEquals(parsedData.getText(), cachedData.getText());
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.parser;
+
+import static com.oracle.truffle.r.test.generate.FastRSession.GET_CONTEXT;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.r.nodes.RASTBuilder;
+import com.oracle.truffle.r.nodes.builtin.RBuiltinPackage;
+import com.oracle.truffle.r.parser.DefaultRParserFactory;
+import com.oracle.truffle.r.parser.DefaultRParserFactory.PredictionStrategy;
+import com.oracle.truffle.r.runtime.RDeparse;
+import com.oracle.truffle.r.runtime.REnvVars;
+import com.oracle.truffle.r.runtime.RSource;
+import com.oracle.truffle.r.runtime.context.Engine.ParseException;
+import com.oracle.truffle.r.runtime.context.Engine.ParserMetadata;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.context.RContext.ContextKind;
+import com.oracle.truffle.r.runtime.nodes.RSyntaxNode;
+import com.oracle.truffle.r.test.TestBase;
+import com.oracle.truffle.r.test.generate.FastRContext;
+import com.oracle.truffle.r.test.generate.FastRSession;
+
+/**
+ * Checks that the two-stage (SLL, then LL) parser produces the same ASTs and parse data as the
+ * parser that always uses full LL prediction.
+ */
+public class TestParserPredictionStrategies extends TestBase {
+
+    private static FastRContext context;
+    private static RContext rContext;
+
+    @BeforeClass
+    public static void setupClass() {
+        FastRSession session = FastRSession.create();
+        context = session.createContext(ContextKind.SHARE_PARENT_RW);
+        rContext = context.eval(GET_CONTEXT).asHostObject();
+    }
+
+    @AfterClass
+    public static void finishClass() {
+        context.close();
+    }
+
+    @Test
+    public void testBaseLibrary() {
+        FastRSession.execInContext(context, () -> {
+            String base = REnvVars.getRHomeTruffleFile(rContext).resolve("library").resolve("base").resolve("R").resolve("base").toString();
+            List<Source> sources = new ArrayList<>();
+            try {
+                sources.add(RSource.fromFileName(rContext, base, true));
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+            sources.addAll(RBuiltinPackage.getRFiles(rContext, "base"));
+            for (Source source : sources) {
+                assertSameParse(source);
+            }
+            return null;
+        });
+    }
+
+    @Test
+    public void testSnippets() {
+        FastRSession.execInContext(context, () -> {
+            String[] snippets = {
+                            "f <- function(x, y = 2, ...) { z <- x + y; if (z > 3) z else -z }",
+                            "x[[1]][2:3] <- list(a = 1, b = 'c')$a; x@slot; base::sum(1, 2); base:::sum",
+                            "repeat { if (i %% 2 == 0) break else next }; while (TRUE) i <- i + 1L",
+                            "-2^-3; !a && b || c; ~ x + y; y ~ .; a -> b; c ->> d; e <<- 1",
+                            "function(x) f(x)(); `my var` <- 0x1p3; 1e-3i; NA_character_; Inf; NULL",
+            };
+            for (String snippet : snippets) {
+                assertSameParse(RSource.fromTextInternal(snippet, RSource.Internal.R_IMPL));
+            }
+            return null;
+        });
+    }
+
+    private static void assertSameParse(Source source) {
+        RASTBuilder llBuilder = new RASTBuilder(true);
+        RASTBuilder twoStageBuilder = new RASTBuilder(true);
+        List<RSyntaxNode> ll;
+        List<RSyntaxNode> twoStage;
+        try {
+            ll = DefaultRParserFactory.createParser(PredictionStrategy.LL).script(source, llBuilder, rContext.getLanguage());
+            twoStage = DefaultRParserFactory.createParser(PredictionStrategy.SLL_THEN_LL).script(source, twoStageBuilder, rContext.getLanguage());
+        } catch (ParseException e) {
+            throw new AssertionError(source.getName(), e);
+        }
+        Assert.assertEquals(source.getName(), ll.size(), twoStage.size());
+        for (int i = 0; i < ll.size(); i++) {
+            Assert.assertEquals(source.getName(), RDeparse.deparseSyntaxElement(ll.get(i)), RDeparse.deparseSyntaxElement(twoStage.get(i)));
+            Assert.assertEquals(source.getName(), ll.get(i).getSourceSection(), twoStage.get(i).getSourceSection());
+        }
+        ParserMetadata llData = llBuilder.getParseData();
+        ParserMetadata twoStageData = twoStageBuilder.getParseData();
+        Assert.assertArrayEquals(source.getName(), llData.getData(), twoStageData.getData());
+        Assert.assertArrayEquals(source.getName(), llData.getTokens(), twoStageData.getTokens());
+        Assert.assertArrayEquals(source.getName(), llData.getText(), twoStageData.getText());
+    }
+}
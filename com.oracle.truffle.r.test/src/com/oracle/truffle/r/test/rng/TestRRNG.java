@@ -43,6 +43,18 @@ public class TestRRNG extends TestBase {
         assertEval("RNGkind('Marsaglia-Multicarry'); RNGkind('Mersenne-Twister'); set.seed(2); runif(5);");
     }
 
+    @Test
+    public void testLEcuyerCMRG() {
+        assertEval("RNGkind(\"L'Ecuyer-CMRG\"); set.seed(123); .Random.seed");
+        assertEval("RNGkind(\"L'Ecuyer-CMRG\"); set.seed(123); runif(5)");
+        assertEval("set.seed(123, kind = \"L'Ecuyer-CMRG\"); rnorm(5); .Random.seed");
+        assertEval("RNGkind(\"L'Ecuyer-CMRG\"); set.seed(42); s <- .Random.seed; x <- runif(3); .Random.seed <- s; identical(x, runif(3))");
+        assertEval("RNGkind(\"L'Ecuyer-CMRG\"); set.seed(123); parallel::nextRNGStream(.Random.seed)");
+        assertEval("RNGkind(\"L'Ecuyer-CMRG\"); set.seed(123); parallel::nextRNGSubStream(.Random.seed)");
+        // invalid seeds are re-initialized
+        assertEval(".Random.seed <- c(10407L, 0L, 0L, 0L, 0L, 0L, 0L); invisible(runif(1)); RNGkind()[[1]]");
+    }
+
     @Test
     public void testDirectReadingSeed() {
         assertEval("invisible(runif(1)); length(.Random.seed)");
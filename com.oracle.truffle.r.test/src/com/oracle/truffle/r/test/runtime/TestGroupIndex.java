@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.runtime;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oracle.truffle.r.runtime.RRuntime;
+import com.oracle.truffle.r.runtime.data.RDataFactory;
+import com.oracle.truffle.r.runtime.ops.GroupIndex;
+import com.oracle.truffle.r.runtime.ops.GroupReductions;
+import com.oracle.truffle.r.test.TestBase;
+
+public class TestGroupIndex extends TestBase {
+    private static final int NO = GroupIndex.NO_GROUP;
+
+    @Test
+    public void testFromCodes() {
+        GroupIndex groups = GroupIndex.fromCodes(new int[]{2, RRuntime.INT_NA, 2, 1, 5}, 7, 3);
+        Assert.assertEquals(3, groups.getGroupsCount());
+        Assert.assertArrayEquals(new int[]{1, NO, 1, 0, NO, 1, NO}, groups.getGroupIds());
+        Assert.assertArrayEquals(new int[]{1, 3, 0}, groups.getGroupSizes());
+        Assert.assertArrayEquals(new int[]{3, 0, 2, 5}, groups.getOrder());
+        Assert.assertArrayEquals(new int[]{0, 1, 4, 4}, groups.getGroupStarts());
+        Assert.assertArrayEquals(new int[]{1, 3, 0}, GroupReductions.countCodes(new int[]{2, RRuntime.INT_NA, 2, 1, 5, 2}, 6, 3));
+    }
+
+    @Test
+    public void testFromKeys() {
+        double[] doubles = {1.5, RRuntime.DOUBLE_NA, -0.0, Double.NaN, 0.0, 1.5, RRuntime.DOUBLE_NA, Double.NaN};
+        GroupIndex groups = GroupIndex.fromKeys(RDataFactory.createDoubleVector(doubles, false));
+        Assert.assertEquals(4, groups.getGroupsCount());
+        Assert.assertArrayEquals(new int[]{0, 1, 2, 3, 2, 0, 1, 3}, groups.getGroupIds());
+
+        String[] strings = {"a", RRuntime.STRING_NA, "NA", "b", "a", RRuntime.STRING_NA};
+        groups = GroupIndex.fromKeys(RDataFactory.createStringVector(strings, false));
+        Assert.assertEquals(4, groups.getGroupsCount());
+        Assert.assertArrayEquals(new int[]{0, 1, 2, 3, 0, 1}, groups.getGroupIds());
+
+        int[] ints = new int[10000];
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = (i * 7919) % 1000;
+        }
+        groups = GroupIndex.fromKeys(RDataFactory.createIntVector(ints, true));
+        Assert.assertEquals(1000, groups.getGroupsCount());
+        for (int i = 0; i < ints.length; i++) {
+            Assert.assertEquals(groups.getGroupId(i % 1000), groups.getGroupId(i));
+        }
+    }
+
+    @Test
+    public void testMatchAndCombine() {
+        GroupIndex groups = GroupIndex.match(RDataFactory.createIntVector(new int[]{3, 1, 4, 1, 5}, true), RDataFactory.createIntVector(new int[]{1, 3, 4}, true));
+        Assert.assertArrayEquals(new int[]{1, 0, 2, 0, NO}, groups.getGroupIds());
+
+        GroupIndex first = GroupIndex.fromCodes(new int[]{1, 1, 2, 2, 1, RRuntime.INT_NA}, 6, 2);
+        GroupIndex second = GroupIndex.fromCodes(new int[]{1, 2, 1, 1, 2, 1}, 6, 2);
+        GroupIndex combined = first.combine(second);
+        Assert.assertEquals(3, combined.getGroupsCount());
+        Assert.assertArrayEquals(new int[]{0, 1, 2, 2, 1, NO}, combined.getGroupIds());
+    }
+
+    @Test
+    public void testReductions() {
+        GroupIndex groups = GroupIndex.fromCodes(new int[]{1, 2, 1, 2, 1, 3}, 6, 4);
+
+        int[] intSums = new int[4];
+        Assert.assertTrue(GroupReductions.sum(new int[]{1, 2, 3, RRuntime.INT_NA, 5, 6}, 0, groups, false, intSums, 0));
+        Assert.assertArrayEquals(new int[]{9, RRuntime.INT_NA, 6, 0}, intSums);
+        Assert.assertTrue(GroupReductions.sum(new int[]{1, 2, 3, RRuntime.INT_NA, 5, 6}, 0, groups, true, intSums, 0));
+        Assert.assertArrayEquals(new int[]{9, 2, 6, 0}, intSums);
+        Assert.assertFalse(GroupReductions.sum(new int[]{Integer.MAX_VALUE, 2, 1, 2, 1, 6}, 0, groups, false, intSums, 0));
+        Assert.assertArrayEquals(new int[]{RRuntime.INT_NA, 4, 6, 0}, intSums);
+
+        double[] x = {1, RRuntime.DOUBLE_NA, Double.NaN, 2, 3, 4};
+        double[] sums = new double[4];
+        GroupReductions.sum(x, 0, groups, false, sums, 0);
+        Assert.assertTrue(Double.isNaN(sums[0]) && !RRuntime.isNA(sums[0]));
+        Assert.assertTrue(RRuntime.isNA(sums[1]));
+        sums = new double[4];
+        GroupReductions.sum(x, 0, groups, true, sums, 0);
+        Assert.assertArrayEquals(new double[]{4, 2, 4, 0}, sums, 0);
+
+        double[] means = GroupReductions.mean(x, groups, true);
+        Assert.assertArrayEquals(new double[]{2, 2, 4}, new double[]{means[0], means[1], means[2]}, 0);
+        Assert.assertTrue(Double.isNaN(means[3]));
+
+        double[] mins = GroupReductions.extreme(x, groups, false, false);
+        Assert.assertTrue(Double.isNaN(mins[0]) && !RRuntime.isNA(mins[0]));
+        Assert.assertTrue(RRuntime.isNA(mins[1]));
+        double[] maxs = GroupReductions.extreme(x, groups, true, true);
+        Assert.assertArrayEquals(new double[]{3, 2, 4}, new double[]{maxs[0], maxs[1], maxs[2]}, 0);
+        Assert.assertNull(GroupReductions.extreme(new double[]{1, RRuntime.DOUBLE_NA, 3, RRuntime.DOUBLE_NA, 5, 6}, groups, true, false));
+        int[] intMins = GroupReductions.extreme(new int[]{3, 2, 1, RRuntime.INT_NA, 2, 6}, groups, false, false);
+        Assert.assertArrayEquals(new int[]{1, RRuntime.INT_NA, 6}, new int[]{intMins[0], intMins[1], intMins[2]});
+
+        Assert.assertArrayEquals(new int[]{0, 1, 5, -1}, GroupReductions.firstIndex(groups));
+        Assert.assertArrayEquals(new int[]{4, 3, 5, -1}, GroupReductions.lastIndex(groups));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.runtime;
+
+import static com.oracle.truffle.r.test.generate.FastRSession.GET_CONTEXT;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.oracle.truffle.r.runtime.LazyDBCache.PreloadedDB;
+import com.oracle.truffle.r.runtime.context.RContext;
+import com.oracle.truffle.r.runtime.context.RContext.ContextKind;
+import com.oracle.truffle.r.test.TestBase;
+import com.oracle.truffle.r.test.generate.FastRContext;
+import com.oracle.truffle.r.test.generate.FastRSession;
+
+public class TestLazyDBCache extends TestBase {
+
+    private static FastRContext context;
+    private static RContext rContext;
+
+    private Path db;
+
+    @BeforeClass
+    public static void setupClass() {
+        FastRSession session = FastRSession.create();
+        context = session.createContext(ContextKind.SHARE_PARENT_RW);
+        rContext = context.eval(GET_CONTEXT).asHostObject();
+    }
+
+    @AfterClass
+    public static void finishClass() {
+        context.close();
+    }
+
+    @Before
+    public void createDB() throws IOException {
+        db = Files.createTempFile("fastr-lazydb", ".rdb");
+        Files.write(db, new byte[]{1, 2, 3, 4});
+        Files.setLastModifiedTime(db, FileTime.fromMillis(1_000_000_000_000L));
+    }
+
+    @After
+    public void deleteDB() throws IOException {
+        Files.delete(db);
+    }
+
+    @Test
+    public void testUnchanged() throws IOException {
+        PreloadedDB preloaded = PreloadedDB.read(db);
+        FastRSession.execInContext(context, () -> {
+            Assert.assertArrayEquals(new byte[]{1, 2, 3, 4}, preloaded.getData(rContext.getSafeTruffleFile(db.toString())));
+            return null;
+        });
+    }
+
+    @Test
+    public void testSameSizeModified() throws IOException {
+        PreloadedDB preloaded = PreloadedDB.read(db);
+        Files.write(db, new byte[]{5, 6, 7, 8});
+        Files.setLastModifiedTime(db, FileTime.fromMillis(1_000_000_001_000L));
+        FastRSession.execInContext(context, () -> {
+            Assert.assertNull(preloaded.getData(rContext.getSafeTruffleFile(db.toString())));
+            return null;
+        });
+    }
+
+    @Test
+    public void testSizeChanged() throws IOException {
+        PreloadedDB preloaded = PreloadedDB.read(db);
+        Files.write(db, new byte[]{1, 2, 3});
+        Files.setLastModifiedTime(db, FileTime.fromMillis(1_000_000_000_000L));
+        FastRSession.execInContext(context, () -> {
+            Assert.assertNull(preloaded.getData(rContext.getSafeTruffleFile(db.toString())));
+            return null;
+        });
+    }
+
+    @Test
+    public void testDeleted() throws IOException {
+        PreloadedDB preloaded = PreloadedDB.read(db);
+        Path moved = Files.move(db, db.resolveSibling(db.getFileName() + ".moved"));
+        try {
+            FastRSession.execInContext(context, () -> {
+                Assert.assertNull(preloaded.getData(rContext.getSafeTruffleFile(db.toString())));
+                return null;
+            });
+        } finally {
+            Files.move(moved, db);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 3 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.r.test.runtime;
+
+import static com.oracle.truffle.r.runtime.context.FastROptions.ParallelKernelThreads;
+
+import org.graalvm.polyglot.Context;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.oracle.truffle.r.runtime.context.FastROptions;
+import com.oracle.truffle.r.runtime.ops.ParallelKernels;
+import com.oracle.truffle.r.test.TestBase;
+import com.oracle.truffle.r.test.generate.FastRSession;
+
+/**
+ * Checks the builtins that use {@link ParallelKernels} for vectors of at least
+ * {@link ParallelKernels#MIN_LENGTH} elements. Every check runs with the parallel execution enabled
+ * and with the default single thread, which uses the sequential loops of the builtins, the results
+ * are compared to the sequential loops for vectors shorter than {@link ParallelKernels#MIN_LENGTH}.
+ */
+public class TestParallelKernels extends TestBase {
+
+    /**
+     * Defines {@code x}, a long vector whose sums are exact, {@code pieces}, a function that
+     * applies a function to pieces of a vector short enough for the sequential loops and
+     * concatenates the results, and {@code y}, a long vector for log.
+     */
+    private static final String SETUP = "x <- as.numeric(rep(1:100, 30000)); " +
+                    "pieces <- function(v, f) unlist(lapply(split(v, ceiling(seq_along(v) / 5e5)), f), use.names = FALSE); " +
+                    "y <- seq(0.5, 100, length.out = 3e6)";
+
+    private static Context parallel;
+    private static Context sequential;
+
+    @BeforeClass
+    public static void setupClass() {
+        parallel = FastRSession.getContextBuilder("R").option(FastROptions.getName(ParallelKernelThreads), "4").build();
+        sequential = FastRSession.getContextBuilder("R").build();
+        parallel.eval("R", SETUP);
+        sequential.eval("R", SETUP);
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        parallel.close();
+        sequential.close();
+    }
+
+    @Test
+    public void testSum() {
+        assertTrueInBoth("identical(sum(x), 30000 * 5050)");
+        assertTrueInBoth("identical(sum(x), sum(pieces(x, sum)))");
+        assertTrueInBoth("z <- x; z[2e6] <- NA; identical(sum(z), NA_real_)");
+        assertTrueInBoth("z <- x; z[2e6] <- NaN; is.nan(sum(z))");
+        assertTrueInBoth("z <- x; z[c(10, 2e6)] <- c(NA, NaN); identical(sum(z, na.rm = TRUE), 30000 * 5050 - 110)");
+    }
+
+    @Test
+    public void testSumDoesNotDependOnThreadCount() {
+        String code = "set.seed(1); sum(runif(3e6))";
+        try (Context twoThreads = FastRSession.getContextBuilder("R").option(FastROptions.getName(ParallelKernelThreads), "2").build()) {
+            Assert.assertEquals(twoThreads.eval("R", code).asDouble(), parallel.eval("R", code).asDouble(), 0);
+        }
+    }
+
+    @Test
+    public void testColSums() {
+        assertTrueInBoth("m <- matrix(x, ncol = 3); identical(colSums(m), rep(505000, 3))");
+        assertTrueInBoth("m <- matrix(y, ncol = 3); identical(colSums(m), apply(m, 2, sum))");
+        assertTrueInBoth("m <- matrix(x, ncol = 3); m[5, 2] <- NA; identical(colSums(m), c(505000, NA, 505000))");
+        assertTrueInBoth("m <- matrix(x, ncol = 3); m[5, 2] <- NA; m[7, 3] <- NaN; identical(colSums(m, na.rm = TRUE), c(505000, 505000 - 5, 505000 - 7))");
+    }
+
+    @Test
+    public void testLog() {
+        assertTrueInBoth("identical(log(y), pieces(y, log))");
+        assertTrueInBoth("identical(log(y, 2), pieces(y, function(v) log(v, 2)))");
+        assertTrueInBoth("z <- y; z[5] <- NA; z[6] <- NaN; r <- log(z); is.na(r[5]) && !is.nan(r[5]) && is.nan(r[6])");
+    }
+
+    @Test
+    public void testLogWarnings() {
+        // the warnings of all the chunks are merged into one
+        assertTrueInBoth("z <- y; z[c(10, 2e6)] <- -1; n <- 0; " +
+                        "r <- withCallingHandlers(log(z), warning = function(w) { n <<- n + 1; invokeRestart('muffleWarning') }); " +
+                        "n == 1 && is.nan(r[10]) && is.nan(r[2e6])");
+        assertTrueInBoth("z <- y; z[2e6] <- -1; identical(tryCatch(log(z), warning = conditionMessage), 'NaNs produced')");
+    }
+
+    private static void assertTrueInBoth(String code) {
+        Assert.assertTrue("parallel: " + code, parallel.eval("R", code).asBoolean());
+        Assert.assertTrue("sequential: " + code, sequential.eval("R", code).asBoolean());
+    }
+}
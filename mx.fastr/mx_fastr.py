@@ -325,6 +325,7 @@ class FastRGateTags:
     llvm = 'llvm'
     no_specials = 'no_specials'
     no_dsl_cache = 'no_dsl_cache'
+    thread_safe_libraries = 'thread_safe_libraries'
 
     cran_pkgs_test = 'cran_pkgs_test'
     cran_pkgs_test_check_last = 'cran_pkgs_test_check_last'
@@ -343,6 +344,10 @@ def _fastr_gate_runner(args, tasks):
         if t:
             os.environ['FASTR_OPTION_DSLCacheSizeFactor'] = '0'
 
+    with mx_gate.Task('Setup thread-safe native libraries', tasks, tags=[FastRGateTags.thread_safe_libraries]) as t:
+        if t:
+            os.environ['FASTR_OPTION_ThreadSafeNativeLibraries'] = 'stats'
+
     with mx_gate.Task('SetupLLVM', tasks, tags=[FastRGateTags.llvm]) as t:
         if t:
             os.environ['FASTR_RFFI'] = 'llvm'